@@ -0,0 +1,77 @@
+package com.gn5r.common.utils.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.gn5r.common.utils.ArrayBuilder;
+import com.gn5r.common.utils.ArrayUtil;
+
+/**
+ * {@link ArrayBuilder} のベンチマーク
+ * <p>
+ * 要素数(10 / 1000 / 10000)の配列を1要素ずつ作成する。{@link ArrayUtil#push(Object[], Object...)} の繰り返し、
+ * {@link ArrayList#toArray(Object[])} と比較する
+ * </p>
+ *
+ * @author gn5r
+ * @since 0.3.9
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArrayBuilderBenchmark {
+
+    @Param({ "10", "1000", "10000" })
+    public int size;
+
+    @Benchmark
+    public Integer[] arrayUtilPush() {
+        Integer[] array = new Integer[0];
+        for (int i = 0; i < this.size; i++) {
+            array = ArrayUtil.push(array, i);
+        }
+        return array;
+    }
+
+    @Benchmark
+    public Integer[] builderPush() {
+        final ArrayBuilder<Integer> builder = new ArrayBuilder<>(Integer.class);
+        for (int i = 0; i < this.size; i++) {
+            builder.push(i);
+        }
+        return builder.toArray();
+    }
+
+    @Benchmark
+    public Integer[] builderUnshift() {
+        final ArrayBuilder<Integer> builder = new ArrayBuilder<>(Integer.class);
+        for (int i = 0; i < this.size; i++) {
+            builder.unshift(i);
+        }
+        return builder.toArray();
+    }
+
+    @Benchmark
+    public Integer[] arrayList() {
+        final List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < this.size; i++) {
+            list.add(i);
+        }
+        return list.toArray(new Integer[0]);
+    }
+}
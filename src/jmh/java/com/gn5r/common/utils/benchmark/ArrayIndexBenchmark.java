@@ -0,0 +1,77 @@
+package com.gn5r.common.utils.benchmark;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.gn5r.common.utils.ArrayIndex;
+import com.gn5r.common.utils.ArrayUtil;
+
+/**
+ * {@link ArrayIndex} のベンチマーク
+ * <p>
+ * 配列長(100 / 10000 / 1000000)毎に、配列の中央の要素を探す場合の走査({@link ArrayUtil#findIndex(Object[], Object)})、
+ * 索引({@link ArrayIndex#findIndex(Object)})、ソート済み配列の二分探索を比較する。索引の作成コストは buildIndex で計測する
+ * </p>
+ *
+ * @author gn5r
+ * @since 0.3.9
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArrayIndexBenchmark {
+
+    @Param({ "100", "10000", "1000000" })
+    public int size;
+
+    private Integer[] array;
+
+    private Integer middle;
+
+    private ArrayIndex<Integer> index;
+
+    @Setup
+    public void setup() {
+        this.array = new Integer[this.size];
+        for (int i = 0; i < this.size; i++) {
+            this.array[i] = i;
+        }
+        this.middle = this.size / 2;
+        this.index = ArrayUtil.index(this.array);
+    }
+
+    @Benchmark
+    public int linear() {
+        return ArrayUtil.findIndex(this.array, this.middle);
+    }
+
+    @Benchmark
+    public int indexed() {
+        return this.index.findIndex(this.middle);
+    }
+
+    @Benchmark
+    public int binarySearch() {
+        return ArrayUtil.findIndex(this.array, this.middle, Comparator.naturalOrder());
+    }
+
+    @Benchmark
+    public ArrayIndex<Integer> buildIndex() {
+        return ArrayUtil.index(this.array);
+    }
+}
@@ -0,0 +1,98 @@
+package com.gn5r.common.utils.benchmark;
+
+import java.lang.reflect.Array;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.gn5r.common.utils.ArrayUtil;
+
+/**
+ * {@link ArrayUtil#unshift(Object[], Object...)}、{@link ArrayUtil#splice(Object[], int, int, Object...)} 等のベンチマーク
+ * <p>
+ * 配列長(1000 / 100000 / 1000000)毎に、1要素ずつコピーする従来の unshift、{@link ArrayUtils#insert(int, Object[], Object...)}、
+ * {@link ArrayUtils#removeAll(Object[], int...)} と比較する。挿入、削除は配列の中央で3要素分行う
+ * </p>
+ *
+ * @author gn5r
+ * @since 0.3.9
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArraySpliceBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    public int size;
+
+    private Integer[] array;
+
+    private int middle;
+
+    @Setup
+    public void setup() {
+        this.array = new Integer[this.size];
+        for (int i = 0; i < this.size; i++) {
+            this.array[i] = i;
+        }
+        this.middle = this.size / 2;
+    }
+
+    /**
+     * 配列を1要素ずつコピーする従来の unshift(書き込み位置は修正済み)
+     */
+    @Benchmark
+    public Integer[] unshiftLoop() {
+        final Object[] element = { 1, 2, 3 };
+        final Integer[] tmp = (Integer[]) Array.newInstance(Integer.class, this.array.length + element.length);
+        System.arraycopy(element, 0, tmp, 0, element.length);
+        for (int i = 0; i < this.array.length; i++) {
+            tmp[element.length + i] = this.array[i];
+        }
+        return tmp;
+    }
+
+    @Benchmark
+    public Integer[] unshift() {
+        return ArrayUtil.unshift(this.array, 1, 2, 3);
+    }
+
+    @Benchmark
+    public Integer[] insertAt() {
+        return ArrayUtil.insertAt(this.array, this.middle, 1, 2, 3);
+    }
+
+    @Benchmark
+    public Integer[] insertArrayUtils() {
+        return ArrayUtils.insert(this.middle, this.array, 1, 2, 3);
+    }
+
+    @Benchmark
+    public Integer[] splice() {
+        return ArrayUtil.splice(this.array, this.middle, 3, 1, 2, 3);
+    }
+
+    @Benchmark
+    public Integer[] removeRange() {
+        return ArrayUtil.removeRange(this.array, this.middle, this.middle + 3);
+    }
+
+    @Benchmark
+    public Integer[] removeAllArrayUtils() {
+        return ArrayUtils.removeAll(this.array, this.middle, this.middle + 1, this.middle + 2);
+    }
+}
@@ -0,0 +1,88 @@
+package com.gn5r.common.utils.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.gn5r.common.utils.ArrayUtil;
+
+/**
+ * {@link ArrayUtil} のベンチマーク
+ * <p>
+ * 配列長(10 / 1000 / 100000)毎に push / unshift / findIndex を計測する。findIndex は末尾の要素を探す。
+ * {@code Integer[]} と、プリミティブ型版の {@code long[]} を比較する
+ * </p>
+ *
+ * @author gn5r
+ * @since 0.3.9
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArrayUtilBenchmark {
+
+    @Param({ "10", "1000", "100000" })
+    public int size;
+
+    private Integer[] array;
+
+    private Integer last;
+
+    private long[] longs;
+
+    @Setup
+    public void setup() {
+        this.array = new Integer[this.size];
+        for (int i = 0; i < this.size; i++) {
+            this.array[i] = i;
+        }
+        this.last = this.size - 1;
+        this.longs = new long[this.size];
+        for (int i = 0; i < this.size; i++) {
+            this.longs[i] = i;
+        }
+    }
+
+    @Benchmark
+    public Integer[] push() {
+        return ArrayUtil.push(this.array, 1, 2, 3);
+    }
+
+    @Benchmark
+    public Integer[] unshift() {
+        return ArrayUtil.unshift(this.array, 1, 2, 3);
+    }
+
+    @Benchmark
+    public int findIndex() {
+        return ArrayUtil.findIndex(this.array, this.last);
+    }
+
+    @Benchmark
+    public long[] pushLong() {
+        return ArrayUtil.push(this.longs, 1L, 2L, 3L);
+    }
+
+    @Benchmark
+    public long[] unshiftLong() {
+        return ArrayUtil.unshift(this.longs, 1L, 2L, 3L);
+    }
+
+    @Benchmark
+    public int findIndexLong() {
+        return ArrayUtil.findIndex(this.longs, this.size - 1L);
+    }
+}
@@ -0,0 +1,49 @@
+package com.gn5r.common.utils.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.gn5r.common.utils.DateUtil;
+
+/**
+ * {@link DateUtil} のベンチマーク
+ *
+ * @author gn5r
+ * @since 0.3.9
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DateUtilBenchmark {
+
+    public String a = "2020/01/11";
+
+    public String b = "2012-10-02";
+
+    @Benchmark
+    public double getNendoHanki() {
+        return DateUtil.getNendoHanki(this.a);
+    }
+
+    @Benchmark
+    public double diff() {
+        return DateUtil.diff(this.a, this.b);
+    }
+
+    @Benchmark
+    public double diffToday() {
+        return DateUtil.diff(this.b);
+    }
+}
@@ -0,0 +1,109 @@
+package com.gn5r.common.utils.benchmark;
+
+import java.lang.reflect.Field;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.gn5r.common.utils.ObjectUtil;
+import com.gn5r.common.utils.benchmark.ObjectUtilBenchmark.Bean16;
+import com.gn5r.common.utils.benchmark.ObjectUtilBenchmark.Bean32;
+import com.gn5r.common.utils.benchmark.ObjectUtilBenchmark.Bean4;
+
+/**
+ * フィールドの読み取り方法のベンチマーク
+ * <p>
+ * 全フィールドが等しい2つのオブジェクトを {@link ObjectUtil#check(Object, Object)} で比較する場合と、ベンチマーク内で
+ * キャッシュした {@link Field} で直接比較する場合を、フィールド数(4 / 16 / 32)毎に計測する。
+ * fieldGet はラッパークラスを生成し、fieldGetPrimitive はプリミティブ型を {@link Field#getLong(Object)} 等で読み取る。
+ * ObjectUtil の読み取り方法を変更した場合に、直接比較する場合との差を確認する
+ * </p>
+ *
+ * @author gn5r
+ * @since 0.3.9
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FieldAccessBenchmark {
+
+    @Param({ "4", "16", "32" })
+    public int width;
+
+    private Object a;
+
+    private Object b;
+
+    private Field[] fields;
+
+    @Setup
+    public void setup() {
+        switch (this.width) {
+        case 4:
+            this.a = new Bean4(1);
+            this.b = new Bean4(1);
+            break;
+        case 16:
+            this.a = new Bean16(1);
+            this.b = new Bean16(1);
+            break;
+        default:
+            this.a = new Bean32(1);
+            this.b = new Bean32(1);
+            break;
+        }
+
+        this.fields = this.a.getClass().getDeclaredFields();
+        for (Field field : this.fields) {
+            field.setAccessible(true);
+        }
+    }
+
+    @Benchmark
+    public boolean objectUtilCheck() {
+        return ObjectUtil.check(this.a, this.b);
+    }
+
+    @Benchmark
+    public boolean fieldGet() throws IllegalAccessException {
+        for (Field field : this.fields) {
+            if (!Objects.equals(field.get(this.a), field.get(this.b))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean fieldGetPrimitive() throws IllegalAccessException {
+        for (Field field : this.fields) {
+            final Class<?> type = field.getType();
+            if (type == int.class) {
+                if (field.getInt(this.a) != field.getInt(this.b)) {
+                    return true;
+                }
+            } else if (type == long.class) {
+                if (field.getLong(this.a) != field.getLong(this.b)) {
+                    return true;
+                }
+            } else if (!Objects.equals(field.get(this.a), field.get(this.b))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,65 @@
+package com.gn5r.common.utils.benchmark;
+
+import java.text.Normalizer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.gn5r.common.utils.JapaneseNormalizer;
+
+/**
+ * {@link JapaneseNormalizer} と {@link Normalizer} (NFKC) のベンチマーク
+ * <p>
+ * 変換する文字を含む文字列(dirty)と、変換済みの文字列(clean)毎に計測する
+ * </p>
+ *
+ * @author gn5r
+ * @since 0.3.9
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JapaneseNormalizerBenchmark {
+
+    @Param({ "dirty", "clean" })
+    public String content;
+
+    private final StringBuilder builder = new StringBuilder();
+
+    private String str;
+
+    @Setup
+    public void setup() {
+        final String dirty = "ＡＢＣ株式会社　ﾃﾞｰﾀ連携ｻｰﾋﾞｽ（２０２０年度）";
+        this.str = "dirty".equals(this.content) ? dirty : JapaneseNormalizer.getDefault().normalize(dirty);
+    }
+
+    @Benchmark
+    public String normalize() {
+        return JapaneseNormalizer.getDefault().normalize(this.str);
+    }
+
+    @Benchmark
+    public StringBuilder normalizeBuilder() {
+        this.builder.setLength(0);
+        return JapaneseNormalizer.getDefault().normalize(this.str, this.builder);
+    }
+
+    @Benchmark
+    public String nfkc() {
+        return Normalizer.normalize(this.str, Normalizer.Form.NFKC);
+    }
+}
@@ -0,0 +1,219 @@
+package com.gn5r.common.utils.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.gn5r.common.utils.ObjectUtil;
+import com.gn5r.common.utils.ObjectUtil.Difference;
+
+/**
+ * {@link ObjectUtil} のベンチマーク
+ * <p>
+ * フィールド数(4 / 16 / 32)毎に diff / check / same / toMap / toString を計測する。比較する2つのオブジェクトは半分のフィールドが異なる
+ * </p>
+ *
+ * @author gn5r
+ * @since 0.3.9
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ObjectUtilBenchmark {
+
+    @Param({ "4", "16", "32" })
+    public int width;
+
+    private Object a;
+
+    private Object b;
+
+    @Setup
+    public void setup() {
+        this.a = create(this.width, 1);
+        this.b = create(this.width, 2);
+    }
+
+    private static Object create(final int width, final int seed) {
+        switch (width) {
+        case 4:
+            return new Bean4(seed);
+        case 16:
+            return new Bean16(seed);
+        default:
+            return new Bean32(seed);
+        }
+    }
+
+    @Benchmark
+    public List<Difference> diff() {
+        return ObjectUtil.diff(this.a, this.b);
+    }
+
+    @Benchmark
+    public boolean check() {
+        return ObjectUtil.check(this.a, this.a);
+    }
+
+    @Benchmark
+    public List<Difference> same() {
+        return ObjectUtil.same(this.a, this.b);
+    }
+
+    @Benchmark
+    public Map<String, Object> toMap() {
+        return ObjectUtil.toMap(this.a);
+    }
+
+    @Benchmark
+    public String toStringBenchmark() {
+        return ObjectUtil.toString(this.a);
+    }
+
+    /**
+     * フィールド数4のクラス
+     */
+    public static class Bean4 {
+        int f0;
+        long f1;
+        String f2;
+        Double f3;
+
+        // 奇数番目のフィールドはseedに関係なく同じ値になる
+        Bean4(final int seed) {
+            this.f0 = seed + 0;
+            this.f1 = 7 * 1L;
+            this.f2 = "value2-" + seed;
+            this.f3 = 7 / 4.0;
+        }
+    }
+
+    /**
+     * フィールド数16のクラス
+     */
+    public static class Bean16 {
+        int f0;
+        long f1;
+        String f2;
+        Double f3;
+        int f4;
+        long f5;
+        String f6;
+        Double f7;
+        int f8;
+        long f9;
+        String f10;
+        Double f11;
+        int f12;
+        long f13;
+        String f14;
+        Double f15;
+
+        Bean16(final int seed) {
+            this.f0 = seed + 0;
+            this.f1 = 7 * 1L;
+            this.f2 = "value2-" + seed;
+            this.f3 = 7 / 4.0;
+            this.f4 = seed + 4;
+            this.f5 = 7 * 5L;
+            this.f6 = "value6-" + seed;
+            this.f7 = 7 / 8.0;
+            this.f8 = seed + 8;
+            this.f9 = 7 * 9L;
+            this.f10 = "value10-" + seed;
+            this.f11 = 7 / 12.0;
+            this.f12 = seed + 12;
+            this.f13 = 7 * 13L;
+            this.f14 = "value14-" + seed;
+            this.f15 = 7 / 16.0;
+        }
+    }
+
+    /**
+     * フィールド数32のクラス
+     */
+    public static class Bean32 {
+        int f0;
+        long f1;
+        String f2;
+        Double f3;
+        int f4;
+        long f5;
+        String f6;
+        Double f7;
+        int f8;
+        long f9;
+        String f10;
+        Double f11;
+        int f12;
+        long f13;
+        String f14;
+        Double f15;
+        int f16;
+        long f17;
+        String f18;
+        Double f19;
+        int f20;
+        long f21;
+        String f22;
+        Double f23;
+        int f24;
+        long f25;
+        String f26;
+        Double f27;
+        int f28;
+        long f29;
+        String f30;
+        Double f31;
+
+        Bean32(final int seed) {
+            this.f0 = seed + 0;
+            this.f1 = 7 * 1L;
+            this.f2 = "value2-" + seed;
+            this.f3 = 7 / 4.0;
+            this.f4 = seed + 4;
+            this.f5 = 7 * 5L;
+            this.f6 = "value6-" + seed;
+            this.f7 = 7 / 8.0;
+            this.f8 = seed + 8;
+            this.f9 = 7 * 9L;
+            this.f10 = "value10-" + seed;
+            this.f11 = 7 / 12.0;
+            this.f12 = seed + 12;
+            this.f13 = 7 * 13L;
+            this.f14 = "value14-" + seed;
+            this.f15 = 7 / 16.0;
+            this.f16 = seed + 16;
+            this.f17 = 7 * 17L;
+            this.f18 = "value18-" + seed;
+            this.f19 = 7 / 20.0;
+            this.f20 = seed + 20;
+            this.f21 = 7 * 21L;
+            this.f22 = "value22-" + seed;
+            this.f23 = 7 / 24.0;
+            this.f24 = seed + 24;
+            this.f25 = 7 * 25L;
+            this.f26 = "value26-" + seed;
+            this.f27 = 7 / 28.0;
+            this.f28 = seed + 28;
+            this.f29 = 7 * 29L;
+            this.f30 = "value30-" + seed;
+            this.f31 = 7 / 32.0;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.gn5r.common.utils.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.gn5r.common.utils.ArrayUtil;
+import com.gn5r.common.utils.ParallelSearch;
+
+/**
+ * {@link ParallelSearch} のベンチマーク
+ * <p>
+ * 配列長(100000 / 1000000 / 10000000 / 50000000)毎に、末尾の要素を探す場合の逐次走査({@link ArrayUtil#findIndex(long[], long)})
+ * と並列走査、中央の要素を探す場合の並列走査(後ろ半分の打ち切り)、条件を満たす要素の抽出を比較する
+ * </p>
+ *
+ * @author gn5r
+ * @since 0.3.9
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelSearchBenchmark {
+
+    @Param({ "100000", "1000000", "10000000", "50000000" })
+    public int size;
+
+    private long[] longs;
+
+    private Long[] boxed;
+
+    private long last;
+
+    private final ParallelSearch search = ParallelSearch.getDefault();
+
+    @Setup
+    public void setup() {
+        this.longs = new long[this.size];
+        this.boxed = new Long[this.size];
+        for (int i = 0; i < this.size; i++) {
+            this.longs[i] = i;
+            this.boxed[i] = (long) i;
+        }
+        this.last = this.size - 1L;
+    }
+
+    @Benchmark
+    public int sequential() {
+        return ArrayUtil.findIndex(this.longs, this.last);
+    }
+
+    @Benchmark
+    public int parallel() {
+        return this.search.findIndex(this.longs, this.last);
+    }
+
+    @Benchmark
+    public int parallelMiddle() {
+        return this.search.findIndex(this.longs, this.size / 2L);
+    }
+
+    @Benchmark
+    public int sequentialBoxed() {
+        return ArrayUtil.findIndex(this.boxed, this.last);
+    }
+
+    @Benchmark
+    public int parallelBoxed() {
+        return this.search.findIndex(this.boxed, this.last);
+    }
+
+    @Benchmark
+    public long[] sequentialFilter() {
+        final long[] result = new long[this.size / 100];
+        int count = 0;
+        for (long value : this.longs) {
+            if (value % 100 == 0) {
+                result[count++] = value;
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public long[] parallelFilter() {
+        return this.search.filter(this.longs, value -> value % 100 == 0);
+    }
+}
@@ -0,0 +1,111 @@
+package com.gn5r.common.utils.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.gn5r.common.utils.StringUtil;
+
+/**
+ * {@link StringUtil} のベンチマーク
+ * <p>
+ * 文字列長(16 / 256 / 4096)、文字種(ASCII / 日本語 / 混在 / Latin-1)、エンコーディング(MS932 / UTF-8 / EUC-KR /
+ * windows-1252)毎に計測する。EUC-KR、windows-1252 はエンコーダーで数えるエンコーディングの代表として計測する。
+ * バイト数切り出しは文字列の半分のバイト数で切り出す
+ * </p>
+ *
+ * @author gn5r
+ * @since 0.3.9
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StringUtilBenchmark {
+
+    @Param({ "16", "256", "4096" })
+    public int size;
+
+    @Param({ "ascii", "japanese", "mixed", "latin1" })
+    public String content;
+
+    @Param({ "MS932", "UTF-8", "EUC-KR", "windows-1252" })
+    public String encoding;
+
+    private String str;
+
+    private int length;
+
+    @Setup
+    public void setup() {
+        this.str = create(this.content, this.size);
+        this.length = StringUtil.getByteLength(this.str, this.encoding) / 2;
+    }
+
+    /**
+     * 指定した文字種の文字列を生成する
+     *
+     * @param content 文字種
+     * @param size    文字数
+     * @return 文字列
+     */
+    static String create(final String content, final int size) {
+        final String ascii = "The quick brown fox jumps over the lazy dog 0123456789 ";
+        final String japanese = "吾輩は猫である。名前はまだ無い。どこで生れたかとんと見当がつかぬ。ｶﾀｶﾅ";
+        final String source;
+
+        switch (content) {
+        case "ascii":
+            source = ascii;
+            break;
+        case "japanese":
+            source = japanese;
+            break;
+        case "latin1":
+            source = "Café crème brûlée à la française, señor ";
+            break;
+        default:
+            source = "東京都千代田区1-2-3 ABCビル 5F ";
+            break;
+        }
+
+        final StringBuilder builder = new StringBuilder(size);
+        while (builder.length() < size) {
+            builder.append(source);
+        }
+
+        return builder.substring(0, size);
+    }
+
+    @Benchmark
+    public String substringDefault() {
+        return StringUtil.substring(this.str, this.length);
+    }
+
+    @Benchmark
+    public String substringEncoding() {
+        return StringUtil.substring(this.str, this.length, this.encoding);
+    }
+
+    @Benchmark
+    public int getByteLength() {
+        return StringUtil.getByteLength(this.str, this.encoding);
+    }
+
+    @Benchmark
+    public String substringRegex() {
+        return StringUtil.substring(this.str, "[0-9]+");
+    }
+}
@@ -0,0 +1,42 @@
+package com.gn5r.common.utils;
+
+/**
+ * 固定長の桁に文字列を配置する位置
+ *
+ * @author gn5r
+ * @since 0.3.9
+ */
+public enum Alignment {
+
+    /**
+     * 左寄せ。右側を埋める
+     */
+    LEFT,
+
+    /**
+     * 右寄せ。左側を埋める
+     */
+    RIGHT,
+
+    /**
+     * 中央寄せ。左右を埋め、埋める桁数が奇数の場合は右側を1桁多く埋める
+     */
+    CENTER;
+
+    /**
+     * 左側を埋める桁数を返却する
+     *
+     * @param padding 埋める桁数
+     * @return 左側を埋める桁数
+     */
+    int leftPadding(final int padding) {
+        switch (this) {
+        case RIGHT:
+            return padding;
+        case CENTER:
+            return padding / 2;
+        default:
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.gn5r.common.utils;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * <p>
+ * 要素を1つずつ追加して配列を作成するクラス
+ * </p>
+ *
+ * <p>
+ * {@link ArrayUtil#push(Object[], Object...)}、{@link ArrayUtil#unshift(Object[], Object...)}
+ * は呼び出す度に新しい配列を作成するので、繰り返し呼び出すと要素数の2乗に比例してコピーが発生する。
+ * このクラスは内部の配列を倍々に拡張し、先頭側にも空きを持たせるので、末尾への追加・先頭への追加とも償却O(1)で行える。
+ * {@link #toArray()} で要素の型の配列を1回のコピーで作成する
+ * </p>
+ *
+ * <pre>
+ * ArrayBuilder&lt;Message&gt; builder = ArrayUtil.builder(header);
+ * for (Message message : queue) {
+ *   builder.push(message);
+ * }
+ * Message[] batch = builder.toArray();
+ * </pre>
+ *
+ * <p>
+ * インスタンスはスレッドセーフではない
+ * </p>
+ *
+ * @param <T> 要素のオブジェクトタイプ
+ * @author gn5r
+ * @since 0.3.9
+ * @see ArrayUtil#builder(Object[])
+ */
+public final class ArrayBuilder<T> {
+
+    /**
+     * デフォルトの初期容量
+     */
+    public static final int DEFAULT_CAPACITY = 10;
+
+    /**
+     * 配列の最大長。VMによってはヘッダ分だけ {@link Integer#MAX_VALUE} より小さい
+     */
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private final Class<?> componentType;
+
+    private Object[] elements;
+
+    /**
+     * 先頭の要素の位置
+     */
+    private int head;
+
+    private int size;
+
+    /**
+     * 指定した型の配列を作成するインスタンスを生成する
+     *
+     * @param componentType 配列の要素の型
+     */
+    public ArrayBuilder(final Class<T> componentType) {
+        this(componentType, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 指定した型の配列を作成するインスタンスを生成する
+     *
+     * @param componentType 配列の要素の型
+     * @param capacity      初期容量
+     * @throws IllegalArgumentException 初期容量が負の場合にthrowする
+     */
+    public ArrayBuilder(final Class<T> componentType, final int capacity) {
+        this(capacity, Objects.requireNonNull(componentType, "要素の型がnullです"));
+    }
+
+    private ArrayBuilder(final int capacity, final Class<?> componentType) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("初期容量は0以上を指定してください: " + capacity);
+        }
+        this.componentType = componentType;
+        this.elements = new Object[capacity];
+    }
+
+    /**
+     * 配列の要素を初期値とし、配列と同じ型の配列を作成するインスタンスを生成する
+     *
+     * @param <T>   配列のオブジェクトタイプ
+     * @param array 初期値の配列
+     * @return インスタンス
+     */
+    public static <T> ArrayBuilder<T> from(final T[] array) {
+        Objects.requireNonNull(array, "配列がnullです");
+        final ArrayBuilder<T> builder = new ArrayBuilder<>(Math.max(DEFAULT_CAPACITY, array.length + (array.length >> 1)),
+                array.getClass().getComponentType());
+        System.arraycopy(array, 0, builder.elements, 0, array.length);
+        builder.size = array.length;
+        return builder;
+    }
+
+    /**
+     * 末尾に要素を追加する
+     *
+     * @param element 追加したい要素
+     * @return このインスタンス
+     */
+    public ArrayBuilder<T> push(final T element) {
+        ensureRoom(0, 1);
+        this.elements[this.head + this.size++] = element;
+        return this;
+    }
+
+    /**
+     * 末尾に1つ以上の要素を追加する
+     * <p>
+     * 追加したい要素がnullと判定された場合は何もしない
+     * </p>
+     *
+     * @param elements 追加したい要素
+     * @return このインスタンス
+     */
+    @SafeVarargs
+    public final ArrayBuilder<T> pushAll(final T... elements) {
+        // 可変長引数の配列を他のメソッドに渡すと [varargs] 警告になるので、要素を1つずつコピーする
+        if (elements != null && elements.length > 0) {
+            ensureRoom(0, elements.length);
+            final int offset = this.head + this.size;
+            for (int i = 0; i < elements.length; i++) {
+                this.elements[offset + i] = elements[i];
+            }
+            this.size += elements.length;
+        }
+        return this;
+    }
+
+    /**
+     * 先頭に要素を追加する
+     *
+     * @param element 追加したい要素
+     * @return このインスタンス
+     */
+    public ArrayBuilder<T> unshift(final T element) {
+        ensureRoom(1, 0);
+        this.elements[--this.head] = element;
+        this.size++;
+        return this;
+    }
+
+    /**
+     * 先頭に1つ以上の要素を、引数の順序のまま追加する
+     * <p>
+     * 追加したい要素がnullと判定された場合は何もしない
+     * </p>
+     *
+     * @param elements 追加したい要素
+     * @return このインスタンス
+     */
+    @SafeVarargs
+    public final ArrayBuilder<T> unshiftAll(final T... elements) {
+        if (elements != null && elements.length > 0) {
+            ensureRoom(elements.length, 0);
+            this.head -= elements.length;
+            for (int i = 0; i < elements.length; i++) {
+                this.elements[this.head + i] = elements[i];
+            }
+            this.size += elements.length;
+        }
+        return this;
+    }
+
+    /**
+     * 指定した位置の要素を取得する
+     *
+     * @param index 位置
+     * @return 要素
+     * @throws IndexOutOfBoundsException 位置が範囲外の場合にthrowする
+     */
+    @SuppressWarnings("unchecked")
+    public T get(final int index) {
+        checkIndex(index);
+        return (T) this.elements[this.head + index];
+    }
+
+    /**
+     * 指定した位置の要素を置き換える
+     *
+     * @param index   位置
+     * @param element 要素
+     * @return 置き換える前の要素
+     * @throws IndexOutOfBoundsException 位置が範囲外の場合にthrowする
+     */
+    public T set(final int index, final T element) {
+        final T previous = get(index);
+        this.elements[this.head + index] = element;
+        return previous;
+    }
+
+    /**
+     * 要素数を取得する
+     *
+     * @return 要素数
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * 要素が無いかどうかを判定する
+     *
+     * @return 要素が無い場合 true
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * 全ての要素を削除する。容量は解放しない
+     *
+     * @return このインスタンス
+     */
+    public ArrayBuilder<T> clear() {
+        Arrays.fill(this.elements, this.head, this.head + this.size, null);
+        this.head = 0;
+        this.size = 0;
+        return this;
+    }
+
+    /**
+     * 要素の型の配列を作成する
+     *
+     * @return 追加した順(先頭への追加は先頭)に要素を格納した新しい配列
+     * @throws ArrayStoreException 要素の型に格納できない要素がある場合にthrowする
+     */
+    @SuppressWarnings("unchecked")
+    public T[] toArray() {
+        final T[] array = (T[]) Array.newInstance(this.componentType, this.size);
+        System.arraycopy(this.elements, this.head, array, 0, this.size);
+        return array;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(Arrays.copyOfRange(this.elements, this.head, this.head + this.size));
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        }
+    }
+
+    /**
+     * 先頭側、末尾側に指定した数の空きを確保する。足りない場合は容量を倍以上に拡張し、足りなかった側に拡張した分の空きを割り当てる
+     *
+     * @param front 先頭側に必要な空き
+     * @param back  末尾側に必要な空き
+     */
+    private void ensureRoom(final int front, final int back) {
+        final int freeFront = this.head;
+        final int freeBack = this.elements.length - this.head - this.size;
+        if (freeFront >= front && freeBack >= back) {
+            return;
+        }
+
+        final long required = (long) this.size + Math.max(front, freeFront) + Math.max(back, freeBack);
+        if (required > MAX_ARRAY_SIZE) {
+            throw new OutOfMemoryError("要素数が配列の最大長を超えます: " + required);
+        }
+        final int capacity = (int) Math.min(MAX_ARRAY_SIZE,
+                Math.max(required, Math.max(DEFAULT_CAPACITY, (long) this.elements.length * 2)));
+
+        // 先頭側が足りない場合は末尾側の空きを保ち、拡張した分を先頭側に割り当てる
+        final int head = freeFront < front ? capacity - this.size - Math.max(back, freeBack) : freeFront;
+        final Object[] elements = new Object[capacity];
+        System.arraycopy(this.elements, this.head, elements, head, this.size);
+        this.elements = elements;
+        this.head = head;
+    }
+}
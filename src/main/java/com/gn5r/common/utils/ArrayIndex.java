@@ -0,0 +1,146 @@
+package com.gn5r.common.utils;
+
+import java.util.Objects;
+
+/**
+ * <p>
+ * 配列の要素から位置を引く索引クラス
+ * </p>
+ *
+ * <p>
+ * 配列の各要素の最初の位置をオープンアドレス法(線形探索)のハッシュ表に1度だけ登録し、
+ * {@link ArrayUtil#findIndex(Object[], Object)} と同じ結果をO(1)で返却する。
+ * コード表のように同じ配列から繰り返し位置を探す場合に使用する
+ * </p>
+ *
+ * <pre>
+ * ArrayIndex&lt;String&gt; index = ArrayUtil.index(codes);
+ * for (Record record : records) {
+ *   record.setCodeIndex(index.findIndex(record.getCode()));
+ * }
+ * </pre>
+ *
+ * <p>
+ * 要素の比較は {@link Object#hashCode()}、{@link Objects#equals(Object, Object)} で行う。
+ * 索引は配列をコピーせずに参照するので、索引の作成後に配列を変更した場合の結果は保証しない。
+ * インスタンスはスレッドセーフで、使い回すことができる
+ * </p>
+ *
+ * @param <T> 配列のオブジェクトタイプ
+ * @author gn5r
+ * @since 0.3.9
+ * @see ArrayUtil#index(Object[])
+ */
+public final class ArrayIndex<T> {
+
+    /**
+     * ハッシュ表の最大の長さ
+     */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final T[] array;
+
+    /**
+     * 要素の位置 + 1。0 は空き
+     */
+    private final int[] slots;
+
+    private final int mask;
+
+    private final int size;
+
+    private ArrayIndex(final T[] array) {
+        this.array = array;
+
+        // 要素数の2倍以上の2の累乗にして、使用率を50%以下に保つ
+        final long required = Math.max(2L, (long) array.length * 2);
+        if (required > MAX_CAPACITY) {
+            throw new IllegalArgumentException("配列が大きすぎます: " + array.length);
+        }
+        final int capacity = Integer.highestOneBit((int) required - 1) << 1;
+        this.slots = new int[capacity];
+        this.mask = capacity - 1;
+
+        int size = 0;
+        for (int i = 0; i < array.length; i++) {
+            final T element = array[i];
+            if (Objects.isNull(element)) {
+                continue;
+            }
+
+            int slot = hash(element) & this.mask;
+            while (this.slots[slot] != 0 && !Objects.equals(array[this.slots[slot] - 1], element)) {
+                slot = (slot + 1) & this.mask;
+            }
+            // 同じ要素が既にある場合は最初の位置を残す
+            if (this.slots[slot] == 0) {
+                this.slots[slot] = i + 1;
+                size++;
+            }
+        }
+        this.size = size;
+    }
+
+    /**
+     * 配列の索引を作成する
+     *
+     * @param <T>   配列のオブジェクトタイプ
+     * @param array オブジェクト配列
+     * @return 索引
+     * @throws IllegalArgumentException 配列の長さが 2<sup>29</sup> を超える場合にthrowする
+     */
+    public static <T> ArrayIndex<T> of(final T[] array) {
+        return new ArrayIndex<>(Objects.requireNonNull(array, "配列がnullです"));
+    }
+
+    /**
+     * 指定した要素の最初の位置を返却する。見つからない場合は -1 を返却する
+     *
+     * @param element 位置を取得したい要素
+     * @return 要素の位置。要素がnullと判定された場合は -1
+     * @see ArrayUtil#findIndex(Object[], Object)
+     */
+    public int findIndex(final Object element) {
+        if (Objects.isNull(element)) {
+            return -1;
+        }
+
+        int slot = hash(element) & this.mask;
+        int index;
+        while ((index = this.slots[slot]) != 0) {
+            if (Objects.equals(this.array[index - 1], element)) {
+                return index - 1;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+
+        return -1;
+    }
+
+    /**
+     * 指定した要素が配列に含まれるかどうかを判定する
+     *
+     * @param element 要素
+     * @return 含まれる場合 true。要素がnullと判定された場合は false
+     */
+    public boolean contains(final Object element) {
+        return findIndex(element) >= 0;
+    }
+
+    /**
+     * 索引に登録したnull以外の要素の種類数を取得する
+     *
+     * @return 要素の種類数
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * ハッシュ値の上位ビットを下位ビットに混ぜる
+     */
+    private static int hash(final Object element) {
+        final int h = element.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
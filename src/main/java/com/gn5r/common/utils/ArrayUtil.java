@@ -1,6 +1,8 @@
 package com.gn5r.common.utils;
 
 import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Objects;
 
 import org.apache.commons.lang3.ArrayUtils;
@@ -10,14 +12,34 @@ import org.apache.commons.lang3.ArrayUtils;
  * 
  * <ul>
  * <li><b>push</b> - オブジェクト配列の末尾に1つ以上の要素を追加する</li>
+ * <li><b>unshift</b> - オブジェクト配列の先頭に1つ以上の要素を追加する</li>
+ * <li><b>findIndex</b> - オブジェクト配列から指定した要素の位置を返却する</li>
+ * <li><b>findIndexes</b> - オブジェクト配列から指定した複数の要素の位置をまとめて返却する</li>
+ * <li><b>index</b> - 要素から位置を引く {@link ArrayIndex} を作成する</li>
+ * <li><b>splice / insertAt / removeRange</b> - オブジェクト配列の途中の要素を削除、追加する</li>
+ * <li><b>builder</b> - 要素を1つずつ追加して配列を作成する {@link ArrayBuilder} を生成する</li>
  * </ul>
  * 
+ * <p>
+ * push / unshift / findIndex / builder はプリミティブ型の配列(boolean、byte、char、short、int、long、float、double)
+ * にも対応し、要素をボクシングせずに扱う
+ * </p>
+ * 
+ * <p>
+ * 数千万要素のような巨大な配列を複数のスレッドで検索する場合は {@link ParallelSearch} を使用する
+ * </p>
+ * 
  * @author gn5r
  * @since 0.2.0
  * @see ArrayUtils
  */
 public final class ArrayUtil extends ArrayUtils {
 
+    /**
+     * {@link #findIndexes(Object[], Object[])} で {@link ArrayIndex} を作成する要素数
+     */
+    private static final int INDEX_THRESHOLD = 8;
+
     /**
      * <p>
      * オブジェクト配列の末尾に1つ以上の要素を追加する
@@ -33,7 +55,6 @@ public final class ArrayUtil extends ArrayUtils {
      * @return 要素を追加した新しいオブジェクト配列
      * @since 0.2.0
      */
-    @SuppressWarnings("unchecked")
     public static final <T> T[] push(T[] array, Object... element) {
 
         if (Objects.isNull(array)) {
@@ -44,19 +65,246 @@ public final class ArrayUtil extends ArrayUtils {
             return array;
         }
 
-        final int length = array.length;
-        final int elemtLength = element.length;
+        return copy(array, array.length, 0, element);
+    }
+
+    /**
+     * <p>
+     * boolean配列の末尾に1つ以上の要素を追加する
+     * </p>
+     *
+     * <p>
+     * 配列または追加したい要素がnullと判定された場合は配列をそのまま返却する
+     * </p>
+     *
+     * @param array   boolean配列
+     * @param element 追加したい要素
+     * @return 要素を追加した新しいboolean配列
+     * @since 0.3.9
+     */
+    public static final boolean[] push(boolean[] array, boolean... element) {
+        if (Objects.isNull(array)) {
+            return null;
+        }
+
+        if (Objects.isNull(element)) {
+            return array;
+        }
+
+        final boolean[] tmp = new boolean[array.length + element.length];
+        System.arraycopy(array, 0, tmp, 0, array.length);
+        System.arraycopy(element, 0, tmp, array.length, element.length);
+
+        return tmp;
+    }
+
+    /**
+     * <p>
+     * byte配列の末尾に1つ以上の要素を追加する
+     * </p>
+     *
+     * <p>
+     * 配列または追加したい要素がnullと判定された場合は配列をそのまま返却する
+     * </p>
+     *
+     * @param array   byte配列
+     * @param element 追加したい要素
+     * @return 要素を追加した新しいbyte配列
+     * @since 0.3.9
+     */
+    public static final byte[] push(byte[] array, byte... element) {
+        if (Objects.isNull(array)) {
+            return null;
+        }
+
+        if (Objects.isNull(element)) {
+            return array;
+        }
+
+        final byte[] tmp = new byte[array.length + element.length];
+        System.arraycopy(array, 0, tmp, 0, array.length);
+        System.arraycopy(element, 0, tmp, array.length, element.length);
+
+        return tmp;
+    }
+
+    /**
+     * <p>
+     * char配列の末尾に1つ以上の要素を追加する
+     * </p>
+     *
+     * <p>
+     * 配列または追加したい要素がnullと判定された場合は配列をそのまま返却する
+     * </p>
+     *
+     * @param array   char配列
+     * @param element 追加したい要素
+     * @return 要素を追加した新しいchar配列
+     * @since 0.3.9
+     */
+    public static final char[] push(char[] array, char... element) {
+        if (Objects.isNull(array)) {
+            return null;
+        }
+
+        if (Objects.isNull(element)) {
+            return array;
+        }
+
+        final char[] tmp = new char[array.length + element.length];
+        System.arraycopy(array, 0, tmp, 0, array.length);
+        System.arraycopy(element, 0, tmp, array.length, element.length);
+
+        return tmp;
+    }
+
+    /**
+     * <p>
+     * short配列の末尾に1つ以上の要素を追加する
+     * </p>
+     *
+     * <p>
+     * 配列または追加したい要素がnullと判定された場合は配列をそのまま返却する
+     * </p>
+     *
+     * @param array   short配列
+     * @param element 追加したい要素
+     * @return 要素を追加した新しいshort配列
+     * @since 0.3.9
+     */
+    public static final short[] push(short[] array, short... element) {
+        if (Objects.isNull(array)) {
+            return null;
+        }
+
+        if (Objects.isNull(element)) {
+            return array;
+        }
+
+        final short[] tmp = new short[array.length + element.length];
+        System.arraycopy(array, 0, tmp, 0, array.length);
+        System.arraycopy(element, 0, tmp, array.length, element.length);
+
+        return tmp;
+    }
+
+    /**
+     * <p>
+     * int配列の末尾に1つ以上の要素を追加する
+     * </p>
+     *
+     * <p>
+     * 配列または追加したい要素がnullと判定された場合は配列をそのまま返却する
+     * </p>
+     *
+     * @param array   int配列
+     * @param element 追加したい要素
+     * @return 要素を追加した新しいint配列
+     * @since 0.3.9
+     */
+    public static final int[] push(int[] array, int... element) {
+        if (Objects.isNull(array)) {
+            return null;
+        }
+
+        if (Objects.isNull(element)) {
+            return array;
+        }
+
+        final int[] tmp = new int[array.length + element.length];
+        System.arraycopy(array, 0, tmp, 0, array.length);
+        System.arraycopy(element, 0, tmp, array.length, element.length);
+
+        return tmp;
+    }
+
+    /**
+     * <p>
+     * long配列の末尾に1つ以上の要素を追加する
+     * </p>
+     *
+     * <p>
+     * 配列または追加したい要素がnullと判定された場合は配列をそのまま返却する
+     * </p>
+     *
+     * @param array   long配列
+     * @param element 追加したい要素
+     * @return 要素を追加した新しいlong配列
+     * @since 0.3.9
+     */
+    public static final long[] push(long[] array, long... element) {
+        if (Objects.isNull(array)) {
+            return null;
+        }
+
+        if (Objects.isNull(element)) {
+            return array;
+        }
+
+        final long[] tmp = new long[array.length + element.length];
+        System.arraycopy(array, 0, tmp, 0, array.length);
+        System.arraycopy(element, 0, tmp, array.length, element.length);
+
+        return tmp;
+    }
 
-        // temp配列の初期化
-        T[] tmp = (T[]) Array.newInstance(array.getClass().getComponentType(), length + elemtLength);
+    /**
+     * <p>
+     * float配列の末尾に1つ以上の要素を追加する
+     * </p>
+     *
+     * <p>
+     * 配列または追加したい要素がnullと判定された場合は配列をそのまま返却する
+     * </p>
+     *
+     * @param array   float配列
+     * @param element 追加したい要素
+     * @return 要素を追加した新しいfloat配列
+     * @since 0.3.9
+     */
+    public static final float[] push(float[] array, float... element) {
+        if (Objects.isNull(array)) {
+            return null;
+        }
+
+        if (Objects.isNull(element)) {
+            return array;
+        }
+
+        final float[] tmp = new float[array.length + element.length];
+        System.arraycopy(array, 0, tmp, 0, array.length);
+        System.arraycopy(element, 0, tmp, array.length, element.length);
 
-        // temp配列に現在の配列をコピーする
-        System.arraycopy(array, 0, tmp, 0, length);
+        return tmp;
+    }
+
+    /**
+     * <p>
+     * double配列の末尾に1つ以上の要素を追加する
+     * </p>
+     *
+     * <p>
+     * 配列または追加したい要素がnullと判定された場合は配列をそのまま返却する
+     * </p>
+     *
+     * @param array   double配列
+     * @param element 追加したい要素
+     * @return 要素を追加した新しいdouble配列
+     * @since 0.3.9
+     */
+    public static final double[] push(double[] array, double... element) {
+        if (Objects.isNull(array)) {
+            return null;
+        }
 
-        for (int i = 0; i < elemtLength; i++) {
-            tmp[length + i] = (T) element[i];
+        if (Objects.isNull(element)) {
+            return array;
         }
 
+        final double[] tmp = new double[array.length + element.length];
+        System.arraycopy(array, 0, tmp, 0, array.length);
+        System.arraycopy(element, 0, tmp, array.length, element.length);
+
         return tmp;
     }
 
@@ -76,7 +324,6 @@ public final class ArrayUtil extends ArrayUtils {
      * @return 要素を追加した新しいオブジェクト配列
      * @since 0.2.0
      */
-    @SuppressWarnings("unchecked")
     public static final <T> T[] unshift(T[] array, Object... element) {
 
         if (Objects.isNull(array)) {
@@ -87,46 +334,819 @@ public final class ArrayUtil extends ArrayUtils {
             return array;
         }
 
-        final int length = array.length;
-        final int elemtLength = element.length;
+        return copy(array, 0, 0, element);
+    }
+
+    /**
+     * <p>
+     * boolean配列の先頭に1つ以上の要素を追加する
+     * </p>
+     *
+     * <p>
+     * 配列または追加したい要素がnullと判定された場合は配列をそのまま返却する
+     * </p>
+     *
+     * @param array   boolean配列
+     * @param element 追加したい要素
+     * @return 要素を追加した新しいboolean配列
+     * @since 0.3.9
+     */
+    public static final boolean[] unshift(boolean[] array, boolean... element) {
+        if (Objects.isNull(array)) {
+            return null;
+        }
+
+        if (Objects.isNull(element)) {
+            return array;
+        }
+
+        final boolean[] tmp = new boolean[array.length + element.length];
+        System.arraycopy(element, 0, tmp, 0, element.length);
+        System.arraycopy(array, 0, tmp, element.length, array.length);
+
+        return tmp;
+    }
+
+    /**
+     * <p>
+     * byte配列の先頭に1つ以上の要素を追加する
+     * </p>
+     *
+     * <p>
+     * 配列または追加したい要素がnullと判定された場合は配列をそのまま返却する
+     * </p>
+     *
+     * @param array   byte配列
+     * @param element 追加したい要素
+     * @return 要素を追加した新しいbyte配列
+     * @since 0.3.9
+     */
+    public static final byte[] unshift(byte[] array, byte... element) {
+        if (Objects.isNull(array)) {
+            return null;
+        }
+
+        if (Objects.isNull(element)) {
+            return array;
+        }
 
-        T[] tmp = (T[]) Array.newInstance(array.getClass().getComponentType(), length + elemtLength);
+        final byte[] tmp = new byte[array.length + element.length];
+        System.arraycopy(element, 0, tmp, 0, element.length);
+        System.arraycopy(array, 0, tmp, element.length, array.length);
 
-        System.arraycopy(element, 0, tmp, 0, elemtLength);
+        return tmp;
+    }
+
+    /**
+     * <p>
+     * char配列の先頭に1つ以上の要素を追加する
+     * </p>
+     *
+     * <p>
+     * 配列または追加したい要素がnullと判定された場合は配列をそのまま返却する
+     * </p>
+     *
+     * @param array   char配列
+     * @param element 追加したい要素
+     * @return 要素を追加した新しいchar配列
+     * @since 0.3.9
+     */
+    public static final char[] unshift(char[] array, char... element) {
+        if (Objects.isNull(array)) {
+            return null;
+        }
 
-        for (int i = 0; i < length; i++) {
-            tmp[length + i] = array[i];
+        if (Objects.isNull(element)) {
+            return array;
         }
 
+        final char[] tmp = new char[array.length + element.length];
+        System.arraycopy(element, 0, tmp, 0, element.length);
+        System.arraycopy(array, 0, tmp, element.length, array.length);
+
         return tmp;
     }
 
     /**
      * <p>
-     * オブジェクト配列から指定した要素の位置を返却する。見つからない場合は -1 を返却する
+     * short配列の先頭に1つ以上の要素を追加する
      * </p>
-     * 
-     * @param <T>     配列のオブジェクトタイプ
-     * @param array   オブジェクト配列
-     * @param element 位置を取得したい要素
-     * @return 要素の位置
-     * @since 0.3.4
+     *
+     * <p>
+     * 配列または追加したい要素がnullと判定された場合は配列をそのまま返却する
+     * </p>
+     *
+     * @param array   short配列
+     * @param element 追加したい要素
+     * @return 要素を追加した新しいshort配列
+     * @since 0.3.9
      */
-    public static final <T> int findIndex(T[] array, Object element) {
+    public static final short[] unshift(short[] array, short... element) {
         if (Objects.isNull(array)) {
-            return -1;
+            return null;
         }
 
         if (Objects.isNull(element)) {
-            return -1;
+            return array;
         }
 
-        for (int i = 0; i < array.length; i++) {
-            if (Objects.equals(array[i], element)) {
-                return i;
-            }
+        final short[] tmp = new short[array.length + element.length];
+        System.arraycopy(element, 0, tmp, 0, element.length);
+        System.arraycopy(array, 0, tmp, element.length, array.length);
+
+        return tmp;
+    }
+
+    /**
+     * <p>
+     * int配列の先頭に1つ以上の要素を追加する
+     * </p>
+     *
+     * <p>
+     * 配列または追加したい要素がnullと判定された場合は配列をそのまま返却する
+     * </p>
+     *
+     * @param array   int配列
+     * @param element 追加したい要素
+     * @return 要素を追加した新しいint配列
+     * @since 0.3.9
+     */
+    public static final int[] unshift(int[] array, int... element) {
+        if (Objects.isNull(array)) {
+            return null;
         }
 
-        return -1;
+        if (Objects.isNull(element)) {
+            return array;
+        }
+
+        final int[] tmp = new int[array.length + element.length];
+        System.arraycopy(element, 0, tmp, 0, element.length);
+        System.arraycopy(array, 0, tmp, element.length, array.length);
+
+        return tmp;
+    }
+
+    /**
+     * <p>
+     * long配列の先頭に1つ以上の要素を追加する
+     * </p>
+     *
+     * <p>
+     * 配列または追加したい要素がnullと判定された場合は配列をそのまま返却する
+     * </p>
+     *
+     * @param array   long配列
+     * @param element 追加したい要素
+     * @return 要素を追加した新しいlong配列
+     * @since 0.3.9
+     */
+    public static final long[] unshift(long[] array, long... element) {
+        if (Objects.isNull(array)) {
+            return null;
+        }
+
+        if (Objects.isNull(element)) {
+            return array;
+        }
+
+        final long[] tmp = new long[array.length + element.length];
+        System.arraycopy(element, 0, tmp, 0, element.length);
+        System.arraycopy(array, 0, tmp, element.length, array.length);
+
+        return tmp;
+    }
+
+    /**
+     * <p>
+     * float配列の先頭に1つ以上の要素を追加する
+     * </p>
+     *
+     * <p>
+     * 配列または追加したい要素がnullと判定された場合は配列をそのまま返却する
+     * </p>
+     *
+     * @param array   float配列
+     * @param element 追加したい要素
+     * @return 要素を追加した新しいfloat配列
+     * @since 0.3.9
+     */
+    public static final float[] unshift(float[] array, float... element) {
+        if (Objects.isNull(array)) {
+            return null;
+        }
+
+        if (Objects.isNull(element)) {
+            return array;
+        }
+
+        final float[] tmp = new float[array.length + element.length];
+        System.arraycopy(element, 0, tmp, 0, element.length);
+        System.arraycopy(array, 0, tmp, element.length, array.length);
+
+        return tmp;
+    }
+
+    /**
+     * <p>
+     * double配列の先頭に1つ以上の要素を追加する
+     * </p>
+     *
+     * <p>
+     * 配列または追加したい要素がnullと判定された場合は配列をそのまま返却する
+     * </p>
+     *
+     * @param array   double配列
+     * @param element 追加したい要素
+     * @return 要素を追加した新しいdouble配列
+     * @since 0.3.9
+     */
+    public static final double[] unshift(double[] array, double... element) {
+        if (Objects.isNull(array)) {
+            return null;
+        }
+
+        if (Objects.isNull(element)) {
+            return array;
+        }
+
+        final double[] tmp = new double[array.length + element.length];
+        System.arraycopy(element, 0, tmp, 0, element.length);
+        System.arraycopy(array, 0, tmp, element.length, array.length);
+
+        return tmp;
+    }
+
+    /**
+     * <p>
+     * オブジェクト配列から指定した要素の位置を返却する。見つからない場合は -1 を返却する
+     * </p>
+     * 
+     * @param <T>     配列のオブジェクトタイプ
+     * @param array   オブジェクト配列
+     * @param element 位置を取得したい要素
+     * @return 要素の位置
+     * @since 0.3.4
+     */
+    public static final <T> int findIndex(T[] array, Object element) {
+        if (Objects.isNull(array)) {
+            return -1;
+        }
+
+        if (Objects.isNull(element)) {
+            return -1;
+        }
+
+        for (int i = 0; i < array.length; i++) {
+            if (Objects.equals(array[i], element)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * <p>
+     * 昇順にソートされたオブジェクト配列から、指定した要素と等しい最初の要素の位置を二分探索で返却する。見つからない場合は -1 を返却する
+     * </p>
+     * 
+     * <p>
+     * 配列は比較に使用する {@link Comparator} で昇順にソートされている必要がある。{@link Comparator} が equals
+     * と整合している場合は {@link #findIndex(Object[], Object)} と同じ結果になる
+     * </p>
+     * 
+     * @param <T>        配列のオブジェクトタイプ
+     * @param array      ソートされたオブジェクト配列
+     * @param element    位置を取得したい要素
+     * @param comparator 配列のソートに使用した比較方法
+     * @return 要素の位置
+     * @since 0.3.9
+     */
+    public static final <T> int findIndex(T[] array, T element, Comparator<? super T> comparator) {
+        if (Objects.isNull(array)) {
+            return -1;
+        }
+
+        if (Objects.isNull(element)) {
+            return -1;
+        }
+
+        // 等しい要素が複数ある場合に最初の位置を求めるため、指定した要素以上の最初の位置を探す
+        int low = 0;
+        int high = array.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (comparator.compare(array[middle], element) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low < array.length && comparator.compare(array[low], element) == 0 ? low : -1;
+    }
+
+    /**
+     * <p>
+     * オブジェクト配列から指定した複数の要素の位置をまとめて返却する
+     * </p>
+     * 
+     * <p>
+     * 各要素の結果は {@link #findIndex(Object[], Object)} と同じになる。検索する要素が多く配列が長い場合は
+     * {@link ArrayIndex} を作成して検索し、それ以外は1要素ずつ走査する
+     * </p>
+     * 
+     * @param <T>      配列のオブジェクトタイプ
+     * @param array    オブジェクト配列
+     * @param elements 位置を取得したい要素
+     * @return 要素毎の位置。要素がnullと判定された場合は空の配列
+     * @since 0.3.9
+     */
+    public static final <T> int[] findIndexes(T[] array, Object[] elements) {
+        if (Objects.isNull(elements)) {
+            return new int[0];
+        }
+
+        final int[] indexes = new int[elements.length];
+        if (Objects.isNull(array)) {
+            Arrays.fill(indexes, -1);
+            return indexes;
+        }
+
+        // 索引の作成は配列を数回走査する程度のコストなので、それ以上の回数検索する場合に作成する
+        if (elements.length >= INDEX_THRESHOLD && array.length >= INDEX_THRESHOLD) {
+            final ArrayIndex<T> index = ArrayIndex.of(array);
+            for (int i = 0; i < elements.length; i++) {
+                indexes[i] = index.findIndex(elements[i]);
+            }
+        } else {
+            for (int i = 0; i < elements.length; i++) {
+                indexes[i] = findIndex(array, elements[i]);
+            }
+        }
+
+        return indexes;
+    }
+
+    /**
+     * <p>
+     * オブジェクト配列の要素から位置を引く {@link ArrayIndex} を作成する
+     * </p>
+     * 
+     * <p>
+     * 同じ配列に対して {@link #findIndex(Object[], Object)} を繰り返し呼び出す代わりに使用する
+     * </p>
+     * 
+     * @param <T>   配列のオブジェクトタイプ
+     * @param array オブジェクト配列
+     * @return {@link ArrayIndex}
+     * @since 0.3.9
+     */
+    public static final <T> ArrayIndex<T> index(T[] array) {
+        return ArrayIndex.of(array);
+    }
+
+    /**
+     * <p>
+     * boolean配列から指定した要素の位置を返却する。見つからない場合は -1 を返却する
+     * </p>
+     *
+     * @param array   boolean配列
+     * @param element 位置を取得したい要素
+     * @return 要素の位置
+     * @since 0.3.9
+     */
+    public static final int findIndex(boolean[] array, boolean element) {
+        if (Objects.isNull(array)) {
+            return -1;
+        }
+
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == element) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * <p>
+     * byte配列から指定した要素の位置を返却する。見つからない場合は -1 を返却する
+     * </p>
+     *
+     * @param array   byte配列
+     * @param element 位置を取得したい要素
+     * @return 要素の位置
+     * @since 0.3.9
+     */
+    public static final int findIndex(byte[] array, byte element) {
+        if (Objects.isNull(array)) {
+            return -1;
+        }
+
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == element) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * <p>
+     * char配列から指定した要素の位置を返却する。見つからない場合は -1 を返却する
+     * </p>
+     *
+     * @param array   char配列
+     * @param element 位置を取得したい要素
+     * @return 要素の位置
+     * @since 0.3.9
+     */
+    public static final int findIndex(char[] array, char element) {
+        if (Objects.isNull(array)) {
+            return -1;
+        }
+
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == element) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * <p>
+     * short配列から指定した要素の位置を返却する。見つからない場合は -1 を返却する
+     * </p>
+     *
+     * @param array   short配列
+     * @param element 位置を取得したい要素
+     * @return 要素の位置
+     * @since 0.3.9
+     */
+    public static final int findIndex(short[] array, short element) {
+        if (Objects.isNull(array)) {
+            return -1;
+        }
+
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == element) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * <p>
+     * int配列から指定した要素の位置を返却する。見つからない場合は -1 を返却する
+     * </p>
+     *
+     * @param array   int配列
+     * @param element 位置を取得したい要素
+     * @return 要素の位置
+     * @since 0.3.9
+     */
+    public static final int findIndex(int[] array, int element) {
+        if (Objects.isNull(array)) {
+            return -1;
+        }
+
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == element) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * <p>
+     * long配列から指定した要素の位置を返却する。見つからない場合は -1 を返却する
+     * </p>
+     *
+     * @param array   long配列
+     * @param element 位置を取得したい要素
+     * @return 要素の位置
+     * @since 0.3.9
+     */
+    public static final int findIndex(long[] array, long element) {
+        if (Objects.isNull(array)) {
+            return -1;
+        }
+
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == element) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * <p>
+     * float配列から指定した要素の位置を返却する。見つからない場合は -1 を返却する
+     * </p>
+     *
+     * <p>
+     * Float#equals(Object) と同じく、NaN は NaN と一致し、0.0 と -0.0 は一致しない
+     * </p>
+     *
+     * @param array   float配列
+     * @param element 位置を取得したい要素
+     * @return 要素の位置
+     * @since 0.3.9
+     */
+    public static final int findIndex(float[] array, float element) {
+        if (Objects.isNull(array)) {
+            return -1;
+        }
+
+        final int bits = Float.floatToIntBits(element);
+        for (int i = 0; i < array.length; i++) {
+            if (Float.floatToIntBits(array[i]) == bits) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * <p>
+     * double配列から指定した要素の位置を返却する。見つからない場合は -1 を返却する
+     * </p>
+     *
+     * <p>
+     * Double#equals(Object) と同じく、NaN は NaN と一致し、0.0 と -0.0 は一致しない
+     * </p>
+     *
+     * @param array   double配列
+     * @param element 位置を取得したい要素
+     * @return 要素の位置
+     * @since 0.3.9
+     */
+    public static final int findIndex(double[] array, double element) {
+        if (Objects.isNull(array)) {
+            return -1;
+        }
+
+        final long bits = Double.doubleToLongBits(element);
+        for (int i = 0; i < array.length; i++) {
+            if (Double.doubleToLongBits(array[i]) == bits) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * <p>
+     * オブジェクト配列の指定した位置から指定した数の要素を削除し、その位置に0個以上の要素を追加する
+     * </p>
+     * 
+     * <p>
+     * 配列がnullと判定された場合はnull、追加したい要素がnullと判定された場合は要素を追加せずに削除だけを行う。
+     * 削除する数は0から指定した位置以降の要素数までに丸める
+     * </p>
+     * 
+     * <pre>
+     * ArrayUtil.splice(new Integer[] { 1, 2, 3, 4 }, 1, 2, 9); // [1, 9, 4]
+     * </pre>
+     * 
+     * @param <T>         配列のオブジェクトタイプ
+     * @param array       オブジェクト配列
+     * @param index       削除、追加する位置
+     * @param deleteCount 削除する要素数
+     * @param element     追加したい要素
+     * @return 要素を削除、追加した新しいオブジェクト配列
+     * @throws IndexOutOfBoundsException 位置が配列の範囲外の場合にthrowする
+     * @since 0.3.9
+     */
+    public static final <T> T[] splice(T[] array, int index, int deleteCount, Object... element) {
+        if (Objects.isNull(array)) {
+            return null;
+        }
+
+        if (index < 0 || index > array.length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + array.length);
+        }
+
+        return copy(array, index, Math.max(0, Math.min(deleteCount, array.length - index)), element);
+    }
+
+    /**
+     * <p>
+     * オブジェクト配列の指定した位置に1つ以上の要素を追加する
+     * </p>
+     * 
+     * <p>
+     * {@link ArrayUtils#insert(int, Object[], Object...)} と引数の順序が異なる。配列がnullと判定された場合はnull、
+     * 追加したい要素がnullと判定された場合は位置を検証したうえで配列をそのまま返却する
+     * </p>
+     * 
+     * <pre>
+     * ArrayUtil.insertAt(new Integer[] { 1, 2, 3 }, 1, 9); // [1, 9, 2, 3]
+     * </pre>
+     * 
+     * @param <T>     配列のオブジェクトタイプ
+     * @param array   オブジェクト配列
+     * @param index   追加する位置
+     * @param element 追加したい要素
+     * @return 要素を追加した新しいオブジェクト配列
+     * @throws IndexOutOfBoundsException 位置が配列の範囲外の場合にthrowする
+     * @since 0.3.9
+     */
+    public static final <T> T[] insertAt(T[] array, int index, Object... element) {
+        if (Objects.isNull(array)) {
+            return null;
+        }
+
+        if (index < 0 || index > array.length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + array.length);
+        }
+
+        if (Objects.isNull(element)) {
+            return array;
+        }
+
+        return copy(array, index, 0, element);
+    }
+
+    /**
+     * <p>
+     * オブジェクト配列から指定した範囲の要素を削除する
+     * </p>
+     * 
+     * @param <T>   配列のオブジェクトタイプ
+     * @param array オブジェクト配列
+     * @param from  削除する範囲の開始位置
+     * @param to    削除する範囲の終了位置(この位置の要素は削除しない)
+     * @return 要素を削除した新しいオブジェクト配列。配列がnullと判定された場合はnull
+     * @throws IndexOutOfBoundsException 範囲が配列の範囲外の場合にthrowする
+     * @since 0.3.9
+     */
+    public static final <T> T[] removeRange(T[] array, int from, int to) {
+        if (Objects.isNull(array)) {
+            return null;
+        }
+
+        if (from < 0 || to > array.length || from > to) {
+            throw new IndexOutOfBoundsException("From: " + from + ", To: " + to + ", Length: " + array.length);
+        }
+
+        return copy(array, from, to - from, (Object[]) null);
+    }
+
+    /**
+     * <p>
+     * 配列の要素を初期値とし、配列と同じ型の配列を作成する {@link ArrayBuilder} を生成する
+     * </p>
+     *
+     * <p>
+     * ループの中で {@link #push(Object[], Object...)}、{@link #unshift(Object[], Object...)} を繰り返し呼び出す代わりに使用する
+     * </p>
+     *
+     * @param <T>   配列のオブジェクトタイプ
+     * @param array 初期値の配列
+     * @return {@link ArrayBuilder}
+     * @since 0.3.9
+     */
+    public static final <T> ArrayBuilder<T> builder(T[] array) {
+        return ArrayBuilder.from(array);
+    }
+
+    /**
+     * <p>
+     * boolean配列の要素を初期値とする {@link PrimitiveArrayBuilder.OfBoolean} を生成する
+     * </p>
+     *
+     * @param array 初期値の配列
+     * @return {@link PrimitiveArrayBuilder.OfBoolean}
+     * @since 0.3.9
+     */
+    public static final PrimitiveArrayBuilder.OfBoolean builder(boolean[] array) {
+        return PrimitiveArrayBuilder.OfBoolean.from(array);
+    }
+
+    /**
+     * <p>
+     * byte配列の要素を初期値とする {@link PrimitiveArrayBuilder.OfByte} を生成する
+     * </p>
+     *
+     * @param array 初期値の配列
+     * @return {@link PrimitiveArrayBuilder.OfByte}
+     * @since 0.3.9
+     */
+    public static final PrimitiveArrayBuilder.OfByte builder(byte[] array) {
+        return PrimitiveArrayBuilder.OfByte.from(array);
+    }
+
+    /**
+     * <p>
+     * char配列の要素を初期値とする {@link PrimitiveArrayBuilder.OfChar} を生成する
+     * </p>
+     *
+     * @param array 初期値の配列
+     * @return {@link PrimitiveArrayBuilder.OfChar}
+     * @since 0.3.9
+     */
+    public static final PrimitiveArrayBuilder.OfChar builder(char[] array) {
+        return PrimitiveArrayBuilder.OfChar.from(array);
+    }
+
+    /**
+     * <p>
+     * short配列の要素を初期値とする {@link PrimitiveArrayBuilder.OfShort} を生成する
+     * </p>
+     *
+     * @param array 初期値の配列
+     * @return {@link PrimitiveArrayBuilder.OfShort}
+     * @since 0.3.9
+     */
+    public static final PrimitiveArrayBuilder.OfShort builder(short[] array) {
+        return PrimitiveArrayBuilder.OfShort.from(array);
+    }
+
+    /**
+     * <p>
+     * int配列の要素を初期値とする {@link PrimitiveArrayBuilder.OfInt} を生成する
+     * </p>
+     *
+     * @param array 初期値の配列
+     * @return {@link PrimitiveArrayBuilder.OfInt}
+     * @since 0.3.9
+     */
+    public static final PrimitiveArrayBuilder.OfInt builder(int[] array) {
+        return PrimitiveArrayBuilder.OfInt.from(array);
+    }
+
+    /**
+     * <p>
+     * long配列の要素を初期値とする {@link PrimitiveArrayBuilder.OfLong} を生成する
+     * </p>
+     *
+     * @param array 初期値の配列
+     * @return {@link PrimitiveArrayBuilder.OfLong}
+     * @since 0.3.9
+     */
+    public static final PrimitiveArrayBuilder.OfLong builder(long[] array) {
+        return PrimitiveArrayBuilder.OfLong.from(array);
+    }
+
+    /**
+     * <p>
+     * float配列の要素を初期値とする {@link PrimitiveArrayBuilder.OfFloat} を生成する
+     * </p>
+     *
+     * @param array 初期値の配列
+     * @return {@link PrimitiveArrayBuilder.OfFloat}
+     * @since 0.3.9
+     */
+    public static final PrimitiveArrayBuilder.OfFloat builder(float[] array) {
+        return PrimitiveArrayBuilder.OfFloat.from(array);
+    }
+
+    /**
+     * <p>
+     * double配列の要素を初期値とする {@link PrimitiveArrayBuilder.OfDouble} を生成する
+     * </p>
+     *
+     * @param array 初期値の配列
+     * @return {@link PrimitiveArrayBuilder.OfDouble}
+     * @since 0.3.9
+     */
+    public static final PrimitiveArrayBuilder.OfDouble builder(double[] array) {
+        return PrimitiveArrayBuilder.OfDouble.from(array);
+    }
+
+    /**
+     * 指定した位置の要素を削除して要素を追加した新しい配列を作成する。
+     * 配列は削除する範囲の前後の2回、追加する要素は1回の {@link System#arraycopy(Object, int, Object, int, int)} でコピーする
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T[] copy(T[] array, int index, int deleteCount, Object[] element) {
+        final int length = array.length;
+        final int elemtLength = Objects.isNull(element) ? 0 : element.length;
+        final int tail = length - index - deleteCount;
+
+        final T[] tmp = (T[]) Array.newInstance(array.getClass().getComponentType(), length - deleteCount + elemtLength);
+
+        System.arraycopy(array, 0, tmp, 0, index);
+        if (elemtLength > 0) {
+            System.arraycopy(element, 0, tmp, index, elemtLength);
+        }
+        System.arraycopy(array, index + deleteCount, tmp, index + elemtLength, tail);
+
+        return tmp;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,264 @@
+package com.gn5r.common.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+import com.gn5r.common.utils.ObjectUtil.Difference;
+
+/**
+ * <p>
+ * 大量のオブジェクトの組み合わせを並列に比較するクラス
+ * </p>
+ *
+ * <p>
+ * キーで対応付けた2つのスナップショット(Map、またはキーを取り出せるList)を比較し、キー毎の
+ * {@link ObjectUtil#diff(Object, Object, String...)} の結果と、追加・削除されたキーを返却する。
+ * 比較はキーを分割して {@link ForkJoinPool#commonPool()} または指定した {@link Executor}
+ * で並列に実行する。フィールドのメタデータはクラス毎にキャッシュされるので、全ての組み合わせで共有される
+ * </p>
+ *
+ * <pre>
+ * BulkDiff.Result&lt;Long&gt; result = BulkDiff.diff(before, after, User::getId, executor);
+ * result.getChanged(); // id → 相違フィールドリスト
+ * result.getAdded(); // afterにのみ存在するid
+ * result.getRemoved(); // beforeにのみ存在するid
+ * </pre>
+ *
+ * @author gn5r
+ * @since 0.3.9
+ * @see ObjectUtil#diff(Object, Object, String...)
+ */
+public final class BulkDiff {
+
+    /**
+     * 1タスクで比較する最小件数
+     */
+    private static final int MIN_CHUNK_SIZE = 256;
+
+    private BulkDiff() {
+    }
+
+    /**
+     * キーで対応付けた2つのMapを {@link ForkJoinPool#commonPool()} で並列に比較する
+     *
+     * @param <K>      キーの型
+     * @param a        比較元のMap
+     * @param b        比較先のMap
+     * @param excludes 除外フィールド名のString配列
+     * @return 比較結果
+     * @throws NullPointerException Mapまたは値が {@code null} の場合にthrowする
+     */
+    public static <K> Result<K> diff(final Map<K, ?> a, final Map<K, ?> b, final String... excludes) {
+        return diff(a, b, ForkJoinPool.commonPool(), excludes);
+    }
+
+    /**
+     * キーで対応付けた2つのMapを指定した {@link Executor} で並列に比較する
+     *
+     * @param <K>      キーの型
+     * @param a        比較元のMap
+     * @param b        比較先のMap
+     * @param executor 比較を実行する {@link Executor}
+     * @param excludes 除外フィールド名のString配列
+     * @return 比較結果
+     * @throws NullPointerException Mapまたは値が {@code null} の場合にthrowする
+     */
+    public static <K> Result<K> diff(final Map<K, ?> a, final Map<K, ?> b, final Executor executor,
+            final String... excludes) {
+        Objects.requireNonNull(a, "比較元のMapがnullです");
+        Objects.requireNonNull(b, "比較先のMapがnullです");
+        Objects.requireNonNull(executor, "Executorがnullです");
+
+        final Set<K> removed = new LinkedHashSet<>();
+        final List<K> common = new ArrayList<>();
+
+        for (K key : a.keySet()) {
+            if (b.containsKey(key)) {
+                common.add(key);
+            } else {
+                removed.add(key);
+            }
+        }
+
+        final Set<K> added = new LinkedHashSet<>();
+        for (K key : b.keySet()) {
+            if (!a.containsKey(key)) {
+                added.add(key);
+            }
+        }
+
+        // キーを分割して並列に比較する。分割順に結合するので結果は比較元Mapの順序になる
+        final int chunkSize = chunkSize(common.size(), executor);
+        final List<CompletableFuture<Map<K, List<Difference>>>> futures = new ArrayList<>();
+
+        for (int from = 0; from < common.size(); from += chunkSize) {
+            final List<K> keys = common.subList(from, Math.min(from + chunkSize, common.size()));
+            futures.add(CompletableFuture.supplyAsync(() -> diffChunk(keys, a, b, excludes), executor));
+        }
+
+        final Map<K, List<Difference>> changed = new LinkedHashMap<>();
+        try {
+            for (CompletableFuture<Map<K, List<Difference>>> future : futures) {
+                changed.putAll(future.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+
+        return new Result<>(changed, added, removed, common.size());
+    }
+
+    /**
+     * 2つのListを要素から取り出したキーで対応付け、{@link ForkJoinPool#commonPool()} で並列に比較する
+     *
+     * @param <K>       キーの型
+     * @param <T>       要素の型
+     * @param a         比較元のList
+     * @param b         比較先のList
+     * @param keyMapper 要素からキーを取り出す関数
+     * @param excludes  除外フィールド名のString配列
+     * @return 比較結果
+     * @throws IllegalStateException キーが重複している場合にthrowする
+     */
+    public static <K, T> Result<K> diff(final List<? extends T> a, final List<? extends T> b,
+            final Function<? super T, ? extends K> keyMapper, final String... excludes) {
+        return diff(a, b, keyMapper, ForkJoinPool.commonPool(), excludes);
+    }
+
+    /**
+     * 2つのListを要素から取り出したキーで対応付け、指定した {@link Executor} で並列に比較する
+     *
+     * @param <K>       キーの型
+     * @param <T>       要素の型
+     * @param a         比較元のList
+     * @param b         比較先のList
+     * @param keyMapper 要素からキーを取り出す関数
+     * @param executor  比較を実行する {@link Executor}
+     * @param excludes  除外フィールド名のString配列
+     * @return 比較結果
+     * @throws IllegalStateException キーが重複している場合にthrowする
+     */
+    public static <K, T> Result<K> diff(final List<? extends T> a, final List<? extends T> b,
+            final Function<? super T, ? extends K> keyMapper, final Executor executor, final String... excludes) {
+        Objects.requireNonNull(keyMapper, "キーを取り出す関数がnullです");
+
+        return diff(toMap(a, keyMapper), toMap(b, keyMapper), executor, excludes);
+    }
+
+    private static <K, T> Map<K, T> toMap(final List<? extends T> list, final Function<? super T, ? extends K> keyMapper) {
+        Objects.requireNonNull(list, "Listがnullです");
+
+        final Map<K, T> map = new LinkedHashMap<>();
+        for (T element : list) {
+            final K key = keyMapper.apply(element);
+            if (Objects.nonNull(map.put(key, element))) {
+                throw new IllegalStateException("キーが重複しています: " + key);
+            }
+        }
+
+        return map;
+    }
+
+    private static <K> Map<K, List<Difference>> diffChunk(final List<K> keys, final Map<K, ?> a, final Map<K, ?> b,
+            final String... excludes) {
+        final Map<K, List<Difference>> changed = new LinkedHashMap<>();
+
+        for (K key : keys) {
+            final List<Difference> diff = ObjectUtil.diff(a.get(key), b.get(key), excludes);
+            if (!diff.isEmpty()) {
+                changed.put(key, diff);
+            }
+        }
+
+        return changed;
+    }
+
+    /**
+     * 1タスクで比較する件数を決める。並列度の4倍程度のタスクに分割する
+     */
+    private static int chunkSize(final int size, final Executor executor) {
+        final int parallelism = executor instanceof ForkJoinPool ? ((ForkJoinPool) executor).getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+
+        return Math.max(MIN_CHUNK_SIZE, (size + parallelism * 4 - 1) / (parallelism * 4));
+    }
+
+    /**
+     * 一括比較の結果
+     *
+     * @param <K> キーの型
+     */
+    public static final class Result<K> {
+
+        private final Map<K, List<Difference>> changed;
+        private final Set<K> added;
+        private final Set<K> removed;
+        private final int compared;
+
+        Result(final Map<K, List<Difference>> changed, final Set<K> added, final Set<K> removed, final int compared) {
+            this.changed = Collections.unmodifiableMap(changed);
+            this.added = Collections.unmodifiableSet(added);
+            this.removed = Collections.unmodifiableSet(removed);
+            this.compared = compared;
+        }
+
+        /**
+         * 相違があったキーと相違フィールドリストを比較元の順序で取得する
+         *
+         * @return キー:相違フィールドリストのマップ
+         */
+        public Map<K, List<Difference>> getChanged() {
+            return this.changed;
+        }
+
+        /**
+         * 比較先にのみ存在するキーを取得する
+         *
+         * @return 追加されたキー
+         */
+        public Set<K> getAdded() {
+            return this.added;
+        }
+
+        /**
+         * 比較元にのみ存在するキーを取得する
+         *
+         * @return 削除されたキー
+         */
+        public Set<K> getRemoved() {
+            return this.removed;
+        }
+
+        /**
+         * 両方に存在し、比較したキーの件数を取得する
+         *
+         * @return 比較件数
+         */
+        public int getComparedCount() {
+            return this.compared;
+        }
+
+        /**
+         * 相違、追加、削除のいずれかがあるかどうかを判定する
+         *
+         * @return いずれかがある場合 true
+         */
+        public boolean hasDifference() {
+            return !this.changed.isEmpty() || !this.added.isEmpty() || !this.removed.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,636 @@
+package com.gn5r.common.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>
+ * {@link StringUtil} のバイト数計算クラス
+ * </p>
+ *
+ * <p>
+ * エンコーディング毎に1つのインスタンスをキャッシュし、文字列をエンコードせずに(または1回だけエンコードして)バイト数を求める。
+ * 計算方法はエンコーディングによって異なる
+ * </p>
+ *
+ * <ul>
+ * <li><b>MS932 / Shift_JIS / EUC-JP</b> - BMPの各文字のバイト数を2ビットで詰めた表(16KB)を初回使用時に作成し、表を引いて数える</li>
+ * <li><b>UTF-8</b> - 文字コードの範囲からバイト数を算出する</li>
+ * <li><b>US-ASCII / ISO-8859-1</b> - コードポイント数をバイト数とする</li>
+ * <li><b>その他</b> - スレッド毎の {@link CharsetEncoder} で使い回しのバッファにエンコードして数える</li>
+ * </ul>
+ *
+ * <p>
+ * いずれの場合も、先頭から続く1バイトの文字(ASCII、1バイトのエンコーディングではLatin-1)は8文字ずつまとめて判定して読み飛ばし、
+ * 1文字ずつ数えるのはそれ以降だけになる
+ * </p>
+ *
+ * <p>
+ * いずれの場合も {@code byte[]} を生成せず、{@link String#getBytes(Charset)} の長さと同じ結果になる。
+ * エンコードできない文字は代替文字({@code ?})のバイト数で数える
+ * </p>
+ *
+ * @author gn5r
+ * @since 0.3.9
+ */
+abstract class ByteCounter {
+
+    /**
+     * 使い回すバッファの最大サイズ。これより大きいバッファは使用後に破棄する
+     */
+    private static final int MAX_BUFFER_SIZE = 8192;
+
+    /**
+     * 正規名毎のインスタンス。サポートされているエンコーディングだけを登録するので、件数はJVMのエンコーディング数を超えない
+     */
+    private static final ConcurrentMap<String, ByteCounter> COUNTERS = new ConcurrentHashMap<>();
+
+    /**
+     * 表を使用するエンコーディング。いずれも状態を持たず、ASCIIを1バイトでエンコードする
+     */
+    private static final String[] TABLE_CHARSETS = { "windows-31j", "Shift_JIS", "EUC-JP" };
+
+    /**
+     * スレッド毎のエンコーダー。{@link CharsetEncoder} はスレッドセーフではない
+     */
+    private static final ThreadLocal<Map<Charset, CharsetEncoder>> ENCODERS = ThreadLocal.withInitial(HashMap::new);
+
+    private static final ThreadLocal<ByteBuffer> BUFFER = ThreadLocal.withInitial(() -> ByteBuffer.allocate(256));
+
+    /**
+     * ASCII以外の文字のビット
+     */
+    static final char NON_ASCII = 0xFF80;
+
+    /**
+     * Latin-1以外の文字のビット
+     */
+    static final char NON_LATIN1 = 0xFF00;
+
+    /**
+     * まとめて判定する文字数。これより短い範囲は1文字ずつ判定する
+     */
+    private static final int SKIP_THRESHOLD = 32;
+
+    /**
+     * {@link String}、{@link StringBuilder} の文字をコピーして判定するスレッド毎のバッファ
+     */
+    private static final ThreadLocal<char[]> CHARS = ThreadLocal.withInitial(() -> new char[512]);
+
+    ByteCounter() {
+    }
+
+    /**
+     * エンコーディング名に対応するインスタンスを取得する
+     *
+     * @param encoding エンコーディング名。{@code null} または空文字("")の場合は {@link StringUtil#DEFAULT_ENCODING}
+     * @return インスタンス。サポートされていないエンコーディングの場合は {@code null}
+     */
+    static ByteCounter of(final String encoding) {
+        final String name = StringUtil.isEmpty(encoding) ? StringUtil.DEFAULT_ENCODING : encoding;
+
+        // 別名や大文字・小文字の違いは Charset#forName で正規名に変換する。
+        // 直近に使用したエンコーディングは Charset 側でキャッシュされる
+        final Charset charset;
+        try {
+            charset = Charset.forName(name);
+        } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+            return null;
+        }
+
+        ByteCounter counter = COUNTERS.get(charset.name());
+        if (Objects.isNull(counter)) {
+            counter = create(charset);
+            final ByteCounter present = COUNTERS.putIfAbsent(charset.name(), counter);
+            if (Objects.nonNull(present)) {
+                counter = present;
+            }
+        }
+
+        return counter;
+    }
+
+    private static ByteCounter create(final Charset charset) {
+        if (charset.equals(StandardCharsets.UTF_8)) {
+            return new Utf8Counter();
+        }
+        if (charset.equals(StandardCharsets.US_ASCII) || charset.equals(StandardCharsets.ISO_8859_1)) {
+            return new SingleByteCounter();
+        }
+        for (String name : TABLE_CHARSETS) {
+            if (charset.name().equals(name)) {
+                return new TableCounter(charset);
+            }
+        }
+        return new EncoderCounter(charset);
+    }
+
+    /**
+     * 文字列のバイト数を返却する
+     *
+     * @param str 文字列
+     * @return バイト数
+     */
+    final int length(final CharSequence str) {
+        return length(str, 0, str.length());
+    }
+
+    /**
+     * 文字列の指定範囲のバイト数を返却する。範囲の末尾で分割されたサロゲートペアは単独のサロゲートとして数える
+     *
+     * @param str  文字列
+     * @param from 開始位置
+     * @param to   終了位置(この位置の文字を含まない)
+     * @return バイト数
+     */
+    abstract int length(CharSequence str, int from, int to);
+
+    /**
+     * 文字列の先頭から指定したバイト数に収まる文字数を返却する。サロゲートペアは分割しない
+     *
+     * @param str    文字列
+     * @param length バイト数
+     * @return 文字数
+     */
+    final int fit(final CharSequence str, final int length) {
+        return end(measure(str, 0, length));
+    }
+
+    /**
+     * 文字列の指定位置から指定したバイト数に収まる範囲を求める。サロゲートペアは分割しない
+     *
+     * @param str    文字列
+     * @param from   開始位置
+     * @param length バイト数
+     * @return 上位32ビットに終了位置(この位置の文字を含まない)、下位32ビットに範囲のバイト数。{@link #end(long)}、{@link #bytes(long)} で取り出す
+     */
+    final long measure(final CharSequence str, final int from, final int length) {
+        return measure(str, from, str.length(), length);
+    }
+
+    /**
+     * 文字列の指定範囲のうち、開始位置から指定したバイト数に収まる範囲を求める。サロゲートペアは分割しない
+     *
+     * @param str    文字列
+     * @param from   開始位置
+     * @param to     範囲の終了位置(この位置の文字を含まない)
+     * @param length バイト数
+     * @return 上位32ビットに終了位置(この位置の文字を含まない)、下位32ビットに範囲のバイト数。{@link #end(long)}、{@link #bytes(long)} で取り出す
+     */
+    abstract long measure(CharSequence str, int from, int to, int length);
+
+    /**
+     * {@link #measure(CharSequence, int, int)} の結果から終了位置を取り出す
+     *
+     * @param measured {@link #measure(CharSequence, int, int)} の結果
+     * @return 終了位置
+     */
+    static int end(final long measured) {
+        return (int) (measured >>> 32);
+    }
+
+    /**
+     * {@link #measure(CharSequence, int, int)} の結果からバイト数を取り出す
+     *
+     * @param measured {@link #measure(CharSequence, int, int)} の結果
+     * @return バイト数
+     */
+    static int bytes(final long measured) {
+        return (int) measured;
+    }
+
+    private static long measured(final int end, final int bytes) {
+        return (long) end << 32 | bytes;
+    }
+
+    /**
+     * 指定位置から、指定したビットを持たない文字が続く範囲の終了位置を求める
+     * <p>
+     * {@link String}、{@link StringBuilder}、配列を持つ {@link CharBuffer} は文字を配列で受け取り、8文字ずつ論理和を取って1回で判定する
+     * </p>
+     *
+     * @param str  文字列
+     * @param from 開始位置
+     * @param to   終了位置(この位置の文字を含まない)
+     * @param mask 判定するビット。{@link #NON_ASCII}、{@link #NON_LATIN1}
+     * @return 指定したビットを持つ最初の文字の位置。無い場合は終了位置
+     */
+    static int skip(final CharSequence str, final int from, final int to, final char mask) {
+        // 先頭の文字が指定したビットを持つ場合はコピーしない
+        if (from == to || (str.charAt(from) & mask) != 0) {
+            return from;
+        }
+        if (to - from >= SKIP_THRESHOLD) {
+            if (str instanceof CharBuffer && ((CharBuffer) str).hasArray()) {
+                final CharBuffer buffer = (CharBuffer) str;
+                final int offset = buffer.arrayOffset() + buffer.position();
+                return skip(buffer.array(), offset + from, offset + to, mask) - offset;
+            }
+            if (str instanceof String || str instanceof StringBuilder) {
+                return skipCopied(str, from, to, mask);
+            }
+        }
+
+        int i = from;
+        while (i < to && (str.charAt(i) & mask) == 0) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * 文字をスレッド毎のバッファにコピーしながら判定する
+     */
+    private static int skipCopied(final CharSequence str, final int from, final int to, final char mask) {
+        final char[] chars = CHARS.get();
+        int start = from;
+
+        while (start < to) {
+            final int end = Math.min(to, start + chars.length);
+            if (str instanceof String) {
+                ((String) str).getChars(start, end, chars, 0);
+            } else {
+                ((StringBuilder) str).getChars(start, end, chars, 0);
+            }
+
+            final int skipped = skip(chars, 0, end - start, mask);
+            if (skipped < end - start) {
+                return start + skipped;
+            }
+            start = end;
+        }
+
+        return to;
+    }
+
+    private static int skip(final char[] chars, final int from, final int to, final char mask) {
+        int i = from;
+
+        // 8文字の論理和に指定したビットが無ければ、8文字とも指定したビットを持たない
+        for (final int last = to - 8; i <= last; i += 8) {
+            final int or = chars[i] | chars[i + 1] | chars[i + 2] | chars[i + 3]
+                    | chars[i + 4] | chars[i + 5] | chars[i + 6] | chars[i + 7];
+            if ((or & mask) != 0) {
+                break;
+            }
+        }
+        while (i < to && (chars[i] & mask) == 0) {
+            i++;
+        }
+
+        return i;
+    }
+
+    /**
+     * コードポイント単位でバイト数が決まるエンコーディングの基底クラス
+     */
+    private abstract static class WidthCounter extends ByteCounter {
+
+        /**
+         * BMPの文字(サロゲートを除く)のバイト数を返却する
+         */
+        abstract int width(char c);
+
+        /**
+         * サロゲートペア1組のバイト数を返却する
+         */
+        abstract int supplementaryWidth();
+
+        /**
+         * 単独のサロゲートのバイト数を返却する
+         */
+        abstract int malformedWidth();
+
+        @Override
+        final int length(final CharSequence str, final int from, final int to) {
+            // 先頭から続くASCIIは1文字1バイト
+            int i = skip(str, from, to, NON_ASCII);
+            int count = i - from;
+
+            while (i < to) {
+                // ASCIIはバイト数を引かずに数える
+                final char c = str.charAt(i++);
+                if (c < 0x80) {
+                    count++;
+                } else if (!Character.isSurrogate(c)) {
+                    count += width(c);
+                } else if (Character.isHighSurrogate(c) && i < to && Character.isLowSurrogate(str.charAt(i))) {
+                    count += supplementaryWidth();
+                    i++;
+                } else {
+                    count += malformedWidth();
+                }
+            }
+
+            return count;
+        }
+
+        @Override
+        final long measure(final CharSequence str, final int from, final int to, final int length) {
+            // 先頭から続くASCIIは1文字1バイトなので、バイト数分の文字までは数えずに進める
+            int i = skip(str, from, (int) Math.min(to, (long) from + Math.max(0, length)), NON_ASCII);
+            int count = i - from;
+
+            while (i < to) {
+                final char c = str.charAt(i);
+                final int width;
+                final int next;
+                if (c < 0x80) {
+                    width = 1;
+                    next = i + 1;
+                } else if (!Character.isSurrogate(c)) {
+                    width = width(c);
+                    next = i + 1;
+                } else if (Character.isHighSurrogate(c) && i + 1 < to && Character.isLowSurrogate(str.charAt(i + 1))) {
+                    width = supplementaryWidth();
+                    next = i + 2;
+                } else {
+                    width = malformedWidth();
+                    next = i + 1;
+                }
+
+                if (count + width > length) {
+                    return measured(i, count);
+                }
+                count += width;
+                i = next;
+            }
+
+            return measured(to, count);
+        }
+    }
+
+    /**
+     * BMPの文字のバイト数表を使用するクラス
+     */
+    private static final class TableCounter extends WidthCounter {
+
+        private final Charset charset;
+
+        private final int replacementWidth;
+
+        /**
+         * 1文字2ビット、int 1つに16文字分のバイト数を詰めた表。初回使用時に作成する
+         */
+        private volatile int[] table;
+
+        TableCounter(final Charset charset) {
+            this.charset = charset;
+            this.replacementWidth = newEncoder(charset).replacement().length;
+        }
+
+        @Override
+        int width(final char c) {
+            int[] widths = this.table;
+            if (Objects.isNull(widths)) {
+                widths = createTable();
+            }
+            return (widths[c >>> 4] >>> ((c & 0xF) << 1)) & 0x3;
+        }
+
+        @Override
+        int supplementaryWidth() {
+            // いずれのエンコーディングもBMP外の文字を持たないので代替文字になる
+            return this.replacementWidth;
+        }
+
+        @Override
+        int malformedWidth() {
+            return this.replacementWidth;
+        }
+
+        private synchronized int[] createTable() {
+            if (Objects.nonNull(this.table)) {
+                return this.table;
+            }
+
+            final CharsetEncoder encoder = newEncoder(this.charset);
+            final char[] chars = new char[1];
+            final CharBuffer in = CharBuffer.wrap(chars);
+            final ByteBuffer out = ByteBuffer.allocate(8);
+            final int[] widths = new int[0x10000 >>> 4];
+
+            for (int c = 0; c < 0x10000; c++) {
+                if (Character.isSurrogate((char) c)) {
+                    continue;
+                }
+
+                chars[0] = (char) c;
+                in.clear();
+                out.clear();
+                encoder.reset();
+                encoder.encode(in, out, true);
+                encoder.flush(out);
+                widths[c >>> 4] |= out.position() << ((c & 0xF) << 1);
+            }
+
+            this.table = widths;
+            return widths;
+        }
+    }
+
+    /**
+     * UTF-8のバイト数を文字コードの範囲から算出するクラス
+     */
+    private static final class Utf8Counter extends WidthCounter {
+
+        @Override
+        int width(final char c) {
+            return c < 0x800 ? 2 : 3;
+        }
+
+        @Override
+        int supplementaryWidth() {
+            return 4;
+        }
+
+        @Override
+        int malformedWidth() {
+            return 1;
+        }
+    }
+
+    /**
+     * 1コードポイントを1バイトにエンコードするクラス
+     */
+    private static final class SingleByteCounter extends WidthCounter {
+
+        @Override
+        int width(final char c) {
+            return 1;
+        }
+
+        @Override
+        int supplementaryWidth() {
+            return 1;
+        }
+
+        @Override
+        int malformedWidth() {
+            return 1;
+        }
+    }
+
+    /**
+     * {@link CharsetEncoder} でエンコードして数えるクラス
+     */
+    private static final class EncoderCounter extends ByteCounter {
+
+        private final Charset charset;
+
+        /**
+         * 1バイトでエンコードする文字の範囲外のビット。ASCIIも1バイトでない場合は0
+         */
+        private final char singleByteMask;
+
+        EncoderCounter(final Charset charset) {
+            this.charset = charset;
+            this.singleByteMask = singleByteMask(charset);
+        }
+
+        @Override
+        int length(final CharSequence str, final int from, final int to) {
+            final int skipped = skip(str, from, to);
+            return skipped == to ? to - from : skipped - from + encodedLength(str, skipped, to);
+        }
+
+        @Override
+        long measure(final CharSequence str, final int from, final int to, final int length) {
+            final int skipped = skip(str, from, (int) Math.min(to, (long) from + Math.max(0, length)));
+            if (skipped == to || skipped - from == length) {
+                return measured(skipped, skipped - from);
+            }
+
+            final long measured = encodedMeasure(str, skipped, to, length - (skipped - from));
+            return measured(end(measured), skipped - from + bytes(measured));
+        }
+
+        /**
+         * 先頭から続く1バイトの文字を読み飛ばす
+         */
+        private int skip(final CharSequence str, final int from, final int to) {
+            return this.singleByteMask == 0 ? from : ByteCounter.skip(str, from, to, this.singleByteMask);
+        }
+
+        private int encodedLength(final CharSequence str, final int from, final int to) {
+            final CharsetEncoder encoder = encoder(this.charset);
+            final ByteBuffer out = buffer(Math.min(MAX_BUFFER_SIZE,
+                    (int) Math.min(Integer.MAX_VALUE, (long) Math.ceil(encoder.maxBytesPerChar()) * (to - from) + 16)));
+            final CharBuffer in = CharBuffer.wrap(str, from, to);
+            int count = 0;
+
+            try {
+                // バッファが一杯になる毎にバイト数を数えて読み捨てる
+                while (encoder.encode(in, out, true).isOverflow()) {
+                    count += out.position();
+                    out.clear();
+                }
+                while (encoder.flush(out).isOverflow()) {
+                    count += out.position();
+                    out.clear();
+                }
+                return count + out.position();
+            } finally {
+                encoder.reset();
+            }
+        }
+
+        private long encodedMeasure(final CharSequence str, final int from, final int to, final int length) {
+            if (length <= 0) {
+                return measured(from, 0);
+            }
+
+            final CharsetEncoder encoder = encoder(this.charset);
+
+            // 全ての文字が最大バイト数でも収まる場合は使い回しのバッファの大きさに関わらず数える
+            if ((long) Math.ceil(encoder.maxBytesPerChar()) * (to - from) <= length) {
+                return measured(to, encodedLength(str, from, to));
+            }
+
+            final ByteBuffer out = buffer(length);
+            final CharBuffer in = CharBuffer.wrap(str, from, to);
+            try {
+                final CoderResult result = encoder.encode(in, out, true);
+                return measured(result.isOverflow() ? in.position() : to, out.position());
+            } finally {
+                encoder.reset();
+                if (out.capacity() > MAX_BUFFER_SIZE) {
+                    BUFFER.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * 1文字ずつエンコードして、Latin-1またはASCIIが全て1バイトになるかを調べる
+     *
+     * @return Latin-1が全て1バイトの場合 {@link #NON_LATIN1}、ASCIIが全て1バイトの場合 {@link #NON_ASCII}、それ以外は0
+     */
+    private static char singleByteMask(final Charset charset) {
+        final CharsetEncoder encoder = newEncoder(charset);
+        final char[] chars = new char[1];
+        final CharBuffer in = CharBuffer.wrap(chars);
+        final ByteBuffer out = ByteBuffer.allocate(16);
+
+        for (int c = 0; c < 0x100; c++) {
+            chars[0] = (char) c;
+            in.clear();
+            out.clear();
+            encoder.reset();
+            encoder.encode(in, out, true);
+            encoder.flush(out);
+            if (out.position() != 1) {
+                return c < 0x80 ? 0 : NON_ASCII;
+            }
+        }
+
+        return NON_LATIN1;
+    }
+
+    /**
+     * {@link String#getBytes(Charset)} と同じく、エンコードできない文字を代替文字に置き換えるエンコーダーを生成する
+     */
+    private static CharsetEncoder newEncoder(final Charset charset) {
+        return charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    private static CharsetEncoder encoder(final Charset charset) {
+        final Map<Charset, CharsetEncoder> encoders = ENCODERS.get();
+
+        CharsetEncoder encoder = encoders.get(charset);
+        if (Objects.isNull(encoder)) {
+            encoder = newEncoder(charset);
+            encoders.put(charset, encoder);
+        }
+
+        return encoder;
+    }
+
+    /**
+     * 指定したバイト数を上限とするスレッド毎のバッファを取得する
+     */
+    private static ByteBuffer buffer(final int length) {
+        ByteBuffer buffer = BUFFER.get();
+        if (buffer.capacity() < length) {
+            buffer = ByteBuffer.allocate(length);
+            BUFFER.set(buffer);
+        }
+
+        buffer.clear();
+        buffer.limit(length);
+        return buffer;
+    }
+}
@@ -0,0 +1,276 @@
+package com.gn5r.common.utils;
+
+import java.util.Objects;
+
+/**
+ * <p>
+ * バイト数の上限を持つ文字列ビルダー
+ * </p>
+ *
+ * <p>
+ * 追加済みの文字列のバイト数を保持し、追加する文字列の分だけを数えるので、追加毎に文字列全体を数え直さない。
+ * バイト数は {@link StringUtil#getByteLength(String, String)} と同じ方法で数えるので、{@link #toString()}
+ * のバイト数と常に一致する。上限を超える文字列は文字の境界で切り詰める(サロゲートペアは分割しない)
+ * </p>
+ *
+ * <pre>
+ * ByteLimitedStringBuilder message = new ByteLimitedStringBuilder(140);
+ * for (String line : lines) {
+ *   if (!message.tryAppend(line)) {
+ *     break;
+ *   }
+ * }
+ * send(message.toString());
+ * </pre>
+ *
+ * <p>
+ * 状態を持つエンコーディング(ISO-2022-JP 等)では、エスケープシーケンスの分だけ文字列全体のバイト数と一致しない場合がある。
+ * インスタンスはスレッドセーフではない
+ * </p>
+ *
+ * @author gn5r
+ * @since 0.3.9
+ */
+public final class ByteLimitedStringBuilder implements CharSequence {
+
+    private final StringBuilder builder = new StringBuilder();
+
+    private final ByteCounter counter;
+
+    private final int limit;
+
+    private int byteLength;
+
+    private boolean truncated;
+
+    /**
+     * バイト数取得時のエンコーディングを <b>MS932</b> とするインスタンスを生成する
+     *
+     * @param limit バイト数の上限
+     * @throws IllegalArgumentException 上限が負の場合にthrowする
+     */
+    public ByteLimitedStringBuilder(final int limit) {
+        this(limit, StringUtil.DEFAULT_ENCODING);
+    }
+
+    /**
+     * インスタンスを生成する
+     *
+     * @param limit    バイト数の上限
+     * @param encoding エンコーディング
+     * @throws IllegalArgumentException 上限が負、またはサポートされていないエンコーディングの場合にthrowする
+     */
+    public ByteLimitedStringBuilder(final int limit, final String encoding) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("バイト数の上限は0以上を指定してください: " + limit);
+        }
+        this.counter = ByteCounter.of(encoding);
+        if (Objects.isNull(this.counter)) {
+            throw new IllegalArgumentException("サポートされていないエンコーディングです: " + encoding);
+        }
+        this.limit = limit;
+    }
+
+    /**
+     * 文字列を上限まで追加する。上限を超える場合は収まる位置で切り詰めて追加し、以降の追加は全て切り詰められる
+     *
+     * @param str 文字列。{@code null} の場合は何もしない
+     * @return このビルダー
+     */
+    public ByteLimitedStringBuilder append(final CharSequence str) {
+        return Objects.isNull(str) ? this : append(str, 0, str.length());
+    }
+
+    /**
+     * 文字列の指定範囲を上限まで追加する。上限を超える場合は収まる位置で切り詰めて追加し、以降の追加は全て切り詰められる
+     *
+     * @param str   文字列。{@code null} の場合は何もしない
+     * @param start 開始位置
+     * @param end   終了位置(この位置の文字を含まない)
+     * @return このビルダー
+     * @throws IndexOutOfBoundsException 範囲が文字列の範囲外の場合にthrowする
+     */
+    public ByteLimitedStringBuilder append(final CharSequence str, final int start, final int end) {
+        if (Objects.nonNull(str) && start < end && !this.truncated) {
+            if (!add(str, start, end, true)) {
+                this.truncated = true;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * 文字を追加する。上限を超える場合は追加せず、以降の追加は全て切り詰められる
+     *
+     * @param c 文字
+     * @return このビルダー
+     */
+    public ByteLimitedStringBuilder append(final char c) {
+        // 切り詰めた後に追加すると、途中の文字が抜けた文字列になる
+        if (this.truncated) {
+            return this;
+        }
+        final int length = this.builder.length();
+        this.builder.append(c);
+        if (!measure(length, true)) {
+            this.truncated = true;
+        }
+        return this;
+    }
+
+    /**
+     * 文字列が全て収まる場合だけ追加する。収まらない場合、または既に切り詰めている場合は何も追加しない
+     *
+     * @param str 文字列。{@code null} の場合は何もせず true を返却する
+     * @return 追加した場合 true
+     */
+    public boolean tryAppend(final CharSequence str) {
+        return Objects.isNull(str) || !this.truncated && add(str, 0, str.length(), false);
+    }
+
+    /**
+     * 文字列が全て収まるかどうかを判定する。文字列は追加しない
+     * <p>
+     * 既に切り詰めている場合は {@link #append(CharSequence)}、{@link #tryAppend(CharSequence)} で追加されないので false を返却する
+     * </p>
+     *
+     * @param str 文字列
+     * @return 収まる場合 true
+     */
+    public boolean fits(final CharSequence str) {
+        if (Objects.isNull(str) || str.length() == 0) {
+            return true;
+        }
+        if (this.truncated) {
+            return false;
+        }
+
+        int room = remaining();
+        int from = 0;
+
+        // 末尾の上位サロゲートが先頭の下位サロゲートとペアになる場合は、ペアとして数え直す
+        final int length = this.builder.length();
+        if (length > 0 && Character.isHighSurrogate(this.builder.charAt(length - 1))
+                && Character.isLowSurrogate(str.charAt(0))) {
+            room += this.counter.length(this.builder, length - 1, length);
+            final long measured = this.counter.measure(
+                    new String(new char[] { this.builder.charAt(length - 1), str.charAt(0) }), 0, room);
+            if (ByteCounter.end(measured) != 2) {
+                return false;
+            }
+            room -= ByteCounter.bytes(measured);
+            from = 1;
+        }
+
+        return ByteCounter.end(this.counter.measure(str, from, room)) == str.length();
+    }
+
+    /**
+     * 追加済みの文字列のバイト数を取得する
+     *
+     * @return バイト数
+     */
+    public int getByteLength() {
+        return this.byteLength;
+    }
+
+    /**
+     * バイト数の上限を取得する
+     *
+     * @return バイト数の上限
+     */
+    public int getLimit() {
+        return this.limit;
+    }
+
+    /**
+     * 上限までの残りのバイト数を取得する
+     *
+     * @return 残りのバイト数
+     */
+    public int remaining() {
+        return this.limit - this.byteLength;
+    }
+
+    /**
+     * 上限を超えたために切り詰めた、または追加しなかった文字があるかどうかを判定する。{@link #tryAppend(CharSequence)}
+     * で追加しなかった文字列は含まない
+     *
+     * @return 切り詰めた場合 true
+     */
+    public boolean isTruncated() {
+        return this.truncated;
+    }
+
+    /**
+     * 追加済みの文字列を全て削除する。容量は解放しない
+     *
+     * @return このビルダー
+     */
+    public ByteLimitedStringBuilder clear() {
+        this.builder.setLength(0);
+        this.byteLength = 0;
+        this.truncated = false;
+        return this;
+    }
+
+    @Override
+    public int length() {
+        return this.builder.length();
+    }
+
+    @Override
+    public char charAt(final int index) {
+        return this.builder.charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        return this.builder.subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return this.builder.toString();
+    }
+
+    /**
+     * 文字列の範囲を追加し、上限に収まる位置で切り詰める
+     *
+     * @param partial 収まらない場合に収まる位置まで追加する場合 true、何も追加しない場合 false
+     * @return 全て追加した場合 true
+     */
+    private boolean add(final CharSequence str, final int start, final int end, final boolean partial) {
+        final int length = this.builder.length();
+        this.builder.append(str, start, end);
+        return measure(length, partial);
+    }
+
+    /**
+     * 指定位置以降に追加した文字列のバイト数を数えて上限に収める
+     */
+    private boolean measure(final int length, final boolean partial) {
+        // 末尾の上位サロゲートは追加した下位サロゲートとペアになる場合があるので数え直す
+        int from = length;
+        int base = this.byteLength;
+        if (from > 0 && Character.isHighSurrogate(this.builder.charAt(from - 1))) {
+            from--;
+            base -= this.counter.length(this.builder, from, length);
+        }
+
+        final long measured = this.counter.measure(this.builder, from, this.limit - base);
+        final int fitted = ByteCounter.end(measured);
+        if (fitted == this.builder.length()) {
+            this.byteLength = base + ByteCounter.bytes(measured);
+            return true;
+        }
+
+        if (partial && fitted >= length) {
+            this.builder.setLength(fitted);
+            this.byteLength = base + ByteCounter.bytes(measured);
+        } else {
+            this.builder.setLength(length);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,481 @@
+package com.gn5r.common.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <p>
+ * バイト数を桁数とする文字列の整形クラス
+ * </p>
+ *
+ * <p>
+ * {@link StringUtil#getByteLength(String, String)} と同じバイト数で桁数を数え(MS932 では全角2桁、半角1桁)、
+ * 埋め・中央寄せ・切り詰め・省略記号の付与・折り返しを行う。文字毎に部分文字列を生成せず、
+ * 元の文字列から範囲を指定して書き込み先に直接書き込む
+ * </p>
+ *
+ * <pre>
+ * ByteWidthFormatter formatter = ByteWidthFormatter.getDefault();
+ * formatter.pad("ﾃｽﾄ", 10, Alignment.RIGHT); // "       ﾃｽﾄ"
+ * formatter.ellipsize("東京都千代田区", 10); // "東京都..."
+ *
+ * ByteWidthFormatter.RowFormat row = formatter.rowFormat().column(10).column(8, Alignment.RIGHT).separator(" | ").build();
+ * StringBuilder line = new StringBuilder();
+ * for (Item item : items) {
+ *   line.setLength(0);
+ *   writer.println(row.format(line, item.getName(), item.getPrice()));
+ * }
+ * </pre>
+ *
+ * <p>
+ * インスタンスは不変で、使い回すことができる
+ * </p>
+ *
+ * @author gn5r
+ * @since 0.3.9
+ */
+public final class ByteWidthFormatter {
+
+    /**
+     * デフォルトの省略記号
+     */
+    public static final String DEFAULT_ELLIPSIS = "...";
+
+    private static final ByteWidthFormatter DEFAULT = builder().build();
+
+    private final ByteCounter counter;
+
+    private final char padding;
+
+    private final String ellipsis;
+
+    private final int ellipsisWidth;
+
+    private ByteWidthFormatter(final Builder builder) {
+        this.counter = builder.counter;
+        this.padding = builder.padding;
+        this.ellipsis = builder.ellipsis;
+        this.ellipsisWidth = this.counter.length(this.ellipsis);
+    }
+
+    /**
+     * ビルダーを生成する
+     *
+     * @return ビルダー
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * MS932、半角スペース埋め、省略記号 {@value #DEFAULT_ELLIPSIS} のインスタンスを取得する
+     *
+     * @return インスタンス
+     */
+    public static ByteWidthFormatter getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * 文字列の桁数を取得する
+     *
+     * @param str 文字列
+     * @return 桁数。{@code null} の場合は0
+     */
+    public int width(final CharSequence str) {
+        return Objects.isNull(str) ? 0 : this.counter.length(str);
+    }
+
+    /**
+     * 文字列を指定した桁数に揃える。足りない場合は埋め文字で埋め、超える場合は切り詰める
+     *
+     * @param str       文字列。{@code null} の場合は空文字("")として扱う
+     * @param width     桁数
+     * @param alignment 配置
+     * @return 指定した桁数の文字列
+     */
+    public String pad(final CharSequence str, final int width, final Alignment alignment) {
+        return pad(str, width, alignment, new StringBuilder(Math.max(0, width))).toString();
+    }
+
+    /**
+     * 文字列を指定した桁数に揃えて {@link StringBuilder} の末尾に書き込む。足りない場合は埋め文字で埋め、超える場合は切り詰める
+     *
+     * @param str       文字列。{@code null} の場合は空文字("")として扱う
+     * @param width     桁数
+     * @param alignment 配置
+     * @param builder   書き込み先
+     * @return 書き込み先の {@link StringBuilder}
+     */
+    public StringBuilder pad(final CharSequence str, final int width, final Alignment alignment,
+            final StringBuilder builder) {
+        return layout(str, width, alignment, false, builder);
+    }
+
+    /**
+     * 文字列を指定した桁数に収める。超える場合は省略記号を含めて指定した桁数に収まるように切り詰める
+     *
+     * @param str   文字列。{@code null} の場合は空文字("")として扱う
+     * @param width 桁数
+     * @return 指定した桁数以下の文字列
+     */
+    public String ellipsize(final CharSequence str, final int width) {
+        return ellipsize(str, width, new StringBuilder()).toString();
+    }
+
+    /**
+     * 文字列を指定した桁数に収めて {@link StringBuilder} の末尾に書き込む。超える場合は省略記号を含めて指定した桁数に収まるように切り詰める
+     * <p>
+     * 省略記号が桁数に収まらない場合は省略記号を付与せずに切り詰める
+     * </p>
+     *
+     * @param str     文字列。{@code null} の場合は空文字("")として扱う
+     * @param width   桁数
+     * @param builder 書き込み先
+     * @return 書き込み先の {@link StringBuilder}
+     */
+    public StringBuilder ellipsize(final CharSequence str, final int width, final StringBuilder builder) {
+        final CharSequence value = Objects.isNull(str) ? StringUtil.EMPTY : str;
+        final long measured = measureEllipsized(value, width);
+        builder.append(value, 0, ByteCounter.end(measured));
+        if (ByteCounter.end(measured) < value.length() && this.ellipsisWidth <= width) {
+            builder.append(this.ellipsis);
+        }
+        return builder;
+    }
+
+    /**
+     * 文字列を指定した桁数毎に折り返す
+     * <p>
+     * 改行文字(\n、\r\n)でも改行する。1文字で桁数を超える場合はその1文字を1行とする
+     * </p>
+     *
+     * @param str   文字列。{@code null} の場合は空のリスト
+     * @param width 1行の桁数
+     * @return 行のリスト
+     * @throws IllegalArgumentException 桁数が1未満の場合にthrowする
+     */
+    public List<String> wrap(final CharSequence str, final int width) {
+        if (width < 1) {
+            throw new IllegalArgumentException("桁数は1以上を指定してください: " + width);
+        }
+        if (Objects.isNull(str)) {
+            return Collections.emptyList();
+        }
+
+        final List<String> lines = new ArrayList<>();
+        final int length = str.length();
+        int from = 0;
+
+        while (from < length) {
+            int lineEnd = from;
+            while (lineEnd < length && str.charAt(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            final int contentEnd = lineEnd > from && str.charAt(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+
+            if (from == contentEnd) {
+                lines.add(StringUtil.EMPTY);
+            }
+            while (from < contentEnd) {
+                int end = ByteCounter.end(this.counter.measure(str, from, contentEnd, width));
+                if (end == from) {
+                    // 1文字で桁数を超える場合も1文字は出力する
+                    end = Character.isHighSurrogate(str.charAt(from)) && from + 1 < contentEnd ? from + 2 : from + 1;
+                }
+                lines.add(str.subSequence(from, end).toString());
+                from = end;
+            }
+
+            from = lineEnd + 1;
+        }
+
+        return lines;
+    }
+
+    /**
+     * 1行に複数のカラムを整形する {@link RowFormat} のビルダーを生成する
+     *
+     * @return {@link RowFormat} のビルダー
+     */
+    public RowFormat.Builder rowFormat() {
+        return new RowFormat.Builder(this);
+    }
+
+    /**
+     * 切り詰め、埋め文字で指定した桁数に揃える
+     */
+    private StringBuilder layout(final CharSequence str, final int width, final Alignment alignment,
+            final boolean ellipsize, final StringBuilder builder) {
+        final CharSequence value = Objects.isNull(str) ? StringUtil.EMPTY : str;
+        long measured = this.counter.measure(value, 0, width);
+        boolean truncated = ByteCounter.end(measured) < value.length();
+        if (truncated && ellipsize && this.ellipsisWidth <= width) {
+            measured = this.counter.measure(value, 0, width - this.ellipsisWidth);
+        } else {
+            truncated = false;
+        }
+
+        final int used = ByteCounter.bytes(measured) + (truncated ? this.ellipsisWidth : 0);
+        final int padding = Math.max(0, width - used);
+        final int left = alignment.leftPadding(padding);
+
+        appendPadding(builder, left);
+        builder.append(value, 0, ByteCounter.end(measured));
+        if (truncated) {
+            builder.append(this.ellipsis);
+        }
+        appendPadding(builder, padding - left);
+
+        return builder;
+    }
+
+    /**
+     * 省略記号を付与する場合の切り詰め位置を求める
+     */
+    private long measureEllipsized(final CharSequence value, final int width) {
+        final long measured = this.counter.measure(value, 0, width);
+        if (ByteCounter.end(measured) < value.length() && this.ellipsisWidth <= width) {
+            return this.counter.measure(value, 0, width - this.ellipsisWidth);
+        }
+        return measured;
+    }
+
+    private void appendPadding(final StringBuilder builder, final int count) {
+        for (int i = 0; i < count; i++) {
+            builder.append(this.padding);
+        }
+    }
+
+    /**
+     * 1行に複数のカラムを整形するクラス
+     * <p>
+     * カラム毎の桁数、配置、超えた場合に省略記号を付与するかどうかを定義し、1行分のカラムを1つの {@link StringBuilder}
+     * に書き込む。インスタンスは不変で、使い回すことができる
+     * </p>
+     */
+    public static final class RowFormat {
+
+        private final ByteWidthFormatter formatter;
+
+        private final int[] widths;
+
+        private final Alignment[] alignments;
+
+        private final boolean[] ellipsizes;
+
+        private final String separator;
+
+        private final int width;
+
+        private RowFormat(final Builder builder) {
+            this.formatter = builder.formatter;
+            this.widths = builder.widths.stream().mapToInt(Integer::intValue).toArray();
+            this.alignments = builder.alignments.toArray(new Alignment[0]);
+            this.ellipsizes = new boolean[this.widths.length];
+            for (int i = 0; i < this.ellipsizes.length; i++) {
+                this.ellipsizes[i] = builder.ellipsizes.get(i);
+            }
+            this.separator = builder.separator;
+
+            int total = Arrays.stream(this.widths).sum();
+            total += this.formatter.width(this.separator) * Math.max(0, this.widths.length - 1);
+            this.width = total;
+        }
+
+        /**
+         * 区切り文字を含む1行の桁数を取得する
+         *
+         * @return 桁数
+         */
+        public int getWidth() {
+            return this.width;
+        }
+
+        /**
+         * 1行分のカラムを整形して {@link StringBuilder} の末尾に書き込む
+         *
+         * @param builder 書き込み先
+         * @param cells   カラムの定義順の文字列。{@code null} のカラムは埋め文字で埋める
+         * @return 書き込み先の {@link StringBuilder}
+         * @throws IllegalArgumentException カラム数が異なる場合にthrowする
+         */
+        public StringBuilder format(final StringBuilder builder, final CharSequence... cells) {
+            return format(builder, Arrays.asList(cells));
+        }
+
+        /**
+         * 1行分のカラムを整形して {@link StringBuilder} の末尾に書き込む
+         *
+         * @param builder 書き込み先
+         * @param cells   カラムの定義順の文字列。{@code null} のカラムは埋め文字で埋める
+         * @return 書き込み先の {@link StringBuilder}
+         * @throws IllegalArgumentException カラム数が異なる場合にthrowする
+         */
+        public StringBuilder format(final StringBuilder builder, final List<? extends CharSequence> cells) {
+            if (cells.size() != this.widths.length) {
+                throw new IllegalArgumentException(
+                        "カラム数が異なります: expected=" + this.widths.length + ", actual=" + cells.size());
+            }
+
+            builder.ensureCapacity(builder.length() + this.width);
+            for (int i = 0; i < this.widths.length; i++) {
+                if (i > 0) {
+                    builder.append(this.separator);
+                }
+                this.formatter.layout(cells.get(i), this.widths[i], this.alignments[i], this.ellipsizes[i], builder);
+            }
+
+            return builder;
+        }
+
+        /**
+         * {@link RowFormat} のビルダー
+         */
+        public static final class Builder {
+
+            private final ByteWidthFormatter formatter;
+
+            private final List<Integer> widths = new ArrayList<>();
+
+            private final List<Alignment> alignments = new ArrayList<>();
+
+            private final List<Boolean> ellipsizes = new ArrayList<>();
+
+            private String separator = StringUtil.EMPTY;
+
+            private Builder(final ByteWidthFormatter formatter) {
+                this.formatter = formatter;
+            }
+
+            /**
+             * 左寄せ、超えた場合は切り詰めるカラムを追加する
+             *
+             * @param width 桁数
+             * @return このビルダー
+             */
+            public Builder column(final int width) {
+                return column(width, Alignment.LEFT, false);
+            }
+
+            /**
+             * 超えた場合は切り詰めるカラムを追加する
+             *
+             * @param width     桁数
+             * @param alignment 配置
+             * @return このビルダー
+             */
+            public Builder column(final int width, final Alignment alignment) {
+                return column(width, alignment, false);
+            }
+
+            /**
+             * カラムを追加する
+             *
+             * @param width     桁数
+             * @param alignment 配置
+             * @param ellipsize 超えた場合に省略記号を付与する場合は true
+             * @return このビルダー
+             * @throws IllegalArgumentException 桁数が1未満の場合にthrowする
+             */
+            public Builder column(final int width, final Alignment alignment, final boolean ellipsize) {
+                if (width < 1) {
+                    throw new IllegalArgumentException("桁数は1以上を指定してください: " + width);
+                }
+                this.widths.add(width);
+                this.alignments.add(Objects.requireNonNull(alignment, "配置がnullです"));
+                this.ellipsizes.add(ellipsize);
+                return this;
+            }
+
+            /**
+             * カラムの区切り文字を設定する。デフォルトは無し
+             *
+             * @param separator 区切り文字
+             * @return このビルダー
+             */
+            public Builder separator(final String separator) {
+                this.separator = StringUtil.nullToEmpty(separator);
+                return this;
+            }
+
+            /**
+             * {@link RowFormat} を生成する
+             *
+             * @return {@link RowFormat}
+             */
+            public RowFormat build() {
+                return new RowFormat(this);
+            }
+        }
+    }
+
+    /**
+     * {@link ByteWidthFormatter} のビルダー
+     */
+    public static final class Builder {
+
+        private ByteCounter counter = ByteCounter.of(StringUtil.DEFAULT_ENCODING);
+
+        private char padding = ' ';
+
+        private String ellipsis = DEFAULT_ELLIPSIS;
+
+        private Builder() {
+        }
+
+        /**
+         * 桁数を数えるエンコーディングを設定する。デフォルトは {@link StringUtil#DEFAULT_ENCODING}
+         *
+         * @param encoding エンコーディング名
+         * @return このビルダー
+         * @throws IllegalArgumentException サポートされていないエンコーディングの場合にthrowする
+         */
+        public Builder encoding(final String encoding) {
+            final ByteCounter counter = ByteCounter.of(encoding);
+            if (Objects.isNull(counter)) {
+                throw new IllegalArgumentException("サポートされていないエンコーディングです: " + encoding);
+            }
+            this.counter = counter;
+            return this;
+        }
+
+        /**
+         * 埋め文字を設定する。デフォルトは半角スペース
+         *
+         * @param padding 1桁の埋め文字
+         * @return このビルダー
+         */
+        public Builder padding(final char padding) {
+            this.padding = padding;
+            return this;
+        }
+
+        /**
+         * 省略記号を設定する。デフォルトは {@value ByteWidthFormatter#DEFAULT_ELLIPSIS}
+         *
+         * @param ellipsis 省略記号
+         * @return このビルダー
+         */
+        public Builder ellipsis(final String ellipsis) {
+            this.ellipsis = StringUtil.nullToEmpty(ellipsis);
+            return this;
+        }
+
+        /**
+         * {@link ByteWidthFormatter} を生成する
+         *
+         * @return {@link ByteWidthFormatter}
+         * @throws IllegalStateException 埋め文字が1桁でない場合にthrowする
+         */
+        public ByteWidthFormatter build() {
+            if (this.counter.length(String.valueOf(this.padding)) != 1) {
+                throw new IllegalStateException("埋め文字は1桁の文字を指定してください: " + this.padding);
+            }
+            return new ByteWidthFormatter(this);
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package com.gn5r.common.utils;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.gn5r.common.utils.FieldMetadata.FieldPair;
+import com.gn5r.common.utils.ObjectUtil.Difference;
+
+/**
+ * <p>
+ * {@link ObjectUtil} の diff / check / same で使用する比較方法の設定クラス
+ * </p>
+ *
+ * <p>
+ * 型毎、フィールド名毎に {@link EqualityStrategy} を登録する。フィールド名の登録が型の登録より優先される。
+ * どちらも登録されていないフィールドは {@link java.util.Objects#equals(Object, Object)} で比較する。
+ * 各フィールドの比較方法は比較するクラスの組み合わせ毎に1度だけ解決してキャッシュする
+ * </p>
+ *
+ * <ul>
+ * <li>型はフィールドの宣言型で解決する。宣言型が final でない場合(Object や Number 等)は実際のクラスでも解決する</li>
+ * <li>プリミティブ型はラッパークラスに登録した比較方法を使用する</li>
+ * </ul>
+ *
+ * <pre>
+ * CompareConfig config = CompareConfig.builder()
+ *   .register(BigDecimal.class, EqualityStrategy.scaleInsensitive())
+ *   .register(Double.class, EqualityStrategy.tolerance(0.001))
+ *   .arrayContent()
+ *   .build();
+ * List&lt;Difference&gt; diff = ObjectUtil.diff(a, b, config);
+ * </pre>
+ *
+ * <p>
+ * インスタンスはスレッドセーフで、使い回すことができる
+ * </p>
+ *
+ * @author gn5r
+ * @since 0.3.9
+ * @see EqualityStrategy
+ */
+public final class CompareConfig {
+
+    /**
+     * 型の登録が無い場合の比較方法
+     */
+    private static final EqualityStrategy<Object> EQUALS = Object::equals;
+
+    private final Map<Class<?>, EqualityStrategy<Object>> types;
+
+    private final Map<String, EqualityStrategy<Object>> fields;
+
+    private final boolean arrayContent;
+
+    /**
+     * 型毎に解決した比較方法
+     */
+    private final ConcurrentMap<Class<?>, EqualityStrategy<Object>> resolvedTypes = new ConcurrentHashMap<>();
+
+    /**
+     * 比較するクラスの組み合わせ毎に解決した、フィールド名毎の比較方法。登録が無いフィールドは含まない
+     */
+    private final ConcurrentMap<Class<?>, ConcurrentMap<Class<?>, Map<String, EqualityStrategy<Object>>>> resolvedPairs =
+            new ConcurrentHashMap<>();
+
+    private CompareConfig(final Builder builder) {
+        this.types = Collections.unmodifiableMap(new LinkedHashMap<>(builder.types));
+        this.fields = Collections.unmodifiableMap(new LinkedHashMap<>(builder.fields));
+        this.arrayContent = builder.arrayContent;
+    }
+
+    /**
+     * ビルダーを生成する
+     *
+     * @return ビルダー
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 同一フィールドを比較し、相違または一致したフィールドを返却する
+     *
+     * @param a        オブジェクトa
+     * @param b        オブジェクトb
+     * @param same     一致したフィールドを返却する場合は true、相違フィールドを返却する場合は false
+     * @param limit    最大件数
+     * @param excludes 除外フィールド名のString配列
+     * @return {@link Difference} のリスト
+     */
+    List<Difference> compare(final Object a, final Object b, final boolean same, final int limit,
+            final String... excludes) {
+        final FieldPair[] pairs = FieldMetadata.of(a.getClass()).getSharedFields(b.getClass(), excludes);
+        final Map<String, EqualityStrategy<Object>> strategies = resolve(a.getClass(), b.getClass());
+        final List<Difference> list = new ArrayList<>();
+
+        for (int i = 0; i < pairs.length && list.size() < limit; i++) {
+            final FieldPair pair = pairs[i];
+            final EqualityStrategy<Object> strategy = strategies.isEmpty() ? null : strategies.get(pair.getName());
+
+            if (Objects.isNull(strategy)) {
+                if (pair.isEqual(a, b) == same) {
+                    list.add(new Difference(pair.getName(), pair.getA().get(a), pair.getB().get(b)));
+                }
+                continue;
+            }
+
+            final Object paramA = pair.getA().get(a);
+            final Object paramB = pair.getB().get(b);
+            if (isEqual(strategy, paramA, paramB) == same) {
+                list.add(new Difference(pair.getName(), paramA, paramB));
+            }
+        }
+
+        return list;
+    }
+
+    private static boolean isEqual(final EqualityStrategy<Object> strategy, final Object a, final Object b) {
+        if (a == b) {
+            return true;
+        }
+        if (Objects.isNull(a) || Objects.isNull(b)) {
+            return false;
+        }
+        return strategy.isEqual(a, b);
+    }
+
+    /**
+     * 同一フィールドの比較方法をフィールド名毎に解決する。除外フィールドに関わらずクラスの組み合わせ毎に1度だけ解決する
+     */
+    private Map<String, EqualityStrategy<Object>> resolve(final Class<?> typeA, final Class<?> typeB) {
+        ConcurrentMap<Class<?>, Map<String, EqualityStrategy<Object>>> byB = this.resolvedPairs.get(typeA);
+        if (Objects.isNull(byB)) {
+            byB = new ConcurrentHashMap<>();
+            final ConcurrentMap<Class<?>, Map<String, EqualityStrategy<Object>>> prev =
+                    this.resolvedPairs.putIfAbsent(typeA, byB);
+            if (Objects.nonNull(prev)) {
+                byB = prev;
+            }
+        }
+
+        Map<String, EqualityStrategy<Object>> strategies = byB.get(typeB);
+        if (Objects.isNull(strategies)) {
+            final Map<String, EqualityStrategy<Object>> resolved = new HashMap<>();
+            for (FieldPair pair : FieldMetadata.of(typeA).getSharedFields(typeB)) {
+                final EqualityStrategy<Object> strategy = resolve(pair);
+                if (Objects.nonNull(strategy)) {
+                    resolved.put(pair.getName(), strategy);
+                }
+            }
+            strategies = resolved.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(resolved);
+            final Map<String, EqualityStrategy<Object>> prev = byB.putIfAbsent(typeB, strategies);
+            if (Objects.nonNull(prev)) {
+                strategies = prev;
+            }
+        }
+
+        return strategies;
+    }
+
+    private EqualityStrategy<Object> resolve(final FieldPair pair) {
+        final EqualityStrategy<Object> field = this.fields.get(pair.getName());
+        if (Objects.nonNull(field)) {
+            return field;
+        }
+
+        final Class<?> typeA = wrap(pair.getA().getType());
+        final Class<?> typeB = wrap(pair.getB().getType());
+        if (typeA == typeB) {
+            final EqualityStrategy<Object> strategy = resolveType(typeA);
+            if (strategy != EQUALS) {
+                return strategy;
+            }
+        }
+
+        // 宣言型がfinalでなければ実際のクラスで解決する
+        if (isExtensible(typeA) || isExtensible(typeB)) {
+            return (a, b) -> a.getClass() == b.getClass() ? resolveType(a.getClass()).isEqual(a, b) : a.equals(b);
+        }
+
+        return null;
+    }
+
+    private boolean isExtensible(final Class<?> type) {
+        return !Modifier.isFinal(type.getModifiers()) && (!this.types.isEmpty() || this.arrayContent);
+    }
+
+    /**
+     * 型の比較方法を解決する。完全一致、スーパークラス・インターフェースの順に探す。登録が無い場合は {@link #EQUALS}
+     */
+    private EqualityStrategy<Object> resolveType(final Class<?> type) {
+        EqualityStrategy<Object> strategy = this.resolvedTypes.get(type);
+
+        if (Objects.isNull(strategy)) {
+            strategy = this.types.get(type);
+            if (Objects.isNull(strategy)) {
+                for (Map.Entry<Class<?>, EqualityStrategy<Object>> entry : this.types.entrySet()) {
+                    if (entry.getKey().isAssignableFrom(type)) {
+                        strategy = entry.getValue();
+                        break;
+                    }
+                }
+            }
+            if (Objects.isNull(strategy)) {
+                strategy = this.arrayContent && type.isArray() ? EqualityStrategy.arrayContent() : EQUALS;
+            }
+            this.resolvedTypes.putIfAbsent(type, strategy);
+        }
+
+        return strategy;
+    }
+
+    private static Class<?> wrap(final Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+
+        if (type == int.class) {
+            return Integer.class;
+        } else if (type == long.class) {
+            return Long.class;
+        } else if (type == double.class) {
+            return Double.class;
+        } else if (type == float.class) {
+            return Float.class;
+        } else if (type == boolean.class) {
+            return Boolean.class;
+        } else if (type == char.class) {
+            return Character.class;
+        } else if (type == short.class) {
+            return Short.class;
+        }
+        return Byte.class;
+    }
+
+    /**
+     * {@link CompareConfig} のビルダー
+     */
+    public static final class Builder {
+
+        private final Map<Class<?>, EqualityStrategy<Object>> types = new LinkedHashMap<>();
+
+        private final Map<String, EqualityStrategy<Object>> fields = new LinkedHashMap<>();
+
+        private boolean arrayContent;
+
+        private Builder() {
+        }
+
+        /**
+         * 型の比較方法を登録する。サブクラス・実装クラスにも適用される
+         *
+         * @param <T>      型
+         * @param type     型(プリミティブ型はラッパークラスを指定する)
+         * @param strategy 比較方法
+         * @return このビルダー
+         */
+        @SuppressWarnings("unchecked")
+        public <T> Builder register(final Class<T> type, final EqualityStrategy<? super T> strategy) {
+            Objects.requireNonNull(type, "型がnullです");
+            Objects.requireNonNull(strategy, "比較方法がnullです");
+            this.types.put(wrap(type), (EqualityStrategy<Object>) strategy);
+            return this;
+        }
+
+        /**
+         * フィールド名の比較方法を登録する。型の登録より優先される
+         *
+         * @param fieldName フィールド名
+         * @param strategy  比較方法
+         * @return このビルダー
+         */
+        @SuppressWarnings("unchecked")
+        public Builder register(final String fieldName, final EqualityStrategy<?> strategy) {
+            Objects.requireNonNull(fieldName, "フィールド名がnullです");
+            Objects.requireNonNull(strategy, "比較方法がnullです");
+            this.fields.put(fieldName, (EqualityStrategy<Object>) strategy);
+            return this;
+        }
+
+        /**
+         * 配列型フィールドを参照ではなく中身で比較する
+         *
+         * @return このビルダー
+         * @see EqualityStrategy#arrayContent()
+         */
+        public Builder arrayContent() {
+            this.arrayContent = true;
+            return this;
+        }
+
+        /**
+         * {@link CompareConfig} を生成する
+         *
+         * @return {@link CompareConfig}
+         */
+        public CompareConfig build() {
+            return new CompareConfig(this);
+        }
+    }
+}
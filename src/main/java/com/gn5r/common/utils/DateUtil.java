@@ -3,6 +3,7 @@ package com.gn5r.common.utils;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.Objects;
+import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.time.DateUtils;
 
@@ -52,6 +53,11 @@ public final class DateUtil extends DateUtils {
      */
     public static final DateTimeFormatter HMS = DateTimeFormatter.ofPattern("HH:mm:ss");
 
+    /**
+     * 日付文字列の区切り文字
+     */
+    private static final Pattern DELIMITER = Pattern.compile("\\W");
+
     /**
      * 日付文字列から年度+上半期/下半期を取得する
      * <p>
@@ -166,6 +172,6 @@ public final class DateUtil extends DateUtils {
             return localDate;
         }
 
-        return LocalDate.parse(date.replaceAll("\\W", "-"));
+        return LocalDate.parse(DELIMITER.matcher(date).replaceAll("-"));
     }
 }
\ No newline at end of file
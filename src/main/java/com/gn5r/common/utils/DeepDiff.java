@@ -0,0 +1,394 @@
+package com.gn5r.common.utils;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import com.gn5r.common.utils.ObjectUtil.Difference;
+
+/**
+ * <p>
+ * オブジェクトグラフを再帰的に比較するクラス
+ * </p>
+ *
+ * <p>
+ * {@link ObjectUtil#diff(Object, Object, String...)} は宣言フィールドのみを
+ * {@link Objects#equals(Object, Object)} で比較するが、このクラスはスーパークラスのフィールドを含めて
+ * ネストしたオブジェクト・配列・{@link List}・{@link Map} の中まで比較し、相違箇所をパス付きの
+ * {@link Difference} として返却する
+ * </p>
+ *
+ * <ul>
+ * <li>フィールドは {@code lines[3].price}、Mapの値は {@code attributes[key]} の形式のパスで返却する</li>
+ * <li>同じインスタンス同士は比較しない</li>
+ * <li>循環参照は比較済みのインスタンスの組み合わせを記録して検出する</li>
+ * <li>{@code java.*} / {@code javax.*} パッケージのクラス、列挙型、{@link List} 以外の {@link Collection} は
+ * {@link Objects#equals(Object, Object)} で比較する</li>
+ * <li>{@link List}・{@link Map}・{@link Set} 同士は実装クラスが異なっても要素で比較する。それ以外はクラスが異なる場合に相違とする</li>
+ * <li>最大深さに達した場合はそれ以上辿らずに {@link Objects#deepEquals(Object, Object)} で比較する</li>
+ * </ul>
+ *
+ * <pre>
+ * DeepDiff deepDiff = DeepDiff.builder().rootName("order").maxDepth(6).excludes("updatedAt").build();
+ * List&lt;Difference&gt; diff = deepDiff.diff(before, after);
+ * // diff.get(0).getFieldName() → "order.lines[3].price"
+ * </pre>
+ *
+ * <p>
+ * インスタンスはスレッドセーフで、使い回すことができる
+ * </p>
+ *
+ * @author gn5r
+ * @since 0.3.9
+ * @see ObjectUtil#deepDiff(Object, Object)
+ */
+public final class DeepDiff {
+
+    /**
+     * デフォルトの最大深さ
+     */
+    public static final int DEFAULT_MAX_DEPTH = 16;
+
+    /**
+     * デフォルト設定のインスタンス
+     */
+    static final DeepDiff DEFAULT = builder().build();
+
+    private final String rootName;
+
+    private final int maxDepth;
+
+    private final String[] excludes;
+
+    private DeepDiff(final Builder builder) {
+        this.rootName = builder.rootName;
+        this.maxDepth = builder.maxDepth;
+        this.excludes = builder.excludes;
+    }
+
+    /**
+     * ビルダーを生成する
+     *
+     * @return ビルダー
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 2つのオブジェクトグラフを比較し、相違箇所のリストを返却する。相違がなければ空のリストを返却する
+     *
+     * @param a オブジェクトa
+     * @param b オブジェクトb
+     * @return {@link Difference} 相違箇所リスト。フィールド名には相違箇所のパスが入る
+     */
+    public List<Difference> diff(final Object a, final Object b) {
+        final Walker walker = new Walker(Integer.MAX_VALUE);
+        walker.compare(this.rootName, a, b, 0);
+        return walker.result;
+    }
+
+    /**
+     * 2つのオブジェクトグラフを比較し、相違があれば true を返却する。最初の相違が見つかった時点で比較を終了する
+     *
+     * @param a オブジェクトa
+     * @param b オブジェクトb
+     * @return 相違有無
+     */
+    public boolean check(final Object a, final Object b) {
+        final Walker walker = new Walker(1);
+        walker.compare(this.rootName, a, b, 0);
+        return !walker.result.isEmpty();
+    }
+
+    /**
+     * 値として {@link Objects#equals(Object, Object)} で比較する型かどうかを判定する
+     */
+    private static boolean isValueType(final Class<?> type) {
+        if (type.isPrimitive() || type.isEnum() || Enum.class.isAssignableFrom(type)) {
+            return true;
+        }
+
+        if (type.isArray() || List.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)) {
+            return false;
+        }
+
+        if (Collection.class.isAssignableFrom(type)) {
+            return true;
+        }
+
+        final String name = type.getName();
+        return name.startsWith("java.") || name.startsWith("javax.");
+    }
+
+    private static String child(final String path, final String name) {
+        return StringUtil.isEmpty(path) ? name : path + "." + name;
+    }
+
+    private static String index(final String path, final Object key) {
+        return StringUtil.nullToEmpty(path) + "[" + key + "]";
+    }
+
+    /**
+     * 1回の比較処理の状態
+     */
+    private final class Walker {
+
+        private final List<Difference> result = new ArrayList<>();
+
+        /**
+         * 比較済みのインスタンスの組み合わせ
+         */
+        private final Set<IdentityPair> visited = new HashSet<>();
+
+        private final int limit;
+
+        Walker(final int limit) {
+            this.limit = limit;
+        }
+
+        private boolean isDone() {
+            return this.result.size() >= this.limit;
+        }
+
+        private void add(final String path, final Object a, final Object b) {
+            this.result.add(new Difference(path, a, b));
+        }
+
+        void compare(final String path, final Object a, final Object b, final int depth) {
+            if (a == b || isDone()) {
+                return;
+            }
+
+            if (Objects.isNull(a) || Objects.isNull(b)) {
+                add(path, a, b);
+                return;
+            }
+
+            // List・Map・Set は実装クラスが異なっても(PersistentBag と ArrayList など)要素で比較する
+            if (a instanceof Set && b instanceof Set) {
+                if (!a.equals(b)) {
+                    add(path, a, b);
+                }
+                return;
+            }
+            final boolean lists = a instanceof List && b instanceof List;
+            final boolean maps = a instanceof Map && b instanceof Map;
+            if (!lists && !maps && a.getClass() != b.getClass()) {
+                add(path, a, b);
+                return;
+            }
+
+            final Class<?> type = a.getClass();
+
+            if (isValueType(type)) {
+                if (!a.equals(b)) {
+                    add(path, a, b);
+                }
+                return;
+            }
+
+            if (depth >= DeepDiff.this.maxDepth) {
+                if (!Objects.deepEquals(a, b)) {
+                    add(path, a, b);
+                }
+                return;
+            }
+
+            // 循環参照または比較済みの組み合わせ
+            if (!this.visited.add(new IdentityPair(a, b))) {
+                return;
+            }
+
+            if (type.isArray()) {
+                compareArray(path, a, b, depth);
+            } else if (lists) {
+                compareList(path, (List<?>) a, (List<?>) b, depth);
+            } else if (maps) {
+                compareMap(path, (Map<?, ?>) a, (Map<?, ?>) b, depth);
+            } else {
+                compareFields(path, a, b, depth);
+            }
+        }
+
+        private void compareArray(final String path, final Object a, final Object b, final int depth) {
+            final int lengthA = Array.getLength(a);
+            final int lengthB = Array.getLength(b);
+
+            for (int i = 0; i < Math.max(lengthA, lengthB) && !isDone(); i++) {
+                final Object elemA = i < lengthA ? Array.get(a, i) : null;
+                final Object elemB = i < lengthB ? Array.get(b, i) : null;
+                if (i >= lengthA || i >= lengthB) {
+                    add(index(path, i), elemA, elemB);
+                } else if (elemA != elemB) {
+                    compare(index(path, i), elemA, elemB, depth + 1);
+                }
+            }
+        }
+
+        private void compareList(final String path, final List<?> a, final List<?> b, final int depth) {
+            final Iterator<?> itA = a.iterator();
+            final Iterator<?> itB = b.iterator();
+
+            for (int i = 0; (itA.hasNext() || itB.hasNext()) && !isDone(); i++) {
+                final boolean hasA = itA.hasNext();
+                final boolean hasB = itB.hasNext();
+                final Object elemA = hasA ? itA.next() : null;
+                final Object elemB = hasB ? itB.next() : null;
+                if (!hasA || !hasB) {
+                    add(index(path, i), elemA, elemB);
+                } else if (elemA != elemB) {
+                    compare(index(path, i), elemA, elemB, depth + 1);
+                }
+            }
+        }
+
+        private void compareMap(final String path, final Map<?, ?> a, final Map<?, ?> b, final int depth) {
+            for (Map.Entry<?, ?> entry : a.entrySet()) {
+                if (isDone()) {
+                    return;
+                }
+                final Object key = entry.getKey();
+                if (!b.containsKey(key)) {
+                    add(index(path, key), entry.getValue(), null);
+                } else if (entry.getValue() != b.get(key)) {
+                    compare(index(path, key), entry.getValue(), b.get(key), depth + 1);
+                }
+            }
+
+            for (Map.Entry<?, ?> entry : b.entrySet()) {
+                if (isDone()) {
+                    return;
+                }
+                if (!a.containsKey(entry.getKey())) {
+                    add(index(path, entry.getKey()), null, entry.getValue());
+                }
+            }
+        }
+
+        private void compareFields(final String path, final Object a, final Object b, final int depth) {
+            for (FieldAccessor field : FieldMetadata.of(a.getClass()).getHierarchyFields()) {
+                if (isDone()) {
+                    return;
+                }
+
+                final String name = field.getName();
+                if (FieldMetadata.isExcluded(name, DeepDiff.this.excludes)) {
+                    continue;
+                }
+
+                // パスは相違があるか、さらに辿る場合にのみ作成する
+                if (field.isPrimitive() && field.getBits(a) == field.getBits(b)) {
+                    continue;
+                }
+                final Object valueA = field.get(a);
+                final Object valueB = field.get(b);
+                if (valueA == valueB) {
+                    continue;
+                }
+
+                final String fieldPath = child(path, name);
+                if (FieldMetadata.isExcluded(fieldPath, DeepDiff.this.excludes)) {
+                    continue;
+                }
+                compare(fieldPath, valueA, valueB, depth + 1);
+            }
+        }
+    }
+
+    /**
+     * 参照の同一性で比較するインスタンスの組み合わせ
+     */
+    private static final class IdentityPair {
+
+        private final Object a;
+        private final Object b;
+
+        IdentityPair(final Object a, final Object b) {
+            this.a = a;
+            this.b = b;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(this.a) + System.identityHashCode(this.b);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof IdentityPair)) {
+                return false;
+            }
+            final IdentityPair pair = (IdentityPair) obj;
+            return this.a == pair.a && this.b == pair.b;
+        }
+    }
+
+    /**
+     * {@link DeepDiff} のビルダー
+     */
+    public static final class Builder {
+
+        private String rootName = StringUtil.EMPTY;
+
+        private int maxDepth = DEFAULT_MAX_DEPTH;
+
+        private String[] excludes = new String[0];
+
+        private Builder() {
+        }
+
+        /**
+         * パスの先頭に付与するルート名を設定する。デフォルトは空文字("")
+         *
+         * @param rootName ルート名
+         * @return このビルダー
+         */
+        public Builder rootName(final String rootName) {
+            this.rootName = StringUtil.nullToEmpty(rootName);
+            return this;
+        }
+
+        /**
+         * 辿る最大深さを設定する。デフォルトは {@value DeepDiff#DEFAULT_MAX_DEPTH}
+         *
+         * @param maxDepth 最大深さ(ルートのフィールドが1)
+         * @return このビルダー
+         * @throws IllegalArgumentException 0未満の場合にthrowする
+         */
+        public Builder maxDepth(final int maxDepth) {
+            if (maxDepth < 0) {
+                throw new IllegalArgumentException("最大深さは0以上を指定してください");
+            }
+            this.maxDepth = maxDepth;
+            return this;
+        }
+
+        /**
+         * 除外するフィールド名またはパスを設定する
+         *
+         * @param excludes 除外フィールド名またはパスのString配列
+         * @return このビルダー
+         */
+        public Builder excludes(final String... excludes) {
+            this.excludes = Objects.isNull(excludes) ? new String[0] : Arrays.copyOf(excludes, excludes.length);
+            return this;
+        }
+
+        /**
+         * {@link DeepDiff} を生成する
+         *
+         * @return {@link DeepDiff}
+         */
+        public DeepDiff build() {
+            return new DeepDiff(this);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.gn5r.common.utils;
+
+/**
+ * <p>
+ * {@link ObjectUtil#diff(Object, Object, DiffVisitor, String...)} 及び
+ * {@link ObjectUtil#same(Object, Object, DiffVisitor, String...)} で見つかったフィールドを受け取るインターフェース
+ * </p>
+ *
+ * <p>
+ * {@link ObjectUtil.Difference} やリストを生成せずにフィールド名と両方のパラメータを受け取る。
+ * false を返却するとその時点で比較を終了する
+ * </p>
+ *
+ * <pre>
+ * ObjectUtil.diff(before, after, (name, a, b) -&gt; {
+ *   log.info("{}: {} → {}", name, a, b);
+ *   return true;
+ * });
+ * </pre>
+ *
+ * @author gn5r
+ * @since 0.3.9
+ */
+@FunctionalInterface
+public interface DiffVisitor {
+
+    /**
+     * 見つかったフィールドを受け取る
+     *
+     * @param fieldName フィールド名(変数名)
+     * @param a         オブジェクトaのフィールドパラメータ
+     * @param b         オブジェクトbのフィールドパラメータ
+     * @return 比較を続ける場合は true、終了する場合は false
+     */
+    boolean visit(String fieldName, Object a, Object b);
+}
@@ -0,0 +1,50 @@
+package com.gn5r.common.utils;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * {@link ObjectUtil} の比較・変換処理をコンパイル時に生成するクラスに付与するアノテーション
+ * </p>
+ *
+ * <p>
+ * 付与したクラスと同じパッケージに {@link DiffableSupport} の実装クラス(コンパニオンクラス)が
+ * {@link DiffableProcessor} によって生成される。{@link ObjectUtil} の diff / check / same / toMap /
+ * toString は同じクラス同士の場合にコンパニオンクラスを使用する
+ * </p>
+ *
+ * <ul>
+ * <li>付与するクラス(及び外側のクラス)は private であってはならない</li>
+ * <li>private でないフィールドは直接参照する</li>
+ * <li>private フィールドは、フィールドをそのまま返却する private でない getter(getXxx / isXxx、Lombok の {@code @Getter} /
+ * {@code @Data} が生成するものを含む)がある場合は getter 経由で参照する</li>
+ * <li>getter が無い、値を加工している getter しか無い private フィールド、及び private static フィールドはリフレクションで読み取り、
+ * コンパイル時に警告を出力する。GraalVM native-image 等でリフレクションを使用しない場合は、これらのフィールドを
+ * private でなくするか、フィールドをそのまま返却する getter を追加する</li>
+ * </ul>
+ *
+ * <pre>
+ * &#64;Diffable
+ * public class Order {
+ *   Integer id;
+ *   String name;
+ * }
+ * </pre>
+ *
+ * <p>
+ * 上記の場合 {@code Order_Diffable} が生成される
+ * </p>
+ *
+ * @author gn5r
+ * @since 0.3.9
+ * @see DiffableSupport
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Diffable {
+}
@@ -0,0 +1,402 @@
+package com.gn5r.common.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * <p>
+ * {@link Diffable} を付与したクラスのコンパニオンクラスを生成するアノテーションプロセッサ
+ * </p>
+ *
+ * <p>
+ * 生成されるクラスは {@link DiffableSupport} を実装し、private でないフィールドを直接参照する。private フィールドは、
+ * フィールドをそのまま返却する getter(Lombok が生成する getter を含む)がある場合だけ getter 経由で参照する。
+ * getter が見つからない場合は Lombok 等の他のプロセッサが生成する可能性があるので1ラウンドだけ生成を保留する。
+ * getter が無い、または値を加工している private フィールドは、生成したクラスの初期化時に取得した
+ * {@link java.lang.reflect.Field} から読み取り、フィールド名を警告として出力する
+ * </p>
+ *
+ * <p>
+ * getter の本体はコンパイラのツリーAPI({@code com.sun.source})で確認する。ツリーAPIを利用できないコンパイラでは
+ * 全ての private フィールドをリフレクションで読み取る
+ * </p>
+ *
+ * @author gn5r
+ * @since 0.3.9
+ * @see Diffable
+ */
+public final class DiffableProcessor extends AbstractProcessor {
+
+    /**
+     * private フィールドの {@link java.lang.reflect.Field} を保持する定数名の接頭辞
+     */
+    private static final String FIELD_PREFIX = "FIELD_";
+
+    private Filer filer;
+
+    private Messager messager;
+
+    /**
+     * {@code com.sun.source.util.Trees} のインスタンス。利用できない場合は {@code null}
+     */
+    private Object trees;
+
+    /**
+     * {@code Trees#getTree(Element)}
+     */
+    private Method getTree;
+
+    /**
+     * {@code MethodTree#getBody()}
+     */
+    private Method getBody;
+
+    /**
+     * getterが見つからず生成を保留しているクラス名
+     */
+    private final Set<String> deferred = new LinkedHashSet<>();
+
+    @Override
+    public synchronized void init(final ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.filer = processingEnv.getFiler();
+        this.messager = processingEnv.getMessager();
+
+        // ツリーAPIは JDK 8 では tools.jar にあるので、コンパイル時に参照せず実行中のコンパイラから取得する
+        try {
+            final ClassLoader loader = processingEnv.getClass().getClassLoader();
+            final Class<?> treesClass = Class.forName("com.sun.source.util.Trees", false, loader);
+            this.trees = treesClass.getMethod("instance", ProcessingEnvironment.class).invoke(null, processingEnv);
+            this.getTree = treesClass.getMethod("getTree", Element.class);
+            this.getBody = Class.forName("com.sun.source.tree.MethodTree", false, loader).getMethod("getBody");
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            this.trees = null;
+        }
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(Diffable.class.getCanonicalName());
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        final Set<String> retry = new LinkedHashSet<>(this.deferred);
+        this.deferred.clear();
+        for (String name : retry) {
+            final TypeElement type = this.processingEnv.getElementUtils().getTypeElement(name);
+            if (Objects.nonNull(type)) {
+                process(type, true);
+            }
+        }
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(Diffable.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                this.messager.printMessage(Diagnostic.Kind.ERROR, "@Diffable はクラスにのみ付与できます", element);
+                continue;
+            }
+            process((TypeElement) element, roundEnv.processingOver());
+        }
+
+        return false;
+    }
+
+    /**
+     * @param retried 生成を保留しない場合 true
+     */
+    private void process(final TypeElement type, final boolean retried) {
+        for (Element e = type; e.getKind() != ElementKind.PACKAGE; e = e.getEnclosingElement()) {
+            if (!(e instanceof TypeElement) || ((TypeElement) e).getNestingKind().compareTo(NestingKind.MEMBER) > 0) {
+                this.messager.printMessage(Diagnostic.Kind.ERROR, "@Diffable はローカルクラスに付与できません", type);
+                return;
+            }
+            if (e.getModifiers().contains(Modifier.PRIVATE)) {
+                this.messager.printMessage(Diagnostic.Kind.ERROR, "@Diffable を付与したクラスは private にできません", type);
+                return;
+            }
+        }
+
+        final Map<String, String> reads = new LinkedHashMap<>();
+        final Map<String, TypeKind> kinds = new LinkedHashMap<>();
+        final List<VariableElement> reflective = new ArrayList<>();
+
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            final String name = field.getSimpleName().toString();
+            if (FieldMetadata.isIgnored(name)) {
+                continue;
+            }
+
+            if (field.getModifiers().contains(Modifier.PRIVATE)) {
+                final ExecutableElement getter = findGetter(type, field);
+                if (Objects.isNull(getter) && !retried) {
+                    this.deferred.add(type.getQualifiedName().toString());
+                    return;
+                }
+
+                if (Objects.nonNull(getter) && isPlainGetter(getter, name)) {
+                    reads.put(name, "%s." + getter.getSimpleName() + "()");
+                    kinds.put(name, field.asType().getKind());
+                } else {
+                    // 読み取り結果はラッパークラスになるので参照型として比較する
+                    reads.put(name, "DiffableSupport.get(" + FIELD_PREFIX + reflective.size() + ", %s)");
+                    kinds.put(name, TypeKind.DECLARED);
+                    reflective.add(field);
+                }
+            } else if (field.getModifiers().contains(Modifier.STATIC)) {
+                reads.put(name, type.getQualifiedName() + "." + name);
+                kinds.put(name, field.asType().getKind());
+            } else {
+                reads.put(name, "%s." + name);
+                kinds.put(name, field.asType().getKind());
+            }
+        }
+
+        for (VariableElement field : reflective) {
+            this.messager.printMessage(Diagnostic.Kind.WARNING,
+                    "フィールドをそのまま返却する getter が無いので、リフレクションで読み取ります: " + field.getSimpleName(), field);
+        }
+
+        try {
+            write(type, reads, kinds, reflective);
+        } catch (IOException e) {
+            this.messager.printMessage(Diagnostic.Kind.ERROR, "コンパニオンクラスを生成できませんでした: " + e.getMessage(), type);
+        }
+    }
+
+    /**
+     * private でないインスタンスメソッドから、フィールドと同じ型を返却する getter(getXxx / isXxx)を探す
+     *
+     * @return getter。見つからない場合は {@code null}
+     */
+    private ExecutableElement findGetter(final TypeElement type, final VariableElement field) {
+        if (field.getModifiers().contains(Modifier.STATIC)) {
+            return null;
+        }
+
+        final String name = field.getSimpleName().toString();
+        final String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        final boolean bool = field.asType().getKind() == TypeKind.BOOLEAN;
+
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            final String methodName = method.getSimpleName().toString();
+            if (method.getModifiers().contains(Modifier.PRIVATE) || method.getModifiers().contains(Modifier.STATIC)
+                    || !method.getParameters().isEmpty()
+                    || !this.processingEnv.getTypeUtils().isSameType(method.getReturnType(), field.asType())) {
+                continue;
+            }
+            if (methodName.equals("get" + suffix) || (bool && methodName.equals("is" + suffix))) {
+                return method;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * getter の本体がフィールドをそのまま返却するだけ({@code return this.xxx;} / {@code return xxx;})かどうかを判定する
+     */
+    private boolean isPlainGetter(final ExecutableElement getter, final String name) {
+        if (Objects.isNull(this.trees)) {
+            return false;
+        }
+
+        try {
+            final Object tree = this.getTree.invoke(this.trees, getter);
+            final Object body = Objects.isNull(tree) ? null : this.getBody.invoke(tree);
+            if (Objects.isNull(body)) {
+                return false;
+            }
+
+            final String code = body.toString().replaceAll("\\s+", "");
+            return code.equals("{returnthis." + name + ";}") || code.equals("{return" + name + ";}");
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    private void write(final TypeElement type, final Map<String, String> reads, final Map<String, TypeKind> kinds,
+            final List<VariableElement> reflective) throws IOException {
+        final PackageElement pkg = this.processingEnv.getElementUtils().getPackageOf(type);
+        final String pkgName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+
+        final StringBuilder flatName = new StringBuilder(type.getSimpleName());
+        for (Element e = type.getEnclosingElement(); e.getKind() != ElementKind.PACKAGE; e = e.getEnclosingElement()) {
+            flatName.insert(0, e.getSimpleName() + "_");
+        }
+        final String className = flatName + DiffableSupport.SUFFIX;
+        final String target = typeName(type);
+        final String simpleName = type.getSimpleName().toString();
+
+        final StringBuilder src = new StringBuilder();
+        if (!pkgName.isEmpty()) {
+            src.append("package ").append(pkgName).append(";\n\n");
+        }
+        if (!reflective.isEmpty()) {
+            src.append("import java.lang.reflect.Field;\n");
+        }
+        src.append("import java.util.ArrayList;\n");
+        src.append("import java.util.HashMap;\n");
+        src.append("import java.util.List;\n");
+        src.append("import java.util.Map;\n");
+        src.append("import java.util.Objects;\n\n");
+        src.append("import com.gn5r.common.utils.DiffableSupport;\n");
+        src.append("import com.gn5r.common.utils.ObjectUtil.Difference;\n\n");
+        src.append("/**\n * {@link ").append(type.getQualifiedName()).append("} のコンパニオンクラス\n");
+        src.append(" * <p>\n * {@link com.gn5r.common.utils.DiffableProcessor} により生成\n * </p>\n */\n");
+        src.append("public final class ").append(className).append(" implements DiffableSupport<").append(target)
+                .append("> {\n\n");
+
+        // private フィールド
+        for (int i = 0; i < reflective.size(); i++) {
+            src.append("    private static final Field ").append(FIELD_PREFIX).append(i)
+                    .append(" = DiffableSupport.field(").append(type.getQualifiedName()).append(".class, \"")
+                    .append(reflective.get(i).getSimpleName()).append("\");\n\n");
+        }
+
+        // diff / same
+        for (boolean diff : new boolean[] { true, false }) {
+            src.append("    @Override\n");
+            src.append("    public List<Difference> ").append(diff ? "diff" : "same").append("(final ").append(target)
+                    .append(" a, final ").append(target).append(" b, final String... excludes) {\n");
+            src.append("        final List<Difference> list = new ArrayList<>();\n");
+            for (Map.Entry<String, String> e : reads.entrySet()) {
+                final String name = e.getKey();
+                final String equal = equalExpression(kinds.get(name), e.getValue());
+                src.append("        if (!DiffableSupport.isExcluded(\"").append(name).append("\", excludes) && ")
+                        .append(diff ? "!" : "").append("(").append(equal).append(")) {\n");
+                src.append("            list.add(new Difference(\"").append(name).append("\", ")
+                        .append(String.format(e.getValue(), "a")).append(", ").append(String.format(e.getValue(), "b"))
+                        .append("));\n");
+                src.append("        }\n");
+            }
+            src.append("        return list;\n");
+            src.append("    }\n\n");
+        }
+
+        // check
+        src.append("    @Override\n");
+        src.append("    public boolean check(final ").append(target).append(" a, final ").append(target)
+                .append(" b, final String... excludes) {\n");
+        for (Map.Entry<String, String> e : reads.entrySet()) {
+            final String name = e.getKey();
+            src.append("        if (!DiffableSupport.isExcluded(\"").append(name).append("\", excludes) && !(")
+                    .append(equalExpression(kinds.get(name), e.getValue())).append(")) {\n");
+            src.append("            return true;\n");
+            src.append("        }\n");
+        }
+        src.append("        return false;\n");
+        src.append("    }\n\n");
+
+        // toMap
+        src.append("    @Override\n");
+        src.append("    public Map<String, Object> toMap(final ").append(target)
+                .append(" object, final String... excludes) {\n");
+        src.append("        final Map<String, Object> map = new HashMap<>();\n");
+        for (Map.Entry<String, String> e : reads.entrySet()) {
+            src.append("        if (!DiffableSupport.isExcluded(\"").append(e.getKey()).append("\", excludes)) {\n");
+            src.append("            map.put(\"").append(e.getKey()).append("\", ")
+                    .append(String.format(e.getValue(), "object")).append(");\n");
+            src.append("        }\n");
+        }
+        src.append("        return map;\n");
+        src.append("    }\n\n");
+
+        // toString
+        src.append("    @Override\n");
+        src.append("    public String toString(final ").append(target).append(" object, final String... excludes) {\n");
+        src.append("        final StringBuilder builder = new StringBuilder(\"").append(simpleName).append("[\");\n");
+        src.append("        String separator = \"\";\n");
+        for (Map.Entry<String, String> e : reads.entrySet()) {
+            src.append("        if (!DiffableSupport.isExcluded(\"").append(e.getKey()).append("\", excludes)) {\n");
+            src.append("            builder.append(separator).append(\"").append(e.getKey()).append("=\").append(")
+                    .append(String.format(e.getValue(), "object")).append(");\n");
+            src.append("            separator = \", \";\n");
+            src.append("        }\n");
+        }
+        src.append("        return builder.append(']').toString();\n");
+        src.append("    }\n");
+        src.append("}\n");
+
+        final String qualified = pkgName.isEmpty() ? className : pkgName + "." + className;
+        try (Writer writer = this.filer.createSourceFile(qualified, type).openWriter()) {
+            writer.write(src.toString());
+        }
+    }
+
+    /**
+     * 2つのフィールドパラメータが一致するかどうかを判定する式を返却する
+     * <p>
+     * {@code float} と {@code double} は {@link Objects#equals(Object, Object)} と同じ結果になるようにビット列で比較する
+     * </p>
+     */
+    private static String equalExpression(final TypeKind kind, final String read) {
+        final String a = String.format(read, "a");
+        final String b = String.format(read, "b");
+
+        switch (kind) {
+        case FLOAT:
+            return "Float.floatToIntBits(" + a + ") == Float.floatToIntBits(" + b + ")";
+        case DOUBLE:
+            return "Double.doubleToLongBits(" + a + ") == Double.doubleToLongBits(" + b + ")";
+        case BOOLEAN:
+        case BYTE:
+        case SHORT:
+        case CHAR:
+        case INT:
+        case LONG:
+            return a + " == " + b;
+        default:
+            return "Objects.equals(" + a + ", " + b + ")";
+        }
+    }
+
+    /**
+     * 型パラメータをワイルドカードにした型名を返却する
+     */
+    private static String typeName(final TypeElement type) {
+        final StringBuilder name = new StringBuilder(type.getQualifiedName());
+        final int params = type.getTypeParameters().size();
+
+        if (params > 0) {
+            name.append('<');
+            for (int i = 0; i < params; i++) {
+                name.append(i == 0 ? "?" : ", ?");
+            }
+            name.append('>');
+        }
+
+        return name.toString();
+    }
+}
@@ -0,0 +1,147 @@
+package com.gn5r.common.utils;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.gn5r.common.utils.ObjectUtil.Difference;
+
+/**
+ * <p>
+ * {@link Diffable} を付与したクラスに対して生成されるコンパニオンクラスのインターフェース
+ * </p>
+ *
+ * <p>
+ * 各メソッドは {@link ObjectUtil} の同名メソッドと同じ結果を返却する。{@code this$0} と
+ * {@code serialVersionUID} は対象外となる
+ * </p>
+ *
+ * @param <T> 対象クラス
+ * @author gn5r
+ * @since 0.3.9
+ * @see Diffable
+ */
+public interface DiffableSupport<T> {
+
+    /**
+     * コンパニオンクラス名の接尾辞
+     */
+    String SUFFIX = "_Diffable";
+
+    /**
+     * オブジェクトの同一フィールドパラメータを比較し、相違があるフィールドを宣言順に返却する
+     *
+     * @param a        オブジェクトa
+     * @param b        オブジェクトb
+     * @param excludes 除外フィールド名のString配列
+     * @return {@link Difference} 相違フィールドリスト
+     * @see ObjectUtil#diff(Object, Object, String...)
+     */
+    List<Difference> diff(T a, T b, String... excludes);
+
+    /**
+     * オブジェクトのフィールドパラメータを比較し、相違があれば true を返却する
+     *
+     * @param a        オブジェクトa
+     * @param b        オブジェクトb
+     * @param excludes 除外フィールド名のString配列
+     * @return 相違有無
+     * @see ObjectUtil#check(Object, Object, String...)
+     */
+    boolean check(T a, T b, String... excludes);
+
+    /**
+     * オブジェクトの同一フィールドパラメータを比較し、一致したフィールドを宣言順に返却する
+     *
+     * @param a        オブジェクトa
+     * @param b        オブジェクトb
+     * @param excludes 除外フィールド名のString配列
+     * @return {@link Difference} 一致フィールドリスト
+     * @see ObjectUtil#same(Object, Object, String...)
+     */
+    List<Difference> same(T a, T b, String... excludes);
+
+    /**
+     * オブジェクトの中身のMapを返却する
+     *
+     * @param object   オブジェクト
+     * @param excludes 除外フィールド名のString配列
+     * @return 変数名:パラメータのマップ
+     * @see ObjectUtil#toMap(Object, String...)
+     */
+    Map<String, Object> toMap(T object, String... excludes);
+
+    /**
+     * オブジェクトを文字列に変換する
+     *
+     * @param object   オブジェクト
+     * @param excludes 除外フィールド名のString配列
+     * @return オブジェクト名及びオブジェクトの中身
+     * @see ObjectUtil#toString(Object, String...)
+     */
+    String toString(T object, String... excludes);
+
+    /**
+     * 除外フィールド名に含まれるかどうかを判定する。生成コードから使用する
+     *
+     * @param name     フィールド名
+     * @param excludes 除外フィールド名のString配列
+     * @return 含まれる場合 true
+     */
+    static boolean isExcluded(final String name, final String... excludes) {
+        return FieldMetadata.isExcluded(name, excludes);
+    }
+
+    /**
+     * private フィールドを読み取る {@link Field} を取得する。生成コードから使用する
+     *
+     * @param type {@link Diffable} を付与したクラス
+     * @param name フィールド名
+     * @return アクセス可能にした {@link Field}
+     * @throws IllegalStateException フィールドが存在しない、またはアクセスできない場合
+     */
+    static Field field(final Class<?> type, final String name) {
+        try {
+            final Field field = type.getDeclaredField(name);
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException | RuntimeException e) {
+            throw new IllegalStateException("フィールドにアクセスできません: " + type.getName() + "." + name, e);
+        }
+    }
+
+    /**
+     * {@link #field(Class, String)} で取得したフィールドのパラメータを取得する。生成コードから使用する
+     *
+     * @param field  フィールド
+     * @param object オブジェクト
+     * @return パラメータ。プリミティブ型はラッパークラス
+     */
+    static Object get(final Field field, final Object object) {
+        try {
+            return field.get(object);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("フィールドにアクセスできません: " + field, e);
+        }
+    }
+
+    /**
+     * 指定したクラスのコンパニオンクラス名を返却する
+     * <p>
+     * ネストしたクラスは外側のクラス名と {@code _} で連結する({@code Outer$Inner} →
+     * {@code Outer_Inner_Diffable})
+     * </p>
+     *
+     * @param type {@link Diffable} を付与したクラス
+     * @return コンパニオンクラスのバイナリ名
+     */
+    static String companionName(final Class<?> type) {
+        final Package pkg = type.getPackage();
+        final String pkgName = Objects.isNull(pkg) ? "" : pkg.getName();
+        final String name = pkgName.isEmpty() ? type.getName() : type.getName().substring(pkgName.length() + 1);
+        final String companion = name.replace('$', '_') + SUFFIX;
+
+        return pkgName.isEmpty() ? companion : pkgName + "." + companion;
+    }
+}
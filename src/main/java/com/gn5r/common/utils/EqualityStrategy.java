@@ -0,0 +1,81 @@
+package com.gn5r.common.utils;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * <p>
+ * {@link CompareConfig} に登録するフィールドパラメータの比較方法
+ * </p>
+ *
+ * <p>
+ * 比較するパラメータはどちらも {@code null} ではない。{@code null} の比較は呼び出し側で行う
+ * </p>
+ *
+ * <ul>
+ * <li><b>arrayContent</b> - 配列を中身で比較する</li>
+ * <li><b>scaleInsensitive</b> - {@link BigDecimal} をスケールを無視して比較する({@code 1.0} と {@code 1.00}
+ * は一致)</li>
+ * <li><b>tolerance</b> - 数値を許容誤差付きで比較する</li>
+ * </ul>
+ *
+ * @param <T> 比較するパラメータの型
+ * @author gn5r
+ * @since 0.3.9
+ * @see CompareConfig
+ */
+@FunctionalInterface
+public interface EqualityStrategy<T> {
+
+    /**
+     * 2つのパラメータが一致するかどうかを判定する
+     *
+     * @param a オブジェクトaのフィールドパラメータ({@code null} ではない)
+     * @param b オブジェクトbのフィールドパラメータ({@code null} ではない)
+     * @return 一致する場合 true
+     */
+    boolean isEqual(T a, T b);
+
+    /**
+     * 配列を中身で比較する。多次元配列は {@link Objects#deepEquals(Object, Object)} で比較する
+     * <p>
+     * 長さが異なる場合は要素を比較しない
+     * </p>
+     *
+     * @return 比較方法
+     */
+    static EqualityStrategy<Object> arrayContent() {
+        return Objects::deepEquals;
+    }
+
+    /**
+     * {@link BigDecimal} をスケールを無視して比較する
+     *
+     * @return 比較方法
+     */
+    static EqualityStrategy<BigDecimal> scaleInsensitive() {
+        return (a, b) -> a.compareTo(b) == 0;
+    }
+
+    /**
+     * 数値を {@code double} に変換し、差が許容誤差以内であれば一致とする。{@code NaN} 同士は一致とする
+     *
+     * @param tolerance 許容誤差
+     * @return 比較方法
+     * @throws IllegalArgumentException 許容誤差が負数または {@code NaN} の場合にthrowする
+     */
+    static EqualityStrategy<Number> tolerance(final double tolerance) {
+        if (!(tolerance >= 0)) {
+            throw new IllegalArgumentException("許容誤差は0以上を指定してください");
+        }
+
+        return (a, b) -> {
+            final double x = a.doubleValue();
+            final double y = b.doubleValue();
+            if (Double.isNaN(x) || Double.isNaN(y)) {
+                return Double.isNaN(x) && Double.isNaN(y);
+            }
+            return x == y || Math.abs(x - y) <= tolerance;
+        };
+    }
+}
@@ -0,0 +1,167 @@
+package com.gn5r.common.utils;
+
+import java.lang.reflect.Field;
+import java.util.Objects;
+
+/**
+ * <p>
+ * キャッシュした {@link Field} によるフィールド読み取りクラス
+ * </p>
+ *
+ * <p>
+ * アクセス可能にした {@link Field} をフィールド毎に1度だけ取得して保持する。プリミティブ型フィールドは
+ * {@link Field#getInt(Object)} 等の型毎のメソッドで読み取り、ラッパークラスを生成せずに {@code long} のビット列として返却する
+ * </p>
+ *
+ * <p>
+ * インスタンスフィールドに保持した {@code MethodHandle} はJITで定数として扱われないので、{@code invokeExact}
+ * でもキャッシュした {@link Field} より速くならない(FieldAccessBenchmark 参照)。そのため {@link Field} を直接使用する
+ * </p>
+ *
+ * @author gn5r
+ * @since 0.3.9
+ */
+final class FieldAccessor {
+
+    private final Field field;
+
+    private final String name;
+
+    private final Class<?> type;
+
+    private final boolean primitive;
+
+    private FieldAccessor(final Field field) {
+        this.field = field;
+        this.name = field.getName();
+        this.type = field.getType();
+        this.primitive = this.type.isPrimitive();
+    }
+
+    /**
+     * フィールドの読み取りクラスを生成する
+     *
+     * @param field アクセス可能なフィールド
+     * @return 読み取りクラス
+     */
+    static FieldAccessor of(final Field field) {
+        return new FieldAccessor(Objects.requireNonNull(field, "フィールドがnullです"));
+    }
+
+    /**
+     * フィールドを取得する
+     *
+     * @return フィールド
+     */
+    Field getField() {
+        return this.field;
+    }
+
+    /**
+     * フィールド名を取得する
+     *
+     * @return フィールド名
+     */
+    String getName() {
+        return this.name;
+    }
+
+    /**
+     * フィールドの型を取得する
+     *
+     * @return フィールドの型
+     */
+    Class<?> getType() {
+        return this.type;
+    }
+
+    /**
+     * プリミティブ型フィールドかどうかを判定する
+     *
+     * @return プリミティブ型の場合 true
+     */
+    boolean isPrimitive() {
+        return this.primitive;
+    }
+
+    /**
+     * フィールドパラメータを取得する。プリミティブ型はラッパークラスに変換される
+     *
+     * @param target 対象オブジェクト
+     * @return フィールドパラメータ
+     */
+    Object get(final Object target) {
+        try {
+            return this.field.get(target);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("フィールドにアクセスできません: " + this.field, e);
+        }
+    }
+
+    /**
+     * プリミティブ型フィールドのパラメータを {@code long} のビット列として取得する
+     * <p>
+     * {@code float}、{@code double} は {@link Float#floatToIntBits(float)}、
+     * {@link Double#doubleToLongBits(double)} で変換するので、ビット列の一致は
+     * {@link Objects#equals(Object, Object)} による比較と同じ結果になる
+     * </p>
+     *
+     * @param target 対象オブジェクト
+     * @return ビット列
+     * @throws UnsupportedOperationException 参照型フィールドの場合にthrowする
+     */
+    long getBits(final Object target) {
+        try {
+            if (this.type == int.class) {
+                return this.field.getInt(target);
+            } else if (this.type == long.class) {
+                return this.field.getLong(target);
+            } else if (this.type == boolean.class) {
+                return this.field.getBoolean(target) ? 1L : 0L;
+            } else if (this.type == double.class) {
+                return Double.doubleToLongBits(this.field.getDouble(target));
+            } else if (this.type == float.class) {
+                return Float.floatToIntBits(this.field.getFloat(target));
+            } else if (this.type == char.class) {
+                return this.field.getChar(target);
+            } else if (this.type == short.class) {
+                return this.field.getShort(target);
+            } else if (this.type == byte.class) {
+                return this.field.getByte(target);
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("フィールドにアクセスできません: " + this.field, e);
+        }
+
+        throw new UnsupportedOperationException("プリミティブ型フィールドではありません: " + this.field);
+    }
+
+    /**
+     * {@link #getBits(Object)} で取得したビット列をラッパークラスに変換する
+     *
+     * @param bits ビット列
+     * @return フィールドの型に対応するラッパークラス
+     * @throws UnsupportedOperationException 参照型フィールドの場合にthrowする
+     */
+    Object fromBits(final long bits) {
+        if (this.type == int.class) {
+            return (int) bits;
+        } else if (this.type == long.class) {
+            return bits;
+        } else if (this.type == boolean.class) {
+            return bits != 0;
+        } else if (this.type == double.class) {
+            return Double.longBitsToDouble(bits);
+        } else if (this.type == float.class) {
+            return Float.intBitsToFloat((int) bits);
+        } else if (this.type == char.class) {
+            return (char) bits;
+        } else if (this.type == short.class) {
+            return (short) bits;
+        } else if (this.type == byte.class) {
+            return (byte) bits;
+        }
+
+        throw new UnsupportedOperationException("プリミティブ型フィールドではありません: " + this.field);
+    }
+}
@@ -0,0 +1,351 @@
+package com.gn5r.common.utils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>
+ * クラス毎のフィールドメタデータを保持するキャッシュクラス
+ * </p>
+ *
+ * <p>
+ * {@link Class#getDeclaredFields()} の取得と {@link Field#setAccessible(boolean)}
+ * はクラス毎に1度だけ行い、以降は {@link ClassValue} に保持した {@link FieldAccessor} を再利用する。
+ * 2クラス間の同一フィールドは比較相手のクラスの {@link ClassValue} に、除外フィールド名の組み合わせ毎にキャッシュする。
+ * 比較相手のクラスを強参照で保持しないので、クラスローダーのアンロードを妨げない
+ * </p>
+ *
+ * @author gn5r
+ * @since 0.3.9
+ */
+final class FieldMetadata {
+
+    /**
+     * 比較対象外とするフィールド名
+     */
+    private static final String[] IGNORE_FIELDS = { "this$0", "serialVersionUID" };
+
+    /**
+     * 除外フィールド名なし
+     */
+    private static final String[] EMPTY_EXCLUDES = new String[0];
+
+    /**
+     * 比較相手のクラス毎にキャッシュする除外フィールド名の組み合わせの最大数。超えた場合はキャッシュせずに毎回求める
+     */
+    private static final int MAX_EXCLUDE_PATTERNS = 32;
+
+    /**
+     * クラス毎のメタデータ
+     */
+    private static final ClassValue<FieldMetadata> CACHE = new ClassValue<FieldMetadata>() {
+        @Override
+        protected FieldMetadata computeValue(Class<?> type) {
+            return new FieldMetadata(type);
+        }
+    };
+
+    private final Class<?> type;
+
+    private final FieldAccessor[] fields;
+
+    private final Map<String, FieldAccessor> fieldMap;
+
+    /**
+     * 比較相手のクラス毎の、除外フィールド名の組み合わせ毎の同一フィールド
+     */
+    private final ClassValue<ConcurrentMap<ExcludesKey, FieldPair[]>> sharedFields = new SharedFieldsCache();
+
+    /**
+     * スーパークラスを含むインスタンスフィールド。初回参照時に作成する
+     */
+    private volatile FieldAccessor[] hierarchyFields;
+
+    private FieldMetadata(final Class<?> type) {
+        this.type = type;
+
+        final List<FieldAccessor> list = new ArrayList<>();
+        final Map<String, FieldAccessor> map = new LinkedHashMap<>();
+
+        for (Field field : type.getDeclaredFields()) {
+            if (isIgnored(field.getName())) {
+                continue;
+            }
+            // JDK 9 以降はモジュール外に公開されていない java.* 等のフィールドで InaccessibleObjectException が
+            // throwされるので、アクセスできないフィールドは対象外とする
+            try {
+                field.setAccessible(true);
+            } catch (RuntimeException e) {
+                continue;
+            }
+            final FieldAccessor accessor = FieldAccessor.of(field);
+            list.add(accessor);
+            map.put(field.getName(), accessor);
+        }
+
+        this.fields = list.toArray(new FieldAccessor[0]);
+        this.fieldMap = Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * 指定したクラスのメタデータを取得する
+     *
+     * @param type クラス
+     * @return メタデータ
+     */
+    static FieldMetadata of(final Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    /**
+     * 比較対象外のフィールド名かどうかを判定する
+     *
+     * @param name フィールド名
+     * @return {@code this$0} または {@code serialVersionUID} の場合 true
+     */
+    static boolean isIgnored(final String name) {
+        for (String ignore : IGNORE_FIELDS) {
+            if (ignore.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 除外フィールド名に含まれるかどうかを判定する
+     *
+     * @param name     フィールド名
+     * @param excludes 除外フィールド名のString配列
+     * @return 含まれる場合 true
+     */
+    static boolean isExcluded(final String name, final String... excludes) {
+        if (Objects.isNull(excludes)) {
+            return false;
+        }
+        for (String exclude : excludes) {
+            if (name.equals(exclude)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * メタデータのクラスを取得する
+     *
+     * @return クラス
+     */
+    Class<?> getType() {
+        return this.type;
+    }
+
+    /**
+     * フィールドの読み取りクラスを宣言順で取得する
+     *
+     * @return 読み取りクラス配列(呼び出し側で変更しないこと)
+     */
+    FieldAccessor[] getFields() {
+        return this.fields;
+    }
+
+    /**
+     * スーパークラスで宣言されたものを含むインスタンスフィールドの読み取りクラスを取得する
+     * <p>
+     * スーパークラスのフィールドが先になる。staticフィールドは含まない
+     * </p>
+     *
+     * @return 読み取りクラス配列(呼び出し側で変更しないこと)
+     */
+    FieldAccessor[] getHierarchyFields() {
+        FieldAccessor[] result = this.hierarchyFields;
+
+        if (Objects.isNull(result)) {
+            final List<FieldAccessor> list = new ArrayList<>();
+            final Class<?> superclass = this.type.getSuperclass();
+            if (Objects.nonNull(superclass) && superclass != Object.class) {
+                list.addAll(Arrays.asList(of(superclass).getHierarchyFields()));
+            }
+            for (FieldAccessor field : this.fields) {
+                if (!Modifier.isStatic(field.getField().getModifiers())) {
+                    list.add(field);
+                }
+            }
+            result = list.toArray(new FieldAccessor[0]);
+            this.hierarchyFields = result;
+        }
+
+        return result;
+    }
+
+    /**
+     * フィールド名から読み取りクラスを取得する
+     *
+     * @param name フィールド名
+     * @return 読み取りクラス。存在しない場合は {@code null}
+     */
+    FieldAccessor getField(final String name) {
+        return this.fieldMap.get(name);
+    }
+
+    /**
+     * 指定したクラスとの同一フィールドを取得する
+     *
+     * @param other    比較相手のクラス
+     * @param excludes 除外フィールド名のString配列
+     * @return 同一フィールドの組み合わせ配列(呼び出し側で変更しないこと)
+     */
+    FieldPair[] getSharedFields(final Class<?> other, final String... excludes) {
+        final String[] names = Objects.isNull(excludes) ? EMPTY_EXCLUDES : excludes;
+        final ConcurrentMap<ExcludesKey, FieldPair[]> cache = this.sharedFields.get(other);
+        FieldPair[] pairs = cache.get(new ExcludesKey(names));
+
+        if (Objects.isNull(pairs)) {
+            pairs = resolveSharedFields(of(other), names);
+            // 呼び出し側の配列が変更されてもキーが変わらないようにコピーして登録する
+            if (cache.size() < MAX_EXCLUDE_PATTERNS) {
+                final FieldPair[] prev = cache.putIfAbsent(new ExcludesKey(names.clone()), pairs);
+                if (Objects.nonNull(prev)) {
+                    pairs = prev;
+                }
+            }
+        }
+
+        return pairs;
+    }
+
+    private FieldPair[] resolveSharedFields(final FieldMetadata other, final String... excludes) {
+        final List<FieldPair> pairs = new ArrayList<>();
+
+        for (FieldAccessor field : this.fields) {
+            final String name = field.getName();
+            if (isExcluded(name, excludes)) {
+                continue;
+            }
+
+            final FieldAccessor otherField = other.getField(name);
+            if (Objects.nonNull(otherField)) {
+                pairs.add(new FieldPair(name, field, otherField));
+            }
+        }
+
+        return pairs.toArray(new FieldPair[0]);
+    }
+
+    /**
+     * 2クラス間の同一フィールドの組み合わせ
+     */
+    static final class FieldPair {
+
+        private final String name;
+        private final FieldAccessor a;
+        private final FieldAccessor b;
+
+        /**
+         * 両方が同じプリミティブ型のフィールドかどうか
+         */
+        private final boolean primitive;
+
+        FieldPair(final String name, final FieldAccessor a, final FieldAccessor b) {
+            this.name = name;
+            this.a = a;
+            this.b = b;
+            this.primitive = a.isPrimitive() && a.getType() == b.getType();
+        }
+
+        /**
+         * フィールド名を取得する
+         *
+         * @return フィールド名
+         */
+        String getName() {
+            return this.name;
+        }
+
+        /**
+         * オブジェクトa側の読み取りクラスを取得する
+         *
+         * @return 読み取りクラス
+         */
+        FieldAccessor getA() {
+            return this.a;
+        }
+
+        /**
+         * オブジェクトb側の読み取りクラスを取得する
+         *
+         * @return 読み取りクラス
+         */
+        FieldAccessor getB() {
+            return this.b;
+        }
+
+        /**
+         * 2つのオブジェクトのフィールドパラメータが一致するかどうかを判定する
+         * <p>
+         * 同じプリミティブ型同士はラッパークラスに変換せずにビット列で比較する。それ以外は
+         * {@link Objects#equals(Object, Object)} で比較する
+         * </p>
+         *
+         * @param objA オブジェクトa
+         * @param objB オブジェクトb
+         * @return 一致する場合 true
+         */
+        boolean isEqual(final Object objA, final Object objB) {
+            if (this.primitive) {
+                return this.a.getBits(objA) == this.b.getBits(objB);
+            }
+            return Objects.equals(this.a.get(objA), this.b.get(objB));
+        }
+    }
+
+    /**
+     * 比較相手のクラスに保持する同一フィールドキャッシュ
+     */
+    private static final class SharedFieldsCache extends ClassValue<ConcurrentMap<ExcludesKey, FieldPair[]>> {
+
+        @Override
+        protected ConcurrentMap<ExcludesKey, FieldPair[]> computeValue(final Class<?> other) {
+            return new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * 同一フィールドキャッシュの除外フィールド名のキー
+     */
+    private static final class ExcludesKey {
+
+        private final String[] excludes;
+        private final int hash;
+
+        ExcludesKey(final String[] excludes) {
+            this.excludes = excludes;
+            this.hash = Arrays.hashCode(excludes);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ExcludesKey)) {
+                return false;
+            }
+            return Arrays.equals(this.excludes, ((ExcludesKey) obj).excludes);
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package com.gn5r.common.utils;
+
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>
+ * 固定長レコードのレイアウト
+ * </p>
+ *
+ * <p>
+ * 各カラムのバイト数、配置、埋め文字と、レコードの区切り文字を定義する。{@link FixedWidthWriter}、{@link FixedWidthReader}
+ * で使用する
+ * </p>
+ *
+ * <pre>
+ * FixedWidthLayout layout = FixedWidthLayout.builder()
+ *   .column("id", 8, Alignment.RIGHT, '0')
+ *   .column("name", 20)
+ *   .lineSeparator("\r\n")
+ *   .build();
+ * </pre>
+ *
+ * <p>
+ * エンコーディングはASCIIを1バイトで表し、状態を持たないもの(MS932、Shift_JIS、EUC-JP、UTF-8 等)を対象とする。
+ * インスタンスは不変で、使い回すことができる
+ * </p>
+ *
+ * @author gn5r
+ * @since 0.3.9
+ * @see FixedWidthWriter
+ * @see FixedWidthReader
+ */
+public final class FixedWidthLayout {
+
+    private final Charset charset;
+
+    private final List<Column> columns;
+
+    private final Map<String, Integer> indexes;
+
+    private final byte[] lineSeparator;
+
+    private final int recordLength;
+
+    private FixedWidthLayout(final Builder builder) {
+        this.charset = builder.charset;
+        this.columns = Collections.unmodifiableList(new ArrayList<>(builder.columns));
+        this.lineSeparator = builder.lineSeparator.getBytes(builder.charset);
+
+        this.indexes = new HashMap<>();
+        int length = 0;
+        for (int i = 0; i < this.columns.size(); i++) {
+            this.indexes.put(this.columns.get(i).getName(), i);
+            length += this.columns.get(i).getWidth();
+        }
+        this.recordLength = length + this.lineSeparator.length;
+    }
+
+    /**
+     * ビルダーを生成する
+     *
+     * @return ビルダー
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * エンコーディングを取得する
+     *
+     * @return エンコーディング
+     */
+    public Charset getCharset() {
+        return this.charset;
+    }
+
+    /**
+     * カラムを定義順に取得する
+     *
+     * @return カラムのリスト
+     */
+    public List<Column> getColumns() {
+        return this.columns;
+    }
+
+    /**
+     * カラム数を取得する
+     *
+     * @return カラム数
+     */
+    public int getColumnCount() {
+        return this.columns.size();
+    }
+
+    /**
+     * カラム名からカラムの番号を取得する
+     *
+     * @param name カラム名
+     * @return カラムの番号(0始まり)
+     * @throws IllegalArgumentException 定義されていないカラム名の場合にthrowする
+     */
+    public int indexOf(final String name) {
+        final Integer index = this.indexes.get(name);
+        if (Objects.isNull(index)) {
+            throw new IllegalArgumentException("定義されていないカラムです: " + name);
+        }
+        return index;
+    }
+
+    /**
+     * 区切り文字を含むレコードのバイト数を取得する
+     *
+     * @return レコードのバイト数
+     */
+    public int getRecordLength() {
+        return this.recordLength;
+    }
+
+    /**
+     * エンコードしたレコードの区切り文字を取得する
+     *
+     * @return 区切り文字のバイト配列のコピー
+     */
+    public byte[] getLineSeparator() {
+        return this.lineSeparator.clone();
+    }
+
+    byte[] lineSeparator() {
+        return this.lineSeparator;
+    }
+
+    /**
+     * 固定長レコードのカラム
+     */
+    public static final class Column {
+
+        private final String name;
+
+        private final int offset;
+
+        private final int width;
+
+        private final Alignment alignment;
+
+        private final byte padding;
+
+        Column(final String name, final int offset, final int width, final Alignment alignment, final byte padding) {
+            this.name = name;
+            this.offset = offset;
+            this.width = width;
+            this.alignment = alignment;
+            this.padding = padding;
+        }
+
+        /**
+         * カラム名を取得する
+         *
+         * @return カラム名
+         */
+        public String getName() {
+            return this.name;
+        }
+
+        /**
+         * レコード先頭からのバイト位置を取得する
+         *
+         * @return バイト位置
+         */
+        public int getOffset() {
+            return this.offset;
+        }
+
+        /**
+         * バイト数を取得する
+         *
+         * @return バイト数
+         */
+        public int getWidth() {
+            return this.width;
+        }
+
+        /**
+         * 配置を取得する
+         *
+         * @return 配置
+         */
+        public Alignment getAlignment() {
+            return this.alignment;
+        }
+
+        /**
+         * エンコードした埋め文字を取得する
+         *
+         * @return 埋め文字のバイト
+         */
+        public byte getPadding() {
+            return this.padding;
+        }
+    }
+
+    /**
+     * {@link FixedWidthLayout} のビルダー
+     */
+    public static final class Builder {
+
+        private final List<Column> columns = new ArrayList<>();
+
+        private Charset charset = Charset.forName(StringUtil.DEFAULT_ENCODING);
+
+        private String lineSeparator = StringUtil.EMPTY;
+
+        private int offset;
+
+        private Builder() {
+        }
+
+        /**
+         * エンコーディングを設定する。デフォルトは {@link StringUtil#DEFAULT_ENCODING}
+         * <p>
+         * カラムの埋め文字はこのエンコーディングでエンコードするので、カラムより先に設定する
+         * </p>
+         *
+         * @param encoding エンコーディング名
+         * @return このビルダー
+         * @throws IllegalArgumentException サポートされていないエンコーディングの場合にthrowする
+         * @throws IllegalStateException    カラムを追加した後に呼び出した場合にthrowする
+         */
+        public Builder encoding(final String encoding) {
+            try {
+                return encoding(Charset.forName(encoding));
+            } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+                throw new IllegalArgumentException("サポートされていないエンコーディングです: " + encoding, e);
+            }
+        }
+
+        /**
+         * エンコーディングを設定する。デフォルトは {@link StringUtil#DEFAULT_ENCODING}
+         *
+         * @param charset エンコーディング
+         * @return このビルダー
+         * @throws IllegalStateException カラムを追加した後に呼び出した場合にthrowする
+         */
+        public Builder encoding(final Charset charset) {
+            if (!this.columns.isEmpty()) {
+                throw new IllegalStateException("エンコーディングはカラムより先に設定してください");
+            }
+            this.charset = Objects.requireNonNull(charset, "エンコーディングがnullです");
+            return this;
+        }
+
+        /**
+         * 左寄せ、半角スペース埋めのカラムを追加する
+         *
+         * @param name  カラム名
+         * @param width バイト数
+         * @return このビルダー
+         */
+        public Builder column(final String name, final int width) {
+            return column(name, width, Alignment.LEFT, ' ');
+        }
+
+        /**
+         * 半角スペース埋めのカラムを追加する
+         *
+         * @param name      カラム名
+         * @param width     バイト数
+         * @param alignment 配置
+         * @return このビルダー
+         */
+        public Builder column(final String name, final int width, final Alignment alignment) {
+            return column(name, width, alignment, ' ');
+        }
+
+        /**
+         * カラムを追加する
+         *
+         * @param name      カラム名
+         * @param width     バイト数
+         * @param alignment 配置
+         * @param padding   埋め文字。半角スペース、数字、記号(0x20 - 0x3F)に限る
+         * @return このビルダー
+         * @throws IllegalArgumentException バイト数が1未満、カラム名が重複している、または埋め文字が 0x20 - 0x3F の1バイトでない場合にthrowする
+         */
+        public Builder column(final String name, final int width, final Alignment alignment, final char padding) {
+            Objects.requireNonNull(name, "カラム名がnullです");
+            Objects.requireNonNull(alignment, "配置がnullです");
+            if (width < 1) {
+                throw new IllegalArgumentException("バイト数は1以上を指定してください: " + name);
+            }
+            for (Column column : this.columns) {
+                if (column.getName().equals(name)) {
+                    throw new IllegalArgumentException("カラム名が重複しています: " + name);
+                }
+            }
+
+            // Shift_JIS 等では 0x40 以上のバイトがマルチバイト文字の2バイト目にもなるので、
+            // 埋め文字は文字の一部と一致しない 0x20 - 0x3F に限る
+            final byte[] bytes = String.valueOf(padding).getBytes(this.charset);
+            if (bytes.length != 1 || bytes[0] < 0x20 || bytes[0] >= 0x40) {
+                throw new IllegalArgumentException("埋め文字は半角スペース、数字、記号(0x20 - 0x3F)を指定してください: " + padding);
+            }
+
+            this.columns.add(new Column(name, this.offset, width, alignment, bytes[0]));
+            this.offset += width;
+            return this;
+        }
+
+        /**
+         * レコードの区切り文字を設定する。デフォルトは無し
+         *
+         * @param lineSeparator 区切り文字
+         * @return このビルダー
+         */
+        public Builder lineSeparator(final String lineSeparator) {
+            this.lineSeparator = StringUtil.nullToEmpty(lineSeparator);
+            return this;
+        }
+
+        /**
+         * {@link FixedWidthLayout} を生成する
+         *
+         * @return {@link FixedWidthLayout}
+         * @throws IllegalStateException カラムが無い場合にthrowする
+         */
+        public FixedWidthLayout build() {
+            if (this.columns.isEmpty()) {
+                throw new IllegalStateException("カラムがありません");
+            }
+            return new FixedWidthLayout(this);
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package com.gn5r.common.utils;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Objects;
+
+import com.gn5r.common.utils.FixedWidthLayout.Column;
+
+/**
+ * <p>
+ * 固定長レコードの読み込みクラス
+ * </p>
+ *
+ * <p>
+ * {@link #next()} で次のレコードに進み、{@link #getString(int)} で呼び出されたカラムだけをデコードする。
+ * レコード毎にオブジェクトを生成せず、呼び出されなかったカラムはデコードしない。
+ * デコード前に埋め文字をバイト単位で取り除くので、デコードするのは文字列部分だけになる
+ * </p>
+ *
+ * <ul>
+ * <li><b>{@link #map(FixedWidthLayout, Path)}</b> - ファイルをメモリマップして読み込む。ファイルの内容をヒープにコピーしない</li>
+ * <li><b>コンストラクタ</b> - {@link ReadableByteChannel}、{@link InputStream} から使い回しのバッファに読み込む</li>
+ * </ul>
+ *
+ * <pre>
+ * try (FixedWidthReader reader = FixedWidthReader.map(layout, path)) {
+ *   final int name = layout.indexOf("name");
+ *   while (reader.next()) {
+ *     process(reader.getString(name));
+ *   }
+ * }
+ * </pre>
+ *
+ * <p>
+ * インスタンスはスレッドセーフではない
+ * </p>
+ *
+ * @author gn5r
+ * @since 0.3.9
+ * @see FixedWidthLayout
+ * @see FixedWidthWriter
+ */
+public final class FixedWidthReader implements Closeable {
+
+    /**
+     * チャネルから読み込む場合のバッファのおおよそのサイズ
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * メモリマップする領域のおおよそのサイズ
+     */
+    private static final long MAP_SIZE = 64L * 1024 * 1024;
+
+    private final FixedWidthLayout layout;
+
+    private final List<Column> columns;
+
+    private final int recordLength;
+
+    private final ReadableByteChannel channel;
+
+    /**
+     * メモリマップする場合のファイルサイズ。チャネルから読み込む場合は -1
+     */
+    private final long fileSize;
+
+    private final CharsetDecoder decoder;
+
+    private final CharBuffer chars;
+
+    /**
+     * 読み込み済みのデータ。position が次のレコードの先頭
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * デコード用の {@link #buffer} の複製
+     */
+    private ByteBuffer view;
+
+    /**
+     * メモリマップした領域の次の開始位置
+     */
+    private long mapped;
+
+    private int recordStart = -1;
+
+    private long recordNumber;
+
+    private boolean eof;
+
+    /**
+     * {@link InputStream} から読み込むインスタンスを生成する
+     *
+     * @param layout レイアウト
+     * @param in     入力元。{@link #close()} で閉じる
+     */
+    public FixedWidthReader(final FixedWidthLayout layout, final InputStream in) {
+        this(layout, Channels.newChannel(Objects.requireNonNull(in, "入力元がnullです")));
+    }
+
+    /**
+     * {@link ReadableByteChannel} から読み込むインスタンスを生成する
+     *
+     * @param layout  レイアウト
+     * @param channel 入力元。{@link #close()} で閉じる
+     */
+    public FixedWidthReader(final FixedWidthLayout layout, final ReadableByteChannel channel) {
+        this(layout, channel, -1);
+        this.buffer = ByteBuffer.allocate(Math.max(1, BUFFER_SIZE / this.recordLength) * this.recordLength);
+        this.buffer.flip();
+        this.view = this.buffer.duplicate();
+    }
+
+    private FixedWidthReader(final FixedWidthLayout layout, final ReadableByteChannel channel, final long fileSize) {
+        this.layout = Objects.requireNonNull(layout, "レイアウトがnullです");
+        this.channel = Objects.requireNonNull(channel, "入力元がnullです");
+        this.columns = layout.getColumns();
+        this.recordLength = layout.getRecordLength();
+        this.fileSize = fileSize;
+        this.decoder = layout.getCharset().newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        int maxWidth = 0;
+        for (Column column : this.columns) {
+            maxWidth = Math.max(maxWidth, column.getWidth());
+        }
+        // 1バイトが1文字以下にデコードされるので、カラムのバイト数分あれば足りる
+        this.chars = CharBuffer.allocate(maxWidth);
+    }
+
+    /**
+     * ファイルをメモリマップして読み込むインスタンスを生成する
+     * <p>
+     * ファイルは64MB程度ずつレコードの境界でメモリマップする
+     * </p>
+     *
+     * @param layout レイアウト
+     * @param path   ファイル
+     * @return インスタンス
+     * @throws IOException ファイルを開けなかった場合にthrowする
+     */
+    public static FixedWidthReader map(final FixedWidthLayout layout, final Path path) throws IOException {
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            final FixedWidthReader reader = new FixedWidthReader(layout, channel, channel.size());
+            reader.buffer = ByteBuffer.allocate(0);
+            reader.view = reader.buffer;
+            return reader;
+        } catch (RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 次のレコードに進む
+     *
+     * @return レコードがある場合 true、終端に達した場合 false
+     * @throws IOException  読み込みに失敗した場合にthrowする
+     * @throws EOFException 終端にレコード長に満たないデータがある場合にthrowする
+     */
+    public boolean next() throws IOException {
+        if (this.buffer.remaining() < this.recordLength && !this.eof) {
+            fill();
+        }
+
+        if (this.buffer.remaining() < this.recordLength) {
+            this.recordStart = -1;
+            if (this.buffer.hasRemaining()) {
+                throw new EOFException("レコード長に満たないデータがあります: " + this.buffer.remaining() + "バイト");
+            }
+            return false;
+        }
+
+        this.recordStart = this.buffer.position();
+        this.buffer.position(this.recordStart + this.recordLength);
+        this.recordNumber++;
+        return true;
+    }
+
+    /**
+     * 現在のレコードの番号(1始まり)を取得する
+     *
+     * @return レコードの番号
+     */
+    public long getRecordNumber() {
+        return this.recordNumber;
+    }
+
+    /**
+     * 現在のレコードのカラムをデコードし、埋め文字を取り除いた文字列を取得する
+     * <p>
+     * 左寄せのカラムは右側、右寄せのカラムは左側、中央寄せのカラムは両側の埋め文字を取り除く。
+     * 右寄せで '0' 埋めのカラムは数値として扱い、最後の1桁は取り除かない({@code "00000"} は {@code "0"}、
+     * {@code "00007"} は {@code "7"} になる)。先頭の0が意味を持つ値は半角スペース埋めのカラムにする
+     * </p>
+     *
+     * @param index カラムの番号(0始まり)
+     * @return 文字列
+     * @throws IllegalStateException {@link #next()} でレコードに進んでいない場合にthrowする
+     */
+    public String getString(final int index) {
+        final Column column = this.columns.get(index);
+        final long range = trim(column);
+        final int from = (int) (range >>> 32);
+        final int to = (int) range;
+
+        if (from == to) {
+            return StringUtil.EMPTY;
+        }
+
+        this.view.limit(to).position(from);
+        this.chars.clear();
+        this.decoder.reset();
+        this.decoder.decode(this.view, this.chars, true);
+        this.decoder.flush(this.chars);
+
+        return new String(this.chars.array(), 0, this.chars.position());
+    }
+
+    /**
+     * 現在のレコードのカラムをデコードし、埋め文字を取り除いた文字列を取得する
+     *
+     * @param name カラム名
+     * @return 文字列
+     * @throws IllegalArgumentException 定義されていないカラム名の場合にthrowする
+     * @throws IllegalStateException    {@link #next()} でレコードに進んでいない場合にthrowする
+     * @see #getString(int)
+     */
+    public String getString(final String name) {
+        return getString(this.layout.indexOf(name));
+    }
+
+    /**
+     * 現在のレコードのカラムが埋め文字だけかどうかを判定する。デコードしない
+     * <p>
+     * 右寄せで '0' 埋めのカラムは {@link #getString(int)} と同様に {@code "0"} を値とするので、常に false になる
+     * </p>
+     *
+     * @param index カラムの番号(0始まり)
+     * @return 埋め文字だけの場合 true
+     * @throws IllegalStateException {@link #next()} でレコードに進んでいない場合にthrowする
+     */
+    public boolean isBlank(final int index) {
+        final long range = trim(this.columns.get(index));
+        return (int) (range >>> 32) == (int) range;
+    }
+
+    /**
+     * 入力元を閉じる
+     *
+     * @throws IOException 閉じられなかった場合にthrowする
+     */
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    /**
+     * カラムから埋め文字を取り除いたバイト範囲を求める
+     *
+     * @return 上位32ビットに開始位置、下位32ビットに終了位置
+     */
+    private long trim(final Column column) {
+        if (this.recordStart < 0) {
+            throw new IllegalStateException("レコードがありません");
+        }
+
+        final byte padding = column.getPadding();
+        final Alignment alignment = column.getAlignment();
+        int from = this.recordStart + column.getOffset();
+        int to = from + column.getWidth();
+
+        // 埋め文字は 0x20 - 0x3F に限られるので、マルチバイト文字の一部と一致することはない。
+        // 右寄せの '0' 埋めは数値のカラムなので、全て埋め文字の場合も "0" を残す
+        final int keep = alignment == Alignment.RIGHT && padding == '0' ? 1 : 0;
+        if (alignment != Alignment.LEFT) {
+            while (to - from > keep && this.buffer.get(from) == padding) {
+                from++;
+            }
+        }
+        if (alignment != Alignment.RIGHT) {
+            while (from < to && this.buffer.get(to - 1) == padding) {
+                to--;
+            }
+        }
+
+        return (long) from << 32 | to;
+    }
+
+    /**
+     * 次のレコードを読み込む。メモリマップする場合は次の領域をマップする
+     */
+    private void fill() throws IOException {
+        if (this.fileSize >= 0) {
+            final long position = this.mapped - this.buffer.remaining();
+            final long remaining = this.fileSize - position;
+            if (remaining <= this.buffer.remaining()) {
+                this.eof = true;
+                return;
+            }
+
+            // レコードの境界でマップする
+            final long records = Math.max(1, MAP_SIZE / this.recordLength);
+            final long size = Math.min(remaining, records * this.recordLength);
+            this.buffer = ((FileChannel) this.channel).map(FileChannel.MapMode.READ_ONLY, position, size);
+            this.view = this.buffer.duplicate();
+            this.mapped = position + size;
+            return;
+        }
+
+        this.buffer.compact();
+        while (this.buffer.position() < this.recordLength) {
+            if (this.channel.read(this.buffer) < 0) {
+                this.eof = true;
+                break;
+            }
+        }
+        this.buffer.flip();
+        this.view = this.buffer.duplicate();
+    }
+}
@@ -0,0 +1,229 @@
+package com.gn5r.common.utils;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import com.gn5r.common.utils.FixedWidthLayout.Column;
+
+/**
+ * <p>
+ * 固定長レコードの書き込みクラス
+ * </p>
+ *
+ * <p>
+ * 各カラムの文字列を使い回しのバッファに直接エンコードし、カラムのバイト数を超える場合は文字の境界で切り詰め、
+ * 足りない場合は埋め文字で埋める。カラム毎に {@code String} や {@code byte[]} を生成しない。
+ * バッファが一杯になった時点、または {@link #flush()} で出力先に書き込む
+ * </p>
+ *
+ * <pre>
+ * try (FixedWidthWriter writer = new FixedWidthWriter(layout, Files.newOutputStream(path))) {
+ *   for (User user : users) {
+ *     writer.write(user.getId(), user.getName());
+ *   }
+ * }
+ * </pre>
+ *
+ * <p>
+ * インスタンスはスレッドセーフではない
+ * </p>
+ *
+ * @author gn5r
+ * @since 0.3.9
+ * @see FixedWidthLayout
+ * @see FixedWidthReader
+ */
+public final class FixedWidthWriter implements Closeable, Flushable {
+
+    /**
+     * バッファのおおよそのサイズ
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FixedWidthLayout layout;
+
+    private final WritableByteChannel channel;
+
+    private final CharsetEncoder encoder;
+
+    private final ByteBuffer buffer;
+
+    private final CharBuffer chars;
+
+    private long recordCount;
+
+    /**
+     * {@link OutputStream} に書き込むインスタンスを生成する
+     *
+     * @param layout レイアウト
+     * @param out    出力先。{@link #close()} で閉じる
+     */
+    public FixedWidthWriter(final FixedWidthLayout layout, final OutputStream out) {
+        this(layout, Channels.newChannel(Objects.requireNonNull(out, "出力先がnullです")));
+    }
+
+    /**
+     * {@link WritableByteChannel} に書き込むインスタンスを生成する
+     *
+     * @param layout  レイアウト
+     * @param channel 出力先。{@link #close()} で閉じる
+     */
+    public FixedWidthWriter(final FixedWidthLayout layout, final WritableByteChannel channel) {
+        this.layout = Objects.requireNonNull(layout, "レイアウトがnullです");
+        this.channel = Objects.requireNonNull(channel, "出力先がnullです");
+        this.encoder = layout.getCharset().newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        final int recordLength = layout.getRecordLength();
+        this.buffer = ByteBuffer.allocate(Math.max(1, BUFFER_SIZE / recordLength) * recordLength);
+
+        int maxWidth = 0;
+        for (Column column : layout.getColumns()) {
+            maxWidth = Math.max(maxWidth, column.getWidth());
+        }
+        // 置換文字でエンコードする場合はサロゲートペア(2文字)も1バイトになるので、
+        // カラムのバイト数の2倍 + 1文字(サロゲートペアの判定用)まで読めば足りる
+        this.chars = CharBuffer.allocate(maxWidth * 2 + 1);
+    }
+
+    /**
+     * 1レコードを書き込む
+     *
+     * @param fields カラムの定義順の文字列。{@code null} のカラムは埋め文字で埋める
+     * @throws IOException              書き込みに失敗した場合にthrowする
+     * @throws IllegalArgumentException カラム数が異なる場合にthrowする
+     */
+    public void write(final CharSequence... fields) throws IOException {
+        write(Arrays.asList(fields));
+    }
+
+    /**
+     * 1レコードを書き込む
+     *
+     * @param fields カラムの定義順の文字列。{@code null} のカラムは埋め文字で埋める
+     * @throws IOException              書き込みに失敗した場合にthrowする
+     * @throws IllegalArgumentException カラム数が異なる場合にthrowする
+     */
+    public void write(final List<? extends CharSequence> fields) throws IOException {
+        final List<Column> columns = this.layout.getColumns();
+        if (fields.size() != columns.size()) {
+            throw new IllegalArgumentException(
+                    "カラム数が異なります: expected=" + columns.size() + ", actual=" + fields.size());
+        }
+
+        if (this.buffer.remaining() < this.layout.getRecordLength()) {
+            drain();
+        }
+
+        for (int i = 0; i < columns.size(); i++) {
+            encode(columns.get(i), fields.get(i));
+        }
+        this.buffer.put(this.layout.lineSeparator());
+        this.recordCount++;
+    }
+
+    /**
+     * 書き込んだレコード数を取得する
+     *
+     * @return レコード数
+     */
+    public long getRecordCount() {
+        return this.recordCount;
+    }
+
+    /**
+     * バッファの内容を出力先に書き込む
+     *
+     * @throws IOException 書き込みに失敗した場合にthrowする
+     */
+    @Override
+    public void flush() throws IOException {
+        drain();
+    }
+
+    /**
+     * バッファの内容を出力先に書き込み、出力先を閉じる
+     *
+     * @throws IOException 書き込みに失敗した場合にthrowする
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            this.channel.close();
+        }
+    }
+
+    private void drain() throws IOException {
+        this.buffer.flip();
+        while (this.buffer.hasRemaining()) {
+            this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+
+    /**
+     * カラムのバイト数を上限としてエンコードし、配置に従って埋め文字で埋める
+     */
+    private void encode(final Column column, final CharSequence value) {
+        final int start = this.buffer.position();
+        final int width = column.getWidth();
+        int written = 0;
+
+        if (Objects.nonNull(value) && value.length() > 0) {
+            final boolean endOfInput = copy(value);
+            this.buffer.limit(start + width);
+            this.encoder.reset();
+            // 上限に達するとオーバーフローで止まるので、文字の途中で切れることはない
+            if (!this.encoder.encode(this.chars, this.buffer, endOfInput).isOverflow() && endOfInput) {
+                this.encoder.flush(this.buffer);
+            }
+            written = this.buffer.position() - start;
+            this.buffer.limit(this.buffer.capacity());
+        }
+
+        final byte[] array = this.buffer.array();
+        final int padding = width - written;
+        final int left = column.getAlignment().leftPadding(padding);
+        if (left > 0) {
+            System.arraycopy(array, start, array, start + left, written);
+            Arrays.fill(array, start, start + left, column.getPadding());
+        }
+        Arrays.fill(array, start + left + written, start + width, column.getPadding());
+        this.buffer.position(start + width);
+    }
+
+    /**
+     * 文字列を使い回しのバッファにコピーする
+     *
+     * @return 文字列を全てコピーした場合 true
+     */
+    private boolean copy(final CharSequence value) {
+        final int length = Math.min(value.length(), this.chars.capacity());
+        final char[] array = this.chars.array();
+
+        if (value instanceof String) {
+            ((String) value).getChars(0, length, array, 0);
+        } else {
+            for (int i = 0; i < length; i++) {
+                array[i] = value.charAt(i);
+            }
+        }
+        this.chars.clear();
+        this.chars.limit(length);
+
+        return length == value.length();
+    }
+}
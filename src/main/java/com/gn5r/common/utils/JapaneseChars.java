@@ -0,0 +1,150 @@
+package com.gn5r.common.utils;
+
+/**
+ * <p>
+ * 全角・半角変換用の文字表
+ * </p>
+ *
+ * <ul>
+ * <li>全角英数記号(U+FF01～U+FF5E) ⇔ ASCII(U+0021～U+007E)、全角スペース(U+3000) ⇔ 半角スペース</li>
+ * <li>半角カタカナ(U+FF61～U+FF9F) → 全角カタカナ・記号</li>
+ * <li>全角カタカナ + 濁点・半濁点 → 濁音・半濁音</li>
+ * </ul>
+ *
+ * @author gn5r
+ * @since 0.3.9
+ */
+final class JapaneseChars {
+
+    /**
+     * 半角カタカナの先頭文字(｡)
+     */
+    static final char HALF_KATAKANA_FIRST = '｡';
+
+    /**
+     * 半角カタカナの最終文字(ﾟ)
+     */
+    static final char HALF_KATAKANA_LAST = 'ﾟ';
+
+    /**
+     * 半角濁点(ﾞ)
+     */
+    static final char HALF_VOICED_MARK = 'ﾞ';
+
+    /**
+     * 半角半濁点(ﾟ)
+     */
+    static final char HALF_SEMI_VOICED_MARK = 'ﾟ';
+
+    /**
+     * 全角濁点(゛)
+     */
+    static final char VOICED_MARK = '゛';
+
+    /**
+     * 全角半濁点(゜)
+     */
+    static final char SEMI_VOICED_MARK = '゜';
+
+    /**
+     * 結合文字の濁点(U+3099)
+     */
+    static final char COMBINING_VOICED_MARK = '\u3099';
+
+    /**
+     * 結合文字の半濁点(U+309A)
+     */
+    static final char COMBINING_SEMI_VOICED_MARK = '\u309A';
+
+    /**
+     * 半角カタカナ(U+FF61～U+FF9F)に対応する全角文字
+     */
+    private static final char[] HALF_TO_FULL_KATAKANA = ("。「」、・ヲァィゥェォャュョッーアイウエオカキクケコサシスセソタチツテトナニヌネノ"
+            + "ハヒフヘホマミムメモヤユヨラリルレロワン" + VOICED_MARK + SEMI_VOICED_MARK).toCharArray();
+
+    private JapaneseChars() {
+    }
+
+    /**
+     * 全角英数記号、全角スペースを半角に変換する。それ以外の文字はそのまま返却する
+     *
+     * @param c 文字
+     * @return 半角文字
+     */
+    static char toHalfWidthAscii(final char c) {
+        if ('！' <= c && c <= '～') {
+            return (char) (c - 0xFEE0);
+        }
+        return c == '　' ? ' ' : c;
+    }
+
+    /**
+     * ASCII英数記号、半角スペースを全角に変換する。それ以外の文字はそのまま返却する
+     *
+     * @param c 文字
+     * @return 全角文字
+     */
+    static char toFullWidthAscii(final char c) {
+        if ('!' <= c && c <= '~') {
+            return (char) (c + 0xFEE0);
+        }
+        return c == ' ' ? '　' : c;
+    }
+
+    /**
+     * 半角カタカナかどうかを判定する
+     *
+     * @param c 文字
+     * @return 半角カタカナ(句読点、濁点を含む)の場合 true
+     */
+    static boolean isHalfWidthKatakana(final char c) {
+        return HALF_KATAKANA_FIRST <= c && c <= HALF_KATAKANA_LAST;
+    }
+
+    /**
+     * 半角カタカナを全角に変換する。それ以外の文字はそのまま返却する
+     * <p>
+     * 濁点・半濁点は全角の濁点・半濁点になる。前の文字と合成する場合は {@link #compose(char, char)} を使用する
+     * </p>
+     *
+     * @param c 文字
+     * @return 全角文字
+     */
+    static char toFullWidthKatakana(final char c) {
+        return isHalfWidthKatakana(c) ? HALF_TO_FULL_KATAKANA[c - HALF_KATAKANA_FIRST] : c;
+    }
+
+    /**
+     * 全角カタカナと濁点・半濁点(全角・半角)を合成する
+     *
+     * @param base 全角カタカナ
+     * @param mark 濁点または半濁点
+     * @return 濁音・半濁音。合成できない場合は {@code 0}
+     */
+    static char compose(final char base, final char mark) {
+        if (mark == HALF_VOICED_MARK || mark == VOICED_MARK || mark == COMBINING_VOICED_MARK) {
+            // カ～チ、ツ～トは1文字おき、ハ～ホは2文字おきに濁音が並ぶ
+            if (('カ' <= base && base <= 'チ' && (base - 'カ') % 2 == 0)
+                    || ('ツ' <= base && base <= 'ト' && (base - 'ツ') % 2 == 0)) {
+                return (char) (base + 1);
+            }
+            if ('ハ' <= base && base <= 'ホ' && (base - 'ハ') % 3 == 0) {
+                return (char) (base + 1);
+            }
+            if (base == 'ウ') {
+                return 'ヴ';
+            }
+            if (base == 'ワ') {
+                return 'ヷ';
+            }
+            if (base == 'ヲ') {
+                return 'ヺ';
+            }
+        } else if (mark == HALF_SEMI_VOICED_MARK || mark == SEMI_VOICED_MARK || mark == COMBINING_SEMI_VOICED_MARK) {
+            if ('ハ' <= base && base <= 'ホ' && (base - 'ハ') % 3 == 0) {
+                return (char) (base + 2);
+            }
+        }
+        return 0;
+    }
+}
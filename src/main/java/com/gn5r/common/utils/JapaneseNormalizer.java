@@ -0,0 +1,360 @@
+package com.gn5r.common.utils;
+
+import java.nio.BufferOverflowException;
+import java.nio.CharBuffer;
+import java.util.Objects;
+
+/**
+ * <p>
+ * 日本語文字列の正規化クラス
+ * </p>
+ *
+ * <p>
+ * 有効にした変換毎に文字の変換表(U+3000～U+30FF、U+FF00～U+FFEF)を1度だけ作成し、文字列を先頭から1回だけ走査して変換する。
+ * 変換表の範囲外の文字(ASCII、漢字等)は表を引かずにそのまま出力する。変換する文字が無い場合は引数の文字列をそのまま返却する
+ * </p>
+ *
+ * <ul>
+ * <li><b>alphanumeric</b> - 全角英数字を半角に変換する(Ａ → A、０ → 0)</li>
+ * <li><b>symbol</b> - 全角記号を半角に変換する(！ → !、￥ → ¥)</li>
+ * <li><b>space</b> - 全角スペースを半角に変換する</li>
+ * <li><b>halfWidthKatakana</b> - 半角カタカナを全角に変換する。濁点・半濁点は前の文字と合成する(ｶﾞ → ガ)</li>
+ * <li><b>hiraganaToKatakana</b> - ひらがなをカタカナに変換する</li>
+ * <li><b>katakanaToHiragana</b> - カタカナをひらがなに変換する</li>
+ * </ul>
+ *
+ * <pre>
+ * String normalized = JapaneseNormalizer.getDefault().normalize(query);
+ *
+ * JapaneseNormalizer normalizer = JapaneseNormalizer.builder().alphanumeric().halfWidthKatakana().katakanaToHiragana().build();
+ * normalizer.normalize(text, builder);
+ * </pre>
+ *
+ * <p>
+ * {@link java.text.Normalizer.Form#NFKC} のうち、全角・半角に関する変換だけを変換の種類毎に選んで行う。インスタンスはスレッドセーフで、使い回すことができる
+ * </p>
+ *
+ * @author gn5r
+ * @since 0.3.9
+ */
+public final class JapaneseNormalizer {
+
+    private static final char LOW_FIRST = '　';
+
+    private static final char LOW_LAST = 'ヿ';
+
+    private static final char HIGH_FIRST = '＀';
+
+    private static final char HIGH_LAST = '￯';
+
+    /**
+     * 全角記号(U+FFE0～U+FFE6)に対応する文字
+     */
+    private static final char[] FULL_WIDTH_SIGNS = { '¢', '£', '¬', '¯', '¦', '¥', '₩' };
+
+    private static final JapaneseNormalizer DEFAULT = builder().alphanumeric().symbol().space().halfWidthKatakana()
+            .build();
+
+    /**
+     * U+3000～U+30FF の変換表
+     */
+    private final char[] low = new char[LOW_LAST - LOW_FIRST + 1];
+
+    /**
+     * U+FF00～U+FFEF の変換表
+     */
+    private final char[] high = new char[HIGH_LAST - HIGH_FIRST + 1];
+
+    private final boolean halfWidthKatakana;
+
+    private JapaneseNormalizer(final Builder builder) {
+        this.halfWidthKatakana = builder.halfWidthKatakana;
+
+        for (int i = 0; i < this.low.length; i++) {
+            this.low[i] = mapLow(builder, (char) (LOW_FIRST + i));
+        }
+        for (int i = 0; i < this.high.length; i++) {
+            final char c = mapHigh(builder, (char) (HIGH_FIRST + i));
+            // 半角カタカナから変換した全角カタカナは、ひらがなへの変換も続けて行う
+            this.high[i] = isLow(c) ? this.low[c - LOW_FIRST] : c;
+        }
+    }
+
+    /**
+     * ビルダーを生成する
+     *
+     * @return ビルダー
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 全角英数記号、全角スペースを半角に、半角カタカナを全角に変換するインスタンスを取得する
+     *
+     * @return インスタンス
+     */
+    public static JapaneseNormalizer getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * 文字列を正規化する
+     *
+     * @param str 文字列
+     * @return 正規化した文字列。変換する文字が無い場合は引数の文字列。{@code null} の場合は {@code null}
+     */
+    public String normalize(final String str) {
+        if (Objects.isNull(str)) {
+            return null;
+        }
+
+        final int first = indexOfChange(str);
+        if (first < 0) {
+            return str;
+        }
+
+        // 変換で文字数が増えることはない
+        final char[] chars = new char[str.length()];
+        str.getChars(0, first, chars, 0);
+        int length = first;
+        for (int i = first; i < str.length();) {
+            final int next = next(str, i);
+            chars[length++] = (char) next;
+            i += next >>> 16;
+        }
+
+        return new String(chars, 0, length);
+    }
+
+    /**
+     * 文字列を正規化して {@link StringBuilder} の末尾に書き込む
+     *
+     * @param str     文字列
+     * @param builder 書き込み先
+     * @return 書き込み先の {@link StringBuilder}
+     */
+    public StringBuilder normalize(final CharSequence str, final StringBuilder builder) {
+        final int first = indexOfChange(str);
+        if (first < 0) {
+            return builder.append(str);
+        }
+
+        builder.ensureCapacity(builder.length() + str.length());
+        builder.append(str, 0, first);
+        for (int i = first; i < str.length();) {
+            final int next = next(str, i);
+            builder.append((char) next);
+            i += next >>> 16;
+        }
+
+        return builder;
+    }
+
+    /**
+     * 文字列を正規化して {@link CharBuffer} に書き込む
+     * <p>
+     * 正規化後の文字数は元の文字数以下なので、残り容量が元の文字数以上あれば書き込める
+     * </p>
+     *
+     * @param str    文字列
+     * @param buffer 書き込み先
+     * @return 書き込み先の {@link CharBuffer}
+     * @throws BufferOverflowException 書き込み先の残り容量が足りない場合にthrowする
+     */
+    public CharBuffer normalize(final CharSequence str, final CharBuffer buffer) {
+        final int first = indexOfChange(str);
+        if (first < 0) {
+            return buffer.append(str);
+        }
+
+        buffer.append(str, 0, first);
+        for (int i = first; i < str.length();) {
+            final int next = next(str, i);
+            buffer.put((char) next);
+            i += next >>> 16;
+        }
+
+        return buffer;
+    }
+
+    /**
+     * 正規化済みの文字列かどうかを判定する
+     *
+     * @param str 文字列
+     * @return 変換する文字が無い場合 true
+     */
+    public boolean isNormalized(final CharSequence str) {
+        return indexOfChange(str) < 0;
+    }
+
+    /**
+     * 最初に変換する文字の位置を返却する。無い場合は -1
+     */
+    private int indexOfChange(final CharSequence str) {
+        for (int i = 0; i < str.length(); i++) {
+            final char c = str.charAt(i);
+            if (c >= LOW_FIRST && map(c) != c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private char map(final char c) {
+        if (isLow(c)) {
+            return this.low[c - LOW_FIRST];
+        }
+        if (HIGH_FIRST <= c && c <= HIGH_LAST) {
+            return this.high[c - HIGH_FIRST];
+        }
+        return c;
+    }
+
+    /**
+     * 1文字変換する
+     *
+     * @return 下位16ビットに変換後の文字、上位16ビットに変換前の文字数
+     */
+    private int next(final CharSequence str, final int i) {
+        final char c = str.charAt(i);
+        if (c < LOW_FIRST) {
+            return 1 << 16 | c;
+        }
+
+        if (this.halfWidthKatakana && JapaneseChars.isHalfWidthKatakana(c) && i + 1 < str.length()) {
+            final char composed = JapaneseChars.compose(JapaneseChars.toFullWidthKatakana(c), str.charAt(i + 1));
+            if (composed != 0 && JapaneseChars.isHalfWidthKatakana(str.charAt(i + 1))) {
+                return 2 << 16 | this.low[composed - LOW_FIRST];
+            }
+        }
+
+        return 1 << 16 | map(c);
+    }
+
+    private static boolean isLow(final char c) {
+        return LOW_FIRST <= c && c <= LOW_LAST;
+    }
+
+    private static char mapLow(final Builder builder, final char c) {
+        if (builder.space && c == '　') {
+            return ' ';
+        }
+        // ぁ～ゖ、ゝゞ と ァ～ヶ、ヽヾ は0x60離れている
+        if (builder.hiraganaToKatakana && (('ぁ' <= c && c <= 'ゖ') || c == 'ゝ' || c == 'ゞ')) {
+            return (char) (c + 0x60);
+        }
+        if (builder.katakanaToHiragana && (('ァ' <= c && c <= 'ヶ') || c == 'ヽ' || c == 'ヾ')) {
+            return (char) (c - 0x60);
+        }
+        return c;
+    }
+
+    private static char mapHigh(final Builder builder, final char c) {
+        if ('！' <= c && c <= '～') {
+            final char ascii = JapaneseChars.toHalfWidthAscii(c);
+            return (Character.isLetterOrDigit(ascii) ? builder.alphanumeric : builder.symbol) ? ascii : c;
+        }
+        if (builder.symbol && '￠' <= c && c <= '￦') {
+            return FULL_WIDTH_SIGNS[c - '￠'];
+        }
+        if (builder.halfWidthKatakana && JapaneseChars.isHalfWidthKatakana(c)) {
+            return JapaneseChars.toFullWidthKatakana(c);
+        }
+        return c;
+    }
+
+    /**
+     * {@link JapaneseNormalizer} のビルダー
+     */
+    public static final class Builder {
+
+        private boolean alphanumeric;
+
+        private boolean symbol;
+
+        private boolean space;
+
+        private boolean halfWidthKatakana;
+
+        private boolean hiraganaToKatakana;
+
+        private boolean katakanaToHiragana;
+
+        private Builder() {
+        }
+
+        /**
+         * 全角英数字を半角に変換する
+         *
+         * @return このビルダー
+         */
+        public Builder alphanumeric() {
+            this.alphanumeric = true;
+            return this;
+        }
+
+        /**
+         * 全角記号(U+FF01～U+FF5E のうち英数字以外、U+FFE0～U+FFE6)を半角に変換する
+         *
+         * @return このビルダー
+         */
+        public Builder symbol() {
+            this.symbol = true;
+            return this;
+        }
+
+        /**
+         * 全角スペースを半角に変換する
+         *
+         * @return このビルダー
+         */
+        public Builder space() {
+            this.space = true;
+            return this;
+        }
+
+        /**
+         * 半角カタカナを全角に変換する。半角の濁点・半濁点は前の文字と合成する
+         *
+         * @return このビルダー
+         */
+        public Builder halfWidthKatakana() {
+            this.halfWidthKatakana = true;
+            return this;
+        }
+
+        /**
+         * ひらがなをカタカナに変換する
+         *
+         * @return このビルダー
+         */
+        public Builder hiraganaToKatakana() {
+            this.hiraganaToKatakana = true;
+            return this;
+        }
+
+        /**
+         * カタカナをひらがなに変換する
+         *
+         * @return このビルダー
+         */
+        public Builder katakanaToHiragana() {
+            this.katakanaToHiragana = true;
+            return this;
+        }
+
+        /**
+         * {@link JapaneseNormalizer} を生成する
+         *
+         * @return {@link JapaneseNormalizer}
+         * @throws IllegalStateException ひらがな→カタカナ、カタカナ→ひらがなの両方を有効にした場合にthrowする
+         */
+        public JapaneseNormalizer build() {
+            if (this.hiraganaToKatakana && this.katakanaToHiragana) {
+                throw new IllegalStateException("ひらがな→カタカナ、カタカナ→ひらがなは同時に指定できません");
+            }
+            return new JapaneseNormalizer(this);
+        }
+    }
+}
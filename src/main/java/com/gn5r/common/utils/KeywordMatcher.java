@@ -0,0 +1,463 @@
+package com.gn5r.common.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/**
+ * <p>
+ * 複数のキーワードを1回の走査で検索するクラス(Aho-Corasick法)
+ * </p>
+ *
+ * <p>
+ * 登録したキーワードからオートマトンを1度だけ構築し、検索対象の文字列を先頭から1回だけ走査して全てのキーワードの出現位置を求める。
+ * 検索時間はキーワード数に依らず、文字列の長さに比例する
+ * </p>
+ *
+ * <ul>
+ * <li><b>ignoreCase</b> - 大文字・小文字を区別しない</li>
+ * <li><b>ignoreWidth</b> - 全角・半角を区別しない。全角英数記号は半角、半角カタカナは全角として比較し、半角カタカナ + 濁点・半濁点は1文字の濁音・半濁音として比較する</li>
+ * </ul>
+ *
+ * <pre>
+ * KeywordMatcher matcher = StringUtil.keywordMatcher().add("ﾃｽﾄ", "NG").ignoreCase().ignoreWidth().build();
+ * List&lt;KeywordMatcher.Match&gt; matches = matcher.findAll("これはテストです。ng");
+ * </pre>
+ *
+ * <p>
+ * インスタンスはスレッドセーフで、使い回すことができる
+ * </p>
+ *
+ * @author gn5r
+ * @since 0.3.9
+ * @see StringUtil#keywordMatcher()
+ */
+public final class KeywordMatcher {
+
+    private static final int ROOT = 0;
+
+    private final boolean ignoreCase;
+
+    private final boolean ignoreWidth;
+
+    /**
+     * 登録したキーワード
+     */
+    private final String[] keywords;
+
+    /**
+     * 比較用に変換したキーワードの文字数
+     */
+    private final int[] keywordLengths;
+
+    /**
+     * 状態毎の遷移先の開始位置。状態 s の遷移は {@code labels[offsets[s]]}～{@code labels[offsets[s + 1] - 1]}
+     */
+    private final int[] offsets;
+
+    /**
+     * 遷移する文字(状態毎に昇順)
+     */
+    private final char[] labels;
+
+    /**
+     * 遷移先の状態
+     */
+    private final int[] targets;
+
+    /**
+     * 遷移できなかった場合に戻る状態
+     */
+    private final int[] failures;
+
+    /**
+     * 状態で終了するキーワードの番号。無い場合は {@code null}
+     */
+    private final int[][] outputs;
+
+    /**
+     * 失敗遷移をたどって最初に見つかる、キーワードが終了する状態。無い場合は -1
+     */
+    private final int[] outputLinks;
+
+    /**
+     * 変換後のキーワードの最大文字数
+     */
+    private final int maxLength;
+
+    private KeywordMatcher(final Builder builder) {
+        this.ignoreCase = builder.ignoreCase;
+        this.ignoreWidth = builder.ignoreWidth;
+        this.keywords = builder.keywords.toArray(new String[0]);
+        this.keywordLengths = new int[this.keywords.length];
+
+        // トライ木を構築する
+        final List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        final List<List<Integer>> ends = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        ends.add(null);
+
+        int max = 0;
+        for (int k = 0; k < this.keywords.length; k++) {
+            final String folded = fold(this.keywords[k]);
+            this.keywordLengths[k] = folded.length();
+            max = Math.max(max, folded.length());
+
+            int state = ROOT;
+            for (int i = 0; i < folded.length(); i++) {
+                final Integer next = trie.get(state).get(folded.charAt(i));
+                if (Objects.nonNull(next)) {
+                    state = next;
+                } else {
+                    trie.get(state).put(folded.charAt(i), trie.size());
+                    state = trie.size();
+                    trie.add(new TreeMap<>());
+                    ends.add(null);
+                }
+            }
+            if (Objects.isNull(ends.get(state))) {
+                ends.set(state, new ArrayList<>());
+            }
+            ends.get(state).add(k);
+        }
+        this.maxLength = Math.max(1, max);
+
+        // 配列に詰める
+        final int size = trie.size();
+        this.offsets = new int[size + 1];
+        int transitions = 0;
+        for (int s = 0; s < size; s++) {
+            this.offsets[s] = transitions;
+            transitions += trie.get(s).size();
+        }
+        this.offsets[size] = transitions;
+        this.labels = new char[transitions];
+        this.targets = new int[transitions];
+        for (int s = 0; s < size; s++) {
+            int t = this.offsets[s];
+            for (Map.Entry<Character, Integer> entry : trie.get(s).entrySet()) {
+                this.labels[t] = entry.getKey();
+                this.targets[t] = entry.getValue();
+                t++;
+            }
+        }
+
+        this.outputs = new int[size][];
+        for (int s = 0; s < size; s++) {
+            final List<Integer> end = ends.get(s);
+            if (Objects.nonNull(end)) {
+                this.outputs[s] = end.stream().mapToInt(Integer::intValue).toArray();
+            }
+        }
+
+        // 幅優先で失敗遷移を求める
+        this.failures = new int[size];
+        this.outputLinks = new int[size];
+        Arrays.fill(this.outputLinks, -1);
+
+        final Queue<Integer> queue = new ArrayDeque<>();
+        for (int t = this.offsets[ROOT]; t < this.offsets[ROOT + 1]; t++) {
+            queue.add(this.targets[t]);
+        }
+        while (!queue.isEmpty()) {
+            final int s = queue.poll();
+            for (int t = this.offsets[s]; t < this.offsets[s + 1]; t++) {
+                final int child = this.targets[t];
+                int f = this.failures[s];
+                int next = transition(f, this.labels[t]);
+                while (next < 0 && f != ROOT) {
+                    f = this.failures[f];
+                    next = transition(f, this.labels[t]);
+                }
+                final int failure = next < 0 ? ROOT : next;
+                this.failures[child] = failure;
+                this.outputLinks[child] = Objects.nonNull(this.outputs[failure]) ? failure
+                        : this.outputLinks[failure];
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * ビルダーを生成する
+     *
+     * @return ビルダー
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 全てのキーワードの出現位置を返却する
+     * <p>
+     * 終了位置の昇順、同じ終了位置の場合は長いキーワードから返却する。重なり合う出現位置も全て返却する
+     * </p>
+     *
+     * @param text 検索対象の文字列
+     * @return 出現位置のリスト。見つからなければ空のリスト
+     */
+    public List<Match> findAll(final CharSequence text) {
+        final List<Match> matches = new ArrayList<>();
+        scan(text, matches, false);
+        return matches;
+    }
+
+    /**
+     * 最初に終了するキーワードの出現位置を返却する。見つかった時点で走査を終了する
+     *
+     * @param text 検索対象の文字列
+     * @return 出現位置。見つからなければ {@code null}
+     */
+    public Match findFirst(final CharSequence text) {
+        final List<Match> matches = new ArrayList<>(1);
+        scan(text, matches, true);
+        return matches.isEmpty() ? null : matches.get(0);
+    }
+
+    /**
+     * いずれかのキーワードが含まれるかどうかを判定する
+     *
+     * @param text 検索対象の文字列
+     * @return 含まれる場合 true
+     */
+    public boolean containsAny(final CharSequence text) {
+        return Objects.nonNull(findFirst(text));
+    }
+
+    /**
+     * 登録したキーワードを取得する
+     *
+     * @return キーワードのリスト
+     */
+    public List<String> getKeywords() {
+        return Collections.unmodifiableList(Arrays.asList(this.keywords));
+    }
+
+    private void scan(final CharSequence text, final List<Match> matches, final boolean first) {
+        if (Objects.isNull(text) || this.keywords.length == 0) {
+            return;
+        }
+
+        // 変換後の文字毎に、変換前の開始位置を保持する
+        final int[] starts = new int[this.maxLength];
+        final int end = text.length();
+        int state = ROOT;
+        int count = 0;
+        int i = 0;
+
+        while (i < end) {
+            final int folded = fold(text, i, end);
+            final char c = (char) folded;
+            final int start = i;
+            i += folded >>> 16;
+            starts[count++ % this.maxLength] = start;
+
+            int next = transition(state, c);
+            while (next < 0 && state != ROOT) {
+                state = this.failures[state];
+                next = transition(state, c);
+            }
+            state = next < 0 ? ROOT : next;
+
+            for (int s = Objects.nonNull(this.outputs[state]) ? state : this.outputLinks[state]; s >= 0;
+                    s = this.outputLinks[s]) {
+                for (int k : this.outputs[s]) {
+                    final int from = starts[(count - this.keywordLengths[k]) % this.maxLength];
+                    matches.add(new Match(this.keywords[k], from, i));
+                    if (first) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 状態から文字で遷移する先の状態を返却する。遷移できない場合は -1
+     */
+    private int transition(final int state, final char c) {
+        int low = this.offsets[state];
+        int high = this.offsets[state + 1] - 1;
+
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final char label = this.labels[mid];
+            if (label < c) {
+                low = mid + 1;
+            } else if (label > c) {
+                high = mid - 1;
+            } else {
+                return this.targets[mid];
+            }
+        }
+
+        return -1;
+    }
+
+    private String fold(final String keyword) {
+        final StringBuilder builder = new StringBuilder(keyword.length());
+        for (int i = 0; i < keyword.length();) {
+            final int folded = fold(keyword, i, keyword.length());
+            builder.append((char) folded);
+            i += folded >>> 16;
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 比較用に1文字変換する
+     *
+     * @return 下位16ビットに変換後の文字、上位16ビットに変換前の文字数
+     */
+    private int fold(final CharSequence text, final int i, final int end) {
+        char c = text.charAt(i);
+        int length = 1;
+
+        if (this.ignoreWidth) {
+            c = JapaneseChars.toFullWidthKatakana(JapaneseChars.toHalfWidthAscii(c));
+            if (i + 1 < end) {
+                final char composed = JapaneseChars.compose(c, text.charAt(i + 1));
+                if (composed != 0) {
+                    c = composed;
+                    length = 2;
+                }
+            }
+        }
+        if (this.ignoreCase) {
+            c = Character.toLowerCase(Character.toUpperCase(c));
+        }
+
+        return length << 16 | c;
+    }
+
+    /**
+     * キーワードの出現位置
+     */
+    public static final class Match {
+
+        private final String keyword;
+
+        private final int start;
+
+        private final int end;
+
+        Match(final String keyword, final int start, final int end) {
+            this.keyword = keyword;
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * 登録したキーワードを取得する
+         *
+         * @return キーワード
+         */
+        public String getKeyword() {
+            return this.keyword;
+        }
+
+        /**
+         * 検索対象の文字列での開始位置を取得する
+         *
+         * @return 開始位置
+         */
+        public int getStart() {
+            return this.start;
+        }
+
+        /**
+         * 検索対象の文字列での終了位置(この位置の文字を含まない)を取得する
+         *
+         * @return 終了位置
+         */
+        public int getEnd() {
+            return this.end;
+        }
+
+        @Override
+        public String toString() {
+            return "Match[keyword=" + this.keyword + ", start=" + this.start + ", end=" + this.end + "]";
+        }
+    }
+
+    /**
+     * {@link KeywordMatcher} のビルダー
+     */
+    public static final class Builder {
+
+        private final List<String> keywords = new ArrayList<>();
+
+        private boolean ignoreCase;
+
+        private boolean ignoreWidth;
+
+        private Builder() {
+        }
+
+        /**
+         * キーワードを追加する
+         *
+         * @param keywords キーワードのString配列
+         * @return このビルダー
+         * @throws IllegalArgumentException キーワードが {@code null} または空文字("")の場合にthrowする
+         */
+        public Builder add(final String... keywords) {
+            for (String keyword : keywords) {
+                if (StringUtil.isEmpty(keyword)) {
+                    throw new IllegalArgumentException("キーワードが空です");
+                }
+                this.keywords.add(keyword);
+            }
+            return this;
+        }
+
+        /**
+         * キーワードを追加する
+         *
+         * @param keywords キーワードのリスト
+         * @return このビルダー
+         * @throws IllegalArgumentException キーワードが {@code null} または空文字("")の場合にthrowする
+         */
+        public Builder add(final Iterable<String> keywords) {
+            for (String keyword : keywords) {
+                add(keyword);
+            }
+            return this;
+        }
+
+        /**
+         * 大文字・小文字を区別しない
+         *
+         * @return このビルダー
+         */
+        public Builder ignoreCase() {
+            this.ignoreCase = true;
+            return this;
+        }
+
+        /**
+         * 全角・半角を区別しない
+         *
+         * @return このビルダー
+         */
+        public Builder ignoreWidth() {
+            this.ignoreWidth = true;
+            return this;
+        }
+
+        /**
+         * {@link KeywordMatcher} を生成する
+         *
+         * @return {@link KeywordMatcher}
+         */
+        public KeywordMatcher build() {
+            return new KeywordMatcher(this);
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package com.gn5r.common.utils;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -11,6 +10,8 @@ import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.ObjectUtils;
 
+import com.gn5r.common.utils.FieldMetadata.FieldPair;
+
 /**
  * <p>
  * {@link ObjectUtils}拡張クラス
@@ -21,16 +22,44 @@ import org.apache.commons.lang3.ObjectUtils;
  * のリストを返却する。相違がなければ空のリストを返却する</li>
  * <li><b>check</b> - クラスオブジェクトのフィールドパラメータを比較する。パラメータに相違があれば true を、相違がなければ
  * false を返却する</li>
+ * <li><b>deepDiff</b> - オブジェクトグラフを再帰的に比較する。相違があれば相違箇所のパスを持つ {@link Difference}
+ * のリストを返却する</li>
  * <li><b>getFieldNames</b> - オブジェクトのフィールドリストを返却する</li>
  * <li><b>getSameFieldNames</b> - 指定した2つのフィールドリストから同一のフィールドリストを返却する</li>
  * </ul>
  *
+ * <p>
+ * {@link Diffable} を付与したクラス同士の場合は生成されたコンパニオンクラスを使用し、private でないフィールドはリフレクションを使用せずに参照する
+ * </p>
+ *
  * @author gn5r
  * @since 0.1.2-RELEASE
  * @see ObjectUtils
  */
 public final class ObjectUtil extends ObjectUtils {
 
+    /**
+     * {@link Diffable} を付与したクラスのコンパニオンクラス。付与されていない、または生成されていない場合は {@code null}
+     */
+    private static final ClassValue<DiffableSupport<Object>> COMPANIONS = new ClassValue<DiffableSupport<Object>>() {
+        @Override
+        @SuppressWarnings("unchecked")
+        protected DiffableSupport<Object> computeValue(Class<?> type) {
+            if (!type.isAnnotationPresent(Diffable.class)) {
+                return null;
+            }
+
+            try {
+                final Class<?> companion = Class.forName(DiffableSupport.companionName(type), true,
+                        type.getClassLoader());
+                return (DiffableSupport<Object>) companion.getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | ClassCastException | ExceptionInInitializerError e) {
+                // private フィールドにアクセスできずに初期化できない場合はリフレクションで比較する
+                return null;
+            }
+        }
+    };
+
     /**
      * クラスオブジェクトの同一フィールドパラメータを比較する。パラメータに相違があれば
      * {@link Difference}のリストを返却する。相違がなければ空のリストを返却する
@@ -48,37 +77,50 @@ public final class ObjectUtil extends ObjectUtils {
      * @since 0.1.4-RELEASE
      */
     public static final List<Difference> diff(Object a, Object b, String... excludes) {
-        List<Difference> diffList = new ArrayList<>();
-
         // チェック処理
         checkObjectNull(a, b);
 
-        // 同一フィールドリスト
-        final List<String> sameField = getSameFieldNames(a, b, excludes);
-
-        for (String name : sameField) {
-            try {
-                Field fieldA = a.getClass().getDeclaredField(name);
-                fieldA.setAccessible(true);
-                Field fieldB = b.getClass().getDeclaredField(name);
-                fieldB.setAccessible(true);
+        // コンパニオンクラスがあればリフレクションを使用しない
+        final DiffableSupport<Object> companion = getCompanion(a, b);
+        if (Objects.nonNull(companion)) {
+            return companion.diff(a, b, excludes);
+        }
 
-                final Object paramA = fieldA.get(a);
-                final Object paramB = fieldB.get(b);
+        List<Difference> diffList = new ArrayList<>();
 
-                if (!Objects.equals(paramA, paramB)) {
-                    final Difference e = new Difference(name, paramA, paramB);
-                    diffList.add(e);
-                }
+        // 同一フィールドリスト
+        final FieldPair[] sameField = getSharedFields(a, b, excludes);
 
-            } catch (NoSuchFieldException | IllegalArgumentException | IllegalAccessException e) {
-                e.printStackTrace();
+        for (FieldPair pair : sameField) {
+            // プリミティブ型はラッパークラスを生成せずに比較し、相違があった場合のみパラメータを取得する
+            if (!pair.isEqual(a, b)) {
+                final Difference e = new Difference(pair.getName(), pair.getA().get(a), pair.getB().get(b));
+                diffList.add(e);
             }
         }
 
         return diffList;
     }
 
+    /**
+     * クラスオブジェクトの同一フィールドパラメータを比較し、相違があるフィールドを {@link DiffVisitor} に通知する
+     * <p>
+     * {@link #diff(Object, Object, String...)} と異なり {@link Difference} 及びリストを生成しない。
+     * {@link DiffVisitor} が false を返却した時点で比較を終了する
+     * </p>
+     * 
+     * @param a        オブジェクトa
+     * @param b        オブジェクトb
+     * @param visitor  相違フィールドを受け取る {@link DiffVisitor}
+     * @param excludes 除外フィールド名のString配列
+     * @return 通知した相違フィールド数
+     * @throws NullPointerException オブジェクトa、オブジェクトbまたはvisitorが {@code null} の場合にthrowする
+     * @since 0.3.9
+     */
+    public static final int diff(Object a, Object b, DiffVisitor visitor, String... excludes) {
+        return visit(a, b, false, visitor, excludes);
+    }
+
     /**
      * クラスオブジェクトのフィールドパラメータを比較する。パラメータに相違があれば true を、相違がなければ false を返却する。
      * 
@@ -95,26 +137,18 @@ public final class ObjectUtil extends ObjectUtils {
         // チェック処理
         checkObjectNull(a, b);
 
-        // 同一フィールドリスト
-        final List<String> sameField = getSameFieldNames(a, b, excludes);
-
-        for (String name : sameField) {
-            try {
-                Field fieldA = a.getClass().getDeclaredField(name);
-                fieldA.setAccessible(true);
-                Field fieldB = b.getClass().getDeclaredField(name);
-                fieldB.setAccessible(true);
-
-                final Object paramA = fieldA.get(a);
-                final Object paramB = fieldB.get(b);
+        final DiffableSupport<Object> companion = getCompanion(a, b);
+        if (Objects.nonNull(companion)) {
+            return companion.check(a, b, excludes);
+        }
 
-                // フィールドパラメータが一致しなければtrueを返却する
-                if (!Objects.equals(paramA, paramB)) {
-                    return true;
-                }
+        // 同一フィールドリスト
+        final FieldPair[] sameField = getSharedFields(a, b, excludes);
 
-            } catch (NoSuchFieldException | IllegalArgumentException | IllegalAccessException e) {
-                e.printStackTrace();
+        for (FieldPair pair : sameField) {
+            // フィールドパラメータが一致しなければtrueを返却する
+            if (!pair.isEqual(a, b)) {
+                return true;
             }
         }
 
@@ -136,32 +170,140 @@ public final class ObjectUtil extends ObjectUtils {
      */
     public static final List<Difference> same(Object a, Object b, String... excludes) {
         checkObjectNull(a, b);
-        List<Difference> sameField = new ArrayList<>();
 
-        final List<String> fieldNames = getSameFieldNames(a, b, excludes);
+        final DiffableSupport<Object> companion = getCompanion(a, b);
+        if (Objects.nonNull(companion)) {
+            return companion.same(a, b, excludes);
+        }
 
-        for (String name : fieldNames) {
-            try {
-                Field fieldA = a.getClass().getDeclaredField(name);
-                fieldA.setAccessible(true);
-                Field fieldB = b.getClass().getDeclaredField(name);
-                fieldB.setAccessible(true);
+        List<Difference> sameField = new ArrayList<>();
 
-                final Object paramA = fieldA.get(a);
-                final Object paramB = fieldB.get(b);
+        final FieldPair[] fieldPairs = getSharedFields(a, b, excludes);
 
-                if (Objects.equals(paramA, paramB)) {
-                    final Difference e = new Difference(name, paramA, paramB);
-                    sameField.add(e);
-                }
-            } catch (NoSuchFieldException | IllegalArgumentException | IllegalAccessException e) {
-                e.printStackTrace();
+        for (FieldPair pair : fieldPairs) {
+            if (pair.isEqual(a, b)) {
+                final Difference e = new Difference(pair.getName(), pair.getA().get(a), pair.getB().get(b));
+                sameField.add(e);
             }
         }
 
         return sameField;
     }
 
+    /**
+     * {@link CompareConfig} に登録した比較方法でクラスオブジェクトの同一フィールドパラメータを比較する。パラメータに相違があれば
+     * {@link Difference}のリストを返却する。相違がなければ空のリストを返却する
+     * 
+     * @param a        オブジェクトa
+     * @param b        オブジェクトb
+     * @param config   比較方法の設定
+     * @param excludes 除外フィールド名のString配列
+     * @return {@link Difference} 相違フィールドリスト
+     * @throws NullPointerException オブジェクトa、オブジェクトbまたは設定が {@code null} の場合にthrowする
+     * @since 0.3.9
+     */
+    public static final List<Difference> diff(Object a, Object b, CompareConfig config, String... excludes) {
+        checkObjectNull(a, b);
+        Objects.requireNonNull(config, "設定がnullです");
+
+        return config.compare(a, b, false, Integer.MAX_VALUE, excludes);
+    }
+
+    /**
+     * {@link CompareConfig} に登録した比較方法でクラスオブジェクトのフィールドパラメータを比較する。パラメータに相違があれば true
+     * を、相違がなければ false を返却する。
+     * 
+     * @param a        オブジェクトa
+     * @param b        オブジェクトb
+     * @param config   比較方法の設定
+     * @param excludes 除外フィールド名のString配列
+     * @return 相違有無
+     * @throws NullPointerException オブジェクトa、オブジェクトbまたは設定が {@code null} の場合にthrowする
+     * @since 0.3.9
+     */
+    public static final boolean check(Object a, Object b, CompareConfig config, String... excludes) {
+        checkObjectNull(a, b);
+        Objects.requireNonNull(config, "設定がnullです");
+
+        return !config.compare(a, b, false, 1, excludes).isEmpty();
+    }
+
+    /**
+     * {@link CompareConfig} に登録した比較方法でクラスオブジェクトの同一フィールドパラメータを比較する。一致したパラメータがあれば
+     * {@link Difference} のリストを返却する。一致したパラメータが見つからなければ空のリストを返却する
+     * 
+     * @param a        オブジェクトa
+     * @param b        オブジェクトb
+     * @param config   比較方法の設定
+     * @param excludes 除外フィールド名のString配列
+     * @return {@link Difference} 一致フィールドリスト
+     * @throws NullPointerException オブジェクトa、オブジェクトbまたは設定が {@code null} の場合にthrowする
+     * @since 0.3.9
+     */
+    public static final List<Difference> same(Object a, Object b, CompareConfig config, String... excludes) {
+        checkObjectNull(a, b);
+        Objects.requireNonNull(config, "設定がnullです");
+
+        return config.compare(a, b, true, Integer.MAX_VALUE, excludes);
+    }
+
+    /**
+     * クラスオブジェクトの同一フィールドパラメータを比較し、一致したフィールドを {@link DiffVisitor} に通知する
+     * <p>
+     * {@link #same(Object, Object, String...)} と異なり {@link Difference} 及びリストを生成しない。
+     * {@link DiffVisitor} が false を返却した時点で比較を終了する
+     * </p>
+     * 
+     * @param a        オブジェクトa
+     * @param b        オブジェクトb
+     * @param visitor  一致フィールドを受け取る {@link DiffVisitor}
+     * @param excludes 除外フィールド名のString配列
+     * @return 通知した一致フィールド数
+     * @throws NullPointerException オブジェクトa、オブジェクトbまたはvisitorが {@code null} の場合にthrowする
+     * @since 0.3.9
+     */
+    public static final int same(Object a, Object b, DiffVisitor visitor, String... excludes) {
+        return visit(a, b, true, visitor, excludes);
+    }
+
+    /**
+     * オブジェクトのフィールドパラメータを記録する。記録したスナップショットから後で変更されたフィールドを検出できる
+     * 
+     * <pre>
+     * Snapshot snapshot = ObjectUtil.snapshot(entity);
+     * ...
+     * List&lt;String&gt; dirty = snapshot.getDirtyFields(entity);
+     * </pre>
+     * 
+     * @param object   オブジェクト
+     * @param excludes 除外フィールド名のString配列
+     * @return {@link Snapshot}
+     * @throws NullPointerException オブジェクトが {@code null} の場合にthrowする
+     * @since 0.3.9
+     * @see Snapshot
+     */
+    public static final Snapshot snapshot(Object object, String... excludes) {
+        return Snapshot.of(object, excludes);
+    }
+
+    /**
+     * オブジェクトグラフを再帰的に比較する。相違があれば相違箇所のパスをフィールド名とした {@link Difference}
+     * のリストを返却する。相違がなければ空のリストを返却する
+     * <p>
+     * スーパークラスのフィールド、ネストしたオブジェクト、配列、{@link List}、{@link Map}
+     * の中まで比較する。最大深さ等を指定する場合は {@link DeepDiff#builder()} を使用する
+     * </p>
+     * 
+     * @param a オブジェクトa
+     * @param b オブジェクトb
+     * @return {@link Difference} 相違箇所リスト
+     * @since 0.3.9
+     * @see DeepDiff
+     */
+    public static final List<Difference> deepDiff(Object a, Object b) {
+        return DeepDiff.DEFAULT.diff(a, b);
+    }
+
     /**
      * オブジェクトを文字列に変換する
      * 
@@ -179,7 +321,8 @@ public final class ObjectUtil extends ObjectUtils {
      * </pre>
      * 
      * <p>
-     * オブジェクトのtoStringメソッドを上記のようにすると {@code Test[id=0, name=test]} と表示される
+     * オブジェクトのtoStringメソッドを上記のようにすると {@code Test[id=0, name=test]} と表示される。
+     * フィールドは宣言順に出力する。伏せ字や最大文字数を指定する場合は {@link ToStringRenderer} を使用する
      * </p>
      * 
      * @param object
@@ -192,19 +335,13 @@ public final class ObjectUtil extends ObjectUtils {
             throw new NullPointerException("オブジェクトがnullです");
         }
 
-        final Map<String, Object> map = toMap(object, excludes);
-        StringBuffer buffer = new StringBuffer();
-
-        buffer.append(object.getClass().getSimpleName() + "[");
-
-        for (Map.Entry<String, Object> field : map.entrySet()) {
-            final String str = field.getKey() + "=" + field.getValue();
-            buffer.append(str + ", ");
+        final DiffableSupport<Object> companion = COMPANIONS.get(object.getClass());
+        if (Objects.nonNull(companion)) {
+            return companion.toString(object, excludes);
         }
 
-        final String result = buffer.toString().replaceAll(",\\s$", "");
-
-        return result.concat("]");
+        // フィールドは宣言順に直接書き込む
+        return ToStringRenderer.DEFAULT.render(object, new StringBuilder(), excludes).toString();
     }
 
     /**
@@ -226,7 +363,8 @@ public final class ObjectUtil extends ObjectUtils {
      * </pre>
      * 
      * <p>
-     * オブジェクトのtoStringメソッドを上記のようにすると {@code Test[id=0, name=test]} と表示される
+     * オブジェクトのtoStringメソッドを上記のようにすると {@code Test[id=0, name=test]} と表示される。
+     * フィールドは宣言順に出力する。伏せ字や最大文字数を指定する場合は {@link ToStringRenderer} を使用する
      * </p>
      * 
      * @param object
@@ -238,19 +376,13 @@ public final class ObjectUtil extends ObjectUtils {
             throw new NullPointerException("オブジェクトがnullです");
         }
 
-        final Map<String, Object> map = toMap(object);
-        StringBuffer buffer = new StringBuffer();
-
-        buffer.append(object.getClass().getSimpleName() + "[");
-
-        for (Map.Entry<String, Object> field : map.entrySet()) {
-            final String str = field.getKey() + "=" + field.getValue();
-            buffer.append(str + ", ");
+        final DiffableSupport<Object> companion = COMPANIONS.get(object.getClass());
+        if (Objects.nonNull(companion)) {
+            return companion.toString(object);
         }
 
-        final String result = buffer.toString().replaceAll(",\\s$", "");
-
-        return result.concat("]");
+        // フィールドは宣言順に直接書き込む
+        return ToStringRenderer.DEFAULT.render(object, new StringBuilder(), (String[]) null).toString();
     }
 
     /**
@@ -279,10 +411,64 @@ public final class ObjectUtil extends ObjectUtils {
      * @since 0.1.5
      */
     public static final List<String> getFieldNames(Object object, String... excludes) {
-        // 念のためthis$0とserialVersionUIDを除外しておく
-        return Arrays.asList(object.getClass().getDeclaredFields()).stream().map(Field::getName)
-                .filter(name -> !Arrays.asList(excludes).contains(name) && !name.matches("this\\$0|serialVersionUID"))
-                .collect(Collectors.toList());
+        // 念のためthis$0とserialVersionUIDを除外しておく(除外済みのフィールドはキャッシュから取得する)
+        return Arrays.stream(FieldMetadata.of(object.getClass()).getFields()).map(FieldAccessor::getName)
+                .filter(name -> !FieldMetadata.isExcluded(name, excludes)).collect(Collectors.toList());
+    }
+
+    /**
+     * 同一フィールドを比較し、相違または一致したフィールドを {@link DiffVisitor} に通知する
+     * <p>
+     * コンパニオンクラスはリストを生成するので、常にキャッシュしたフィールドで比較する
+     * </p>
+     * 
+     * @param a        オブジェクトa
+     * @param b        オブジェクトb
+     * @param same     一致したフィールドを通知する場合は true、相違フィールドを通知する場合は false
+     * @param visitor  通知先
+     * @param excludes 除外フィールド名のString配列
+     * @return 通知したフィールド数
+     */
+    private static final int visit(Object a, Object b, boolean same, DiffVisitor visitor, String... excludes) {
+        checkObjectNull(a, b);
+        Objects.requireNonNull(visitor, "visitorがnullです");
+
+        int count = 0;
+
+        for (FieldPair pair : getSharedFields(a, b, excludes)) {
+            if (pair.isEqual(a, b) == same) {
+                count++;
+                if (!visitor.visit(pair.getName(), pair.getA().get(a), pair.getB().get(b))) {
+                    break;
+                }
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * 同じクラスのオブジェクト同士であればコンパニオンクラスを取得する
+     * 
+     * @param a オブジェクトa
+     * @param b オブジェクトb
+     * @return コンパニオンクラス。異なるクラス同士またはコンパニオンクラスが無い場合は {@code null}
+     */
+    private static final DiffableSupport<Object> getCompanion(Object a, Object b) {
+        final Class<?> type = a.getClass();
+        return type == b.getClass() ? COMPANIONS.get(type) : null;
+    }
+
+    /**
+     * 指定した2つのオブジェクトの同一フィールドをキャッシュから取得する
+     * 
+     * @param a        オブジェクトa
+     * @param b        オブジェクトb
+     * @param excludes 除外フィールド名のString配列
+     * @return 同一フィールドの組み合わせ配列
+     */
+    private static final FieldPair[] getSharedFields(Object a, Object b, String... excludes) {
+        return FieldMetadata.of(a.getClass()).getSharedFields(b.getClass(), excludes);
     }
 
     /**
@@ -294,19 +480,18 @@ public final class ObjectUtil extends ObjectUtils {
      * @since 0.3.7
      */
     public static final Map<String, Object> toMap(Object object, String... excludes) {
+        final DiffableSupport<Object> companion = COMPANIONS.get(object.getClass());
+        if (Objects.nonNull(companion)) {
+            return companion.toMap(object, excludes);
+        }
+
         Map<String, Object> fieldNames = new HashMap<>();
-        final List<Field> fields = Arrays.asList(object.getClass().getDeclaredFields());
 
-        for (Field field : fields) {
-            try {
-                field.setAccessible(true);
-                final String name = field.getName();
-                final Object param = field.get(object);
-                if (!Arrays.asList(excludes).contains(name) && !name.matches("this\\$0|serialVersionUID")) {
-                    fieldNames.put(name, param);
-                }
-            } catch (IllegalArgumentException | IllegalAccessException e) {
-                e.printStackTrace();
+        // this$0とserialVersionUIDはキャッシュ作成時に除外済み
+        for (FieldAccessor field : FieldMetadata.of(object.getClass()).getFields()) {
+            final String name = field.getName();
+            if (!FieldMetadata.isExcluded(name, excludes)) {
+                fieldNames.put(name, field.get(object));
             }
         }
 
@@ -321,20 +506,16 @@ public final class ObjectUtil extends ObjectUtils {
      * @since 0.3.8
      */
     public static final Map<String, Object> toMap(Object object) {
+        final DiffableSupport<Object> companion = COMPANIONS.get(object.getClass());
+        if (Objects.nonNull(companion)) {
+            return companion.toMap(object);
+        }
+
         Map<String, Object> fieldNames = new HashMap<>();
-        final List<Field> fields = Arrays.asList(object.getClass().getDeclaredFields());
 
-        for (Field field : fields) {
-            try {
-                field.setAccessible(true);
-                final String name = field.getName();
-                final Object param = field.get(object);
-                if (!name.matches("this\\$0|serialVersionUID")) {
-                    fieldNames.put(name, param);
-                }
-            } catch (IllegalArgumentException | IllegalAccessException e) {
-                e.printStackTrace();
-            }
+        // this$0とserialVersionUIDはキャッシュ作成時に除外済み
+        for (FieldAccessor field : FieldMetadata.of(object.getClass()).getFields()) {
+            fieldNames.put(field.getName(), field.get(object));
         }
 
         return fieldNames;
@@ -0,0 +1,870 @@
+package com.gn5r.common.utils;
+
+import java.lang.reflect.Array;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoublePredicate;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+
+/**
+ * <p>
+ * 配列を並列に検索するクラス
+ * </p>
+ *
+ * <p>
+ * 配列を閾値の長さのチャンクに分割し、{@link ForkJoinPool} で並列に走査する。数千万要素のように
+ * {@link ArrayUtil#findIndex(Object[], Object)} の逐次走査では時間が掛かる配列に使用する。
+ * 配列の長さが閾値以下の場合はプールを使用せずに呼び出し元のスレッドで走査する
+ * </p>
+ *
+ * <ul>
+ * <li><b>findIndex / findIndexIf</b> - 最初に一致した位置を返却する。結果は逐次走査と同じになる</li>
+ * <li><b>contains / anyMatch</b> - 一致する要素があるかどうかを判定する</li>
+ * <li><b>findIndexes / findIndexesIf</b> - 一致した全ての位置を昇順で返却する</li>
+ * <li><b>filter</b> - 条件を満たす要素を元の順序のまま新しい配列に格納する</li>
+ * </ul>
+ *
+ * <p>
+ * findIndex / findIndexIf は一致した位置より後ろのチャンクを、contains / anyMatch
+ * は一致した時点で全ての残りのチャンクを走査せずに終了する。プリミティブ型は int、long、double
+ * の配列に対応し、要素をボクシングせずに扱う
+ * </p>
+ *
+ * <pre>
+ * ParallelSearch search = ParallelSearch.builder().threshold(1 &lt;&lt; 16).pool(pool).build();
+ * int index = search.findIndexIf(records, record -&gt; record.getId() == id);
+ * long[] expired = search.filter(timestamps, timestamp -&gt; timestamp &lt; now);
+ * </pre>
+ *
+ * <p>
+ * 条件はチャンク毎に異なるスレッドから呼び出されるので、スレッドセーフである必要がある。
+ * インスタンスは不変で、使い回すことができる
+ * </p>
+ *
+ * @author gn5r
+ * @since 0.3.9
+ */
+public final class ParallelSearch {
+
+    /**
+     * デフォルトのチャンクの長さ
+     */
+    public static final int DEFAULT_THRESHOLD = 1 << 16;
+
+    /**
+     * 一致する位置が無い状態
+     */
+    private static final int NOT_FOUND = Integer.MAX_VALUE;
+
+    private static final ParallelSearch DEFAULT = builder().build();
+
+    private final int threshold;
+
+    private final ForkJoinPool pool;
+
+    private ParallelSearch(final Builder builder) {
+        this.threshold = builder.threshold;
+        this.pool = builder.pool;
+    }
+
+    /**
+     * ビルダーを生成する
+     *
+     * @return ビルダー
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * チャンクの長さ {@value #DEFAULT_THRESHOLD}、{@link ForkJoinPool#commonPool()} のインスタンスを取得する
+     *
+     * @return インスタンス
+     */
+    public static ParallelSearch getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * チャンクの長さを取得する
+     *
+     * @return チャンクの長さ
+     */
+    public int getThreshold() {
+        return this.threshold;
+    }
+
+    /**
+     * 検索に使用する {@link ForkJoinPool} を取得する
+     *
+     * @return {@link ForkJoinPool}
+     */
+    public ForkJoinPool getPool() {
+        return this.pool;
+    }
+
+    /**
+     * オブジェクト配列から指定した要素の最初の位置を返却する。見つからない場合は -1 を返却する
+     *
+     * @param <T>     配列のオブジェクトタイプ
+     * @param array   オブジェクト配列
+     * @param element 位置を取得したい要素
+     * @return 要素の位置。配列・要素がnullと判定された場合は -1
+     * @see ArrayUtil#findIndex(Object[], Object)
+     */
+    public <T> int findIndex(final T[] array, final Object element) {
+        if (Objects.isNull(array) || Objects.isNull(element)) {
+            return -1;
+        }
+        return first(array.length, scanner(array, element), true);
+    }
+
+    /**
+     * オブジェクト配列から条件を満たす最初の要素の位置を返却する。見つからない場合は -1 を返却する
+     *
+     * @param <T>       配列のオブジェクトタイプ
+     * @param array     オブジェクト配列
+     * @param predicate 条件
+     * @return 要素の位置。配列がnullと判定された場合は -1
+     */
+    public <T> int findIndexIf(final T[] array, final Predicate<? super T> predicate) {
+        Objects.requireNonNull(predicate, "条件がnullです");
+        if (Objects.isNull(array)) {
+            return -1;
+        }
+        return first(array.length, scanner(array, predicate), true);
+    }
+
+    /**
+     * オブジェクト配列に指定した要素が含まれるかどうかを判定する
+     *
+     * @param <T>     配列のオブジェクトタイプ
+     * @param array   オブジェクト配列
+     * @param element 要素
+     * @return 含まれる場合 true。配列・要素がnullと判定された場合は false
+     */
+    public <T> boolean contains(final T[] array, final Object element) {
+        if (Objects.isNull(array) || Objects.isNull(element)) {
+            return false;
+        }
+        return first(array.length, scanner(array, element), false) >= 0;
+    }
+
+    /**
+     * オブジェクト配列に条件を満たす要素があるかどうかを判定する
+     *
+     * @param <T>       配列のオブジェクトタイプ
+     * @param array     オブジェクト配列
+     * @param predicate 条件
+     * @return 条件を満たす要素がある場合 true。配列がnullと判定された場合は false
+     */
+    public <T> boolean anyMatch(final T[] array, final Predicate<? super T> predicate) {
+        Objects.requireNonNull(predicate, "条件がnullです");
+        if (Objects.isNull(array)) {
+            return false;
+        }
+        return first(array.length, scanner(array, predicate), false) >= 0;
+    }
+
+    /**
+     * オブジェクト配列から指定した要素の全ての位置を昇順で返却する
+     *
+     * @param <T>     配列のオブジェクトタイプ
+     * @param array   オブジェクト配列
+     * @param element 位置を取得したい要素
+     * @return 要素の位置。配列・要素がnullと判定された場合は空の配列
+     */
+    public <T> int[] findIndexes(final T[] array, final Object element) {
+        if (Objects.isNull(array) || Objects.isNull(element)) {
+            return new int[0];
+        }
+        return all(array.length, scanner(array, element));
+    }
+
+    /**
+     * オブジェクト配列から条件を満たす全ての要素の位置を昇順で返却する
+     *
+     * @param <T>       配列のオブジェクトタイプ
+     * @param array     オブジェクト配列
+     * @param predicate 条件
+     * @return 要素の位置。配列がnullと判定された場合は空の配列
+     */
+    public <T> int[] findIndexesIf(final T[] array, final Predicate<? super T> predicate) {
+        Objects.requireNonNull(predicate, "条件がnullです");
+        if (Objects.isNull(array)) {
+            return new int[0];
+        }
+        return all(array.length, scanner(array, predicate));
+    }
+
+    /**
+     * オブジェクト配列から条件を満たす要素を、元の順序のまま配列と同じ型の新しい配列に格納する
+     *
+     * @param <T>       配列のオブジェクトタイプ
+     * @param array     オブジェクト配列
+     * @param predicate 条件
+     * @return 条件を満たす要素の配列。配列がnullと判定された場合はnull
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T[] filter(final T[] array, final Predicate<? super T> predicate) {
+        final int[] indexes = findIndexesIf(array, predicate);
+        if (Objects.isNull(array)) {
+            return null;
+        }
+
+        final T[] result = (T[]) Array.newInstance(array.getClass().getComponentType(), indexes.length);
+        for (int i = 0; i < indexes.length; i++) {
+            result[i] = array[indexes[i]];
+        }
+        return result;
+    }
+
+    /**
+     * int配列から指定した要素の最初の位置を返却する。見つからない場合は -1 を返却する
+     *
+     * @param array   int配列
+     * @param element 位置を取得したい要素
+     * @return 要素の位置。配列がnullと判定された場合は -1
+     * @see ArrayUtil#findIndex(int[], int)
+     */
+    public int findIndex(final int[] array, final int element) {
+        if (Objects.isNull(array)) {
+            return -1;
+        }
+        return first(array.length, scanner(array, element), true);
+    }
+
+    /**
+     * int配列から条件を満たす最初の要素の位置を返却する。見つからない場合は -1 を返却する
+     *
+     * @param array     int配列
+     * @param predicate 条件
+     * @return 要素の位置。配列がnullと判定された場合は -1
+     */
+    public int findIndexIf(final int[] array, final IntPredicate predicate) {
+        Objects.requireNonNull(predicate, "条件がnullです");
+        if (Objects.isNull(array)) {
+            return -1;
+        }
+        return first(array.length, scanner(array, predicate), true);
+    }
+
+    /**
+     * int配列に指定した要素が含まれるかどうかを判定する
+     *
+     * @param array   int配列
+     * @param element 要素
+     * @return 含まれる場合 true。配列がnullと判定された場合は false
+     */
+    public boolean contains(final int[] array, final int element) {
+        if (Objects.isNull(array)) {
+            return false;
+        }
+        return first(array.length, scanner(array, element), false) >= 0;
+    }
+
+    /**
+     * int配列に条件を満たす要素があるかどうかを判定する
+     *
+     * @param array     int配列
+     * @param predicate 条件
+     * @return 条件を満たす要素がある場合 true。配列がnullと判定された場合は false
+     */
+    public boolean anyMatch(final int[] array, final IntPredicate predicate) {
+        Objects.requireNonNull(predicate, "条件がnullです");
+        if (Objects.isNull(array)) {
+            return false;
+        }
+        return first(array.length, scanner(array, predicate), false) >= 0;
+    }
+
+    /**
+     * int配列から指定した要素の全ての位置を昇順で返却する
+     *
+     * @param array   int配列
+     * @param element 位置を取得したい要素
+     * @return 要素の位置。配列がnullと判定された場合は空の配列
+     */
+    public int[] findIndexes(final int[] array, final int element) {
+        if (Objects.isNull(array)) {
+            return new int[0];
+        }
+        return all(array.length, scanner(array, element));
+    }
+
+    /**
+     * int配列から条件を満たす全ての要素の位置を昇順で返却する
+     *
+     * @param array     int配列
+     * @param predicate 条件
+     * @return 要素の位置。配列がnullと判定された場合は空の配列
+     */
+    public int[] findIndexesIf(final int[] array, final IntPredicate predicate) {
+        Objects.requireNonNull(predicate, "条件がnullです");
+        if (Objects.isNull(array)) {
+            return new int[0];
+        }
+        return all(array.length, scanner(array, predicate));
+    }
+
+    /**
+     * int配列から条件を満たす要素を、元の順序のまま新しい配列に格納する
+     *
+     * @param array     int配列
+     * @param predicate 条件
+     * @return 条件を満たす要素の配列。配列がnullと判定された場合はnull
+     */
+    public int[] filter(final int[] array, final IntPredicate predicate) {
+        final int[] indexes = findIndexesIf(array, predicate);
+        if (Objects.isNull(array)) {
+            return null;
+        }
+
+        final int[] result = new int[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            result[i] = array[indexes[i]];
+        }
+        return result;
+    }
+
+    /**
+     * long配列から指定した要素の最初の位置を返却する。見つからない場合は -1 を返却する
+     *
+     * @param array   long配列
+     * @param element 位置を取得したい要素
+     * @return 要素の位置。配列がnullと判定された場合は -1
+     * @see ArrayUtil#findIndex(long[], long)
+     */
+    public int findIndex(final long[] array, final long element) {
+        if (Objects.isNull(array)) {
+            return -1;
+        }
+        return first(array.length, scanner(array, element), true);
+    }
+
+    /**
+     * long配列から条件を満たす最初の要素の位置を返却する。見つからない場合は -1 を返却する
+     *
+     * @param array     long配列
+     * @param predicate 条件
+     * @return 要素の位置。配列がnullと判定された場合は -1
+     */
+    public int findIndexIf(final long[] array, final LongPredicate predicate) {
+        Objects.requireNonNull(predicate, "条件がnullです");
+        if (Objects.isNull(array)) {
+            return -1;
+        }
+        return first(array.length, scanner(array, predicate), true);
+    }
+
+    /**
+     * long配列に指定した要素が含まれるかどうかを判定する
+     *
+     * @param array   long配列
+     * @param element 要素
+     * @return 含まれる場合 true。配列がnullと判定された場合は false
+     */
+    public boolean contains(final long[] array, final long element) {
+        if (Objects.isNull(array)) {
+            return false;
+        }
+        return first(array.length, scanner(array, element), false) >= 0;
+    }
+
+    /**
+     * long配列に条件を満たす要素があるかどうかを判定する
+     *
+     * @param array     long配列
+     * @param predicate 条件
+     * @return 条件を満たす要素がある場合 true。配列がnullと判定された場合は false
+     */
+    public boolean anyMatch(final long[] array, final LongPredicate predicate) {
+        Objects.requireNonNull(predicate, "条件がnullです");
+        if (Objects.isNull(array)) {
+            return false;
+        }
+        return first(array.length, scanner(array, predicate), false) >= 0;
+    }
+
+    /**
+     * long配列から指定した要素の全ての位置を昇順で返却する
+     *
+     * @param array   long配列
+     * @param element 位置を取得したい要素
+     * @return 要素の位置。配列がnullと判定された場合は空の配列
+     */
+    public int[] findIndexes(final long[] array, final long element) {
+        if (Objects.isNull(array)) {
+            return new int[0];
+        }
+        return all(array.length, scanner(array, element));
+    }
+
+    /**
+     * long配列から条件を満たす全ての要素の位置を昇順で返却する
+     *
+     * @param array     long配列
+     * @param predicate 条件
+     * @return 要素の位置。配列がnullと判定された場合は空の配列
+     */
+    public int[] findIndexesIf(final long[] array, final LongPredicate predicate) {
+        Objects.requireNonNull(predicate, "条件がnullです");
+        if (Objects.isNull(array)) {
+            return new int[0];
+        }
+        return all(array.length, scanner(array, predicate));
+    }
+
+    /**
+     * long配列から条件を満たす要素を、元の順序のまま新しい配列に格納する
+     *
+     * @param array     long配列
+     * @param predicate 条件
+     * @return 条件を満たす要素の配列。配列がnullと判定された場合はnull
+     */
+    public long[] filter(final long[] array, final LongPredicate predicate) {
+        final int[] indexes = findIndexesIf(array, predicate);
+        if (Objects.isNull(array)) {
+            return null;
+        }
+
+        final long[] result = new long[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            result[i] = array[indexes[i]];
+        }
+        return result;
+    }
+
+    /**
+     * double配列から指定した要素の最初の位置を返却する。見つからない場合は -1 を返却する
+     * <p>
+     * 要素は {@link ArrayUtil#findIndex(double[], double)} と同様にビットパターンで比較する
+     * </p>
+     *
+     * @param array   double配列
+     * @param element 位置を取得したい要素
+     * @return 要素の位置。配列がnullと判定された場合は -1
+     */
+    public int findIndex(final double[] array, final double element) {
+        if (Objects.isNull(array)) {
+            return -1;
+        }
+        return first(array.length, scanner(array, element), true);
+    }
+
+    /**
+     * double配列から条件を満たす最初の要素の位置を返却する。見つからない場合は -1 を返却する
+     *
+     * @param array     double配列
+     * @param predicate 条件
+     * @return 要素の位置。配列がnullと判定された場合は -1
+     */
+    public int findIndexIf(final double[] array, final DoublePredicate predicate) {
+        Objects.requireNonNull(predicate, "条件がnullです");
+        if (Objects.isNull(array)) {
+            return -1;
+        }
+        return first(array.length, scanner(array, predicate), true);
+    }
+
+    /**
+     * double配列に指定した要素が含まれるかどうかを判定する
+     *
+     * @param array   double配列
+     * @param element 要素
+     * @return 含まれる場合 true。配列がnullと判定された場合は false
+     */
+    public boolean contains(final double[] array, final double element) {
+        if (Objects.isNull(array)) {
+            return false;
+        }
+        return first(array.length, scanner(array, element), false) >= 0;
+    }
+
+    /**
+     * double配列に条件を満たす要素があるかどうかを判定する
+     *
+     * @param array     double配列
+     * @param predicate 条件
+     * @return 条件を満たす要素がある場合 true。配列がnullと判定された場合は false
+     */
+    public boolean anyMatch(final double[] array, final DoublePredicate predicate) {
+        Objects.requireNonNull(predicate, "条件がnullです");
+        if (Objects.isNull(array)) {
+            return false;
+        }
+        return first(array.length, scanner(array, predicate), false) >= 0;
+    }
+
+    /**
+     * double配列から指定した要素の全ての位置を昇順で返却する
+     *
+     * @param array   double配列
+     * @param element 位置を取得したい要素
+     * @return 要素の位置。配列がnullと判定された場合は空の配列
+     */
+    public int[] findIndexes(final double[] array, final double element) {
+        if (Objects.isNull(array)) {
+            return new int[0];
+        }
+        return all(array.length, scanner(array, element));
+    }
+
+    /**
+     * double配列から条件を満たす全ての要素の位置を昇順で返却する
+     *
+     * @param array     double配列
+     * @param predicate 条件
+     * @return 要素の位置。配列がnullと判定された場合は空の配列
+     */
+    public int[] findIndexesIf(final double[] array, final DoublePredicate predicate) {
+        Objects.requireNonNull(predicate, "条件がnullです");
+        if (Objects.isNull(array)) {
+            return new int[0];
+        }
+        return all(array.length, scanner(array, predicate));
+    }
+
+    /**
+     * double配列から条件を満たす要素を、元の順序のまま新しい配列に格納する
+     *
+     * @param array     double配列
+     * @param predicate 条件
+     * @return 条件を満たす要素の配列。配列がnullと判定された場合はnull
+     */
+    public double[] filter(final double[] array, final DoublePredicate predicate) {
+        final int[] indexes = findIndexesIf(array, predicate);
+        if (Objects.isNull(array)) {
+            return null;
+        }
+
+        final double[] result = new double[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            result[i] = array[indexes[i]];
+        }
+        return result;
+    }
+
+    private static Scanner scanner(final Object[] array, final Object element) {
+        return (from, to) -> {
+            for (int i = from; i < to; i++) {
+                if (Objects.equals(array[i], element)) {
+                    return i;
+                }
+            }
+            return -1;
+        };
+    }
+
+    private static <T> Scanner scanner(final T[] array, final Predicate<? super T> predicate) {
+        return (from, to) -> {
+            for (int i = from; i < to; i++) {
+                if (predicate.test(array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        };
+    }
+
+    private static Scanner scanner(final int[] array, final int element) {
+        return (from, to) -> {
+            for (int i = from; i < to; i++) {
+                if (array[i] == element) {
+                    return i;
+                }
+            }
+            return -1;
+        };
+    }
+
+    private static Scanner scanner(final int[] array, final IntPredicate predicate) {
+        return (from, to) -> {
+            for (int i = from; i < to; i++) {
+                if (predicate.test(array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        };
+    }
+
+    private static Scanner scanner(final long[] array, final long element) {
+        return (from, to) -> {
+            for (int i = from; i < to; i++) {
+                if (array[i] == element) {
+                    return i;
+                }
+            }
+            return -1;
+        };
+    }
+
+    private static Scanner scanner(final long[] array, final LongPredicate predicate) {
+        return (from, to) -> {
+            for (int i = from; i < to; i++) {
+                if (predicate.test(array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        };
+    }
+
+    private static Scanner scanner(final double[] array, final double element) {
+        final long bits = Double.doubleToLongBits(element);
+        return (from, to) -> {
+            for (int i = from; i < to; i++) {
+                if (Double.doubleToLongBits(array[i]) == bits) {
+                    return i;
+                }
+            }
+            return -1;
+        };
+    }
+
+    private static Scanner scanner(final double[] array, final DoublePredicate predicate) {
+        return (from, to) -> {
+            for (int i = from; i < to; i++) {
+                if (predicate.test(array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        };
+    }
+
+    /**
+     * 最初に一致した位置を返却する
+     *
+     * @param length   配列の長さ
+     * @param scanner  走査処理
+     * @param leftmost 最初の位置が必要な場合は true。false の場合はいずれかの位置を返却する
+     * @return 一致した位置。無い場合は -1
+     */
+    private int first(final int length, final Scanner scanner, final boolean leftmost) {
+        if (length <= this.threshold) {
+            return scanner.scan(0, length);
+        }
+
+        final AtomicInteger found = new AtomicInteger(NOT_FOUND);
+        this.pool.invoke(new FirstTask(scanner, length, this.threshold, leftmost, found, 0, chunks(length)));
+        final int index = found.get();
+        return index == NOT_FOUND ? -1 : index;
+    }
+
+    /**
+     * 一致した全ての位置を昇順で返却する
+     *
+     * @param length  配列の長さ
+     * @param scanner 走査処理
+     * @return 一致した位置
+     */
+    private int[] all(final int length, final Scanner scanner) {
+        if (length <= this.threshold) {
+            return AllTask.collect(scanner, 0, length);
+        }
+
+        final int[][] results = new int[chunks(length)][];
+        this.pool.invoke(new AllTask(scanner, length, this.threshold, results, 0, results.length));
+
+        int count = 0;
+        for (int[] indexes : results) {
+            count += indexes.length;
+        }
+        final int[] indexes = new int[count];
+        int offset = 0;
+        for (int[] chunk : results) {
+            System.arraycopy(chunk, 0, indexes, offset, chunk.length);
+            offset += chunk.length;
+        }
+        return indexes;
+    }
+
+    private int chunks(final int length) {
+        return (int) (((long) length + this.threshold - 1) / this.threshold);
+    }
+
+    /**
+     * 配列の範囲を走査する処理
+     */
+    @FunctionalInterface
+    private interface Scanner {
+
+        /**
+         * 範囲内で最初に一致した位置を返却する
+         *
+         * @param from 開始位置
+         * @param to   終了位置(この位置は含まない)
+         * @return 一致した位置。無い場合は -1
+         */
+        int scan(int from, int to);
+    }
+
+    /**
+     * チャンクの範囲を二分して並列に走査する処理の基底クラス
+     */
+    @SuppressWarnings("serial")
+    private abstract static class ChunkTask extends RecursiveAction {
+
+        final Scanner scanner;
+
+        final int length;
+
+        final int threshold;
+
+        final int low;
+
+        final int high;
+
+        ChunkTask(final Scanner scanner, final int length, final int threshold, final int low, final int high) {
+            this.scanner = scanner;
+            this.length = length;
+            this.threshold = threshold;
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        protected final void compute() {
+            if (this.high - this.low == 1) {
+                final int from = this.low * this.threshold;
+                scan(from, (int) Math.min(this.length, (long) from + this.threshold));
+                return;
+            }
+
+            // 後ろ半分を他のスレッドに渡し、前半分を先に走査する
+            final int middle = (this.low + this.high) >>> 1;
+            final ChunkTask right = split(middle, this.high);
+            right.fork();
+            split(this.low, middle).compute();
+            right.join();
+        }
+
+        abstract ChunkTask split(int low, int high);
+
+        abstract void scan(int from, int to);
+    }
+
+    @SuppressWarnings("serial")
+    private static final class FirstTask extends ChunkTask {
+
+        private final boolean leftmost;
+
+        /**
+         * 一致した最小の位置。無い場合は {@link ParallelSearch#NOT_FOUND}
+         */
+        private final AtomicInteger found;
+
+        FirstTask(final Scanner scanner, final int length, final int threshold, final boolean leftmost,
+                final AtomicInteger found, final int low, final int high) {
+            super(scanner, length, threshold, low, high);
+            this.leftmost = leftmost;
+            this.found = found;
+        }
+
+        @Override
+        ChunkTask split(final int low, final int high) {
+            return new FirstTask(this.scanner, this.length, this.threshold, this.leftmost, this.found, low, high);
+        }
+
+        @Override
+        void scan(final int from, final int to) {
+            // 既に前のチャンクで一致している場合は走査しない
+            final int found = this.found.get();
+            if (this.leftmost ? from >= found : found != NOT_FOUND) {
+                return;
+            }
+
+            final int index = this.scanner.scan(from, to);
+            if (index >= 0) {
+                this.found.accumulateAndGet(index, Math::min);
+            }
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static final class AllTask extends ChunkTask {
+
+        /**
+         * チャンク毎の一致した位置
+         */
+        private final int[][] results;
+
+        AllTask(final Scanner scanner, final int length, final int threshold, final int[][] results, final int low,
+                final int high) {
+            super(scanner, length, threshold, low, high);
+            this.results = results;
+        }
+
+        @Override
+        ChunkTask split(final int low, final int high) {
+            return new AllTask(this.scanner, this.length, this.threshold, this.results, low, high);
+        }
+
+        @Override
+        void scan(final int from, final int to) {
+            this.results[this.low] = collect(this.scanner, from, to);
+        }
+
+        static int[] collect(final Scanner scanner, final int from, final int to) {
+            final PrimitiveArrayBuilder.OfInt indexes = new PrimitiveArrayBuilder.OfInt();
+            for (int index = scanner.scan(from, to); index >= 0; index = scanner.scan(index + 1, to)) {
+                indexes.push(index);
+            }
+            return indexes.toArray();
+        }
+    }
+
+    /**
+     * {@link ParallelSearch} のビルダー
+     */
+    public static final class Builder {
+
+        private int threshold = DEFAULT_THRESHOLD;
+
+        private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+        private Builder() {
+        }
+
+        /**
+         * チャンクの長さを設定する。配列の長さがこの値以下の場合は並列化しない。デフォルトは {@value ParallelSearch#DEFAULT_THRESHOLD}
+         *
+         * @param threshold チャンクの長さ
+         * @return このビルダー
+         * @throws IllegalArgumentException チャンクの長さが1未満の場合にthrowする
+         */
+        public Builder threshold(final int threshold) {
+            if (threshold < 1) {
+                throw new IllegalArgumentException("チャンクの長さは1以上を指定してください: " + threshold);
+            }
+            this.threshold = threshold;
+            return this;
+        }
+
+        /**
+         * 検索に使用する {@link ForkJoinPool} を設定する。デフォルトは {@link ForkJoinPool#commonPool()}
+         *
+         * @param pool {@link ForkJoinPool}
+         * @return このビルダー
+         */
+        public Builder pool(final ForkJoinPool pool) {
+            this.pool = Objects.requireNonNull(pool, "ForkJoinPoolがnullです");
+            return this;
+        }
+
+        /**
+         * インスタンスを生成する
+         *
+         * @return インスタンス
+         */
+        public ParallelSearch build() {
+            return new ParallelSearch(this);
+        }
+    }
+}
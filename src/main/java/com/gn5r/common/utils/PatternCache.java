@@ -0,0 +1,225 @@
+package com.gn5r.common.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * <p>
+ * コンパイル済み {@link Pattern} のキャッシュクラス
+ * </p>
+ *
+ * <p>
+ * 正規表現文字列とフラグの組み合わせ毎にコンパイル済みの {@link Pattern} を保持し、上限件数を超えた場合は最も長く使用されていないものから破棄する(LRU)。
+ * ヒット数、ミス数、破棄数を記録するので、上限件数が足りているかどうかを確認できる
+ * </p>
+ *
+ * <pre>
+ * Pattern pattern = PatternCache.getDefault().get("[0-9]+");
+ * PatternCache.getDefault().getHitCount();
+ * </pre>
+ *
+ * <p>
+ * インスタンスはスレッドセーフで、{@link StringUtil#substring(String, String)} は {@link #getDefault()}
+ * のインスタンスを使用する。コンパイルはロックの外で行うので、同じ正規表現が同時に要求された場合は複数回コンパイルされることがある
+ * </p>
+ *
+ * @author gn5r
+ * @since 0.3.9
+ */
+public final class PatternCache {
+
+    /**
+     * デフォルトの上限件数
+     */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private static final PatternCache DEFAULT = new PatternCache(DEFAULT_CAPACITY);
+
+    private final Map<Key, Pattern> patterns = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private int capacity;
+
+    /**
+     * キャッシュを生成する
+     *
+     * @param capacity 上限件数
+     * @throws IllegalArgumentException 上限件数が1未満の場合にthrowする
+     */
+    public PatternCache(final int capacity) {
+        this.capacity = checkCapacity(capacity);
+    }
+
+    /**
+     * {@link StringUtil} が使用するキャッシュを取得する
+     *
+     * @return キャッシュ
+     */
+    public static PatternCache getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * 正規表現をコンパイルした {@link Pattern} を取得する
+     *
+     * @param regex 正規表現
+     * @return コンパイル済みの {@link Pattern}
+     * @throws java.util.regex.PatternSyntaxException 正規表現の構文が正しくない場合にthrowする
+     */
+    public Pattern get(final String regex) {
+        return get(regex, 0);
+    }
+
+    /**
+     * 正規表現をフラグ付きでコンパイルした {@link Pattern} を取得する
+     *
+     * @param regex 正規表現
+     * @param flags {@link Pattern#compile(String, int)} のフラグ
+     * @return コンパイル済みの {@link Pattern}
+     * @throws java.util.regex.PatternSyntaxException 正規表現の構文が正しくない場合にthrowする
+     */
+    public Pattern get(final String regex, final int flags) {
+        Objects.requireNonNull(regex, "正規表現がnullです");
+
+        final Key key = new Key(regex, flags);
+        Pattern pattern;
+        synchronized (this) {
+            pattern = this.patterns.get(key);
+        }
+
+        if (Objects.nonNull(pattern)) {
+            this.hits.increment();
+            return pattern;
+        }
+
+        this.misses.increment();
+        pattern = Pattern.compile(regex, flags);
+
+        synchronized (this) {
+            this.patterns.put(key, pattern);
+            evict();
+        }
+
+        return pattern;
+    }
+
+    /**
+     * 上限件数を取得する
+     *
+     * @return 上限件数
+     */
+    public synchronized int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * 上限件数を変更する。現在の件数が上限件数を超える場合は古いものから破棄する
+     *
+     * @param capacity 上限件数
+     * @throws IllegalArgumentException 上限件数が1未満の場合にthrowする
+     */
+    public synchronized void setCapacity(final int capacity) {
+        this.capacity = checkCapacity(capacity);
+        evict();
+    }
+
+    /**
+     * キャッシュしている件数を取得する
+     *
+     * @return 件数
+     */
+    public synchronized int size() {
+        return this.patterns.size();
+    }
+
+    /**
+     * キャッシュを空にする。ヒット数、ミス数、破棄数は変更しない
+     */
+    public synchronized void clear() {
+        this.patterns.clear();
+    }
+
+    /**
+     * キャッシュにあった回数を取得する
+     *
+     * @return ヒット数
+     */
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    /**
+     * キャッシュに無くコンパイルした回数を取得する
+     *
+     * @return ミス数
+     */
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    /**
+     * 上限件数を超えて破棄した回数を取得する
+     *
+     * @return 破棄数
+     */
+    public long getEvictionCount() {
+        return this.evictions.sum();
+    }
+
+    /**
+     * 上限件数を超えた分を最も長く使用されていないものから破棄する。ロックを取得してから呼び出す
+     */
+    private void evict() {
+        while (this.patterns.size() > this.capacity) {
+            this.patterns.remove(this.patterns.keySet().iterator().next());
+            this.evictions.increment();
+        }
+    }
+
+    private static int checkCapacity(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("上限件数は1以上を指定してください: " + capacity);
+        }
+        return capacity;
+    }
+
+    /**
+     * 正規表現とフラグの組み合わせ
+     */
+    private static final class Key {
+
+        private final String regex;
+
+        private final int flags;
+
+        Key(final String regex, final int flags) {
+            this.regex = regex;
+            this.flags = flags;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return this.flags == other.flags && this.regex.equals(other.regex);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.regex.hashCode() + this.flags;
+        }
+    }
+}
@@ -0,0 +1,1472 @@
+package com.gn5r.common.utils;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * <p>
+ * 要素を1つずつ追加してプリミティブ型の配列を作成するクラス
+ * </p>
+ *
+ * <p>
+ * {@link ArrayBuilder} のプリミティブ型版で、要素をボクシングせずにプリミティブ型の配列に直接格納する。
+ * 内部の配列を倍々に拡張し、先頭側にも空きを持たせるので、末尾への追加・先頭への追加とも償却O(1)で行える。
+ * 拡張、一括追加、{@code toArray()} は {@link System#arraycopy(Object, int, Object, int, int)} でコピーする
+ * </p>
+ *
+ * <pre>
+ * PrimitiveArrayBuilder.OfLong timestamps = new PrimitiveArrayBuilder.OfLong(1 &lt;&lt; 20);
+ * for (Event event : events) {
+ *   timestamps.push(event.getTimestamp());
+ * }
+ * long[] array = timestamps.toArray();
+ * </pre>
+ *
+ * <p>
+ * 型毎に {@link OfBoolean}、{@link OfByte}、{@link OfChar}、{@link OfShort}、{@link OfInt}、{@link OfLong}、{@link OfFloat}、
+ * {@link OfDouble} を使用する。インスタンスはスレッドセーフではない
+ * </p>
+ *
+ * @author gn5r
+ * @since 0.3.9
+ * @see ArrayBuilder
+ * @see ArrayUtil#builder(long[])
+ */
+public abstract class PrimitiveArrayBuilder {
+
+    /**
+     * デフォルトの初期容量
+     */
+    public static final int DEFAULT_CAPACITY = 10;
+
+    /**
+     * 配列の最大長。VMによってはヘッダ分だけ {@link Integer#MAX_VALUE} より小さい
+     */
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    /**
+     * 先頭の要素の位置
+     */
+    int head;
+
+    int size;
+
+    PrimitiveArrayBuilder() {
+    }
+
+    /**
+     * 要素数を取得する
+     *
+     * @return 要素数
+     */
+    public final int size() {
+        return this.size;
+    }
+
+    /**
+     * 要素が無いかどうかを判定する
+     *
+     * @return 要素が無い場合 true
+     */
+    public final boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * 内部の配列の長さを返却する
+     */
+    abstract int capacity();
+
+    /**
+     * 指定した長さの配列を生成し、要素をコピーして内部の配列と置き換える
+     */
+    abstract void resize(int capacity, int head);
+
+    /**
+     * 初期値の配列の長さから内部の配列の初期容量を求める
+     */
+    static int initialCapacity(final int length) {
+        return Math.max(DEFAULT_CAPACITY, length + (length >> 1));
+    }
+
+    static void checkCapacity(final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("初期容量は0以上を指定してください: " + capacity);
+        }
+    }
+
+    final void checkIndex(final int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        }
+    }
+
+    /**
+     * 先頭側、末尾側に指定した数の空きを確保する。足りない場合は容量を倍以上に拡張し、足りなかった側に拡張した分の空きを割り当てる
+     *
+     * @param front 先頭側に必要な空き
+     * @param back  末尾側に必要な空き
+     */
+    final void ensureRoom(final int front, final int back) {
+        final int length = capacity();
+        final int freeFront = this.head;
+        final int freeBack = length - this.head - this.size;
+        if (freeFront >= front && freeBack >= back) {
+            return;
+        }
+
+        final long required = (long) this.size + Math.max(front, freeFront) + Math.max(back, freeBack);
+        if (required > MAX_ARRAY_SIZE) {
+            throw new OutOfMemoryError("要素数が配列の最大長を超えます: " + required);
+        }
+        final int capacity = (int) Math.min(MAX_ARRAY_SIZE,
+                Math.max(required, Math.max(DEFAULT_CAPACITY, (long) length * 2)));
+
+        // 先頭側が足りない場合は末尾側の空きを保ち、拡張した分を先頭側に割り当てる
+        resize(capacity, freeFront < front ? capacity - this.size - Math.max(back, freeBack) : freeFront);
+    }
+
+    /**
+     * boolean配列を作成する {@link PrimitiveArrayBuilder}
+     */
+    public static final class OfBoolean extends PrimitiveArrayBuilder {
+
+        private boolean[] elements;
+
+        /**
+         * インスタンスを生成する
+         */
+        public OfBoolean() {
+            this(DEFAULT_CAPACITY);
+        }
+
+        /**
+         * インスタンスを生成する
+         *
+         * @param capacity 初期容量
+         * @throws IllegalArgumentException 初期容量が負の場合にthrowする
+         */
+        public OfBoolean(final int capacity) {
+            checkCapacity(capacity);
+            this.elements = new boolean[capacity];
+        }
+
+        /**
+         * 配列の要素を初期値とするインスタンスを生成する
+         *
+         * @param array 初期値の配列
+         * @return インスタンス
+         */
+        public static OfBoolean from(final boolean[] array) {
+            Objects.requireNonNull(array, "配列がnullです");
+            final OfBoolean builder = new OfBoolean(initialCapacity(array.length));
+            System.arraycopy(array, 0, builder.elements, 0, array.length);
+            builder.size = array.length;
+            return builder;
+        }
+
+        /**
+         * 末尾に要素を追加する
+         *
+         * @param element 追加したい要素
+         * @return このインスタンス
+         */
+        public OfBoolean push(final boolean element) {
+            ensureRoom(0, 1);
+            this.elements[this.head + this.size++] = element;
+            return this;
+        }
+
+        /**
+         * 末尾に1つ以上の要素を追加する
+         * <p>
+         * 追加したい要素がnullと判定された場合は何もしない
+         * </p>
+         *
+         * @param elements 追加したい要素
+         * @return このインスタンス
+         */
+        public OfBoolean pushAll(final boolean... elements) {
+            if (Objects.nonNull(elements) && elements.length > 0) {
+                ensureRoom(0, elements.length);
+                System.arraycopy(elements, 0, this.elements, this.head + this.size, elements.length);
+                this.size += elements.length;
+            }
+            return this;
+        }
+
+        /**
+         * 先頭に要素を追加する
+         *
+         * @param element 追加したい要素
+         * @return このインスタンス
+         */
+        public OfBoolean unshift(final boolean element) {
+            ensureRoom(1, 0);
+            this.elements[--this.head] = element;
+            this.size++;
+            return this;
+        }
+
+        /**
+         * 先頭に1つ以上の要素を、引数の順序のまま追加する
+         * <p>
+         * 追加したい要素がnullと判定された場合は何もしない
+         * </p>
+         *
+         * @param elements 追加したい要素
+         * @return このインスタンス
+         */
+        public OfBoolean unshiftAll(final boolean... elements) {
+            if (Objects.nonNull(elements) && elements.length > 0) {
+                ensureRoom(elements.length, 0);
+                this.head -= elements.length;
+                System.arraycopy(elements, 0, this.elements, this.head, elements.length);
+                this.size += elements.length;
+            }
+            return this;
+        }
+
+        /**
+         * 指定した位置の要素を取得する
+         *
+         * @param index 位置
+         * @return 要素
+         * @throws IndexOutOfBoundsException 位置が範囲外の場合にthrowする
+         */
+        public boolean get(final int index) {
+            checkIndex(index);
+            return this.elements[this.head + index];
+        }
+
+        /**
+         * 指定した位置の要素を置き換える
+         *
+         * @param index   位置
+         * @param element 要素
+         * @return 置き換える前の要素
+         * @throws IndexOutOfBoundsException 位置が範囲外の場合にthrowする
+         */
+        public boolean set(final int index, final boolean element) {
+            final boolean previous = get(index);
+            this.elements[this.head + index] = element;
+            return previous;
+        }
+
+        /**
+         * 全ての要素を削除する。容量は解放しない
+         *
+         * @return このインスタンス
+         */
+        public OfBoolean clear() {
+            this.head = 0;
+            this.size = 0;
+            return this;
+        }
+
+        /**
+         * boolean配列を作成する
+         *
+         * @return 追加した順(先頭への追加は先頭)に要素を格納した新しい配列
+         */
+        public boolean[] toArray() {
+            final boolean[] array = new boolean[this.size];
+            System.arraycopy(this.elements, this.head, array, 0, this.size);
+            return array;
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(toArray());
+        }
+
+        @Override
+        int capacity() {
+            return this.elements.length;
+        }
+
+        @Override
+        void resize(final int capacity, final int head) {
+            final boolean[] elements = new boolean[capacity];
+            System.arraycopy(this.elements, this.head, elements, head, this.size);
+            this.elements = elements;
+            this.head = head;
+        }
+    }
+
+    /**
+     * byte配列を作成する {@link PrimitiveArrayBuilder}
+     */
+    public static final class OfByte extends PrimitiveArrayBuilder {
+
+        private byte[] elements;
+
+        /**
+         * インスタンスを生成する
+         */
+        public OfByte() {
+            this(DEFAULT_CAPACITY);
+        }
+
+        /**
+         * インスタンスを生成する
+         *
+         * @param capacity 初期容量
+         * @throws IllegalArgumentException 初期容量が負の場合にthrowする
+         */
+        public OfByte(final int capacity) {
+            checkCapacity(capacity);
+            this.elements = new byte[capacity];
+        }
+
+        /**
+         * 配列の要素を初期値とするインスタンスを生成する
+         *
+         * @param array 初期値の配列
+         * @return インスタンス
+         */
+        public static OfByte from(final byte[] array) {
+            Objects.requireNonNull(array, "配列がnullです");
+            final OfByte builder = new OfByte(initialCapacity(array.length));
+            System.arraycopy(array, 0, builder.elements, 0, array.length);
+            builder.size = array.length;
+            return builder;
+        }
+
+        /**
+         * 末尾に要素を追加する
+         *
+         * @param element 追加したい要素
+         * @return このインスタンス
+         */
+        public OfByte push(final byte element) {
+            ensureRoom(0, 1);
+            this.elements[this.head + this.size++] = element;
+            return this;
+        }
+
+        /**
+         * 末尾に1つ以上の要素を追加する
+         * <p>
+         * 追加したい要素がnullと判定された場合は何もしない
+         * </p>
+         *
+         * @param elements 追加したい要素
+         * @return このインスタンス
+         */
+        public OfByte pushAll(final byte... elements) {
+            if (Objects.nonNull(elements) && elements.length > 0) {
+                ensureRoom(0, elements.length);
+                System.arraycopy(elements, 0, this.elements, this.head + this.size, elements.length);
+                this.size += elements.length;
+            }
+            return this;
+        }
+
+        /**
+         * 先頭に要素を追加する
+         *
+         * @param element 追加したい要素
+         * @return このインスタンス
+         */
+        public OfByte unshift(final byte element) {
+            ensureRoom(1, 0);
+            this.elements[--this.head] = element;
+            this.size++;
+            return this;
+        }
+
+        /**
+         * 先頭に1つ以上の要素を、引数の順序のまま追加する
+         * <p>
+         * 追加したい要素がnullと判定された場合は何もしない
+         * </p>
+         *
+         * @param elements 追加したい要素
+         * @return このインスタンス
+         */
+        public OfByte unshiftAll(final byte... elements) {
+            if (Objects.nonNull(elements) && elements.length > 0) {
+                ensureRoom(elements.length, 0);
+                this.head -= elements.length;
+                System.arraycopy(elements, 0, this.elements, this.head, elements.length);
+                this.size += elements.length;
+            }
+            return this;
+        }
+
+        /**
+         * 指定した位置の要素を取得する
+         *
+         * @param index 位置
+         * @return 要素
+         * @throws IndexOutOfBoundsException 位置が範囲外の場合にthrowする
+         */
+        public byte get(final int index) {
+            checkIndex(index);
+            return this.elements[this.head + index];
+        }
+
+        /**
+         * 指定した位置の要素を置き換える
+         *
+         * @param index   位置
+         * @param element 要素
+         * @return 置き換える前の要素
+         * @throws IndexOutOfBoundsException 位置が範囲外の場合にthrowする
+         */
+        public byte set(final int index, final byte element) {
+            final byte previous = get(index);
+            this.elements[this.head + index] = element;
+            return previous;
+        }
+
+        /**
+         * 全ての要素を削除する。容量は解放しない
+         *
+         * @return このインスタンス
+         */
+        public OfByte clear() {
+            this.head = 0;
+            this.size = 0;
+            return this;
+        }
+
+        /**
+         * byte配列を作成する
+         *
+         * @return 追加した順(先頭への追加は先頭)に要素を格納した新しい配列
+         */
+        public byte[] toArray() {
+            final byte[] array = new byte[this.size];
+            System.arraycopy(this.elements, this.head, array, 0, this.size);
+            return array;
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(toArray());
+        }
+
+        @Override
+        int capacity() {
+            return this.elements.length;
+        }
+
+        @Override
+        void resize(final int capacity, final int head) {
+            final byte[] elements = new byte[capacity];
+            System.arraycopy(this.elements, this.head, elements, head, this.size);
+            this.elements = elements;
+            this.head = head;
+        }
+    }
+
+    /**
+     * char配列を作成する {@link PrimitiveArrayBuilder}
+     */
+    public static final class OfChar extends PrimitiveArrayBuilder {
+
+        private char[] elements;
+
+        /**
+         * インスタンスを生成する
+         */
+        public OfChar() {
+            this(DEFAULT_CAPACITY);
+        }
+
+        /**
+         * インスタンスを生成する
+         *
+         * @param capacity 初期容量
+         * @throws IllegalArgumentException 初期容量が負の場合にthrowする
+         */
+        public OfChar(final int capacity) {
+            checkCapacity(capacity);
+            this.elements = new char[capacity];
+        }
+
+        /**
+         * 配列の要素を初期値とするインスタンスを生成する
+         *
+         * @param array 初期値の配列
+         * @return インスタンス
+         */
+        public static OfChar from(final char[] array) {
+            Objects.requireNonNull(array, "配列がnullです");
+            final OfChar builder = new OfChar(initialCapacity(array.length));
+            System.arraycopy(array, 0, builder.elements, 0, array.length);
+            builder.size = array.length;
+            return builder;
+        }
+
+        /**
+         * 末尾に要素を追加する
+         *
+         * @param element 追加したい要素
+         * @return このインスタンス
+         */
+        public OfChar push(final char element) {
+            ensureRoom(0, 1);
+            this.elements[this.head + this.size++] = element;
+            return this;
+        }
+
+        /**
+         * 末尾に1つ以上の要素を追加する
+         * <p>
+         * 追加したい要素がnullと判定された場合は何もしない
+         * </p>
+         *
+         * @param elements 追加したい要素
+         * @return このインスタンス
+         */
+        public OfChar pushAll(final char... elements) {
+            if (Objects.nonNull(elements) && elements.length > 0) {
+                ensureRoom(0, elements.length);
+                System.arraycopy(elements, 0, this.elements, this.head + this.size, elements.length);
+                this.size += elements.length;
+            }
+            return this;
+        }
+
+        /**
+         * 先頭に要素を追加する
+         *
+         * @param element 追加したい要素
+         * @return このインスタンス
+         */
+        public OfChar unshift(final char element) {
+            ensureRoom(1, 0);
+            this.elements[--this.head] = element;
+            this.size++;
+            return this;
+        }
+
+        /**
+         * 先頭に1つ以上の要素を、引数の順序のまま追加する
+         * <p>
+         * 追加したい要素がnullと判定された場合は何もしない
+         * </p>
+         *
+         * @param elements 追加したい要素
+         * @return このインスタンス
+         */
+        public OfChar unshiftAll(final char... elements) {
+            if (Objects.nonNull(elements) && elements.length > 0) {
+                ensureRoom(elements.length, 0);
+                this.head -= elements.length;
+                System.arraycopy(elements, 0, this.elements, this.head, elements.length);
+                this.size += elements.length;
+            }
+            return this;
+        }
+
+        /**
+         * 指定した位置の要素を取得する
+         *
+         * @param index 位置
+         * @return 要素
+         * @throws IndexOutOfBoundsException 位置が範囲外の場合にthrowする
+         */
+        public char get(final int index) {
+            checkIndex(index);
+            return this.elements[this.head + index];
+        }
+
+        /**
+         * 指定した位置の要素を置き換える
+         *
+         * @param index   位置
+         * @param element 要素
+         * @return 置き換える前の要素
+         * @throws IndexOutOfBoundsException 位置が範囲外の場合にthrowする
+         */
+        public char set(final int index, final char element) {
+            final char previous = get(index);
+            this.elements[this.head + index] = element;
+            return previous;
+        }
+
+        /**
+         * 全ての要素を削除する。容量は解放しない
+         *
+         * @return このインスタンス
+         */
+        public OfChar clear() {
+            this.head = 0;
+            this.size = 0;
+            return this;
+        }
+
+        /**
+         * char配列を作成する
+         *
+         * @return 追加した順(先頭への追加は先頭)に要素を格納した新しい配列
+         */
+        public char[] toArray() {
+            final char[] array = new char[this.size];
+            System.arraycopy(this.elements, this.head, array, 0, this.size);
+            return array;
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(toArray());
+        }
+
+        @Override
+        int capacity() {
+            return this.elements.length;
+        }
+
+        @Override
+        void resize(final int capacity, final int head) {
+            final char[] elements = new char[capacity];
+            System.arraycopy(this.elements, this.head, elements, head, this.size);
+            this.elements = elements;
+            this.head = head;
+        }
+    }
+
+    /**
+     * short配列を作成する {@link PrimitiveArrayBuilder}
+     */
+    public static final class OfShort extends PrimitiveArrayBuilder {
+
+        private short[] elements;
+
+        /**
+         * インスタンスを生成する
+         */
+        public OfShort() {
+            this(DEFAULT_CAPACITY);
+        }
+
+        /**
+         * インスタンスを生成する
+         *
+         * @param capacity 初期容量
+         * @throws IllegalArgumentException 初期容量が負の場合にthrowする
+         */
+        public OfShort(final int capacity) {
+            checkCapacity(capacity);
+            this.elements = new short[capacity];
+        }
+
+        /**
+         * 配列の要素を初期値とするインスタンスを生成する
+         *
+         * @param array 初期値の配列
+         * @return インスタンス
+         */
+        public static OfShort from(final short[] array) {
+            Objects.requireNonNull(array, "配列がnullです");
+            final OfShort builder = new OfShort(initialCapacity(array.length));
+            System.arraycopy(array, 0, builder.elements, 0, array.length);
+            builder.size = array.length;
+            return builder;
+        }
+
+        /**
+         * 末尾に要素を追加する
+         *
+         * @param element 追加したい要素
+         * @return このインスタンス
+         */
+        public OfShort push(final short element) {
+            ensureRoom(0, 1);
+            this.elements[this.head + this.size++] = element;
+            return this;
+        }
+
+        /**
+         * 末尾に1つ以上の要素を追加する
+         * <p>
+         * 追加したい要素がnullと判定された場合は何もしない
+         * </p>
+         *
+         * @param elements 追加したい要素
+         * @return このインスタンス
+         */
+        public OfShort pushAll(final short... elements) {
+            if (Objects.nonNull(elements) && elements.length > 0) {
+                ensureRoom(0, elements.length);
+                System.arraycopy(elements, 0, this.elements, this.head + this.size, elements.length);
+                this.size += elements.length;
+            }
+            return this;
+        }
+
+        /**
+         * 先頭に要素を追加する
+         *
+         * @param element 追加したい要素
+         * @return このインスタンス
+         */
+        public OfShort unshift(final short element) {
+            ensureRoom(1, 0);
+            this.elements[--this.head] = element;
+            this.size++;
+            return this;
+        }
+
+        /**
+         * 先頭に1つ以上の要素を、引数の順序のまま追加する
+         * <p>
+         * 追加したい要素がnullと判定された場合は何もしない
+         * </p>
+         *
+         * @param elements 追加したい要素
+         * @return このインスタンス
+         */
+        public OfShort unshiftAll(final short... elements) {
+            if (Objects.nonNull(elements) && elements.length > 0) {
+                ensureRoom(elements.length, 0);
+                this.head -= elements.length;
+                System.arraycopy(elements, 0, this.elements, this.head, elements.length);
+                this.size += elements.length;
+            }
+            return this;
+        }
+
+        /**
+         * 指定した位置の要素を取得する
+         *
+         * @param index 位置
+         * @return 要素
+         * @throws IndexOutOfBoundsException 位置が範囲外の場合にthrowする
+         */
+        public short get(final int index) {
+            checkIndex(index);
+            return this.elements[this.head + index];
+        }
+
+        /**
+         * 指定した位置の要素を置き換える
+         *
+         * @param index   位置
+         * @param element 要素
+         * @return 置き換える前の要素
+         * @throws IndexOutOfBoundsException 位置が範囲外の場合にthrowする
+         */
+        public short set(final int index, final short element) {
+            final short previous = get(index);
+            this.elements[this.head + index] = element;
+            return previous;
+        }
+
+        /**
+         * 全ての要素を削除する。容量は解放しない
+         *
+         * @return このインスタンス
+         */
+        public OfShort clear() {
+            this.head = 0;
+            this.size = 0;
+            return this;
+        }
+
+        /**
+         * short配列を作成する
+         *
+         * @return 追加した順(先頭への追加は先頭)に要素を格納した新しい配列
+         */
+        public short[] toArray() {
+            final short[] array = new short[this.size];
+            System.arraycopy(this.elements, this.head, array, 0, this.size);
+            return array;
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(toArray());
+        }
+
+        @Override
+        int capacity() {
+            return this.elements.length;
+        }
+
+        @Override
+        void resize(final int capacity, final int head) {
+            final short[] elements = new short[capacity];
+            System.arraycopy(this.elements, this.head, elements, head, this.size);
+            this.elements = elements;
+            this.head = head;
+        }
+    }
+
+    /**
+     * int配列を作成する {@link PrimitiveArrayBuilder}
+     */
+    public static final class OfInt extends PrimitiveArrayBuilder {
+
+        private int[] elements;
+
+        /**
+         * インスタンスを生成する
+         */
+        public OfInt() {
+            this(DEFAULT_CAPACITY);
+        }
+
+        /**
+         * インスタンスを生成する
+         *
+         * @param capacity 初期容量
+         * @throws IllegalArgumentException 初期容量が負の場合にthrowする
+         */
+        public OfInt(final int capacity) {
+            checkCapacity(capacity);
+            this.elements = new int[capacity];
+        }
+
+        /**
+         * 配列の要素を初期値とするインスタンスを生成する
+         *
+         * @param array 初期値の配列
+         * @return インスタンス
+         */
+        public static OfInt from(final int[] array) {
+            Objects.requireNonNull(array, "配列がnullです");
+            final OfInt builder = new OfInt(initialCapacity(array.length));
+            System.arraycopy(array, 0, builder.elements, 0, array.length);
+            builder.size = array.length;
+            return builder;
+        }
+
+        /**
+         * 末尾に要素を追加する
+         *
+         * @param element 追加したい要素
+         * @return このインスタンス
+         */
+        public OfInt push(final int element) {
+            ensureRoom(0, 1);
+            this.elements[this.head + this.size++] = element;
+            return this;
+        }
+
+        /**
+         * 末尾に1つ以上の要素を追加する
+         * <p>
+         * 追加したい要素がnullと判定された場合は何もしない
+         * </p>
+         *
+         * @param elements 追加したい要素
+         * @return このインスタンス
+         */
+        public OfInt pushAll(final int... elements) {
+            if (Objects.nonNull(elements) && elements.length > 0) {
+                ensureRoom(0, elements.length);
+                System.arraycopy(elements, 0, this.elements, this.head + this.size, elements.length);
+                this.size += elements.length;
+            }
+            return this;
+        }
+
+        /**
+         * 先頭に要素を追加する
+         *
+         * @param element 追加したい要素
+         * @return このインスタンス
+         */
+        public OfInt unshift(final int element) {
+            ensureRoom(1, 0);
+            this.elements[--this.head] = element;
+            this.size++;
+            return this;
+        }
+
+        /**
+         * 先頭に1つ以上の要素を、引数の順序のまま追加する
+         * <p>
+         * 追加したい要素がnullと判定された場合は何もしない
+         * </p>
+         *
+         * @param elements 追加したい要素
+         * @return このインスタンス
+         */
+        public OfInt unshiftAll(final int... elements) {
+            if (Objects.nonNull(elements) && elements.length > 0) {
+                ensureRoom(elements.length, 0);
+                this.head -= elements.length;
+                System.arraycopy(elements, 0, this.elements, this.head, elements.length);
+                this.size += elements.length;
+            }
+            return this;
+        }
+
+        /**
+         * 指定した位置の要素を取得する
+         *
+         * @param index 位置
+         * @return 要素
+         * @throws IndexOutOfBoundsException 位置が範囲外の場合にthrowする
+         */
+        public int get(final int index) {
+            checkIndex(index);
+            return this.elements[this.head + index];
+        }
+
+        /**
+         * 指定した位置の要素を置き換える
+         *
+         * @param index   位置
+         * @param element 要素
+         * @return 置き換える前の要素
+         * @throws IndexOutOfBoundsException 位置が範囲外の場合にthrowする
+         */
+        public int set(final int index, final int element) {
+            final int previous = get(index);
+            this.elements[this.head + index] = element;
+            return previous;
+        }
+
+        /**
+         * 全ての要素を削除する。容量は解放しない
+         *
+         * @return このインスタンス
+         */
+        public OfInt clear() {
+            this.head = 0;
+            this.size = 0;
+            return this;
+        }
+
+        /**
+         * int配列を作成する
+         *
+         * @return 追加した順(先頭への追加は先頭)に要素を格納した新しい配列
+         */
+        public int[] toArray() {
+            final int[] array = new int[this.size];
+            System.arraycopy(this.elements, this.head, array, 0, this.size);
+            return array;
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(toArray());
+        }
+
+        @Override
+        int capacity() {
+            return this.elements.length;
+        }
+
+        @Override
+        void resize(final int capacity, final int head) {
+            final int[] elements = new int[capacity];
+            System.arraycopy(this.elements, this.head, elements, head, this.size);
+            this.elements = elements;
+            this.head = head;
+        }
+    }
+
+    /**
+     * long配列を作成する {@link PrimitiveArrayBuilder}
+     */
+    public static final class OfLong extends PrimitiveArrayBuilder {
+
+        private long[] elements;
+
+        /**
+         * インスタンスを生成する
+         */
+        public OfLong() {
+            this(DEFAULT_CAPACITY);
+        }
+
+        /**
+         * インスタンスを生成する
+         *
+         * @param capacity 初期容量
+         * @throws IllegalArgumentException 初期容量が負の場合にthrowする
+         */
+        public OfLong(final int capacity) {
+            checkCapacity(capacity);
+            this.elements = new long[capacity];
+        }
+
+        /**
+         * 配列の要素を初期値とするインスタンスを生成する
+         *
+         * @param array 初期値の配列
+         * @return インスタンス
+         */
+        public static OfLong from(final long[] array) {
+            Objects.requireNonNull(array, "配列がnullです");
+            final OfLong builder = new OfLong(initialCapacity(array.length));
+            System.arraycopy(array, 0, builder.elements, 0, array.length);
+            builder.size = array.length;
+            return builder;
+        }
+
+        /**
+         * 末尾に要素を追加する
+         *
+         * @param element 追加したい要素
+         * @return このインスタンス
+         */
+        public OfLong push(final long element) {
+            ensureRoom(0, 1);
+            this.elements[this.head + this.size++] = element;
+            return this;
+        }
+
+        /**
+         * 末尾に1つ以上の要素を追加する
+         * <p>
+         * 追加したい要素がnullと判定された場合は何もしない
+         * </p>
+         *
+         * @param elements 追加したい要素
+         * @return このインスタンス
+         */
+        public OfLong pushAll(final long... elements) {
+            if (Objects.nonNull(elements) && elements.length > 0) {
+                ensureRoom(0, elements.length);
+                System.arraycopy(elements, 0, this.elements, this.head + this.size, elements.length);
+                this.size += elements.length;
+            }
+            return this;
+        }
+
+        /**
+         * 先頭に要素を追加する
+         *
+         * @param element 追加したい要素
+         * @return このインスタンス
+         */
+        public OfLong unshift(final long element) {
+            ensureRoom(1, 0);
+            this.elements[--this.head] = element;
+            this.size++;
+            return this;
+        }
+
+        /**
+         * 先頭に1つ以上の要素を、引数の順序のまま追加する
+         * <p>
+         * 追加したい要素がnullと判定された場合は何もしない
+         * </p>
+         *
+         * @param elements 追加したい要素
+         * @return このインスタンス
+         */
+        public OfLong unshiftAll(final long... elements) {
+            if (Objects.nonNull(elements) && elements.length > 0) {
+                ensureRoom(elements.length, 0);
+                this.head -= elements.length;
+                System.arraycopy(elements, 0, this.elements, this.head, elements.length);
+                this.size += elements.length;
+            }
+            return this;
+        }
+
+        /**
+         * 指定した位置の要素を取得する
+         *
+         * @param index 位置
+         * @return 要素
+         * @throws IndexOutOfBoundsException 位置が範囲外の場合にthrowする
+         */
+        public long get(final int index) {
+            checkIndex(index);
+            return this.elements[this.head + index];
+        }
+
+        /**
+         * 指定した位置の要素を置き換える
+         *
+         * @param index   位置
+         * @param element 要素
+         * @return 置き換える前の要素
+         * @throws IndexOutOfBoundsException 位置が範囲外の場合にthrowする
+         */
+        public long set(final int index, final long element) {
+            final long previous = get(index);
+            this.elements[this.head + index] = element;
+            return previous;
+        }
+
+        /**
+         * 全ての要素を削除する。容量は解放しない
+         *
+         * @return このインスタンス
+         */
+        public OfLong clear() {
+            this.head = 0;
+            this.size = 0;
+            return this;
+        }
+
+        /**
+         * long配列を作成する
+         *
+         * @return 追加した順(先頭への追加は先頭)に要素を格納した新しい配列
+         */
+        public long[] toArray() {
+            final long[] array = new long[this.size];
+            System.arraycopy(this.elements, this.head, array, 0, this.size);
+            return array;
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(toArray());
+        }
+
+        @Override
+        int capacity() {
+            return this.elements.length;
+        }
+
+        @Override
+        void resize(final int capacity, final int head) {
+            final long[] elements = new long[capacity];
+            System.arraycopy(this.elements, this.head, elements, head, this.size);
+            this.elements = elements;
+            this.head = head;
+        }
+    }
+
+    /**
+     * float配列を作成する {@link PrimitiveArrayBuilder}
+     */
+    public static final class OfFloat extends PrimitiveArrayBuilder {
+
+        private float[] elements;
+
+        /**
+         * インスタンスを生成する
+         */
+        public OfFloat() {
+            this(DEFAULT_CAPACITY);
+        }
+
+        /**
+         * インスタンスを生成する
+         *
+         * @param capacity 初期容量
+         * @throws IllegalArgumentException 初期容量が負の場合にthrowする
+         */
+        public OfFloat(final int capacity) {
+            checkCapacity(capacity);
+            this.elements = new float[capacity];
+        }
+
+        /**
+         * 配列の要素を初期値とするインスタンスを生成する
+         *
+         * @param array 初期値の配列
+         * @return インスタンス
+         */
+        public static OfFloat from(final float[] array) {
+            Objects.requireNonNull(array, "配列がnullです");
+            final OfFloat builder = new OfFloat(initialCapacity(array.length));
+            System.arraycopy(array, 0, builder.elements, 0, array.length);
+            builder.size = array.length;
+            return builder;
+        }
+
+        /**
+         * 末尾に要素を追加する
+         *
+         * @param element 追加したい要素
+         * @return このインスタンス
+         */
+        public OfFloat push(final float element) {
+            ensureRoom(0, 1);
+            this.elements[this.head + this.size++] = element;
+            return this;
+        }
+
+        /**
+         * 末尾に1つ以上の要素を追加する
+         * <p>
+         * 追加したい要素がnullと判定された場合は何もしない
+         * </p>
+         *
+         * @param elements 追加したい要素
+         * @return このインスタンス
+         */
+        public OfFloat pushAll(final float... elements) {
+            if (Objects.nonNull(elements) && elements.length > 0) {
+                ensureRoom(0, elements.length);
+                System.arraycopy(elements, 0, this.elements, this.head + this.size, elements.length);
+                this.size += elements.length;
+            }
+            return this;
+        }
+
+        /**
+         * 先頭に要素を追加する
+         *
+         * @param element 追加したい要素
+         * @return このインスタンス
+         */
+        public OfFloat unshift(final float element) {
+            ensureRoom(1, 0);
+            this.elements[--this.head] = element;
+            this.size++;
+            return this;
+        }
+
+        /**
+         * 先頭に1つ以上の要素を、引数の順序のまま追加する
+         * <p>
+         * 追加したい要素がnullと判定された場合は何もしない
+         * </p>
+         *
+         * @param elements 追加したい要素
+         * @return このインスタンス
+         */
+        public OfFloat unshiftAll(final float... elements) {
+            if (Objects.nonNull(elements) && elements.length > 0) {
+                ensureRoom(elements.length, 0);
+                this.head -= elements.length;
+                System.arraycopy(elements, 0, this.elements, this.head, elements.length);
+                this.size += elements.length;
+            }
+            return this;
+        }
+
+        /**
+         * 指定した位置の要素を取得する
+         *
+         * @param index 位置
+         * @return 要素
+         * @throws IndexOutOfBoundsException 位置が範囲外の場合にthrowする
+         */
+        public float get(final int index) {
+            checkIndex(index);
+            return this.elements[this.head + index];
+        }
+
+        /**
+         * 指定した位置の要素を置き換える
+         *
+         * @param index   位置
+         * @param element 要素
+         * @return 置き換える前の要素
+         * @throws IndexOutOfBoundsException 位置が範囲外の場合にthrowする
+         */
+        public float set(final int index, final float element) {
+            final float previous = get(index);
+            this.elements[this.head + index] = element;
+            return previous;
+        }
+
+        /**
+         * 全ての要素を削除する。容量は解放しない
+         *
+         * @return このインスタンス
+         */
+        public OfFloat clear() {
+            this.head = 0;
+            this.size = 0;
+            return this;
+        }
+
+        /**
+         * float配列を作成する
+         *
+         * @return 追加した順(先頭への追加は先頭)に要素を格納した新しい配列
+         */
+        public float[] toArray() {
+            final float[] array = new float[this.size];
+            System.arraycopy(this.elements, this.head, array, 0, this.size);
+            return array;
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(toArray());
+        }
+
+        @Override
+        int capacity() {
+            return this.elements.length;
+        }
+
+        @Override
+        void resize(final int capacity, final int head) {
+            final float[] elements = new float[capacity];
+            System.arraycopy(this.elements, this.head, elements, head, this.size);
+            this.elements = elements;
+            this.head = head;
+        }
+    }
+
+    /**
+     * double配列を作成する {@link PrimitiveArrayBuilder}
+     */
+    public static final class OfDouble extends PrimitiveArrayBuilder {
+
+        private double[] elements;
+
+        /**
+         * インスタンスを生成する
+         */
+        public OfDouble() {
+            this(DEFAULT_CAPACITY);
+        }
+
+        /**
+         * インスタンスを生成する
+         *
+         * @param capacity 初期容量
+         * @throws IllegalArgumentException 初期容量が負の場合にthrowする
+         */
+        public OfDouble(final int capacity) {
+            checkCapacity(capacity);
+            this.elements = new double[capacity];
+        }
+
+        /**
+         * 配列の要素を初期値とするインスタンスを生成する
+         *
+         * @param array 初期値の配列
+         * @return インスタンス
+         */
+        public static OfDouble from(final double[] array) {
+            Objects.requireNonNull(array, "配列がnullです");
+            final OfDouble builder = new OfDouble(initialCapacity(array.length));
+            System.arraycopy(array, 0, builder.elements, 0, array.length);
+            builder.size = array.length;
+            return builder;
+        }
+
+        /**
+         * 末尾に要素を追加する
+         *
+         * @param element 追加したい要素
+         * @return このインスタンス
+         */
+        public OfDouble push(final double element) {
+            ensureRoom(0, 1);
+            this.elements[this.head + this.size++] = element;
+            return this;
+        }
+
+        /**
+         * 末尾に1つ以上の要素を追加する
+         * <p>
+         * 追加したい要素がnullと判定された場合は何もしない
+         * </p>
+         *
+         * @param elements 追加したい要素
+         * @return このインスタンス
+         */
+        public OfDouble pushAll(final double... elements) {
+            if (Objects.nonNull(elements) && elements.length > 0) {
+                ensureRoom(0, elements.length);
+                System.arraycopy(elements, 0, this.elements, this.head + this.size, elements.length);
+                this.size += elements.length;
+            }
+            return this;
+        }
+
+        /**
+         * 先頭に要素を追加する
+         *
+         * @param element 追加したい要素
+         * @return このインスタンス
+         */
+        public OfDouble unshift(final double element) {
+            ensureRoom(1, 0);
+            this.elements[--this.head] = element;
+            this.size++;
+            return this;
+        }
+
+        /**
+         * 先頭に1つ以上の要素を、引数の順序のまま追加する
+         * <p>
+         * 追加したい要素がnullと判定された場合は何もしない
+         * </p>
+         *
+         * @param elements 追加したい要素
+         * @return このインスタンス
+         */
+        public OfDouble unshiftAll(final double... elements) {
+            if (Objects.nonNull(elements) && elements.length > 0) {
+                ensureRoom(elements.length, 0);
+                this.head -= elements.length;
+                System.arraycopy(elements, 0, this.elements, this.head, elements.length);
+                this.size += elements.length;
+            }
+            return this;
+        }
+
+        /**
+         * 指定した位置の要素を取得する
+         *
+         * @param index 位置
+         * @return 要素
+         * @throws IndexOutOfBoundsException 位置が範囲外の場合にthrowする
+         */
+        public double get(final int index) {
+            checkIndex(index);
+            return this.elements[this.head + index];
+        }
+
+        /**
+         * 指定した位置の要素を置き換える
+         *
+         * @param index   位置
+         * @param element 要素
+         * @return 置き換える前の要素
+         * @throws IndexOutOfBoundsException 位置が範囲外の場合にthrowする
+         */
+        public double set(final int index, final double element) {
+            final double previous = get(index);
+            this.elements[this.head + index] = element;
+            return previous;
+        }
+
+        /**
+         * 全ての要素を削除する。容量は解放しない
+         *
+         * @return このインスタンス
+         */
+        public OfDouble clear() {
+            this.head = 0;
+            this.size = 0;
+            return this;
+        }
+
+        /**
+         * double配列を作成する
+         *
+         * @return 追加した順(先頭への追加は先頭)に要素を格納した新しい配列
+         */
+        public double[] toArray() {
+            final double[] array = new double[this.size];
+            System.arraycopy(this.elements, this.head, array, 0, this.size);
+            return array;
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(toArray());
+        }
+
+        @Override
+        int capacity() {
+            return this.elements.length;
+        }
+
+        @Override
+        void resize(final int capacity, final int head) {
+            final double[] elements = new double[capacity];
+            System.arraycopy(this.elements, this.head, elements, head, this.size);
+            this.elements = elements;
+            this.head = head;
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package com.gn5r.common.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import com.gn5r.common.utils.ObjectUtil.Difference;
+
+/**
+ * <p>
+ * オブジェクトのフィールドパラメータを記録し、後から変更されたフィールドを検出するクラス
+ * </p>
+ *
+ * <p>
+ * スーパークラスを含むインスタンスフィールドのパラメータを、プリミティブ型はフィールド数分の {@code long} 配列に、参照型は
+ * フィールド数分の {@code Object} 配列に記録する。オブジェクトのコピーは作成しないので、参照先のオブジェクト自体は記録しない(浅い記録)。
+ * 参照型フィールドは参照が異なる場合にだけ {@code equals} で比較し、記録時・判定時に {@code hashCode} を呼び出さない。
+ * そのため、参照先が同じまま中身が変更されたコレクション等は変更なしと判定する。JPAの遅延ロードのプロキシも初期化しない
+ * </p>
+ *
+ * <pre>
+ * Snapshot snapshot = ObjectUtil.snapshot(entity);
+ * service.update(entity);
+ * if (snapshot.isDirty(entity)) {
+ *   List&lt;String&gt; dirty = snapshot.getDirtyFields(entity);
+ * }
+ * </pre>
+ *
+ * @author gn5r
+ * @since 0.3.9
+ * @see ObjectUtil#snapshot(Object, String...)
+ */
+public final class Snapshot {
+
+    /**
+     * 除外フィールドが無い場合のクラス毎のレイアウト
+     */
+    private static final ClassValue<Layout> LAYOUTS = new ClassValue<Layout>() {
+        @Override
+        protected Layout computeValue(final Class<?> type) {
+            return new Layout(FieldMetadata.of(type).getHierarchyFields());
+        }
+    };
+
+    private final Class<?> type;
+
+    private final Layout layout;
+
+    /**
+     * プリミティブ型フィールドのビット列
+     */
+    private final long[] bits;
+
+    /**
+     * 参照型フィールドのパラメータ
+     */
+    private final Object[] values;
+
+    /**
+     * {@link #getStateHash()} で算出したハッシュ値。0 は未算出
+     */
+    private int stateHash;
+
+    private Snapshot(final Object object, final Layout layout) {
+        this.type = object.getClass();
+        this.layout = layout;
+        this.bits = new long[layout.primitives];
+        this.values = new Object[layout.fields.length - layout.primitives];
+
+        for (int i = 0; i < layout.fields.length; i++) {
+            final FieldAccessor field = layout.fields[i];
+            if (field.isPrimitive()) {
+                this.bits[layout.slots[i]] = field.getBits(object);
+            } else {
+                this.values[layout.slots[i]] = field.get(object);
+            }
+        }
+    }
+
+    /**
+     * オブジェクトのフィールドパラメータを記録する
+     *
+     * @param object   オブジェクト
+     * @param excludes 除外フィールド名のString配列
+     * @return スナップショット
+     * @throws NullPointerException オブジェクトが {@code null} の場合にthrowする
+     */
+    public static Snapshot of(final Object object, final String... excludes) {
+        if (Objects.isNull(object)) {
+            throw new NullPointerException("オブジェクトがnullです");
+        }
+
+        final Layout all = LAYOUTS.get(object.getClass());
+        if (Objects.isNull(excludes) || excludes.length == 0) {
+            return new Snapshot(object, all);
+        }
+
+        final List<FieldAccessor> fields = new ArrayList<>();
+        for (FieldAccessor field : all.fields) {
+            if (!FieldMetadata.isExcluded(field.getName(), excludes)) {
+                fields.add(field);
+            }
+        }
+
+        return new Snapshot(object, new Layout(fields.toArray(new FieldAccessor[0])));
+    }
+
+    /**
+     * 記録したオブジェクトのクラスを取得する
+     *
+     * @return クラス
+     */
+    public Class<?> getType() {
+        return this.type;
+    }
+
+    /**
+     * 記録した全フィールドから算出したハッシュ値を取得する
+     * <p>
+     * 同じクラスのスナップショット同士でハッシュ値が異なれば、いずれかのフィールドが異なる。
+     * 参照型フィールドの {@code hashCode} は初回の呼び出し時に呼び出す
+     * </p>
+     *
+     * @return ハッシュ値
+     */
+    public int getStateHash() {
+        int state = this.stateHash;
+        if (state == 0) {
+            state = 1;
+            for (int i = 0; i < this.layout.fields.length; i++) {
+                final int slot = this.layout.slots[i];
+                final int hash = this.layout.fields[i].isPrimitive() ? Long.hashCode(this.bits[slot])
+                        : Objects.hashCode(this.values[slot]);
+                state = 31 * state + hash;
+            }
+            this.stateHash = state;
+        }
+        return state;
+    }
+
+    /**
+     * 記録時から変更されたフィールドがあるかどうかを判定する。最初の変更が見つかった時点で終了する
+     *
+     * @param live 記録したオブジェクト(または同じクラスのオブジェクト)
+     * @return 変更がある場合 true
+     * @throws IllegalArgumentException 記録したオブジェクトと異なるクラスの場合にthrowする
+     */
+    public boolean isDirty(final Object live) {
+        checkType(live);
+
+        for (int i = 0; i < this.layout.fields.length; i++) {
+            if (isDirty(i, live)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * 記録時から変更されたフィールド名を宣言順(スーパークラスが先)に返却する
+     *
+     * @param live 記録したオブジェクト(または同じクラスのオブジェクト)
+     * @return 変更されたフィールド名リスト
+     * @throws IllegalArgumentException 記録したオブジェクトと異なるクラスの場合にthrowする
+     */
+    public List<String> getDirtyFields(final Object live) {
+        checkType(live);
+
+        final List<String> dirty = new ArrayList<>();
+        for (int i = 0; i < this.layout.fields.length; i++) {
+            if (isDirty(i, live)) {
+                dirty.add(this.layout.fields[i].getName());
+            }
+        }
+
+        return dirty;
+    }
+
+    /**
+     * 記録時から変更されたフィールドを {@link Difference} のリストで返却する
+     * <p>
+     * オブジェクトaのパラメータが記録時、オブジェクトbのパラメータが現在の値になる
+     * </p>
+     *
+     * @param live 記録したオブジェクト(または同じクラスのオブジェクト)
+     * @return {@link Difference} 変更フィールドリスト
+     * @throws IllegalArgumentException 記録したオブジェクトと異なるクラスの場合にthrowする
+     */
+    public List<Difference> diff(final Object live) {
+        checkType(live);
+
+        final List<Difference> diff = new ArrayList<>();
+        for (int i = 0; i < this.layout.fields.length; i++) {
+            if (isDirty(i, live)) {
+                final FieldAccessor field = this.layout.fields[i];
+                diff.add(new Difference(field.getName(), getValue(i), field.get(live)));
+            }
+        }
+
+        return diff;
+    }
+
+    /**
+     * 別のスナップショットと比較し、異なるフィールド名を返却する
+     *
+     * @param other 同じクラス、同じ除外フィールドで記録したスナップショット
+     * @return 異なるフィールド名リスト
+     * @throws IllegalArgumentException クラスまたは記録したフィールドが異なる場合にthrowする
+     */
+    public List<String> getDirtyFields(final Snapshot other) {
+        final FieldAccessor[] fields = this.layout.fields;
+        if (this.type != other.type || fields.length != other.layout.fields.length) {
+            throw new IllegalArgumentException("記録したクラスまたはフィールドが異なります");
+        }
+
+        final List<String> dirty = new ArrayList<>();
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] != other.layout.fields[i]) {
+                throw new IllegalArgumentException("記録したクラスまたはフィールドが異なります");
+            }
+
+            final int slot = this.layout.slots[i];
+            final boolean changed;
+            if (fields[i].isPrimitive()) {
+                changed = this.bits[slot] != other.bits[slot];
+            } else {
+                changed = !Objects.equals(this.values[slot], other.values[slot]);
+            }
+            if (changed) {
+                dirty.add(fields[i].getName());
+            }
+        }
+
+        return dirty;
+    }
+
+    /**
+     * 記録したフィールドパラメータを取得する
+     *
+     * @param fieldName フィールド名
+     * @return 記録したパラメータ。プリミティブ型はラッパークラスに変換する
+     * @throws IllegalArgumentException 記録していないフィールド名の場合にthrowする
+     */
+    public Object get(final String fieldName) {
+        for (int i = 0; i < this.layout.fields.length; i++) {
+            if (this.layout.fields[i].getName().equals(fieldName)) {
+                return getValue(i);
+            }
+        }
+
+        throw new IllegalArgumentException("記録していないフィールドです: " + fieldName);
+    }
+
+    private Object getValue(final int i) {
+        final FieldAccessor field = this.layout.fields[i];
+        final int slot = this.layout.slots[i];
+        if (!field.isPrimitive()) {
+            return this.values[slot];
+        }
+
+        return field.fromBits(this.bits[slot]);
+    }
+
+    /**
+     * フィールドが変更されたかどうかを判定する
+     * <p>
+     * 参照型は参照が同じであれば変更なしとし、異なる場合だけ {@code equals} で比較する
+     * </p>
+     */
+    private boolean isDirty(final int i, final Object live) {
+        final FieldAccessor field = this.layout.fields[i];
+        final int slot = this.layout.slots[i];
+
+        if (field.isPrimitive()) {
+            return this.bits[slot] != field.getBits(live);
+        }
+
+        final Object value = field.get(live);
+        final Object recorded = this.values[slot];
+        return value != recorded && !Objects.equals(value, recorded);
+    }
+
+    private void checkType(final Object live) {
+        if (Objects.isNull(live)) {
+            throw new NullPointerException("オブジェクトがnullです");
+        }
+
+        if (live.getClass() != this.type) {
+            throw new IllegalArgumentException("記録したオブジェクトと異なるクラスです: " + live.getClass().getName());
+        }
+    }
+
+    /**
+     * 記録するフィールドと、フィールド毎の {@link #bits}、{@link #values} の位置
+     */
+    private static final class Layout {
+
+        private final FieldAccessor[] fields;
+
+        private final int[] slots;
+
+        /**
+         * プリミティブ型フィールドの数
+         */
+        private final int primitives;
+
+        Layout(final FieldAccessor[] fields) {
+            this.fields = fields;
+            this.slots = new int[fields.length];
+
+            int primitives = 0;
+            int references = 0;
+            for (int i = 0; i < fields.length; i++) {
+                this.slots[i] = fields[i].isPrimitive() ? primitives++ : references++;
+            }
+            this.primitives = primitives;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.gn5r.common.utils;
 
-import java.io.UnsupportedEncodingException;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -14,6 +16,10 @@ import org.apache.commons.lang3.StringUtils;
  *
  * <ul>
  * <li><b>substring</b> - 正規表現にマッチした文字列を切り出す。マッチしなければ {@code null} を返却</li>
+ * <li><b>substringAll</b> - 正規表現にマッチした全ての文字列を切り出す</li>
+ * <li><b>subSequence</b> - 正規表現、バイト数で {@link CharSequence} を切り出す。{@link CharBuffer}
+ * の場合は文字列をコピーせずにビューを返却する</li>
+ * <li><b>keywordMatcher</b> - 複数のキーワードを1回の走査で検索する</li>
  * <li><b>nullToEmpty</b> - 引数で渡された {@link CharSequence} が {@code null} だった場合
  * 空文字("") を返却する</li>
  * </ul>
@@ -33,6 +39,9 @@ public final class StringUtil extends StringUtils {
 
 	/**
 	 * 正規表現にマッチした最初の文字列を切り取る。マッチしなければ {@code null} を返却
+	 * <p>
+	 * コンパイルした正規表現は {@link PatternCache#getDefault()} にキャッシュされる
+	 * </p>
 	 *
 	 * @param str   切り出し元文字列
 	 * @param regex 正規表現
@@ -40,16 +49,190 @@ public final class StringUtil extends StringUtils {
 	 * @since 0.1.0-RELEASE
 	 */
 	public static final String substring(final String str, String regex) {
-		Pattern p = Pattern.compile(regex);
-		Matcher m = p.matcher(str);
+		return substring(str, PatternCache.getDefault().get(regex));
+	}
+
+	/**
+	 * コンパイル済みの正規表現にマッチした最初の文字列を切り取る。マッチしなければ {@code null} を返却
+	 *
+	 * @param str     切り出し元文字列
+	 * @param pattern コンパイル済みの正規表現
+	 * @return マッチした文字列または {@code null}
+	 * @since 0.3.9
+	 */
+	public static final String substring(final String str, final Pattern pattern) {
+		return substring(str, pattern, 0);
+	}
+
+	/**
+	 * コンパイル済みの正規表現に最初にマッチした箇所のキャプチャグループを切り取る。マッチしなければ {@code null} を返却
+	 *
+	 * @param str     切り出し元文字列
+	 * @param pattern コンパイル済みの正規表現
+	 * @param group   キャプチャグループの番号。0の場合はマッチした文字列全体
+	 * @return キャプチャグループの文字列または {@code null}
+	 * @throws IndexOutOfBoundsException 存在しないキャプチャグループの番号を指定した場合にthrowする
+	 * @since 0.3.9
+	 */
+	public static final String substring(final String str, final Pattern pattern, final int group) {
+		final Matcher m = pattern.matcher(str);
 
 		if (m.find()) {
-			return m.group();
+			return m.group(group);
 		} else {
 			return null;
 		}
 	}
 
+	/**
+	 * 正規表現にマッチした全ての文字列を出現順に切り取る
+	 * <p>
+	 * コンパイルした正規表現は {@link PatternCache#getDefault()} にキャッシュされる
+	 * </p>
+	 *
+	 * @param str   切り出し元文字列
+	 * @param regex 正規表現
+	 * @return マッチした文字列のリスト。マッチしなければ空のリスト
+	 * @since 0.3.9
+	 */
+	public static final List<String> substringAll(final String str, final String regex) {
+		return substringAll(str, PatternCache.getDefault().get(regex), 0);
+	}
+
+	/**
+	 * コンパイル済みの正規表現にマッチした全ての文字列を出現順に切り取る
+	 *
+	 * @param str     切り出し元文字列
+	 * @param pattern コンパイル済みの正規表現
+	 * @return マッチした文字列のリスト。マッチしなければ空のリスト
+	 * @since 0.3.9
+	 */
+	public static final List<String> substringAll(final String str, final Pattern pattern) {
+		return substringAll(str, pattern, 0);
+	}
+
+	/**
+	 * コンパイル済みの正規表現にマッチした全ての箇所のキャプチャグループを出現順に切り取る
+	 * <p>
+	 * キャプチャグループがマッチしなかった箇所は {@code null} を格納する
+	 * </p>
+	 *
+	 * @param str     切り出し元文字列
+	 * @param pattern コンパイル済みの正規表現
+	 * @param group   キャプチャグループの番号。0の場合はマッチした文字列全体
+	 * @return キャプチャグループの文字列のリスト。マッチしなければ空のリスト
+	 * @throws IndexOutOfBoundsException 存在しないキャプチャグループの番号を指定した場合にthrowする
+	 * @since 0.3.9
+	 */
+	public static final List<String> substringAll(final String str, final Pattern pattern, final int group) {
+		final Matcher m = pattern.matcher(str);
+		final List<String> list = new ArrayList<>();
+
+		while (m.find()) {
+			list.add(m.group(group));
+		}
+
+		return list;
+	}
+
+	/**
+	 * コンパイル済みの正規表現にマッチした最初の範囲を切り取る。マッチしなければ {@code null} を返却
+	 * <p>
+	 * 切り出しは {@link CharSequence#subSequence(int, int)} で行う。{@link CharBuffer} は元のバッファを共有するビューを返却するので、
+	 * {@link StringBuilder} 等は {@link CharBuffer#wrap(CharSequence)} で包んで渡せば文字列をコピーしない
+	 * </p>
+	 *
+	 * @param cs      切り出し元文字列
+	 * @param pattern コンパイル済みの正規表現
+	 * @return マッチした範囲または {@code null}
+	 * @since 0.3.9
+	 */
+	public static final CharSequence subSequence(final CharSequence cs, final Pattern pattern) {
+		return subSequence(cs, pattern, 0);
+	}
+
+	/**
+	 * コンパイル済みの正規表現に最初にマッチした箇所のキャプチャグループの範囲を切り取る。マッチしなければ {@code null} を返却
+	 *
+	 * @param cs      切り出し元文字列
+	 * @param pattern コンパイル済みの正規表現
+	 * @param group   キャプチャグループの番号。0の場合はマッチした範囲全体
+	 * @return キャプチャグループの範囲または {@code null}
+	 * @throws IndexOutOfBoundsException 存在しないキャプチャグループの番号を指定した場合にthrowする
+	 * @see #subSequence(CharSequence, Pattern)
+	 * @since 0.3.9
+	 */
+	public static final CharSequence subSequence(final CharSequence cs, final Pattern pattern, final int group) {
+		final Matcher m = pattern.matcher(cs);
+
+		if (m.find() && m.start(group) >= 0) {
+			return cs.subSequence(m.start(group), m.end(group));
+		} else {
+			return null;
+		}
+	}
+
+	/**
+	 * コンパイル済みの正規表現に最初にマッチした箇所のキャプチャグループの範囲を、元のバッファを共有するビューとして切り取る。マッチしなければ
+	 * {@code null} を返却
+	 * <p>
+	 * 位置は {@link CharBuffer#position()} からの相対位置で、ビューの position、limit を変更しても元のバッファには影響しない
+	 * </p>
+	 *
+	 * @param buffer  切り出し元バッファ
+	 * @param pattern コンパイル済みの正規表現
+	 * @param group   キャプチャグループの番号。0の場合はマッチした範囲全体
+	 * @return キャプチャグループの範囲のビューまたは {@code null}
+	 * @throws IndexOutOfBoundsException 存在しないキャプチャグループの番号を指定した場合にthrowする
+	 * @since 0.3.9
+	 */
+	public static final CharBuffer subSequence(final CharBuffer buffer, final Pattern pattern, final int group) {
+		return (CharBuffer) subSequence((CharSequence) buffer, pattern, group);
+	}
+
+	/**
+	 * コンパイル済みの正規表現にマッチした全ての範囲を出現順に切り取る
+	 * <p>
+	 * キャプチャグループがマッチしなかった箇所は {@code null} を格納する
+	 * </p>
+	 *
+	 * @param cs      切り出し元文字列
+	 * @param pattern コンパイル済みの正規表現
+	 * @param group   キャプチャグループの番号。0の場合はマッチした範囲全体
+	 * @return キャプチャグループの範囲のリスト。マッチしなければ空のリスト
+	 * @throws IndexOutOfBoundsException 存在しないキャプチャグループの番号を指定した場合にthrowする
+	 * @see #subSequence(CharSequence, Pattern)
+	 * @since 0.3.9
+	 */
+	public static final List<CharSequence> subSequenceAll(final CharSequence cs, final Pattern pattern,
+			final int group) {
+		final Matcher m = pattern.matcher(cs);
+		final List<CharSequence> list = new ArrayList<>();
+
+		while (m.find()) {
+			list.add(m.start(group) < 0 ? null : cs.subSequence(m.start(group), m.end(group)));
+		}
+
+		return list;
+	}
+
+	/**
+	 * 複数のキーワードを1回の走査で検索する {@link KeywordMatcher} のビルダーを生成する
+	 * <p>
+	 * キーワード毎に {@link #substring(String, String)} を呼び出す代わりに使用する
+	 * </p>
+	 *
+	 * <pre>
+	 * KeywordMatcher matcher = StringUtil.keywordMatcher().add(ngWords).ignoreCase().ignoreWidth().build();
+	 * </pre>
+	 *
+	 * @return {@link KeywordMatcher} のビルダー
+	 * @since 0.3.9
+	 */
+	public static final KeywordMatcher.Builder keywordMatcher() {
+		return KeywordMatcher.builder();
+	}
+
 	/**
 	 * 指定した文字列の先頭から指定したバイト数分切り出す
 	 * <p>
@@ -65,31 +248,7 @@ public final class StringUtil extends StringUtils {
 	 * @since 0.3.3
 	 */
 	public static final String substring(final String str, final int length) {
-		if (Objects.isNull(str)) {
-			return EMPTY;
-		}
-
-		if (isEmpty(str)) {
-			return EMPTY;
-		}
-
-		String ret = "";
-
-		int cnt = 0;
-
-		for (int i = 0; i < str.length(); i++) {
-			String tmp = str.substring(i, i + 1);
-			final int byteLength = getByteLength(tmp);
-
-			if (cnt + byteLength > length) {
-				return ret;
-			} else {
-				ret = ret.concat(tmp);
-				cnt += byteLength;
-			}
-		}
-
-		return ret;
+		return substring(str, length, DEFAULT_ENCODING);
 	}
 
 	/**
@@ -100,6 +259,10 @@ public final class StringUtil extends StringUtils {
 	 * <p>
 	 * バイト数取得時のデフォルトエンコーディングは<b>MS932</b>
 	 * </p>
+	 * <p>
+	 * 文字列を先頭から1回だけエンコードし、指定したバイト数を超える直前の位置で切り出す。サロゲートペアは分割しない。
+	 * サポートされていないエンコーディングの場合は文字列をそのまま返却する
+	 * </p>
 	 * 
 	 * @param str      文字列
 	 * @param length   切り出したいバイト数
@@ -116,23 +279,88 @@ public final class StringUtil extends StringUtils {
 			return EMPTY;
 		}
 
-		String ret = "";
+		final ByteCounter counter = ByteCounter.of(encoding);
+		if (Objects.isNull(counter)) {
+			// サポートされていないエンコーディングはバイト数0として扱う
+			return str;
+		}
 
-		int cnt = 0;
+		return str.substring(0, counter.fit(str, length));
+	}
+
+	/**
+	 * 指定した文字列の先頭から指定したバイト数分の範囲を切り取る
+	 * <p>
+	 * {@link #substring(String, int, String)} と同じ位置で切り取る。収まる場合は引数をそのまま返却し、
+	 * 切り詰める場合は {@link CharSequence#subSequence(int, int)} で切り取る({@link CharBuffer} は元のバッファを共有するビューになる)。
+	 * 指定した文字列が {@code null} だった場合は空文字("")、サポートされていないエンコーディングの場合は引数をそのまま返却する
+	 * </p>
+	 *
+	 * @param cs       文字列
+	 * @param length   切り出したいバイト数
+	 * @param encoding エンコーディング
+	 * @return 切り出した範囲
+	 * @since 0.3.9
+	 */
+	public static final CharSequence subSequence(final CharSequence cs, final int length, final String encoding) {
+		if (Objects.isNull(cs)) {
+			return EMPTY;
+		}
+
+		final int end = indexOfByteLength(cs, 0, length, encoding);
+		return end == cs.length() ? cs : cs.subSequence(0, end);
+	}
+
+	/**
+	 * バッファの先頭({@link CharBuffer#position()})から指定したバイト数分の範囲を、元のバッファを共有するビューとして切り取る
+	 *
+	 * @param buffer   バッファ
+	 * @param length   切り出したいバイト数
+	 * @param encoding エンコーディング
+	 * @return 切り出した範囲のビュー
+	 * @see #subSequence(CharSequence, int, String)
+	 * @since 0.3.9
+	 */
+	public static final CharBuffer subSequence(final CharBuffer buffer, final int length, final String encoding) {
+		return buffer.subSequence(0, indexOfByteLength(buffer, 0, length, encoding));
+	}
 
-		for (int i = 0; i < str.length(); i++) {
-			String tmp = str.substring(i, i + 1);
-			final int byteLength = getByteLength(tmp, encoding);
+	/**
+	 * 指定した文字列の開始位置から、指定したバイト数に収まる範囲の終了位置を取得する。サロゲートペアは分割しない
+	 * <p>
+	 * 文字列を切り出さずに位置だけを求めるので、{@link StringBuilder}、{@link CharBuffer}
+	 * 等の一部分をコピーせずに扱う場合に使用する。指定した文字列が {@code null} だった場合は0、
+	 * サポートされていないエンコーディングの場合は文字列の長さを返却する
+	 * </p>
+	 *
+	 * <pre>
+	 * int end = StringUtil.indexOfByteLength(builder, start, 20, "MS932");
+	 * out.append(builder, start, end);
+	 * </pre>
+	 *
+	 * @param cs       文字列
+	 * @param start    開始位置
+	 * @param length   バイト数
+	 * @param encoding エンコーディング
+	 * @return 終了位置(この位置の文字を含まない)
+	 * @throws IndexOutOfBoundsException 開始位置が文字列の範囲外の場合にthrowする
+	 * @since 0.3.9
+	 */
+	public static final int indexOfByteLength(final CharSequence cs, final int start, final int length,
+			final String encoding) {
+		if (Objects.isNull(cs)) {
+			return 0;
+		}
+		if (start < 0 || start > cs.length()) {
+			throw new IndexOutOfBoundsException("開始位置が範囲外です: " + start);
+		}
 
-			if (cnt + byteLength > length) {
-				return ret;
-			} else {
-				ret = ret.concat(tmp);
-				cnt += byteLength;
-			}
+		final ByteCounter counter = ByteCounter.of(encoding);
+		if (Objects.isNull(counter)) {
+			return cs.length();
 		}
 
-		return ret;
+		return ByteCounter.end(counter.measure(cs, start, length));
 	}
 
 	/**
@@ -158,6 +386,11 @@ public final class StringUtil extends StringUtils {
 	 * <p>
 	 * バイト数取得時のデフォルトエンコーディングは<b>MS932</b>
 	 * </p>
+	 * <p>
+	 * 文字列をエンコードせずに数えるので {@code byte[]} を生成しない。MS932、Shift_JIS、EUC-JP
+	 * は初回使用時に作成する文字毎のバイト数表、UTF-8 は文字コードの範囲から数える。
+	 * サポートされていないエンコーディングの場合は0を返却する
+	 * </p>
 	 * 
 	 * @param str      文字列
 	 * @param encoding エンコーディング
@@ -173,11 +406,53 @@ public final class StringUtil extends StringUtils {
 			return 0;
 		}
 
-		try {
-			return str.getBytes(isEmpty(encoding) ? DEFAULT_ENCODING : encoding).length;
-		} catch (UnsupportedEncodingException e) {
+		final ByteCounter counter = ByteCounter.of(encoding);
+		return Objects.isNull(counter) ? 0 : counter.length(str);
+	}
+
+	/**
+	 * 指定した文字列のバイト数を取得する
+	 * <p>
+	 * {@link StringBuilder}、{@link CharBuffer} 等を文字列に変換せずに数える。{@link CharBuffer} は
+	 * {@link CharBuffer#position()} から {@link CharBuffer#limit()} までを数える
+	 * </p>
+	 *
+	 * @param cs       文字列
+	 * @param encoding エンコーディング
+	 * @return バイト数
+	 * @see #getByteLength(String, String)
+	 * @since 0.3.9
+	 */
+	public static final int getByteLength(final CharSequence cs, final String encoding) {
+		return Objects.isNull(cs) ? 0 : getByteLength(cs, 0, cs.length(), encoding);
+	}
+
+	/**
+	 * 指定した文字列の範囲のバイト数を取得する
+	 * <p>
+	 * 範囲を切り出さずに数える。指定した文字列が {@code null} だった場合、サポートされていないエンコーディングの場合は0を返却する
+	 * </p>
+	 *
+	 * @param cs       文字列
+	 * @param start    開始位置
+	 * @param end      終了位置(この位置の文字を含まない)
+	 * @param encoding エンコーディング
+	 * @return バイト数
+	 * @throws IndexOutOfBoundsException 範囲が文字列の範囲外の場合にthrowする
+	 * @see #getByteLength(String, String)
+	 * @since 0.3.9
+	 */
+	public static final int getByteLength(final CharSequence cs, final int start, final int end,
+			final String encoding) {
+		if (Objects.isNull(cs)) {
 			return 0;
 		}
+		if (start < 0 || end > cs.length() || start > end) {
+			throw new IndexOutOfBoundsException("範囲が不正です: start=" + start + ", end=" + end);
+		}
+
+		final ByteCounter counter = ByteCounter.of(encoding);
+		return Objects.isNull(counter) ? 0 : counter.length(cs, start, end);
 	}
 
 	/**
@@ -202,10 +477,6 @@ public final class StringUtil extends StringUtils {
 			return 0;
 		}
 
-		try {
-			return str.getBytes(DEFAULT_ENCODING).length;
-		} catch (UnsupportedEncodingException e) {
-			return 0;
-		}
+		return getByteLength(str, DEFAULT_ENCODING);
 	}
 }
\ No newline at end of file
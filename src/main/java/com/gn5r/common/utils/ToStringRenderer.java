@@ -0,0 +1,416 @@
+package com.gn5r.common.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>
+ * オブジェクトを {@code Test[id=0, name=test]} 形式の文字列に変換するクラス
+ * </p>
+ *
+ * <p>
+ * フィールドはクラス毎にキャッシュしたメタデータから宣言順に読み取り、呼び出し側が渡した {@link StringBuilder}
+ * に直接書き込む。途中でMapや一時文字列を生成せず、正規表現も使用しない。プリミティブ型フィールドはラッパークラスに変換せずに書き込む
+ * </p>
+ *
+ * <ul>
+ * <li><b>maxLength</b> - 出力の最大文字数。超えた場合は切り詰めて {@code ...} を付与する。
+ * 最大文字数に達した時点で書き込みを止め、List・Map 等のフィールドも収まる要素までしか書き込まない</li>
+ * <li><b>mask</b> - パラメータを伏せ字にするフィールド名</li>
+ * <li><b>excludes</b> - 出力しないフィールド名</li>
+ * </ul>
+ *
+ * <pre>
+ * private static final ToStringRenderer RENDERER = ToStringRenderer.builder().mask("password").maxLength(200).build();
+ *
+ * public String toString() {
+ *   return RENDERER.render(this);
+ * }
+ * </pre>
+ *
+ * <p>
+ * インスタンスはスレッドセーフで、使い回すことができる
+ * </p>
+ *
+ * @author gn5r
+ * @since 0.3.9
+ * @see ObjectUtil#toString(Object)
+ */
+public final class ToStringRenderer {
+
+    /**
+     * 切り詰めた場合に付与する文字列
+     */
+    public static final String ELLIPSIS = "...";
+
+    /**
+     * デフォルトの伏せ字
+     */
+    public static final String DEFAULT_MASK_TEXT = "****";
+
+    /**
+     * デフォルト設定のインスタンス
+     */
+    static final ToStringRenderer DEFAULT = builder().build();
+
+    /**
+     * {@link Appendable} へ書き込む際の作業用バッファ
+     */
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(StringBuilder::new);
+
+    /**
+     * toString を {@link AbstractCollection}、{@link AbstractMap} から継承しているかどうか。要素毎に書き込めるクラスは true
+     */
+    private static final ClassValue<Boolean> ELEMENT_WISE = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            try {
+                final Class<?> declaring = type.getMethod("toString").getDeclaringClass();
+                return declaring == AbstractCollection.class || declaring == AbstractMap.class;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    private final int maxLength;
+
+    private final String[] masks;
+
+    private final String maskText;
+
+    private final String[] excludes;
+
+    private ToStringRenderer(final Builder builder) {
+        this.maxLength = builder.maxLength;
+        this.masks = builder.masks;
+        this.maskText = builder.maskText;
+        this.excludes = builder.excludes;
+    }
+
+    /**
+     * ビルダーを生成する
+     *
+     * @return ビルダー
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * オブジェクトを文字列に変換する
+     *
+     * @param object オブジェクト
+     * @return オブジェクト名及びオブジェクトの中身
+     * @throws NullPointerException オブジェクトが {@code null} の場合にthrowする
+     */
+    public String render(final Object object) {
+        return render(object, new StringBuilder()).toString();
+    }
+
+    /**
+     * オブジェクトを文字列に変換して {@link StringBuilder} の末尾に書き込む
+     *
+     * @param object  オブジェクト
+     * @param builder 書き込み先
+     * @return 書き込み先の {@link StringBuilder}
+     * @throws NullPointerException オブジェクトが {@code null} の場合にthrowする
+     */
+    public StringBuilder render(final Object object, final StringBuilder builder) {
+        return render(object, builder, (String[]) null);
+    }
+
+    /**
+     * オブジェクトを文字列に変換して {@link Appendable} に書き込む
+     * <p>
+     * {@link StringBuilder} 以外の場合はスレッド毎の作業用バッファに変換してから1回で書き込む
+     * </p>
+     *
+     * @param object     オブジェクト
+     * @param appendable 書き込み先
+     * @throws NullPointerException オブジェクトが {@code null} の場合にthrowする
+     * @throws UncheckedIOException 書き込みに失敗した場合にthrowする
+     */
+    public void render(final Object object, final Appendable appendable) {
+        if (appendable instanceof StringBuilder) {
+            render(object, (StringBuilder) appendable);
+            return;
+        }
+
+        final StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        try {
+            appendable.append(render(object, buffer));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            // 大きな文字列を変換した後もバッファを保持し続けないようにする
+            if (buffer.capacity() > 8192) {
+                BUFFER.remove();
+            }
+        }
+    }
+
+    /**
+     * オブジェクトを文字列に変換して {@link StringBuilder} の末尾に書き込む
+     *
+     * @param object   オブジェクト
+     * @param builder  書き込み先
+     * @param excludes 追加の除外フィールド名のString配列
+     * @return 書き込み先の {@link StringBuilder}
+     */
+    StringBuilder render(final Object object, final StringBuilder builder, final String... excludes) {
+        if (Objects.isNull(object)) {
+            throw new NullPointerException("オブジェクトがnullです");
+        }
+
+        final int start = builder.length();
+        // 書き込み先が空でない場合に最大文字数を足しても桁あふれしないようにする
+        final int limit = this.maxLength < 0 ? Integer.MAX_VALUE
+                : (int) Math.min(Integer.MAX_VALUE, (long) start + this.maxLength);
+
+        builder.append(object.getClass().getSimpleName()).append('[');
+
+        boolean first = true;
+        for (FieldAccessor field : FieldMetadata.of(object.getClass()).getFields()) {
+            final String name = field.getName();
+            if (FieldMetadata.isExcluded(name, this.excludes) || FieldMetadata.isExcluded(name, excludes)) {
+                continue;
+            }
+
+            if (!first) {
+                builder.append(", ");
+            }
+            first = false;
+
+            builder.append(name).append('=');
+
+            // 残りの文字数を超えた時点で書き込みを止め、フィールドの値は収まる分だけ書き込む
+            final boolean complete;
+            if (builder.length() > limit) {
+                complete = false;
+            } else if (FieldMetadata.isExcluded(name, this.masks)) {
+                complete = appendClipped(builder, this.maskText, limit);
+            } else if (field.isPrimitive()) {
+                appendPrimitive(builder, field, object);
+                complete = builder.length() <= limit;
+            } else {
+                complete = appendObject(builder, field.get(object), limit);
+            }
+
+            if (!complete) {
+                return truncate(builder, limit).append(ELLIPSIS);
+            }
+        }
+
+        builder.append(']');
+        if (builder.length() > limit) {
+            truncate(builder, limit).append(ELLIPSIS);
+        }
+
+        return builder;
+    }
+
+    /**
+     * プリミティブ型のフィールドパラメータを書き込む。ラッパークラスに変換しない
+     */
+    private static void appendPrimitive(final StringBuilder builder, final FieldAccessor field, final Object object) {
+        final long bits = field.getBits(object);
+        final Class<?> type = field.getType();
+
+        if (type == int.class || type == short.class || type == byte.class) {
+            builder.append((int) bits);
+        } else if (type == long.class) {
+            builder.append(bits);
+        } else if (type == boolean.class) {
+            builder.append(bits != 0);
+        } else if (type == char.class) {
+            builder.append((char) bits);
+        } else if (type == double.class) {
+            builder.append(Double.longBitsToDouble(bits));
+        } else if (type == float.class) {
+            builder.append(Float.intBitsToFloat((int) bits));
+        }
+    }
+
+    /**
+     * 値を最大文字数まで書き込む
+     * <p>
+     * 文字列はコピーせずに収まる分だけ書き込む。{@link AbstractCollection}、{@link AbstractMap} の toString
+     * をそのまま使うコレクションは toString と同じ形式で要素毎に書き込み、最大文字数に達した時点で止める。
+     * それ以外は toString の結果を収まる分だけ書き込む
+     * </p>
+     *
+     * @return 全て書き込んだ場合 true
+     */
+    private static boolean appendObject(final StringBuilder builder, final Object value, final int limit) {
+        if (limit == Integer.MAX_VALUE) {
+            builder.append(value);
+            return true;
+        }
+
+        if (value instanceof CharSequence) {
+            return appendClipped(builder, (CharSequence) value, limit);
+        }
+
+        if (Objects.nonNull(value) && ELEMENT_WISE.get(value.getClass())) {
+            return value instanceof Collection ? appendCollection(builder, (Collection<?>) value, limit)
+                    : appendMap(builder, (Map<?, ?>) value, limit);
+        }
+
+        return appendClipped(builder, String.valueOf(value), limit);
+    }
+
+    private static boolean appendCollection(final StringBuilder builder, final Collection<?> collection,
+            final int limit) {
+        builder.append('[');
+        boolean first = true;
+        for (Object element : collection) {
+            if (!first) {
+                builder.append(", ");
+            }
+            first = false;
+
+            if (builder.length() > limit
+                    || !appendObject(builder, element == collection ? "(this Collection)" : element, limit)) {
+                return false;
+            }
+        }
+        builder.append(']');
+        return builder.length() <= limit;
+    }
+
+    private static boolean appendMap(final StringBuilder builder, final Map<?, ?> map, final int limit) {
+        builder.append('{');
+        boolean first = true;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!first) {
+                builder.append(", ");
+            }
+            first = false;
+
+            if (builder.length() > limit
+                    || !appendObject(builder, entry.getKey() == map ? "(this Map)" : entry.getKey(), limit)) {
+                return false;
+            }
+            builder.append('=');
+            if (builder.length() > limit
+                    || !appendObject(builder, entry.getValue() == map ? "(this Map)" : entry.getValue(), limit)) {
+                return false;
+            }
+        }
+        builder.append('}');
+        return builder.length() <= limit;
+    }
+
+    /**
+     * 文字列を最大文字数まで書き込む。サロゲートペアは分割しない
+     *
+     * @return 全て書き込んだ場合 true
+     */
+    private static boolean appendClipped(final StringBuilder builder, final CharSequence text, final int limit) {
+        final int room = limit - builder.length();
+        if (text.length() <= room) {
+            builder.append(text);
+            return true;
+        }
+
+        int end = Math.max(0, room);
+        if (end > 0 && Character.isHighSurrogate(text.charAt(end - 1))) {
+            end--;
+        }
+        builder.append(text, 0, end);
+        return false;
+    }
+
+    /**
+     * 最大文字数を超えた部分を削除する。サロゲートペアは分割しない
+     */
+    private static StringBuilder truncate(final StringBuilder builder, final int limit) {
+        if (builder.length() > limit) {
+            final int end = limit > 0 && Character.isHighSurrogate(builder.charAt(limit - 1)) ? limit - 1 : limit;
+            builder.setLength(end);
+        }
+        return builder;
+    }
+
+    /**
+     * {@link ToStringRenderer} のビルダー
+     */
+    public static final class Builder {
+
+        private int maxLength = -1;
+
+        private String[] masks = new String[0];
+
+        private String maskText = DEFAULT_MASK_TEXT;
+
+        private String[] excludes = new String[0];
+
+        private Builder() {
+        }
+
+        /**
+         * 出力の最大文字数を設定する。デフォルトは無制限
+         *
+         * @param maxLength 最大文字数({@link ToStringRenderer#ELLIPSIS} を除く)。負数の場合は無制限
+         * @return このビルダー
+         */
+        public Builder maxLength(final int maxLength) {
+            this.maxLength = maxLength;
+            return this;
+        }
+
+        /**
+         * パラメータを伏せ字にするフィールド名を設定する
+         *
+         * @param fieldNames フィールド名のString配列
+         * @return このビルダー
+         */
+        public Builder mask(final String... fieldNames) {
+            this.masks = copy(fieldNames);
+            return this;
+        }
+
+        /**
+         * 伏せ字を設定する。デフォルトは {@value ToStringRenderer#DEFAULT_MASK_TEXT}
+         *
+         * @param maskText 伏せ字
+         * @return このビルダー
+         */
+        public Builder maskText(final String maskText) {
+            this.maskText = StringUtil.nullToEmpty(maskText);
+            return this;
+        }
+
+        /**
+         * 出力しないフィールド名を設定する
+         *
+         * @param excludes 除外フィールド名のString配列
+         * @return このビルダー
+         */
+        public Builder excludes(final String... excludes) {
+            this.excludes = copy(excludes);
+            return this;
+        }
+
+        /**
+         * {@link ToStringRenderer} を生成する
+         *
+         * @return {@link ToStringRenderer}
+         */
+        public ToStringRenderer build() {
+            return new ToStringRenderer(this);
+        }
+
+        private static String[] copy(final String... names) {
+            return Objects.isNull(names) ? new String[0] : Arrays.copyOf(names, names.length);
+        }
+    }
+}
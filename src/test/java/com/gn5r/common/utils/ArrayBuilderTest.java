@@ -0,0 +1,63 @@
+package com.gn5r.common.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class ArrayBuilderTest {
+
+    @Test
+    public void pushTest() {
+        final Integer[] args = { 10, 99 };
+        final ArrayBuilder<Integer> builder = ArrayUtil.builder(args);
+        builder.push(1).pushAll(2, 3).unshift(0).unshiftAll(-2, -1);
+
+        final Integer[] array = builder.toArray();
+        assertEquals(Integer[].class, array.getClass());
+        assertArrayEquals(new Integer[] { -2, -1, 0, 10, 99, 1, 2, 3 }, array);
+        assertEquals(8, builder.size());
+        assertEquals(Integer.valueOf(10), builder.get(3));
+        assertEquals(Integer.valueOf(10), builder.set(3, 11));
+        assertEquals(Integer.valueOf(11), builder.toArray()[3]);
+
+        // ArrayUtil#push、ArrayUtil#unshift と同じ結果になる
+        assertArrayEquals(ArrayUtil.unshift(ArrayUtil.push(args, 1, 2), -1, 0),
+                ArrayUtil.builder(args).pushAll(1, 2).unshiftAll(-1, 0).toArray());
+
+        builder.clear();
+        assertTrue(builder.isEmpty());
+        assertArrayEquals(new Integer[0], builder.toArray());
+    }
+
+    @Test
+    public void growTest() {
+        final ArrayBuilder<Number> builder = new ArrayBuilder<>(Number.class, 0);
+        final Deque<Number> expected = new ArrayDeque<>();
+        final Random random = new Random(0);
+
+        for (int i = 0; i < 10000; i++) {
+            if (random.nextBoolean()) {
+                builder.push(i);
+                expected.addLast(i);
+            } else {
+                builder.unshift((long) i);
+                expected.addFirst((long) i);
+            }
+        }
+
+        final Number[] array = builder.toArray();
+        assertEquals(Number[].class, array.getClass());
+        assertArrayEquals(expected.toArray(new Number[0]), array);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getTest() {
+        new ArrayBuilder<>(String.class).push("a").get(1);
+    }
+}
@@ -0,0 +1,118 @@
+package com.gn5r.common.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class ArrayIndexTest {
+
+    @Test
+    public void findIndexTest() {
+        final Random random = new Random(24);
+        for (int n : new int[] { 0, 1, 7, 100, 5000 }) {
+            // 重複とnullを含む配列
+            final Integer[] array = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                array[i] = random.nextInt(10) == 0 ? null : random.nextInt(Math.max(1, n / 2));
+            }
+
+            final ArrayIndex<Integer> index = ArrayUtil.index(array);
+            for (int element = -1; element <= n / 2; element++) {
+                assertEquals(ArrayUtil.findIndex(array, element), index.findIndex(element));
+            }
+            assertEquals(Arrays.stream(array).filter(e -> e != null).distinct().count(), index.size());
+        }
+
+        final ArrayIndex<String> index = ArrayIndex.of(new String[] { "a", null, "b", "a" });
+        assertEquals(0, index.findIndex("a"));
+        assertEquals(2, index.findIndex("b"));
+        assertEquals(-1, index.findIndex(null));
+        assertEquals(-1, index.findIndex(1));
+        assertTrue(index.contains("b"));
+        assertFalse(index.contains("c"));
+    }
+
+    @Test
+    public void collisionTest() {
+        // ハッシュ値が全て等しい場合も線形探索で正しい位置を返却する
+        final Key[] array = new Key[50];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = new Key(i % 25);
+        }
+        final ArrayIndex<Key> index = ArrayIndex.of(array);
+        for (int i = 0; i < 25; i++) {
+            assertEquals(i, index.findIndex(new Key(i)));
+        }
+        assertEquals(-1, index.findIndex(new Key(25)));
+        assertEquals(25, index.size());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullArrayTest() {
+        ArrayIndex.of(null);
+    }
+
+    @Test
+    public void sortedFindIndexTest() {
+        final Integer[] sorted = { 1, 3, 3, 3, 5, 8, 8 };
+        final Comparator<Integer> comparator = Comparator.naturalOrder();
+        for (int element = 0; element <= 9; element++) {
+            assertEquals(ArrayUtil.findIndex(sorted, (Object) element), ArrayUtil.findIndex(sorted, element, comparator));
+        }
+        assertEquals(-1, ArrayUtil.findIndex(new Integer[0], 1, comparator));
+        assertEquals(-1, ArrayUtil.findIndex(sorted, null, comparator));
+        assertEquals(-1, ArrayUtil.findIndex((Integer[]) null, 1, comparator));
+
+        final String[] names = { "b", "a", "C" };
+        Arrays.sort(names, String.CASE_INSENSITIVE_ORDER);
+        assertEquals(2, ArrayUtil.findIndex(names, "c", String.CASE_INSENSITIVE_ORDER));
+    }
+
+    @Test
+    public void findIndexesTest() {
+        final Integer[] array = new Integer[100];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = i % 40;
+        }
+
+        // 索引を作成しない場合
+        assertArrayEquals(new int[] { 1, -1, 39 }, ArrayUtil.findIndexes(array, new Object[] { 1, 40, 39 }));
+
+        // 索引を作成する場合
+        final Object[] elements = { 0, 10, 20, 39, 40, -1, null, "1", 5 };
+        final int[] expected = new int[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            expected[i] = ArrayUtil.findIndex(array, elements[i]);
+        }
+        assertArrayEquals(expected, ArrayUtil.findIndexes(array, elements));
+
+        assertArrayEquals(new int[] { -1, -1 }, ArrayUtil.findIndexes((Integer[]) null, new Object[] { 1, 2 }));
+        assertArrayEquals(new int[0], ArrayUtil.findIndexes(array, null));
+    }
+
+    private static final class Key {
+
+        private final int value;
+
+        private Key(final int value) {
+            this.value = value;
+        }
+
+        @Override
+        public int hashCode() {
+            return 1;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof Key && ((Key) obj).value == this.value;
+        }
+    }
+}
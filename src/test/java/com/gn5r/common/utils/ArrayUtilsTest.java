@@ -1,5 +1,10 @@
 package com.gn5r.common.utils;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
 import java.util.Arrays;
 
 import org.junit.Test;
@@ -14,4 +19,77 @@ public class ArrayUtilsTest {
 
         Arrays.asList(obj).stream().forEach(System.out::println);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void unshiftTest() {
+        // 配列と追加する要素の数が異なる場合も全ての要素を保持する
+        assertArrayEquals(new Integer[] { 1, 10, 99, 7 }, ArrayUtil.unshift(new Integer[] { 10, 99, 7 }, 1));
+        assertArrayEquals(new Integer[] { 1, 2, 3, 10 }, ArrayUtil.unshift(new Integer[] { 10 }, 1, 2, 3));
+        assertArrayEquals(new String[] { "a" }, ArrayUtil.unshift(new String[0], "a"));
+        assertArrayEquals(new Integer[] { 10, 1, 2, 3 }, ArrayUtil.push(new Integer[] { 10 }, 1, 2, 3));
+    }
+
+    @Test
+    public void spliceTest() {
+        final Integer[] array = { 1, 2, 3, 4 };
+        assertArrayEquals(new Integer[] { 1, 9, 4 }, ArrayUtil.splice(array, 1, 2, 9));
+        assertArrayEquals(new Integer[] { 1, 2, 7, 8, 3, 4 }, ArrayUtil.splice(array, 2, 0, 7, 8));
+        assertArrayEquals(new Integer[] { 1, 2 }, ArrayUtil.splice(array, 2, 100));
+        assertArrayEquals(new Integer[] { 1, 2, 3, 4, 5 }, ArrayUtil.splice(array, 4, -1, 5));
+        assertArrayEquals(new Integer[] { 2, 3, 4 }, ArrayUtil.splice(array, 0, 1, (Object[]) null));
+        assertNull(ArrayUtil.splice((Integer[]) null, 0, 1));
+
+        assertArrayEquals(new Integer[] { 1, 0, 2, 3, 4 }, ArrayUtil.insertAt(array, 1, 0));
+        assertArrayEquals(new Integer[] { 1, 2, 3, 4, 5 }, ArrayUtil.insertAt(array, 4, 5));
+        assertSame(array, ArrayUtil.insertAt(array, 1, (Object[]) null));
+        assertArrayEquals(new Integer[] { 1, 4 }, ArrayUtil.removeRange(array, 1, 3));
+        assertArrayEquals(array, ArrayUtil.removeRange(array, 2, 2));
+        assertEquals(Integer[].class, ArrayUtil.removeRange(array, 0, 4).getClass());
+
+        // 元の配列は変更しない
+        assertArrayEquals(new Integer[] { 1, 2, 3, 4 }, array);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void insertAtTest() {
+        // 追加したい要素がnullでも位置を検証する
+        ArrayUtil.insertAt(new Integer[] { 1, 2, 3, 4 }, 99, (Object[]) null);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void spliceIndexTest() {
+        ArrayUtil.splice(new Integer[] { 1 }, 2, 0, 1);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void removeRangeTest() {
+        ArrayUtil.removeRange(new Integer[] { 1, 2 }, 1, 3);
+    }
+
+    @Test
+    public void primitiveTest() {
+        final long[] longs = { 10L, 99L };
+        assertArrayEquals(new long[] { 10L, 99L, 1L, 2L }, ArrayUtil.push(longs, 1L, 2L));
+        assertArrayEquals(new long[] { 1L, 2L, 3L, 10L, 99L }, ArrayUtil.unshift(longs, 1L, 2L, 3L));
+        assertEquals(1, ArrayUtil.findIndex(longs, 99L));
+        assertEquals(-1, ArrayUtil.findIndex(longs, 1L));
+        assertSame(longs, ArrayUtil.push(longs, (long[]) null));
+        assertNull(ArrayUtil.push((long[]) null, 1L));
+        assertEquals(-1, ArrayUtil.findIndex((long[]) null, 1L));
+
+        assertArrayEquals(new int[] { 1, 2, 3 }, ArrayUtil.push(new int[] { 1 }, 2, 3));
+        assertArrayEquals(new char[] { 'a', 'b' }, ArrayUtil.unshift(new char[] { 'b' }, 'a'));
+        assertArrayEquals(new byte[] { 1, 2 }, ArrayUtil.push(new byte[] { 1 }, (byte) 2));
+        assertArrayEquals(new short[] { 1, 2 }, ArrayUtil.unshift(new short[] { 2 }, (short) 1));
+        assertArrayEquals(new boolean[] { true, false }, ArrayUtil.push(new boolean[] { true }, false));
+        assertEquals(1, ArrayUtil.findIndex(new boolean[] { true, false }, false));
+        assertEquals(2, ArrayUtil.findIndex(new char[] { 'a', 'b', 'c' }, 'c'));
+
+        // 浮動小数点数はボクシングした場合の equals と同じ結果になる
+        final double[] doubles = { 0.0, Double.NaN, -0.0 };
+        assertEquals(ArrayUtil.findIndex(new Double[] { 0.0, Double.NaN, -0.0 }, Double.NaN), ArrayUtil.findIndex(doubles, Double.NaN));
+        assertEquals(2, ArrayUtil.findIndex(doubles, -0.0));
+        assertEquals(1, ArrayUtil.findIndex(new float[] { 1.5f, Float.NaN }, Float.NaN));
+        assertArrayEquals(new float[] { 1.5f, 2.5f }, ArrayUtil.push(new float[] { 1.5f }, 2.5f), 0f);
+    }
+}
@@ -0,0 +1,70 @@
+package com.gn5r.common.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+
+public class BulkDiffTest {
+
+    static class Record {
+        final int id;
+        final String name;
+
+        Record(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    @Test
+    public void diffTest() {
+        final List<Record> before = new ArrayList<>();
+        final List<Record> after = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            before.add(new Record(i, "name" + i));
+            // 10件おきに名前を変更し、最初の5件を削除、10000以降を3件追加する
+            if (i >= 5) {
+                after.add(new Record(i, i % 10 == 0 ? "changed" + i : "name" + i));
+            }
+        }
+        for (int i = 10000; i < 10003; i++) {
+            after.add(new Record(i, "name" + i));
+        }
+        Collections.shuffle(after);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final BulkDiff.Result<Integer> result = BulkDiff.diff(before, after, r -> r.id, executor);
+
+            assertEquals(9995, result.getComparedCount());
+            assertEquals(999, result.getChanged().size());
+            assertEquals("name", result.getChanged().get(10).get(0).getFieldName());
+            assertEquals(5, result.getRemoved().size());
+            assertEquals(3, result.getAdded().size());
+            assertTrue(result.hasDifference());
+
+            // 比較元の順序で返却されること
+            assertEquals(Integer.valueOf(10), result.getChanged().keySet().iterator().next());
+
+            final BulkDiff.Result<Integer> excluded = BulkDiff.diff(before, after, r -> r.id, "name");
+            assertTrue(excluded.getChanged().isEmpty());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void duplicateKeyTest() {
+        final List<Record> list = new ArrayList<>();
+        list.add(new Record(1, "a"));
+        list.add(new Record(1, "b"));
+        BulkDiff.diff(list, list, r -> r.id);
+    }
+}
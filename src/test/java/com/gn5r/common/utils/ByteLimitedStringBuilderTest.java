@@ -0,0 +1,103 @@
+package com.gn5r.common.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class ByteLimitedStringBuilderTest {
+
+    @Test
+    public void appendTest() {
+        final ByteLimitedStringBuilder builder = new ByteLimitedStringBuilder(10);
+        assertTrue(builder.tryAppend("ｶﾀｶﾅ"));
+        assertTrue(builder.fits("あい"));
+        assertFalse(builder.fits("あいう+"));
+        assertEquals(4, builder.getByteLength());
+        assertEquals(6, builder.remaining());
+
+        // 収まらない場合は何も追加しない
+        assertFalse(builder.tryAppend("あいうえ"));
+        assertEquals("ｶﾀｶﾅ", builder.toString());
+        assertFalse(builder.isTruncated());
+
+        // 全角文字の途中で上限に達する場合はその文字の前で切り詰める
+        builder.append("A").append("あいう");
+        assertEquals("ｶﾀｶﾅAあい", builder.toString());
+        assertEquals(9, builder.getByteLength());
+        assertTrue(builder.isTruncated());
+
+        // 切り詰めた後は収まる文字列も追加しない
+        assertFalse(builder.fits("C"));
+        builder.append('B').append("C");
+        assertFalse(builder.tryAppend("D"));
+        assertEquals("ｶﾀｶﾅAあい", builder.toString());
+        assertEquals(1, builder.remaining());
+
+        builder.clear();
+        assertEquals(0, builder.length());
+        assertFalse(builder.isTruncated());
+    }
+
+    @Test
+    public void truncatedTest() {
+        final ByteLimitedStringBuilder builder = new ByteLimitedStringBuilder(3);
+        builder.append("あい").append("a");
+        assertEquals("あ", builder.toString());
+        assertTrue(builder.isTruncated());
+
+        builder.clear().append("a");
+        assertEquals("a", builder.toString());
+    }
+
+    @Test
+    public void surrogateTest() {
+        final ByteLimitedStringBuilder builder = new ByteLimitedStringBuilder(6, "UTF-8");
+        final String emoji = "😀";
+        // サロゲートペアが分割して追加されても、ペアとして数える
+        builder.append(emoji, 0, 1);
+        assertTrue(builder.fits(emoji.substring(1)));
+        builder.append(emoji, 1, 2);
+        assertEquals(4, builder.getByteLength());
+        assertEquals(StringUtil.getByteLength(builder.toString(), "UTF-8"), builder.getByteLength());
+
+        // サロゲートペアは分割しない
+        builder.append("a" + emoji);
+        assertEquals(emoji + "a", builder.toString());
+        assertEquals(5, builder.getByteLength());
+
+        // ペアにすると上限を超える場合は収まらない
+        final ByteLimitedStringBuilder small = new ByteLimitedStringBuilder(3, "UTF-8").append(emoji, 0, 1);
+        assertFalse(small.fits(emoji.substring(1)));
+        small.append(emoji, 1, 2);
+        assertTrue(small.isTruncated());
+    }
+
+    @Test
+    public void getByteLengthTest() {
+        final String chars = "aｱあ漢①~\\￥😀é";
+        final Random random = new Random(0);
+
+        for (String encoding : new String[] { "MS932", "UTF-8", "EUC-JP", "ISO-8859-1", "UTF-16BE" }) {
+            final ByteLimitedStringBuilder builder = new ByteLimitedStringBuilder(200, encoding);
+            while (!builder.isTruncated()) {
+                final int start = random.nextInt(chars.length());
+                final String fragment = chars.substring(start, Math.min(chars.length(), start + random.nextInt(4)));
+                // 収まると判定した文字列は切り詰めずに追加される
+                final boolean fits = builder.fits(fragment);
+                builder.append(fragment);
+                assertEquals(encoding, fits, !builder.isTruncated());
+                assertEquals(encoding, StringUtil.getByteLength(builder.toString(), encoding), builder.getByteLength());
+            }
+            assertTrue(builder.getByteLength() <= 200);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void encodingTest() {
+        new ByteLimitedStringBuilder(10, "unknown-encoding");
+    }
+}
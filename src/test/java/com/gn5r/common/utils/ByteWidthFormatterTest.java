@@ -0,0 +1,88 @@
+package com.gn5r.common.utils;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+public class ByteWidthFormatterTest {
+
+    private static final ByteWidthFormatter FORMATTER = ByteWidthFormatter.getDefault();
+
+    @Test
+    public void padTest() {
+        assertEquals(7, FORMATTER.width("ﾃｽﾄ山田"));
+        assertEquals(0, FORMATTER.width(null));
+
+        assertEquals("       ﾃｽﾄ", FORMATTER.pad("ﾃｽﾄ", 10, Alignment.RIGHT));
+        assertEquals(" 山田  ", FORMATTER.pad("山田", 7, Alignment.CENTER));
+        assertEquals("山田太 ", FORMATTER.pad("山田太郎", 7, Alignment.LEFT));
+        assertEquals("    ", FORMATTER.pad(null, 4, Alignment.LEFT));
+
+        final StringBuilder builder = new StringBuilder("[");
+        FORMATTER.pad("ab", 4, Alignment.RIGHT, builder).append(']');
+        assertEquals("[  ab]", builder.toString());
+
+        final ByteWidthFormatter zero = ByteWidthFormatter.builder().padding('0').build();
+        assertEquals("00120", zero.pad("120", 5, Alignment.RIGHT));
+    }
+
+    @Test
+    public void ellipsizeTest() {
+        assertEquals("東京都...", FORMATTER.ellipsize("東京都千代田区", 10));
+        assertEquals("東京都千代", FORMATTER.ellipsize("東京都千代", 10));
+        assertEquals("ab", FORMATTER.ellipsize("abcdef", 2));
+        assertEquals("", FORMATTER.ellipsize(null, 5));
+
+        final ByteWidthFormatter formatter = ByteWidthFormatter.builder().ellipsis("…").build();
+        assertEquals("東京都…", formatter.ellipsize("東京都千代田区", 9));
+    }
+
+    @Test
+    public void wrapTest() {
+        assertEquals(Arrays.asList("あいう", "えおか", "きく", "ABC", "", "xyz"),
+                FORMATTER.wrap("あいうえおかきく\nABC\r\n\nxyz", 6));
+        assertEquals(Arrays.asList("aあ", "い"), FORMATTER.wrap("aあい", 4));
+        assertEquals(Arrays.asList("ab"), FORMATTER.wrap("ab\n", 4));
+        assertEquals(Collections.emptyList(), FORMATTER.wrap(null, 4));
+
+        // 1文字で桁数を超える場合もその1文字を1行とする
+        assertEquals(Arrays.asList("あ", "い"), FORMATTER.wrap("あい", 1));
+        final ByteWidthFormatter utf8 = ByteWidthFormatter.builder().encoding("UTF-8").build();
+        assertEquals(Arrays.asList("😀", "a"), utf8.wrap("😀a", 3));
+    }
+
+    @Test
+    public void rowFormatTest() {
+        final ByteWidthFormatter.RowFormat row = FORMATTER.rowFormat()
+                .column(6)
+                .column(5, Alignment.RIGHT)
+                .column(6, Alignment.LEFT, true)
+                .separator("|")
+                .build();
+        assertEquals(19, row.getWidth());
+
+        final StringBuilder builder = new StringBuilder();
+        assertEquals("りんご|  120|と... ", row.format(builder, "りんご", "120", "とても甘い品種").toString());
+
+        builder.setLength(0);
+        assertEquals("ﾒﾛﾝ   | 1500|      ", row.format(builder, "ﾒﾛﾝ", "1500", null).toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rowFormatColumnCountTest() {
+        FORMATTER.rowFormat().column(4).build().format(new StringBuilder(), "a", "b");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void paddingTest() {
+        ByteWidthFormatter.builder().padding('＊').build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void encodingTest() {
+        ByteWidthFormatter.builder().encoding("unknown-encoding");
+    }
+}
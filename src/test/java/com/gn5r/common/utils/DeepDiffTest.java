@@ -0,0 +1,144 @@
+package com.gn5r.common.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EventObject;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import com.gn5r.common.utils.ObjectUtil.Difference;
+
+public class DeepDiffTest {
+
+    static class Entity {
+        Long id;
+    }
+
+    static class Order extends Entity {
+        String name;
+        List<Line> lines = new ArrayList<>();
+        Map<String, String> attributes = new HashMap<>();
+        Order parent;
+    }
+
+    static class Line {
+        int no;
+        BigDecimal price;
+        Order order;
+
+        Line(int no, BigDecimal price) {
+            this.no = no;
+            this.price = price;
+        }
+    }
+
+    private static Order order(long id) {
+        final Order order = new Order();
+        order.id = id;
+        order.name = "order";
+        for (int i = 0; i < 4; i++) {
+            final Line line = new Line(i, BigDecimal.valueOf(i * 100));
+            line.order = order;
+            order.lines.add(line);
+        }
+        order.attributes.put("color", "red");
+        order.parent = order;
+        return order;
+    }
+
+    static class Holder {
+        List<String> list;
+        Map<String, String> map;
+        Set<String> set;
+    }
+
+    @Test
+    public void collectionImplementationTest() {
+        // 実装クラスが異なっても要素が等しければ相違なし
+        final Holder a = new Holder();
+        a.list = new ArrayList<>(Arrays.asList("a"));
+        a.map = new HashMap<>();
+        a.map.put("k", "v");
+        a.set = new HashSet<>(Arrays.asList("x", "y"));
+
+        final Holder b = new Holder();
+        b.list = Arrays.asList("a");
+        b.map = new LinkedHashMap<>();
+        b.map.put("k", "v");
+        b.set = new TreeSet<>(Arrays.asList("y", "x"));
+
+        assertTrue(DeepDiff.DEFAULT.diff(a, b).isEmpty());
+        assertFalse(DeepDiff.DEFAULT.check(a, b));
+
+        // 要素の相違は要素のパスで返却する
+        b.list = Collections.singletonList("b");
+        b.map.put("k", "w");
+        final List<Difference> diff = DeepDiff.DEFAULT.diff(a, b);
+        assertEquals(Arrays.asList("list[0]", "map[k]"),
+                Arrays.asList(diff.get(0).getFieldName(), diff.get(1).getFieldName()));
+    }
+
+    static class Event extends EventObject {
+        private static final long serialVersionUID = 1L;
+        String name;
+
+        Event(Object source, String name) {
+            super(source);
+            this.name = name;
+        }
+    }
+
+    @Test
+    public void inaccessibleSuperclassTest() {
+        // JDK 9 以降でアクセスできない java.* のスーパークラスのフィールドは対象外となり、例外にならない
+        final List<Difference> diff = DeepDiff.DEFAULT.diff(new Event("s", "a"), new Event("s", "b"));
+        assertEquals("name", diff.get(diff.size() - 1).getFieldName());
+    }
+
+    @Test
+    public void pathTest() {
+        final Order a = order(1);
+        final Order b = order(2);
+        b.lines.get(3).price = BigDecimal.ONE;
+        b.attributes.put("color", "blue");
+
+        final List<Difference> diff = DeepDiff.builder().rootName("order").build().diff(a, b);
+
+        assertEquals(Arrays.asList("order.id", "order.lines[3].price", "order.attributes[color]"),
+                Arrays.asList(diff.get(0).getFieldName(), diff.get(1).getFieldName(), diff.get(2).getFieldName()));
+        assertEquals(3, diff.size());
+        assertEquals(BigDecimal.ONE, diff.get(1).getB());
+    }
+
+    @Test
+    public void cycleAndLimitTest() {
+        final Order a = order(1);
+        final Order b = order(1);
+
+        // 循環参照があっても終了し、相違が無いこと
+        assertTrue(ObjectUtil.deepDiff(a, b).isEmpty());
+        assertFalse(DeepDiff.DEFAULT.check(a, b));
+
+        b.lines.remove(0);
+        assertTrue(DeepDiff.DEFAULT.check(a, b));
+        assertTrue(DeepDiff.builder().excludes("lines").build().diff(a, b).isEmpty());
+
+        // 最大深さに達した場合は equals で比較される
+        final List<Difference> diff = DeepDiff.builder().maxDepth(1).excludes("parent").build().diff(a, b);
+        assertEquals(1, diff.size());
+        assertEquals("lines", diff.get(0).getFieldName());
+    }
+}
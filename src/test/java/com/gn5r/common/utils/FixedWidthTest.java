@@ -0,0 +1,123 @@
+package com.gn5r.common.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+
+public class FixedWidthTest {
+
+    private static final FixedWidthLayout LAYOUT = FixedWidthLayout.builder()
+            .column("id", 5, Alignment.RIGHT, '0')
+            .column("name", 8)
+            .column("code", 6, Alignment.CENTER)
+            .lineSeparator("\r\n")
+            .build();
+
+    @Test
+    public void writeTest() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (FixedWidthWriter writer = new FixedWidthWriter(LAYOUT, out)) {
+            writer.write("12", "山田太郎です", "AB");
+            writer.write("123456", "ｶﾀｶﾅABC", null);
+            writer.write("", "あいう", "全角");
+            assertEquals(3, writer.getRecordCount());
+        }
+
+        final String expected = "00012山田太郎  AB  \r\n"
+                + "12345ｶﾀｶﾅABC       \r\n"
+                + "00000あいう   全角 \r\n";
+        assertArrayEquals(expected.getBytes("MS932"), out.toByteArray());
+        assertEquals(21, LAYOUT.getRecordLength());
+    }
+
+    @Test
+    public void readTest() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (FixedWidthWriter writer = new FixedWidthWriter(LAYOUT, out)) {
+            for (int i = 0; i < 10000; i++) {
+                writer.write(String.valueOf(i), "名前" + i, i % 2 == 0 ? "X" : null);
+            }
+        }
+
+        final Path path = Files.createTempFile("fixed", ".dat");
+        try {
+            Files.write(path, out.toByteArray());
+
+            try (FixedWidthReader mapped = FixedWidthReader.map(LAYOUT, path);
+                    FixedWidthReader stream = new FixedWidthReader(LAYOUT,
+                            new ByteArrayInputStream(out.toByteArray()))) {
+                for (FixedWidthReader reader : new FixedWidthReader[] { mapped, stream }) {
+                    for (int i = 0; i < 10000; i++) {
+                        assertTrue(reader.next());
+                        assertEquals(i + 1, reader.getRecordNumber());
+                        assertEquals(String.valueOf(i), reader.getString("id"));
+                        assertEquals("名前" + i, reader.getString(1));
+                        assertEquals(i % 2 != 0, reader.isBlank(2));
+                    }
+                    assertFalse(reader.next());
+                }
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void surrogateTest() throws IOException {
+        // MS932 で表せないサロゲートペアは1バイトの置換文字になるので、カラムの途中で止まらずに埋まる
+        final FixedWidthLayout layout = FixedWidthLayout.builder().column("name", 4).build();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (FixedWidthWriter writer = new FixedWidthWriter(layout, out)) {
+            writer.write("\uD842\uDFB7\uD842\uDFB7\uD842\uDFB7\uD842\uDFB7\uD842\uDFB7");
+        }
+        assertArrayEquals("????".getBytes("MS932"), out.toByteArray());
+    }
+
+    @Test
+    public void paddingTest() throws IOException {
+        // 右寄せの '0' 埋めは "0" を残す。半角スペース埋めは先頭の0を保持する
+        final FixedWidthLayout layout = FixedWidthLayout.builder()
+                .column("id", 5, Alignment.RIGHT, '0')
+                .column("code", 5, Alignment.RIGHT)
+                .build();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (FixedWidthWriter writer = new FixedWidthWriter(layout, out)) {
+            writer.write("0", "007");
+            writer.write(null, "");
+        }
+
+        try (FixedWidthReader reader = new FixedWidthReader(layout, new ByteArrayInputStream(out.toByteArray()))) {
+            assertTrue(reader.next());
+            assertEquals("0", reader.getString("id"));
+            assertEquals("007", reader.getString("code"));
+            assertTrue(reader.next());
+            assertEquals("0", reader.getString("id"));
+            assertEquals("", reader.getString("code"));
+            assertTrue(reader.isBlank(1));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void trailBytePaddingTest() {
+        // Shift_JIS の2バイト目になり得るバイトは埋め文字にできない
+        FixedWidthLayout.builder().column("name", 10, Alignment.LEFT, '_');
+    }
+
+    @Test(expected = EOFException.class)
+    public void partialRecordTest() throws IOException {
+        try (FixedWidthReader reader = new FixedWidthReader(LAYOUT, new ByteArrayInputStream(new byte[30]))) {
+            assertTrue(reader.next());
+            reader.next();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.gn5r.common.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.CharBuffer;
+import java.text.Normalizer;
+
+import org.junit.Test;
+
+public class JapaneseNormalizerTest {
+
+    @Test
+    public void normalizeTest() {
+        final JapaneseNormalizer normalizer = JapaneseNormalizer.getDefault();
+
+        assertEquals("ABC123 テスト!ガパ", normalizer.normalize("ＡＢＣ１２３　ﾃｽﾄ！ｶﾞﾊﾟ"));
+        assertEquals("ア゛", normalizer.normalize("ｱﾞ"));
+
+        // 変換する文字が無い場合は同じインスタンスを返却する
+        final String normalized = "東京都 ABC ひらがな カタカナ";
+        assertSame(normalized, normalizer.normalize(normalized));
+        assertTrue(normalizer.isNormalized(normalized));
+        assertFalse(normalizer.isNormalized("ﾃｽﾄ"));
+
+        final StringBuilder builder = new StringBuilder("id=");
+        assertEquals("id=テスト1", normalizer.normalize("ﾃｽﾄ１", builder).toString());
+
+        final CharBuffer buffer = CharBuffer.allocate(8);
+        normalizer.normalize("ﾃﾞｰﾀ", buffer).flip();
+        assertEquals("データ", buffer.toString());
+    }
+
+    @Test
+    public void conversionTest() {
+        final JapaneseNormalizer hiragana = JapaneseNormalizer.builder().halfWidthKatakana().katakanaToHiragana()
+                .build();
+        assertEquals("でーた だいがく ＡＢＣ", hiragana.normalize("ﾃﾞｰﾀ ダイガク ＡＢＣ"));
+
+        final JapaneseNormalizer katakana = JapaneseNormalizer.builder().alphanumeric().hiraganaToKatakana().build();
+        assertEquals("ABC！ヒラガナ　ｶﾅ", katakana.normalize("ＡＢＣ！ひらがな　ｶﾅ"));
+    }
+
+    @Test
+    public void nfkcTest() {
+        final JapaneseNormalizer normalizer = JapaneseNormalizer.getDefault();
+
+        // 全角英数記号、半角カタカナ(単独の濁点・半濁点を除く)は NFKC と同じ結果になる
+        for (char c = '！'; c <= 'ﾝ'; c++) {
+            if (c > '～' && c < '｡') {
+                continue;
+            }
+            final String str = String.valueOf(c);
+            assertEquals(Integer.toHexString(c), Normalizer.normalize(str, Normalizer.Form.NFKC),
+                    normalizer.normalize(str));
+        }
+
+        final String kana = "ｶﾞｷﾞｸﾞｹﾞｺﾞｻﾞｼﾞｽﾞｾﾞｿﾞﾀﾞﾁﾞﾂﾞﾃﾞﾄﾞﾊﾞﾋﾞﾌﾞﾍﾞﾎﾞﾊﾟﾋﾟﾌﾟﾍﾟﾎﾟｳﾞ";
+        assertEquals(Normalizer.normalize(kana, Normalizer.Form.NFKC), normalizer.normalize(kana));
+    }
+}
@@ -0,0 +1,89 @@
+package com.gn5r.common.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.gn5r.common.utils.KeywordMatcher.Match;
+
+public class KeywordMatcherTest {
+
+    @Test
+    public void findAllTest() {
+        final KeywordMatcher matcher = StringUtil.keywordMatcher().add("he", "she", "his", "hers").build();
+        final List<Match> matches = matcher.findAll("ushers");
+
+        assertEquals(3, matches.size());
+        assertMatch(matches.get(0), "she", 1, 4);
+        assertMatch(matches.get(1), "he", 2, 4);
+        assertMatch(matches.get(2), "hers", 2, 6);
+
+        assertMatch(matcher.findFirst("ushers"), "she", 1, 4);
+        assertNull(matcher.findFirst("abc"));
+        assertFalse(matcher.containsAny("abc"));
+        assertTrue(matcher.findAll(null).isEmpty());
+        assertTrue(StringUtil.keywordMatcher().build().findAll("abc").isEmpty());
+    }
+
+    @Test
+    public void ignoreTest() {
+        final KeywordMatcher matcher = StringUtil.keywordMatcher().add("ﾃﾞｰﾀ", "ＮＧ", "ガイド").ignoreCase().ignoreWidth()
+                .build();
+        final String text = "データとng、ｶﾞｲﾄﾞ";
+        final List<Match> matches = matcher.findAll(text);
+
+        assertEquals(3, matches.size());
+        assertMatch(matches.get(0), "ﾃﾞｰﾀ", 0, 3);
+        assertMatch(matches.get(1), "ＮＧ", 4, 6);
+        assertMatch(matches.get(2), "ガイド", 7, 12);
+        assertEquals("ｶﾞｲﾄﾞ", text.substring(matches.get(2).getStart(), matches.get(2).getEnd()));
+
+        final KeywordMatcher exact = StringUtil.keywordMatcher().add("ﾃﾞｰﾀ", "ＮＧ").build();
+        assertFalse(exact.containsAny(text));
+    }
+
+    @Test
+    public void naiveTest() {
+        final Random random = new Random(1);
+        final List<String> keywords = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            keywords.add(randomString(random, 1 + random.nextInt(4)));
+        }
+        final KeywordMatcher matcher = StringUtil.keywordMatcher().add(keywords).build();
+        final String text = randomString(random, 2000);
+
+        // キーワード毎に検索した件数と一致する
+        int expected = 0;
+        for (String keyword : keywords) {
+            for (int i = text.indexOf(keyword); i >= 0; i = text.indexOf(keyword, i + 1)) {
+                expected++;
+            }
+        }
+        final List<Match> matches = matcher.findAll(text);
+        assertEquals(expected, matches.size());
+        for (Match match : matches) {
+            assertEquals(match.getKeyword(), text.substring(match.getStart(), match.getEnd()));
+        }
+    }
+
+    private static String randomString(final Random random, final int length) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            builder.append("abcあい".charAt(random.nextInt(5)));
+        }
+        return builder.toString();
+    }
+
+    private static void assertMatch(final Match match, final String keyword, final int start, final int end) {
+        assertEquals(keyword, match.getKeyword());
+        assertEquals(start, match.getStart());
+        assertEquals(end, match.getEnd());
+    }
+}
@@ -1,6 +1,18 @@
 package com.gn5r.common.utils;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
 import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 
@@ -34,6 +46,65 @@ public class ObjectUtilTest {
         }
     }
 
+    @lombok.Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    private class Metrics {
+        private int count;
+        private long total;
+        private double average;
+        private boolean active;
+        private char grade;
+    }
+
+    @Diffable
+    static class Order {
+        private static final long serialVersionUID = 1L;
+        Integer id;
+        double price;
+        private String name;
+
+        Order(Integer id, double price, String name) {
+            this.id = id;
+            this.price = price;
+            this.name = name;
+        }
+
+        String getName() {
+            return this.name;
+        }
+    }
+
+    @Diffable
+    @lombok.Data
+    @AllArgsConstructor
+    static class Item {
+        private Integer id;
+        private boolean active;
+    }
+
+    @Diffable
+    static class Product {
+        private String code;
+
+        Product(String code) {
+            this.code = code;
+        }
+
+        String getCode() {
+            return this.code.trim();
+        }
+    }
+
+    @lombok.Data
+    @AllArgsConstructor
+    private class Payment {
+        private BigDecimal amount;
+        private double rate;
+        private byte[] data;
+        private Number total;
+    }
+
     @Test
     public void diffTest() {
         final Account account = new Account(1, "shangyuan", "男");
@@ -41,4 +112,207 @@ public class ObjectUtilTest {
         final User user = new User(1, 24, "gn5r");
         System.out.println(user);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void diffCacheTest() {
+        final Account a = new Account(1, "shangyuan", "男");
+        final Account b = new Account(2, "shangyuan", "女");
+        final User user = new User(1, 24, "gn5r");
+
+        // 2回目以降はキャッシュしたフィールドで比較されるので結果が変わらないこと
+        for (int i = 0; i < 2; i++) {
+            final List<ObjectUtil.Difference> diff = ObjectUtil.diff(a, b);
+            assertEquals(2, diff.size());
+            assertEquals("id", diff.get(0).getFieldName());
+            assertEquals("sex", diff.get(1).getFieldName());
+
+            assertEquals(1, ObjectUtil.diff(a, b, "id").size());
+            assertTrue(ObjectUtil.check(a, b));
+            assertFalse(ObjectUtil.check(a, b, "id", "sex"));
+            assertEquals(1, ObjectUtil.same(a, b).size());
+        }
+
+        // 別クラス同士はidのみが同一フィールド
+        assertEquals(1, ObjectUtil.getSameFieldNames(a, user).size());
+        assertTrue(ObjectUtil.diff(a, user).isEmpty());
+    }
+
+    @Test
+    public void primitiveDiffTest() {
+        final Metrics a = new Metrics(1, 10L, Double.NaN, true, 'A');
+        final Metrics b = new Metrics(1, 11L, Double.NaN, false, 'A');
+
+        // NaN同士は Objects.equals と同様に一致と判定されること
+        final List<ObjectUtil.Difference> diff = ObjectUtil.diff(a, b);
+        assertEquals(2, diff.size());
+        assertEquals("total", diff.get(0).getFieldName());
+        assertEquals(10L, diff.get(0).getA());
+        assertEquals(11L, diff.get(0).getB());
+        assertEquals("active", diff.get(1).getFieldName());
+        assertEquals(Boolean.TRUE, diff.get(1).getA());
+
+        assertEquals(3, ObjectUtil.same(a, b).size());
+        assertEquals(Integer.valueOf(1), ObjectUtil.toMap(a).get("count"));
+        assertFalse(ObjectUtil.toMap(a, "count").containsKey("count"));
+    }
+
+    @Test
+    public void companionTest() throws ClassNotFoundException {
+        // アノテーションプロセッサでコンパニオンクラスが生成されていること
+        assertEquals("com.gn5r.common.utils.ObjectUtilTest_Order_Diffable",
+                DiffableSupport.companionName(Order.class));
+        Class.forName(DiffableSupport.companionName(Order.class));
+        Class.forName(DiffableSupport.companionName(Item.class));
+
+        final Order a = new Order(1, 100.0, "apple");
+        final Order b = new Order(1, 120.0, "banana");
+
+        final List<ObjectUtil.Difference> diff = ObjectUtil.diff(a, b);
+        assertEquals(2, diff.size());
+        assertEquals("price", diff.get(0).getFieldName());
+        assertEquals("name", diff.get(1).getFieldName());
+        assertEquals("banana", diff.get(1).getB());
+        assertFalse(ObjectUtil.check(a, b, "price", "name"));
+        assertEquals(1, ObjectUtil.same(a, b).size());
+        assertEquals(3, ObjectUtil.toMap(a).size());
+        assertEquals("Order[id=1, price=100.0, name=apple]", ObjectUtil.toString(a));
+        assertEquals("Order[id=1]", ObjectUtil.toString(a, "price", "name"));
+
+        assertTrue(ObjectUtil.check(new Item(1, true), new Item(1, false)));
+        assertFalse(ObjectUtil.check(new Item(1, true), new Item(1, true)));
+
+        // private フィールドは getter を経由せずに読み取るので、getter を加工していてもフィールドパラメータで比較する
+        final Product p1 = new Product(" a");
+        final Product p2 = new Product("a");
+        assertTrue(ObjectUtil.check(p1, p2));
+        assertEquals(" a", ObjectUtil.diff(p1, p2).get(0).getA());
+        assertEquals("Product[code= a]", ObjectUtil.toString(p1));
+
+        // フィールドをそのまま返却する getter(Lombok を含む)がある private フィールドはリフレクションを使用しない
+        assertEquals(0, reflectiveFields(Order.class));
+        assertEquals(0, reflectiveFields(Item.class));
+        assertEquals(1, reflectiveFields(Product.class));
+    }
+
+    private static long reflectiveFields(Class<?> type) throws ClassNotFoundException {
+        return Arrays.stream(Class.forName(DiffableSupport.companionName(type)).getDeclaredFields())
+                .filter(f -> f.getType() == Field.class).count();
+    }
+
+    @Test
+    public void visitorTest() {
+        final Metrics a = new Metrics(1, 10L, 1.5, true, 'A');
+        final Metrics b = new Metrics(2, 11L, 1.5, false, 'B');
+
+        final StringBuilder names = new StringBuilder();
+        assertEquals(4, ObjectUtil.diff(a, b, (name, x, y) -> names.append(name).append(',') != null));
+        assertEquals("count,total,active,grade,", names.toString());
+
+        // falseを返却した時点で終了すること
+        assertEquals(1, ObjectUtil.diff(a, b, (name, x, y) -> false));
+        assertEquals(0, ObjectUtil.diff(a, b, (name, x, y) -> true, "count", "total", "active", "grade"));
+        assertEquals(1, ObjectUtil.same(a, b, (name, x, y) -> "average".equals(name)));
+    }
+
+    @Test
+    public void toStringTest() {
+        final Account account = new Account(1, "shangyuan", "男");
+        assertEquals("Account[id=1, codeName=shangyuan, sex=男]", account.toString());
+        assertEquals("Account[id=1, sex=男]", ObjectUtil.toString(account, new String[] { "codeName" }));
+
+        final Metrics metrics = new Metrics(1, 10L, 1.5, true, 'A');
+        assertEquals("Metrics[count=1, total=10, average=1.5, active=true, grade=A]", ObjectUtil.toString(metrics));
+
+        final ToStringRenderer renderer = ToStringRenderer.builder().mask("codeName").maxLength(20).build();
+        final StringBuilder builder = new StringBuilder("> ");
+        renderer.render(account, builder);
+        assertEquals("> Account[id=1, codeNa...", builder.toString());
+        assertEquals("Account[id=1, codeName=****, sex=男]",
+                ToStringRenderer.builder().mask("codeName").build().render(account));
+    }
+
+    static class Batch {
+        String label;
+        List<Object> items;
+        Map<String, Integer> counts;
+
+        Batch(String label, List<Object> items, Map<String, Integer> counts) {
+            this.label = label;
+            this.items = items;
+            this.counts = counts;
+        }
+    }
+
+    @Test
+    public void toStringLimitTest() {
+        // 最大文字数に達した後の要素は toString を呼び出さない
+        final AtomicInteger rendered = new AtomicInteger();
+        final List<Object> items = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            final int no = i;
+            items.add(new Object() {
+                @Override
+                public String toString() {
+                    rendered.incrementAndGet();
+                    return "item" + no;
+                }
+            });
+        }
+        final Map<String, Integer> counts = new LinkedHashMap<>();
+        counts.put("a", 1);
+        final Batch batch = new Batch("😀😀", items, counts);
+
+        final ToStringRenderer renderer = ToStringRenderer.builder().maxLength(40).build();
+        final String text = renderer.render(batch);
+        assertEquals("Batch[label=😀😀, items=[item0, item1, i...", text);
+        assertTrue(rendered.get() < 10);
+
+        // 制限内に収まる場合は toString と同じ形式
+        items.subList(2, items.size()).clear();
+        assertEquals("Batch[label=😀😀, items=[item0, item1], counts={a=1}]",
+                ToStringRenderer.builder().maxLength(100).build().render(batch));
+
+        // サロゲートペアの途中で切り詰めない
+        assertEquals("Batch[label=😀...", ToStringRenderer.builder().maxLength(15).build().render(batch));
+
+        // 空でない書き込み先に大きな最大文字数で書き込んでも切り詰めない
+        final StringBuilder builder = new StringBuilder("prefix:");
+        ToStringRenderer.builder().maxLength(Integer.MAX_VALUE).build().render(batch, builder);
+        assertEquals("prefix:Batch[label=😀😀, items=[item0, item1], counts={a=1}]", builder.toString());
+    }
+
+    @Test
+    public void compareConfigTest() {
+        final Payment a = new Payment(new BigDecimal("1.0"), 0.1, new byte[] { 1, 2 }, new BigDecimal("5"));
+        final Payment b = new Payment(new BigDecimal("1.00"), 0.1000001, new byte[] { 1, 2 }, new BigDecimal("5.0"));
+
+        // デフォルトでは全て相違
+        assertEquals(4, ObjectUtil.diff(a, b).size());
+
+        final CompareConfig config = CompareConfig.builder()
+                .register(BigDecimal.class, EqualityStrategy.scaleInsensitive())
+                .register(Double.class, EqualityStrategy.tolerance(0.001)).arrayContent().build();
+        for (int i = 0; i < 2; i++) {
+            assertTrue(ObjectUtil.diff(a, b, config).isEmpty());
+            assertFalse(ObjectUtil.check(a, b, config));
+            assertEquals(4, ObjectUtil.same(a, b, config).size());
+        }
+
+        // フィールド名の登録が型の登録より優先されること
+        final CompareConfig strict = CompareConfig.builder()
+                .register(BigDecimal.class, EqualityStrategy.scaleInsensitive())
+                .register("amount", (x, y) -> x.equals(y)).build();
+        final List<ObjectUtil.Difference> diff = ObjectUtil.diff(a, b, strict, "rate");
+        assertEquals(2, diff.size());
+        assertEquals("amount", diff.get(0).getFieldName());
+        assertEquals("data", diff.get(1).getFieldName());
+
+        // 宣言型が final でなく、実際のクラスに登録が無い場合は equals で比較すること
+        final Payment c = new Payment(new BigDecimal("1.0"), 0.1, new byte[] { 1, 2 }, 5);
+        final Payment d = new Payment(new BigDecimal("1.0"), 0.1, new byte[] { 1, 2 }, 6);
+        final List<ObjectUtil.Difference> totals = ObjectUtil.diff(c, d, config);
+        assertEquals(1, totals.size());
+        assertEquals("total", totals.get(0).getFieldName());
+        assertTrue(ObjectUtil.diff(c, d, config, "total").isEmpty());
+    }
+}
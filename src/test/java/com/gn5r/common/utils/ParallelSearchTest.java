@@ -0,0 +1,111 @@
+package com.gn5r.common.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+public class ParallelSearchTest {
+
+    /**
+     * チャンクを小さくして、並列に走査する経路を通す
+     */
+    private final ParallelSearch search = ParallelSearch.builder().threshold(16).build();
+
+    @Test
+    public void findIndexTest() {
+        final Random random = new Random(25);
+        for (int n : new int[] { 0, 1, 16, 17, 1000, 10000 }) {
+            final Integer[] array = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                array[i] = random.nextInt(10) == 0 ? null : random.nextInt(Math.max(1, n / 4));
+            }
+
+            for (int element = -1; element <= n / 4; element++) {
+                final int expected = ArrayUtil.findIndex(array, element);
+                final int value = element;
+                assertEquals(expected, this.search.findIndex(array, element));
+                assertEquals(expected, this.search.findIndexIf(array, e -> e != null && e == value));
+                assertEquals(expected >= 0, this.search.contains(array, element));
+                assertEquals(expected >= 0, this.search.anyMatch(array, e -> e != null && e == value));
+            }
+        }
+
+        assertEquals(-1, this.search.findIndex(new Integer[] { 1 }, null));
+        assertEquals(-1, this.search.findIndex((Integer[]) null, 1));
+        assertFalse(this.search.contains((Integer[]) null, 1));
+    }
+
+    @Test
+    public void leftmostTest() {
+        // 全ての要素が一致する場合も最初の位置を返却する
+        final long[] longs = new long[100000];
+        assertEquals(0, this.search.findIndex(longs, 0L));
+        longs[99999] = 1L;
+        longs[50000] = 1L;
+        assertEquals(50000, this.search.findIndexIf(longs, l -> l == 1L));
+        assertTrue(this.search.anyMatch(longs, l -> l == 1L));
+    }
+
+    @Test
+    public void cancelTest() {
+        // 一致した位置より後ろのチャンクは走査しない
+        final int[] array = new int[1 << 20];
+        array[10] = 1;
+        final AtomicInteger tested = new AtomicInteger();
+        final ParallelSearch single = ParallelSearch.builder().threshold(1024).pool(new ForkJoinPool(1)).build();
+        assertEquals(10, single.findIndexIf(array, i -> {
+            tested.incrementAndGet();
+            return i == 1;
+        }));
+        assertTrue(tested.get() < array.length / 2);
+        single.getPool().shutdown();
+    }
+
+    @Test
+    public void findIndexesTest() {
+        final int[] ints = IntStream.range(0, 1000).map(i -> i % 7).toArray();
+        final int[] expected = IntStream.range(0, 1000).filter(i -> i % 7 == 3).toArray();
+        assertArrayEquals(expected, this.search.findIndexes(ints, 3));
+        assertArrayEquals(expected, this.search.findIndexesIf(ints, i -> i == 3));
+        assertArrayEquals(new int[0], this.search.findIndexes(ints, 7));
+
+        final double[] doubles = { 0.0, Double.NaN, -0.0, Double.NaN };
+        assertArrayEquals(new int[] { 1, 3 }, this.search.findIndexes(doubles, Double.NaN));
+        assertEquals(2, this.search.findIndex(doubles, -0.0));
+        assertEquals(ArrayUtil.findIndex(doubles, Double.NaN), this.search.findIndex(doubles, Double.NaN));
+
+        final String[] strings = { "a", null, "b", "a" };
+        assertArrayEquals(new int[] { 0, 3 }, this.search.findIndexes(strings, "a"));
+        assertArrayEquals(new int[0], this.search.findIndexes(strings, null));
+        assertArrayEquals(new int[0], this.search.findIndexes((long[]) null, 1L));
+    }
+
+    @Test
+    public void filterTest() {
+        final Integer[] array = IntStream.range(0, 1000).boxed().toArray(Integer[]::new);
+        final Integer[] even = this.search.filter(array, i -> i % 2 == 0);
+        assertEquals(Integer[].class, even.getClass());
+        assertArrayEquals(Arrays.stream(array).filter(i -> i % 2 == 0).toArray(), even);
+
+        final long[] longs = IntStream.range(0, 1000).asLongStream().toArray();
+        assertArrayEquals(new long[] { 0L, 500L }, this.search.filter(longs, l -> l % 500 == 0));
+        assertArrayEquals(new int[] { 999 }, this.search.filter(IntStream.range(0, 1000).toArray(), i -> i > 998));
+        assertArrayEquals(new double[0], this.search.filter(new double[100], d -> d > 0), 0d);
+        assertNull(this.search.filter((Integer[]) null, i -> true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void thresholdTest() {
+        ParallelSearch.builder().threshold(0);
+    }
+}
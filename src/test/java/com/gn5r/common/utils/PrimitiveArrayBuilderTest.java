@@ -0,0 +1,63 @@
+package com.gn5r.common.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class PrimitiveArrayBuilderTest {
+
+    @Test
+    public void pushTest() {
+        final PrimitiveArrayBuilder.OfLong builder = ArrayUtil.builder(new long[] { 10L, 99L });
+        builder.push(1L).pushAll(2L, 3L).unshift(0L).unshiftAll(-2L, -1L);
+
+        assertArrayEquals(new long[] { -2L, -1L, 0L, 10L, 99L, 1L, 2L, 3L }, builder.toArray());
+        assertEquals(8, builder.size());
+        assertEquals(10L, builder.get(3));
+        assertEquals(10L, builder.set(3, 11L));
+        assertEquals(11L, builder.toArray()[3]);
+
+        builder.clear();
+        assertTrue(builder.isEmpty());
+        assertArrayEquals(new long[0], builder.toArray());
+
+        assertArrayEquals(new int[] { 0, 1, 2 }, new PrimitiveArrayBuilder.OfInt(0).push(1).push(2).unshift(0).toArray());
+        assertArrayEquals(new char[] { 'a', 'b' }, ArrayUtil.builder(new char[] { 'b' }).unshift('a').toArray());
+        assertArrayEquals(new byte[] { 1, 2 }, new PrimitiveArrayBuilder.OfByte().pushAll((byte) 1, (byte) 2).toArray());
+        assertArrayEquals(new short[] { 1, 2 }, new PrimitiveArrayBuilder.OfShort().unshiftAll((short) 1, (short) 2).toArray());
+        assertArrayEquals(new boolean[] { true, false }, new PrimitiveArrayBuilder.OfBoolean().push(false).unshift(true).toArray());
+        assertArrayEquals(new float[] { 1.5f }, new PrimitiveArrayBuilder.OfFloat().push(1.5f).toArray(), 0f);
+        assertArrayEquals(new double[] { 1.5, 2.5 }, ArrayUtil.builder(new double[] { 2.5 }).unshift(1.5).toArray(), 0.0);
+    }
+
+    @Test
+    public void growTest() {
+        final PrimitiveArrayBuilder.OfInt builder = new PrimitiveArrayBuilder.OfInt(0);
+        final Deque<Integer> expected = new ArrayDeque<>();
+        final Random random = new Random(0);
+
+        for (int i = 0; i < 10000; i++) {
+            if (random.nextBoolean()) {
+                builder.push(i);
+                expected.addLast(i);
+            } else {
+                builder.unshiftAll(i, -i);
+                expected.addFirst(-i);
+                expected.addFirst(i);
+            }
+        }
+
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), builder.toArray());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getTest() {
+        new PrimitiveArrayBuilder.OfDouble().push(1.0).get(-1);
+    }
+}
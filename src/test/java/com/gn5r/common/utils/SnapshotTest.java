@@ -0,0 +1,114 @@
+package com.gn5r.common.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.gn5r.common.utils.ObjectUtil.Difference;
+
+public class SnapshotTest {
+
+    static class Entity {
+        long version;
+    }
+
+    static class Customer extends Entity {
+        int id;
+        double point;
+        String name;
+        List<String> tags = new ArrayList<>();
+    }
+
+    private static Customer customer() {
+        final Customer customer = new Customer();
+        customer.version = 1;
+        customer.id = 10;
+        customer.point = 1.5;
+        customer.name = "gn5r";
+        customer.tags.add("a");
+        return customer;
+    }
+
+    @Test
+    public void dirtyTest() {
+        final Customer customer = customer();
+        final Snapshot snapshot = ObjectUtil.snapshot(customer);
+        assertFalse(snapshot.isDirty(customer));
+
+        // 同じ値の別インスタンスは変更なし
+        customer.name = new String("gn5r");
+        assertFalse(snapshot.isDirty(customer));
+
+        // 参照先が同じ場合は中身を比較しない
+        customer.tags.add("b");
+        assertFalse(snapshot.isDirty(customer));
+
+        customer.version = 2;
+        customer.point = 2.0;
+        customer.tags = new ArrayList<>(Arrays.asList("c"));
+        assertTrue(snapshot.isDirty(customer));
+        assertEquals(Arrays.asList("version", "point", "tags"), snapshot.getDirtyFields(customer));
+
+        final List<Difference> diff = snapshot.diff(customer);
+        assertEquals(1L, diff.get(0).getA());
+        assertEquals(2L, diff.get(0).getB());
+        assertEquals(1.5, snapshot.get("point"));
+
+        assertEquals(Collections.singletonList("point"),
+                ObjectUtil.snapshot(customer(), "tags", "version").getDirtyFields(customer));
+    }
+
+    @Test
+    public void snapshotDiffTest() {
+        final Snapshot a = Snapshot.of(customer());
+        final Snapshot b = Snapshot.of(customer());
+        assertEquals(a.getStateHash(), b.getStateHash());
+        assertTrue(a.getDirtyFields(b).isEmpty());
+
+        final Customer changed = customer();
+        changed.id = 11;
+        final Snapshot c = Snapshot.of(changed);
+        assertEquals(Collections.singletonList("id"), a.getDirtyFields(c));
+    }
+
+    static class Lazy {
+        int hashCodeCalls;
+
+        @Override
+        public int hashCode() {
+            this.hashCodeCalls++;
+            return 0;
+        }
+    }
+
+    static class Order {
+        int id;
+        Lazy lines = new Lazy();
+    }
+
+    @Test
+    public void hashCodeTest() {
+        // 記録時・判定時に参照型フィールドの hashCode を呼び出さない
+        final Order order = new Order();
+        final Snapshot snapshot = Snapshot.of(order);
+        order.id = 1;
+        assertTrue(snapshot.isDirty(order));
+        assertEquals(Collections.singletonList("id"), snapshot.getDirtyFields(order));
+        assertEquals(0, order.lines.hashCodeCalls);
+
+        snapshot.getStateHash();
+        assertEquals(1, order.lines.hashCodeCalls);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void typeTest() {
+        Snapshot.of(customer()).isDirty(new Entity());
+    }
+}
@@ -1,5 +1,18 @@
 package com.gn5r.common.utils;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
 import org.junit.Test;
 
 public class StringUtilTest {
@@ -11,4 +24,202 @@ public class StringUtilTest {
         final String subDirectory = url.replaceAll(".*" + contextPath, "");
         System.out.println("サブディレクトリ:" + subDirectory);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void substringByteLengthTest() {
+        final String str = "ABCあいうｱｲｳ123";
+
+        assertEquals("ABCあ", StringUtil.substring(str, 5));
+        assertEquals("ABCあ", StringUtil.substring(str, 6));
+        assertEquals("ABCあいうｱ", StringUtil.substring(str, 10));
+        assertEquals(str, StringUtil.substring(str, 100));
+        assertEquals("ABCあ", StringUtil.substring(str, 6, "UTF-8"));
+        assertEquals("ABCあい", StringUtil.substring(str, 9, "UTF-8"));
+        assertEquals("", StringUtil.substring(str, 0));
+        assertEquals("", StringUtil.substring(str, -1));
+        assertEquals("", StringUtil.substring(null, 10));
+
+        // サポートされていないエンコーディングは文字列をそのまま返却する
+        assertEquals(str, StringUtil.substring(str, 1, "x-unknown"));
+
+        // サロゲートペアは分割しない
+        final String surrogate = "A\uD842\uDFB7B";
+        assertEquals("A", StringUtil.substring(surrogate, 4, "UTF-8"));
+        assertEquals("A\uD842\uDFB7", StringUtil.substring(surrogate, 5, "UTF-8"));
+
+        // 1文字ずつ数えた場合と同じ結果になる
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            builder.append("東京都千代田区1-2-3 ｶﾀｶﾅ");
+        }
+        final String longStr = builder.toString();
+        for (int length = 0; length < 200; length += 7) {
+            int cnt = 0;
+            int end = 0;
+            while (end < longStr.length() && cnt + StringUtil.getByteLength(longStr.substring(end, end + 1)) <= length) {
+                cnt += StringUtil.getByteLength(longStr.substring(end, end + 1));
+                end++;
+            }
+            assertEquals(longStr.substring(0, end), StringUtil.substring(longStr, length));
+        }
+    }
+
+    @Test
+    public void getByteLengthTest() {
+        final String[] encodings = { "MS932", "Shift_JIS", "EUC-JP", "UTF-8", "ISO-8859-1", "ISO-2022-JP", "UTF-16" };
+        final Random random = new Random(1);
+
+        for (String encoding : encodings) {
+            final Charset charset = Charset.forName(encoding);
+
+            // 全てのBMPの文字が String#getBytes と同じバイト数になる
+            for (int c = 0; c < 0x10000; c += 7) {
+                final String str = String.valueOf((char) c);
+                assertEquals(encoding + ":" + c, str.getBytes(charset).length, StringUtil.getByteLength(str, encoding));
+            }
+
+            // サロゲートペア、単独のサロゲートを含む文字列
+            for (int i = 0; i < 100; i++) {
+                final StringBuilder builder = new StringBuilder();
+                for (int j = 0; j < 50; j++) {
+                    switch (random.nextInt(4)) {
+                    case 0:
+                        builder.append((char) random.nextInt(0x80));
+                        break;
+                    case 1:
+                        builder.appendCodePoint(0x10000 + random.nextInt(0x10000));
+                        break;
+                    case 2:
+                        builder.append((char) (0xD800 + random.nextInt(0x800)));
+                        break;
+                    default:
+                        builder.append((char) random.nextInt(0x10000));
+                        break;
+                    }
+                }
+                final String str = builder.toString();
+                assertEquals(encoding, str.getBytes(charset).length, StringUtil.getByteLength(str, encoding));
+            }
+        }
+
+        assertEquals(9, StringUtil.getByteLength("ABCあいう"));
+        assertEquals(0, StringUtil.getByteLength("ABC", "x-unknown"));
+        assertEquals(0, StringUtil.getByteLength(null));
+
+        // 別名・大文字小文字の違いは同じインスタンスになり、サポートされていない名前はキャッシュしない
+        assertSame(ByteCounter.of("MS932"), ByteCounter.of("windows-31j"));
+        assertSame(ByteCounter.of("utf8"), ByteCounter.of("UTF-8"));
+        assertNull(ByteCounter.of("x-unknown"));
+    }
+
+    @Test
+    public void singleBytePrefixTest() {
+        final String[] encodings = { "MS932", "UTF-8", "ISO-2022-JP", "EUC-KR", "windows-1252", "UTF-16" };
+        final String latin1 = "Café crème brûlée, señor. ";
+
+        for (String encoding : encodings) {
+            final Charset charset = Charset.forName(encoding);
+
+            // 8文字単位の境界、バッファの境界の前後で1バイトでない文字が現れる文字列
+            for (int prefix : new int[] { 0, 7, 8, 9, 31, 32, 33, 511, 512, 513, 1500 }) {
+                final StringBuilder builder = new StringBuilder();
+                while (builder.length() < prefix) {
+                    builder.append(latin1);
+                }
+                builder.setLength(prefix);
+                builder.append("東京\uD842\uDFB7ｶﾀabc");
+
+                final String str = builder.toString();
+                final int expected = str.getBytes(charset).length;
+                assertEquals(encoding + ":" + prefix, expected, StringUtil.getByteLength(str, encoding));
+                assertEquals(encoding + ":" + prefix, expected, StringUtil.getByteLength(builder, encoding));
+
+                final CharBuffer buffer = CharBuffer.wrap(("xx" + str).toCharArray());
+                buffer.position(2);
+                assertEquals(encoding + ":" + prefix, expected, StringUtil.getByteLength(buffer, encoding));
+
+                // 切り出した文字列は指定したバイト数以下で、1文字足すと超える。
+                // 状態を持つエンコーディングは切り出した末尾にエスケープシーケンスが付くので対象外
+                if (encoding.startsWith("ISO-2022")) {
+                    continue;
+                }
+                for (int length : new int[] { prefix - 1, prefix, prefix + 1, prefix + 3, expected - 1 }) {
+                    final String sub = StringUtil.substring(str, length, encoding);
+                    assertTrue(encoding + ":" + prefix, StringUtil.getByteLength(sub, encoding) <= Math.max(0, length));
+                    if (sub.length() < str.length()) {
+                        final int next = sub.length() + Character.charCount(str.codePointAt(sub.length()));
+                        assertTrue(encoding + ":" + prefix,
+                                StringUtil.getByteLength(str.substring(0, next), encoding) > length);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void patternTest() {
+        final String log = "2020-01-11 ERROR id=12 user=gn5r, 2020-01-12 INFO id=345";
+        final Pattern id = Pattern.compile("id=([0-9]+)");
+
+        assertEquals("12", StringUtil.substring(log, "(?<=id=)[0-9]+"));
+        assertNull(StringUtil.substring(log, "WARN"));
+        assertEquals("id=12", StringUtil.substring(log, id));
+        assertEquals("12", StringUtil.substring(log, id, 1));
+        assertNull(StringUtil.substring("none", id, 1));
+        assertEquals(Arrays.asList("12", "345"), StringUtil.substringAll(log, id, 1));
+        assertEquals(Arrays.asList("id=12", "id=345"), StringUtil.substringAll(log, id));
+        assertEquals(Arrays.asList("ERROR", "INFO"), StringUtil.substringAll(log, "[A-Z]{4,}"));
+        assertEquals(Collections.emptyList(), StringUtil.substringAll(log, "WARN"));
+
+        final PatternCache cache = new PatternCache(2);
+        final Pattern a = cache.get("a+");
+        assertSame(a, cache.get("a+"));
+        cache.get("b+");
+        cache.get("a+");
+        cache.get("c+");
+        // 最も長く使用されていない b+ が破棄される
+        assertSame(a, cache.get("a+"));
+        assertEquals(2, cache.size());
+        assertEquals(3, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+        assertEquals(1, cache.getEvictionCount());
+
+        cache.get("b+");
+        assertEquals(4, cache.getMissCount());
+        cache.setCapacity(1);
+        assertEquals(1, cache.size());
+        assertEquals(3, cache.getEvictionCount());
+        assertEquals(Pattern.CASE_INSENSITIVE, cache.get("b+", Pattern.CASE_INSENSITIVE).flags());
+    }
+
+    @Test
+    public void charSequenceTest() {
+        final StringBuilder builder = new StringBuilder("xxあいうえおyy");
+        assertEquals(14, StringUtil.getByteLength(builder, "MS932"));
+        assertEquals(10, StringUtil.getByteLength(builder, 2, 7, "MS932"));
+        assertEquals(15, StringUtil.getByteLength(builder, 2, 7, "UTF-8"));
+        assertEquals(0, StringUtil.getByteLength(builder, "unknown-encoding"));
+        assertEquals(0, StringUtil.getByteLength((CharSequence) null, "MS932"));
+
+        assertEquals(4, StringUtil.indexOfByteLength(builder, 2, 5, "MS932"));
+        assertEquals(builder.length(), StringUtil.indexOfByteLength(builder, 2, 100, "MS932"));
+        assertSame(builder, StringUtil.subSequence(builder, 100, "MS932"));
+        assertEquals("xxあ", StringUtil.subSequence(builder, 5, "MS932").toString());
+
+        // CharBuffer は position からの範囲を、元の配列を共有するビューとして切り出す
+        final CharBuffer buffer = CharBuffer.wrap("id=12 name=山田太郎 id=345".toCharArray());
+        buffer.position(6);
+        final CharBuffer truncated = StringUtil.subSequence(buffer, 9, "MS932");
+        assertEquals("name=山田", truncated.toString());
+        assertSame(buffer.array(), truncated.array());
+        assertEquals(6, buffer.position());
+
+        final CharBuffer name = StringUtil.subSequence(buffer, Pattern.compile("name=(\\S+)"), 1);
+        assertEquals("山田太郎", name.toString());
+        assertSame(buffer.array(), name.array());
+        assertNull(StringUtil.subSequence(buffer, Pattern.compile("WARN")));
+
+        assertEquals(Arrays.asList("12", "345"), StringUtil.subSequenceAll(CharBuffer.wrap(builder.append(" id=12 id=345")),
+                Pattern.compile("id=([0-9]+)"), 1).stream().map(CharSequence::toString).collect(Collectors.toList()));
+    }
+}